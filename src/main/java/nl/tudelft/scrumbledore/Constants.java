@@ -36,12 +36,25 @@ public final class Constants {
   public static final int REFRESH_RATE = 30;
 
   public static final int NUMBER_OF_PLAYERS = 2;
+
+  public static final String NET_HOST = "localhost";
+  public static final int NET_PORT = 4711;
+  public static final int NET_MAX_CLIENTS = 8;
+  public static final int NET_QUEUE_SIZE = 64;
+  public static final int NET_HISTORY = 32;
+  public static final int NET_TIMEOUT = REFRESH_RATE * 5;
+  public static final int ROLLBACK_WINDOW = 12;
+
+  public static final int SCORE_CAPACITY = 1000;
+  public static final int SCORE_BATCH = 32;
+  public static final long SCORE_FLUSH_INTERVAL = 1000;
   public static final List<String> PLAYER_COLORS = Collections.unmodifiableList(Arrays.asList(
       "green", "blue"));
 
   public static final String SCRUMBLEDORE_TEXT = "SCRUMBLEDORE";
   public static final String SINGLEPLAYERGAME_BUTTON = "Singleplayer Game";
   public static final String MULTIPLAYERGAME_BUTTON = "Multiplayer Game";
+  public static final String JOINGAME_BUTTON = "Join Server";
   public static final String SETTINGS_BUTTON = "Settings";
   public static final String EXIT_BUTTON = "Exit";
 
@@ -68,6 +81,9 @@ public final class Constants {
   public static final String LOGGING_SHOOTING = "Do you wish to track shooting?";
   public static final String LOGGING_POINTS = "Do you wish to track points and high-scores?";
   public static final String LOGGING_ENEMY = "Do you wish to track enemy actions and changes?";
+  public static final String LOGGING_EVENTS = "Do you wish to record gameplay events for analysis?";
+  public static final String LOGGING_REPLAY = "Do you wish to record your input for replays?";
+  public static final String LOGGING_LATENCY = "Do you wish to save input latency measurements?";
   public static final String LOGGING_ACTIVE = "Yes";
   public static final String LOGGING_DISABLED = "No";
   public static final String SETTINGSCLOSE = "Close";
@@ -78,6 +94,9 @@ public final class Constants {
   private static boolean loggingWantShooting = false;
   private static boolean loggingWantPoints = false;
   private static boolean loggingWantEnemy = false;
+  private static boolean loggingWantEvents = false;
+  private static boolean loggingWantReplay = false;
+  private static boolean loggingWantLatency = false;
 
   public static final String SETTINGS_LABEL = "Settings";
   public static final String SETTINGS_YES = "Yes";
@@ -114,6 +133,14 @@ public final class Constants {
   public static final double BLOCKSIZE = 32;
 
   public static final double NUM_BLOCKS = 20;
+  public static final double GRID_CELLSIZE = 4 * BLOCKSIZE;
+
+  public static final int CHUNK_SIZE = 16;
+  public static final int CHUNK_ACTIVE_RADIUS = 1;
+  public static final int CHUNK_REDUCED_RADIUS = 3;
+  public static final int CHUNK_REDUCED_INTERVAL = 4;
+
+  public static final int SLEEP_STEPS = 30;
 
   public static final double DOUBLE_PRECISION = 0.001;
 
@@ -137,8 +164,15 @@ public final class Constants {
   public static final double PLAYER_POWERUP_LIFETIME = REFRESH_RATE * 3;
   public static final double CHILI_LIFETIME_MULTIPLIER = 0.4;
   public static final double TURTLE_LIFETIME_MULTIPLIER = 0.7;
+  public static final int EFFECT_MAX_STACKS = 3;
 
   public static final double NPC_SPEED = 4;
+  public static final int NPC_JUMP_TILES = 3;
+  public static final int NPC_JUMP_REACH = 2;
+  public static final int AI_BUCKETS = 4;
+  public static final long AI_BUDGET_MICROS = 2000;
+
+  public static final int FRUIT_POINTS = 100;
 
   public static final double RAPID_FIRE_LIMIT = 5;
 
@@ -153,6 +187,11 @@ public final class Constants {
   public static final String SPRITES_DIR = "images" + System.getProperty("file.separator")
       + "sprites" + System.getProperty("file.separator");
   public static final String LOGGER_DIR = "logger" + System.getProperty("file.separator");
+  public static final String EVENTS_DIR = "events" + System.getProperty("file.separator");
+  public static final String LEVEL_PACK = "levels.pack";
+  public static final String REPLAYS_DIR = "replays" + System.getProperty("file.separator");
+  public static final String SCORES_FILE = "scores.journal";
+  public static final String LATENCY_DIR = "latency" + System.getProperty("file.separator");
 
   public static final String CSS_MAINMENU = "css/mainmenustyle.css";
   public static final String CSS_SETTINGS = "css/settingsstyle.css";
@@ -262,6 +301,33 @@ public final class Constants {
     return loggingWantEnemy;
   }
 
+  /**
+   * Returns whether gameplay events should be recorded in the binary event stream.
+   * 
+   * @return Whether gameplay events should be recorded.
+   */
+  public static boolean isLoggingWantEvents() {
+    return loggingWantEvents;
+  }
+
+  /**
+   * Returns whether player input should be recorded so the session can be replayed.
+   * 
+   * @return Whether player input should be recorded.
+   */
+  public static boolean isLoggingWantReplay() {
+    return loggingWantReplay;
+  }
+
+  /**
+   * Returns whether the input latency measured in a session should be saved.
+   * 
+   * @return Whether the input latency should be saved.
+   */
+  public static boolean isLoggingWantLatency() {
+    return loggingWantLatency;
+  }
+
   /**
    * Set whether movement should be logged.
    * 
@@ -322,4 +388,34 @@ public final class Constants {
     Constants.loggingWantEnemy = loggingWantEnemy;
   }
 
+  /**
+   * Set whether gameplay events should be recorded in the binary event stream.
+   * 
+   * @param loggingWantEvents
+   *          whether gameplay events should be recorded
+   */
+  public static void setLoggingWantEvents(boolean loggingWantEvents) {
+    Constants.loggingWantEvents = loggingWantEvents;
+  }
+
+  /**
+   * Set whether player input should be recorded so the session can be replayed.
+   * 
+   * @param loggingWantReplay
+   *          whether player input should be recorded
+   */
+  public static void setLoggingWantReplay(boolean loggingWantReplay) {
+    Constants.loggingWantReplay = loggingWantReplay;
+  }
+
+  /**
+   * Set whether the input latency measured in a session should be saved.
+   * 
+   * @param loggingWantLatency
+   *          whether the input latency should be saved
+   */
+  public static void setLoggingWantLatency(boolean loggingWantLatency) {
+    Constants.loggingWantLatency = loggingWantLatency;
+  }
+
 }
@@ -0,0 +1,151 @@
+package nl.tudelft.scrumbledore.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import nl.tudelft.scrumbledore.bot.BotController;
+import nl.tudelft.scrumbledore.bot.SeekEnemyPolicy;
+import nl.tudelft.scrumbledore.event.GameEvent;
+import nl.tudelft.scrumbledore.event.GameEventListener;
+import nl.tudelft.scrumbledore.event.GameEventQueue;
+import nl.tudelft.scrumbledore.event.GameEventType;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.LevelParser;
+import nl.tudelft.scrumbledore.level.LevelTemplate;
+import nl.tudelft.scrumbledore.level.StressLevelGenerator;
+
+/**
+ * Macro-benchmark running generated levels with increasing numbers of players headlessly, every
+ * player played by a bot hunting the NPCs, reporting a table of the step cost and the number of
+ * bubbles shot per player count. The levels are generated with a fixed seed and read by the
+ * LevelParser, so the same arguments always measure the same levels.
+ * 
+ * <p>
+ * Usage: BotBenchmark [ticks] [NPCs per level].
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public final class BotBenchmark {
+  private static final int[] PLAYERS = { 1, 8, 16, 32, 64 };
+  private static final int DEFAULT_TICKS = 2000;
+  private static final int DEFAULT_NPCS = 64;
+  private static final long SEED = 20160101L;
+  private static final int WARMUP_RUNS = 3;
+  private static final double PLATFORM_DENSITY = .5;
+
+  /**
+   * Private constructor, since this class only offers a main method.
+   */
+  private BotBenchmark() {
+  }
+
+  /**
+   * Run the benchmark.
+   * 
+   * @param args
+   *          An optional number of ticks per level and an optional number of NPCs per level.
+   * 
+   * @throws IOException
+   *           When the generated levels can not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    int ticks = DEFAULT_TICKS;
+    if (args.length > 0) {
+      ticks = Integer.parseInt(args[0]);
+    }
+    int npcs = DEFAULT_NPCS;
+    if (args.length > 1) {
+      npcs = Integer.parseInt(args[1]);
+    }
+
+    ArrayList<LevelTemplate> templates = generate(npcs);
+    System.out.printf("%8s %9s %12s %12s %12s%n", "players", "size", "steps/s", "us/step",
+        "shots");
+    for (int i = 0; i < PLAYERS.length; i++) {
+      LevelTemplate template = templates.get(i);
+      for (int run = 0; run < WARMUP_RUNS; run++) {
+        run(template, ticks);
+      }
+
+      long start = System.nanoTime();
+      int shots = run(template, ticks);
+      long elapsed = System.nanoTime() - start;
+
+      String size = template.getWidth() + "x" + template.getHeight();
+      System.out.printf("%8d %9s %12.0f %12.1f %12d%n", PLAYERS[i], size,
+          ticks / (elapsed / 1e9), elapsed / 1e3 / ticks, shots);
+    }
+  }
+
+  /**
+   * Generate a level for every player count, write them to a temporary directory and read them
+   * back with the LevelParser.
+   * 
+   * @param npcs
+   *          The number of NPCs per level.
+   * 
+   * @return The level templates, in the order of the player counts.
+   * 
+   * @throws IOException
+   *           When the levels can not be written.
+   */
+  private static ArrayList<LevelTemplate> generate(int npcs) throws IOException {
+    File dir = Files.createTempDirectory("scrumbledore-bots").toFile();
+    try {
+      for (int i = 0; i < PLAYERS.length; i++) {
+        int side = Math.max(20, (int) Math.ceil(Math.sqrt(16.0 * (PLAYERS[i] + npcs))));
+        StressLevelGenerator generator = new StressLevelGenerator(side, side, PLATFORM_DENSITY,
+            SEED + i);
+        generator.write(new File(dir, String.format("bots%02d.txt", i)), PLAYERS[i], npcs, 0, 0);
+      }
+      return new LevelParser(dir.getPath()).getTemplates();
+    } finally {
+      File[] files = dir.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          Files.delete(file.toPath());
+        }
+      }
+      Files.delete(dir.toPath());
+    }
+  }
+
+  /**
+   * Run a fresh instance of a level with bots for a number of ticks.
+   * 
+   * @param template
+   *          The template of the level.
+   * 
+   * @param ticks
+   *          The number of ticks.
+   * 
+   * @return The number of bubbles shot.
+   */
+  private static int run(LevelTemplate template, int ticks) {
+    ArrayList<Level> levels = new ArrayList<Level>();
+    levels.add(template.instantiate());
+    Game game = new MultiPlayerGameFactory().makeGame(levels);
+    BotController.attach(game, new SeekEnemyPolicy());
+
+    final int[] shots = new int[1];
+    GameEventListener counter = new GameEventListener() {
+      public void handle(GameEvent event) {
+        if (event.getType() == GameEventType.PlayerShot) {
+          shots[0]++;
+        }
+      }
+    };
+    GameEventQueue events = game.getEventBus().subscribe();
+    for (int tick = 0; tick < ticks; tick++) {
+      game.step(1);
+      events.drain(counter);
+    }
+    game.getEventBus().unsubscribe(events);
+    return shots[0];
+  }
+
+}
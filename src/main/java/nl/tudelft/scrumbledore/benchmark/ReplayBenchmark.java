@@ -0,0 +1,91 @@
+package nl.tudelft.scrumbledore.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.GameFactory;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.game.SinglePlayerGameFactory;
+import nl.tudelft.scrumbledore.replay.InputRecording;
+import nl.tudelft.scrumbledore.replay.InputReplayer;
+import nl.tudelft.scrumbledore.replay.ScriptedSession;
+
+/**
+ * Macro-benchmark replaying a recorded session headlessly as fast as possible for a number of
+ * iterations, reporting the throughput in steps per second and verifying every iteration ends in
+ * the same state.
+ * 
+ * <p>
+ * Usage: ReplayBenchmark [replay file] [iterations]. Without a replay file, a scripted session is
+ * recorded first.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public final class ReplayBenchmark {
+  private static final int SCRIPTED_STEPS = 3000;
+  private static final int DEFAULT_ITERATIONS = 20;
+  private static final int WARMUP_ITERATIONS = 5;
+
+  /**
+   * Private constructor, since this class only offers a main method.
+   */
+  private ReplayBenchmark() {
+  }
+
+  /**
+   * Run the benchmark.
+   * 
+   * @param args
+   *          An optional replay file and an optional number of iterations.
+   * 
+   * @throws IOException
+   *           When the replay file can not be read.
+   */
+  public static void main(String[] args) throws IOException {
+    InputRecording recording;
+    if (args.length > 0) {
+      recording = InputRecording.read(new File(args[0]));
+    } else {
+      recording = ScriptedSession.record(new SinglePlayerGameFactory().makeGame(),
+          SCRIPTED_STEPS);
+    }
+    int iterations = DEFAULT_ITERATIONS;
+    if (args.length > 1) {
+      iterations = Integer.parseInt(args[1]);
+    }
+
+    GameFactory factory = new SinglePlayerGameFactory();
+    if (recording.getPlayers() > 1) {
+      factory = new MultiPlayerGameFactory();
+    }
+    InputReplayer replayer = new InputReplayer(recording);
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      replayer.replay(factory.makeGame());
+    }
+
+    long expected = 0;
+    long total = 0;
+    for (int i = 0; i < iterations; i++) {
+      Game game = factory.makeGame();
+      long start = System.nanoTime();
+      long checksum = replayer.replay(game);
+      long elapsed = System.nanoTime() - start;
+      total += elapsed;
+
+      if (i == 0) {
+        expected = checksum;
+      } else if (checksum != expected) {
+        throw new IllegalStateException("Replay " + i + " ended in a different state.");
+      }
+      System.out.printf("Iteration %d: %.1f ms, %.0f steps/s%n", i, elapsed / 1e6,
+          recording.size() / (elapsed / 1e9));
+    }
+
+    System.out.printf("%d steps x %d iterations: %.0f steps/s, final state %016x%n",
+        recording.size(), iterations, recording.size() * (double) iterations / (total / 1e9),
+        expected);
+  }
+
+}
@@ -0,0 +1,80 @@
+package nl.tudelft.scrumbledore.benchmark;
+
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.replay.InputRecording;
+import nl.tudelft.scrumbledore.replay.ScriptedSession;
+import nl.tudelft.scrumbledore.rollback.RollbackSession;
+
+/**
+ * Micro-benchmark of the worst case of a rollback session: the input of the second player arrives
+ * a number of ticks late and changes every tick, so every tick rolls back that many ticks and
+ * simulates them again. Reports the time a rollback takes against the 16 ms of a frame.
+ * 
+ * <p>
+ * Usage: RollbackBenchmark [delay in ticks] [ticks].
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public final class RollbackBenchmark {
+  private static final int DEFAULT_DELAY = 10;
+  private static final int DEFAULT_TICKS = 3000;
+  private static final int ROUNDS = 3;
+  private static final double FRAME_MILLIS = 16;
+
+  /**
+   * Private constructor, since this class only offers a main method.
+   */
+  private RollbackBenchmark() {
+  }
+
+  /**
+   * Run the benchmark.
+   * 
+   * @param args
+   *          An optional delay and an optional number of ticks.
+   */
+  public static void main(String[] args) {
+    int delay = DEFAULT_DELAY;
+    if (args.length > 0) {
+      delay = Integer.parseInt(args[0]);
+    }
+    int ticks = DEFAULT_TICKS;
+    if (args.length > 1) {
+      ticks = Integer.parseInt(args[1]);
+    }
+
+    InputRecording recording = ScriptedSession.record(new MultiPlayerGameFactory().makeGame(),
+        ticks);
+    int left = 1 << LevelElementAction.MoveLeft.ordinal();
+    int right = 1 << LevelElementAction.MoveRight.ordinal();
+
+    for (int round = 0; round < ROUNDS; round++) {
+      RollbackSession session = new RollbackSession(new MultiPlayerGameFactory().makeGame(), 2,
+          delay + 1);
+      long total = 0;
+      long worst = 0;
+      for (int tick = 0; tick < ticks; tick++) {
+        session.addInput(0, tick, recording.getMask(tick, 0));
+        if (tick >= delay) {
+          int late = tick - delay;
+          session.addInput(1, late, late % 2 == 0 ? left : right);
+        }
+        long before = session.getRollbacks();
+        session.advance();
+        if (session.getRollbacks() > before) {
+          total += session.getLastRollbackNanos();
+          worst = Math.max(worst, session.getLastRollbackNanos());
+        }
+      }
+
+      double average = total / 1e6 / Math.max(1, session.getRollbacks());
+      System.out.printf("Round %d: %d rollbacks of %d ticks, average %.3f ms, worst %.3f ms%n",
+          round, session.getRollbacks(), session.getMaxRollback(), average, worst / 1e6);
+      System.out.printf("  %.0f ticks simulated again per %.0f ms frame%n",
+          session.getResimulated() / (total / 1e6) * FRAME_MILLIS, FRAME_MILLIS);
+    }
+  }
+
+}
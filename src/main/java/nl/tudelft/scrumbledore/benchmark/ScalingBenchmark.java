@@ -0,0 +1,196 @@
+package nl.tudelft.scrumbledore.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.SinglePlayerGameFactory;
+import nl.tudelft.scrumbledore.level.ChunkedWorld;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.LevelParser;
+import nl.tudelft.scrumbledore.level.LevelTemplate;
+import nl.tudelft.scrumbledore.level.StressLevelGenerator;
+
+/**
+ * Macro-benchmark running generated levels with increasing numbers of entities headlessly for a
+ * fixed number of ticks, reporting a table of the throughput in steps per second and the
+ * allocation rate per entity count. The levels are generated with a fixed seed and read by the
+ * LevelParser, so the same arguments always measure the same levels. With the chunked option
+ * every level is written to a ChunkedWorld and played with a ChunkStreamer instead.
+ * 
+ * <p>
+ * Usage: ScalingBenchmark [ticks] [seed] [chunked].
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public final class ScalingBenchmark {
+  private static final int[] ENTITIES = { 16, 64, 256, 1024, 4096 };
+  private static final int DEFAULT_TICKS = 2000;
+  private static final long DEFAULT_SEED = 20160101L;
+  private static final int WARMUP_RUNS = 3;
+  private static final double PLATFORM_DENSITY = .5;
+
+  /**
+   * Private constructor, since this class only offers a main method.
+   */
+  private ScalingBenchmark() {
+  }
+
+  /**
+   * Run the benchmark.
+   * 
+   * @param args
+   *          An optional number of ticks per level, an optional seed and optionally "chunked".
+   * 
+   * @throws IOException
+   *           When the generated levels can not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    int ticks = DEFAULT_TICKS;
+    if (args.length > 0) {
+      ticks = Integer.parseInt(args[0]);
+    }
+    long seed = DEFAULT_SEED;
+    if (args.length > 1) {
+      seed = Long.parseLong(args[1]);
+    }
+    boolean chunked = args.length > 2 && "chunked".equals(args[2]);
+
+    ArrayList<LevelTemplate> templates = generate(seed);
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    boolean allocations = threads instanceof com.sun.management.ThreadMXBean;
+
+    System.out.printf("%8s %9s %12s %12s %12s%n", "entities", "size", "steps/s", "alloc MB/s",
+        "bytes/step");
+    for (int i = 0; i < ENTITIES.length; i++) {
+      LevelTemplate template = templates.get(i);
+      ChunkedWorld world = null;
+      if (chunked) {
+        world = chunk(template);
+      }
+      for (int run = 0; run < WARMUP_RUNS; run++) {
+        run(template, world, ticks);
+      }
+
+      long allocatedBefore = allocated(threads, allocations);
+      long start = System.nanoTime();
+      run(template, world, ticks);
+      long elapsed = System.nanoTime() - start;
+      long allocatedBytes = allocated(threads, allocations) - allocatedBefore;
+
+      double seconds = elapsed / 1e9;
+      String size = template.getWidth() + "x" + template.getHeight();
+      if (allocations) {
+        System.out.printf("%8d %9s %12.0f %12.1f %12.0f%n", ENTITIES[i], size, ticks / seconds,
+            allocatedBytes / seconds / (1 << 20), allocatedBytes / (double) ticks);
+      } else {
+        System.out.printf("%8d %9s %12.0f %12s %12s%n", ENTITIES[i], size, ticks / seconds,
+            "n/a", "n/a");
+      }
+    }
+  }
+
+  /**
+   * Generate a level for every entity count, write them to a temporary directory and read them
+   * back with the LevelParser.
+   * 
+   * @param seed
+   *          The seed of the generator.
+   * 
+   * @return The level templates, in the order of the entity counts.
+   * 
+   * @throws IOException
+   *           When the levels can not be written.
+   */
+  private static ArrayList<LevelTemplate> generate(long seed) throws IOException {
+    File dir = Files.createTempDirectory("scrumbledore-stress").toFile();
+    try {
+      for (int i = 0; i < ENTITIES.length; i++) {
+        int entities = ENTITIES[i];
+        int side = Math.max(20, (int) Math.ceil(Math.sqrt(16.0 * entities)));
+        StressLevelGenerator generator = new StressLevelGenerator(side, side, PLATFORM_DENSITY,
+            seed + i);
+        generator.write(new File(dir, String.format("stress%02d.txt", i)), entities / 2,
+            entities / 4, entities / 4);
+      }
+      return new LevelParser(dir.getPath()).getTemplates();
+    } finally {
+      File[] files = dir.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          Files.delete(file.toPath());
+        }
+      }
+      Files.delete(dir.toPath());
+    }
+  }
+
+  /**
+   * Write a level to a temporary chunked world file and map it.
+   * 
+   * @param template
+   *          The template of the level.
+   * 
+   * @return The chunked world.
+   * 
+   * @throws IOException
+   *           When the world can not be written.
+   */
+  private static ChunkedWorld chunk(LevelTemplate template) throws IOException {
+    File file = File.createTempFile("scrumbledore-stress", ".chunks");
+    file.deleteOnExit();
+    ChunkedWorld.write(template, Constants.CHUNK_SIZE, file);
+    return ChunkedWorld.open(file);
+  }
+
+  /**
+   * Run a fresh instance of a level for a number of ticks.
+   * 
+   * @param template
+   *          The template of the level.
+   * 
+   * @param world
+   *          The level as a chunked world to stream, or null to play the whole level.
+   * 
+   * @param ticks
+   *          The number of ticks.
+   */
+  private static void run(LevelTemplate template, ChunkedWorld world, int ticks) {
+    Game game;
+    if (world == null) {
+      ArrayList<Level> levels = new ArrayList<Level>();
+      levels.add(template.instantiate());
+      game = new SinglePlayerGameFactory().makeGame(levels);
+    } else {
+      game = new SinglePlayerGameFactory().makeGame(world);
+    }
+    for (int tick = 0; tick < ticks; tick++) {
+      game.step(1);
+    }
+  }
+
+  /**
+   * Get the number of bytes allocated by the current thread so far.
+   * 
+   * @param threads
+   *          The thread management bean.
+   * 
+   * @param supported
+   *          Whether the bean can measure allocations.
+   * 
+   * @return The number of bytes, or zero if allocations can not be measured.
+   */
+  private static long allocated(ThreadMXBean threads, boolean supported) {
+    if (!supported) {
+      return 0;
+    }
+    return ((com.sun.management.ThreadMXBean) threads)
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+}
@@ -0,0 +1,58 @@
+package nl.tudelft.scrumbledore.benchmark;
+
+import java.nio.ByteBuffer;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.game.SnapshotCodec;
+import nl.tudelft.scrumbledore.replay.ScriptedSession;
+
+/**
+ * Micro-benchmark measuring the time needed to take a snapshot of a Game and restore it again.
+ * 
+ * <p>
+ * Usage: SnapshotBenchmark [iterations].
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public final class SnapshotBenchmark {
+  private static final int PLAYED_STEPS = 500;
+  private static final int DEFAULT_ITERATIONS = 200000;
+
+  /**
+   * Private constructor, since this class only offers a main method.
+   */
+  private SnapshotBenchmark() {
+  }
+
+  /**
+   * Run the benchmark.
+   * 
+   * @param args
+   *          An optional number of iterations.
+   */
+  public static void main(String[] args) {
+    int iterations = DEFAULT_ITERATIONS;
+    if (args.length > 0) {
+      iterations = Integer.parseInt(args[0]);
+    }
+
+    Game game = new MultiPlayerGameFactory().makeGame();
+    ScriptedSession.record(game, PLAYED_STEPS);
+    SnapshotCodec codec = new SnapshotCodec();
+
+    int size = 0;
+    for (int round = 0; round < 2; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        ByteBuffer snapshot = codec.snapshot(game);
+        size = snapshot.remaining();
+        SnapshotCodec.restore(game, snapshot);
+      }
+      long elapsed = System.nanoTime() - start;
+      System.out.printf("Round %d: %d bytes, %.2f us per snapshot and restore%n", round, size,
+          elapsed / 1e3 / iterations);
+    }
+  }
+
+}
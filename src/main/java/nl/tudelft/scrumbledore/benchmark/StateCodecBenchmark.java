@@ -0,0 +1,112 @@
+package nl.tudelft.scrumbledore.benchmark;
+
+import java.nio.ByteBuffer;
+import nl.tudelft.scrumbledore.game.BitReader;
+import nl.tudelft.scrumbledore.game.BitWriter;
+import nl.tudelft.scrumbledore.game.DeltaStateCodec;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.game.SnapshotCodec;
+import nl.tudelft.scrumbledore.game.WorldState;
+import nl.tudelft.scrumbledore.replay.ScriptedSession;
+
+/**
+ * Benchmark comparing the size and cost of encoding the state of every step of a scripted session
+ * as a full snapshot, as a quantised state without baseline, and as a delta against the state of
+ * the previous step.
+ * 
+ * <p>
+ * Usage: StateCodecBenchmark [steps].
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public final class StateCodecBenchmark {
+  private static final int DEFAULT_STEPS = 5000;
+
+  /**
+   * Private constructor, since this class only offers a main method.
+   */
+  private StateCodecBenchmark() {
+  }
+
+  /**
+   * Run the benchmark.
+   * 
+   * @param args
+   *          An optional number of steps to play.
+   */
+  public static void main(String[] args) {
+    int steps = DEFAULT_STEPS;
+    if (args.length > 0) {
+      steps = Integer.parseInt(args[0]);
+    }
+
+    for (int round = 0; round < 2; round++) {
+      run(round, steps);
+    }
+  }
+
+  /**
+   * Play a session, encoding the state of every step in all three ways.
+   * 
+   * @param round
+   *          The number of the round.
+   * 
+   * @param steps
+   *          The number of steps to play.
+   */
+  private static void run(int round, int steps) {
+    Game game = new MultiPlayerGameFactory().makeGame();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(SnapshotCodec.DEFAULT_CAPACITY);
+    BitWriter writer = new BitWriter();
+    BitReader reader = new BitReader();
+    WorldState previous = new WorldState();
+    WorldState current = new WorldState();
+    WorldState decoded = new WorldState();
+
+    long snapshotBytes = 0;
+    long fullBytes = 0;
+    long deltaBytes = 0;
+    long encodeNanos = 0;
+    long decodeNanos = 0;
+    for (int step = 0; step < steps; step++) {
+      ScriptedSession.play(game, step);
+
+      buffer.clear();
+      SnapshotCodec.write(game, buffer);
+      snapshotBytes += buffer.position();
+
+      current.capture(game);
+      buffer.clear();
+      writer.reset(buffer);
+      DeltaStateCodec.encode(current, null, writer);
+      writer.flush();
+      fullBytes += buffer.position();
+
+      long start = System.nanoTime();
+      buffer.clear();
+      writer.reset(buffer);
+      DeltaStateCodec.encode(current, previous, writer);
+      writer.flush();
+      long encoded = System.nanoTime();
+      deltaBytes += buffer.position();
+      buffer.flip();
+      reader.reset(buffer);
+      DeltaStateCodec.decode(previous, reader, decoded);
+      decodeNanos += System.nanoTime() - encoded;
+      encodeNanos += encoded - start;
+
+      previous.copy(current);
+    }
+
+    System.out.printf("Round %d over %d steps:%n", round, steps);
+    System.out.printf("  snapshot %8.1f bytes per step%n", snapshotBytes / (double) steps);
+    System.out.printf("  full     %8.1f bytes per step%n", fullBytes / (double) steps);
+    System.out.printf("  delta    %8.1f bytes per step, %.1fx smaller than snapshots%n",
+        deltaBytes / (double) steps, snapshotBytes / (double) deltaBytes);
+    System.out.printf("  delta encode %.2f us, decode %.2f us per step%n",
+        encodeNanos / 1e3 / steps, decodeNanos / 1e3 / steps);
+  }
+
+}
@@ -0,0 +1,181 @@
+package nl.tudelft.scrumbledore.bot;
+
+import java.util.Arrays;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
+
+/**
+ * Level Modifier letting bots play instead of a keyboard. Every step each player with a BotPolicy
+ * assigned to it is asked which keys it holds down, and the keys that changed are pressed or
+ * released through the same actions the key listeners use. Registered after the other modifiers,
+ * the keys take effect in the next step, just like keys pressed between two steps.
+ * 
+ * @author Jesse Tilro
+ */
+public class BotController implements LevelModifier {
+  public static final int MOVE_LEFT = 1 << LevelElementAction.MoveLeft.ordinal();
+  public static final int MOVE_RIGHT = 1 << LevelElementAction.MoveRight.ordinal();
+  public static final int JUMP = 1 << LevelElementAction.Jump.ordinal();
+  public static final int SHOOT = 1 << LevelElementAction.Shoot.ordinal();
+
+  private static final LevelElementAction[] KEYS = { LevelElementAction.MoveLeft,
+      LevelElementAction.MoveRight, LevelElementAction.Jump, LevelElementAction.Shoot };
+
+  private BotPolicy[] policies = new BotPolicy[0];
+  private int[] held = new int[0];
+  private Level heldLevel;
+  private int tick;
+  private long presses;
+
+  /**
+   * Let a policy play all players in the current level of a Game.
+   * 
+   * @param game
+   *          The game.
+   * 
+   * @param policy
+   *          The policy.
+   * 
+   * @return The registered controller.
+   */
+  public static BotController attach(Game game, BotPolicy policy) {
+    BotController controller = new BotController();
+    for (PlayerElement player : game.getCurrentLevel().getPlayers()) {
+      controller.assign(player.getPlayerNumber(), policy);
+    }
+    game.registerLevelModifier(controller);
+    return controller;
+  }
+
+  /**
+   * Let a policy play a player.
+   * 
+   * @param playerNumber
+   *          The player number.
+   * 
+   * @param policy
+   *          The policy, or null to leave the player to the keyboard again.
+   */
+  public void assign(int playerNumber, BotPolicy policy) {
+    if (playerNumber < 0) {
+      throw new IllegalArgumentException("Invalid player number " + playerNumber + ".");
+    }
+    if (playerNumber >= policies.length) {
+      policies = Arrays.copyOf(policies, playerNumber + 1);
+      held = Arrays.copyOf(held, playerNumber + 1);
+    }
+    policies[playerNumber] = policy;
+  }
+
+  /**
+   * Get the policy playing a player.
+   * 
+   * @param playerNumber
+   *          The player number.
+   * 
+   * @return The policy, or null if the player is not played by a bot.
+   */
+  public BotPolicy getPolicy(int playerNumber) {
+    if (playerNumber < 0 || playerNumber >= policies.length) {
+      return null;
+    }
+    return policies[playerNumber];
+  }
+
+  /**
+   * Let the bots decide which keys they hold down and press or release the keys that changed.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @param delta
+   *          The number of steps passed since the last execution of this method.
+   */
+  public void modify(Level level, double delta) {
+    if (level != heldLevel) {
+      heldLevel = level;
+      Arrays.fill(held, 0);
+    }
+
+    for (PlayerElement player : level.getPlayers()) {
+      int number = player.getPlayerNumber();
+      if (number < 0 || number >= policies.length || policies[number] == null) {
+        continue;
+      }
+      if (!player.isAlive()) {
+        held[number] = 0;
+        continue;
+      }
+      int keys = policies[number].decide(level, player, tick);
+      press(player, held[number], keys);
+      held[number] = keys;
+    }
+    tick++;
+  }
+
+  /**
+   * Press the keys a player holds down now but did not before, and release the keys it no longer
+   * holds down.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param before
+   *          The keys held down before.
+   * 
+   * @param after
+   *          The keys held down now.
+   */
+  private void press(PlayerElement player, int before, int after) {
+    for (LevelElementAction key : KEYS) {
+      int bit = 1 << key.ordinal();
+      if ((after & bit) != 0 && (before & bit) == 0) {
+        player.addAction(key);
+        presses++;
+      } else if ((after & bit) == 0 && (before & bit) != 0) {
+        LevelElementAction inverted = LevelElementAction.invertAction(key);
+        if (inverted != null) {
+          player.addAction(inverted);
+        }
+        player.removeAction(key);
+      }
+    }
+  }
+
+  /**
+   * Get the keys a player holds down.
+   * 
+   * @param playerNumber
+   *          The player number.
+   * 
+   * @return The action mask of the held keys.
+   */
+  public int getHeld(int playerNumber) {
+    if (playerNumber < 0 || playerNumber >= held.length) {
+      return 0;
+    }
+    return held[playerNumber];
+  }
+
+  /**
+   * Get the number of steps the bots have been running.
+   * 
+   * @return The number of steps.
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Get the total number of keys pressed by the bots.
+   * 
+   * @return The number of presses.
+   */
+  public long getPresses() {
+    return presses;
+  }
+
+}
@@ -0,0 +1,32 @@
+package nl.tudelft.scrumbledore.bot;
+
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * A policy deciding which keys a bot holds down every step. The keys are given as an action mask,
+ * with a bit per ordinal of LevelElementAction like in an InputRecording, of which only MoveLeft,
+ * MoveRight, Jump and Shoot are used. The BotController turns changes in the mask into presses and
+ * releases the way the key listeners do.
+ * 
+ * @author Jesse Tilro
+ */
+public interface BotPolicy {
+
+  /**
+   * Decide which keys a player holds down.
+   * 
+   * @param level
+   *          The level the player is in.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param tick
+   *          The number of steps the bot has been running.
+   * 
+   * @return The action mask of the held keys.
+   */
+  int decide(Level level, PlayerElement player, int tick);
+
+}
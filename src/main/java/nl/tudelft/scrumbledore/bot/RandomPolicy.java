@@ -0,0 +1,83 @@
+package nl.tudelft.scrumbledore.bot;
+
+import java.util.Arrays;
+import java.util.Random;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Policy letting bots mash keys at random. Every number of steps a bot picks a direction to walk
+ * in, or none, and whether to jump and shoot. A shot is a single tap, so the key is released again
+ * the next step. With the same seed and the same calls, the bots make the same moves.
+ * 
+ * @author Jesse Tilro
+ */
+public class RandomPolicy implements BotPolicy {
+  private final Random random;
+  private final int period;
+  private int[] last = new int[0];
+
+  /**
+   * Constructs a new RandomPolicy.
+   * 
+   * @param seed
+   *          The seed of the random decisions.
+   * 
+   * @param period
+   *          The number of steps between two decisions of a bot.
+   */
+  public RandomPolicy(long seed, int period) {
+    if (period < 1) {
+      throw new IllegalArgumentException("The period must be positive.");
+    }
+    this.random = new Random(seed);
+    this.period = period;
+  }
+
+  /**
+   * Pick new keys at random at the start of every period, and keep holding the keys picked before
+   * in between.
+   * 
+   * @param level
+   *          The level the player is in.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param tick
+   *          The number of steps the bot has been running.
+   * 
+   * @return The action mask of the held keys.
+   */
+  public int decide(Level level, PlayerElement player, int tick) {
+    int number = player.getPlayerNumber();
+    if (number >= last.length) {
+      last = Arrays.copyOf(last, number + 1);
+    }
+    if ((tick + number) % period != 0) {
+      last[number] &= ~BotController.SHOOT;
+      return last[number];
+    }
+
+    int keys = 0;
+    switch (random.nextInt(3)) {
+    case 1:
+      keys |= BotController.MOVE_LEFT;
+      break;
+    case 2:
+      keys |= BotController.MOVE_RIGHT;
+      break;
+    default:
+      break;
+    }
+    if (random.nextInt(4) == 0) {
+      keys |= BotController.JUMP;
+    }
+    if (random.nextBoolean()) {
+      keys |= BotController.SHOOT;
+    }
+    last[number] = keys;
+    return keys;
+  }
+
+}
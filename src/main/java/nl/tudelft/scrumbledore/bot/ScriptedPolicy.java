@@ -0,0 +1,53 @@
+package nl.tudelft.scrumbledore.bot;
+
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Policy letting bots follow a fixed script of held keys, holding every entry for a number of
+ * steps and starting over at the end. Each player starts at another entry, so bots playing the
+ * same script do not move in lockstep.
+ * 
+ * @author Jesse Tilro
+ */
+public class ScriptedPolicy implements BotPolicy {
+  private final int period;
+  private final int[] script;
+
+  /**
+   * Constructs a new ScriptedPolicy.
+   * 
+   * @param period
+   *          The number of steps every entry of the script is held.
+   * 
+   * @param script
+   *          The action masks of the held keys.
+   */
+  public ScriptedPolicy(int period, int... script) {
+    if (period < 1 || script.length == 0) {
+      throw new IllegalArgumentException("The period and the script must not be empty.");
+    }
+    this.period = period;
+    this.script = script.clone();
+  }
+
+  /**
+   * Look up the entry of the script for the current step.
+   * 
+   * @param level
+   *          The level the player is in.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param tick
+   *          The number of steps the bot has been running.
+   * 
+   * @return The action mask of the held keys.
+   */
+  public int decide(Level level, PlayerElement player, int tick) {
+    int entry = (tick / period + Math.max(0, player.getPlayerNumber())) % script.length;
+    return script[entry];
+  }
+
+}
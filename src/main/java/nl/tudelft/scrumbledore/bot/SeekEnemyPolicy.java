@@ -0,0 +1,93 @@
+package nl.tudelft.scrumbledore.bot;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Policy letting bots hunt the nearest NPC. A bot walks towards it and jumps when it is above,
+ * and once the NPC is on the same row and within range it turns towards it and keeps tapping the
+ * shoot key. Without any NPCs left the bot stands still.
+ * 
+ * @author Jesse Tilro
+ */
+public class SeekEnemyPolicy implements BotPolicy {
+  private static final double RANGE = Constants.BLOCKSIZE * 6;
+  private static final double CLOSE = Constants.BLOCKSIZE * 2;
+
+  /**
+   * Decide how to get at the nearest NPC.
+   * 
+   * @param level
+   *          The level the player is in.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param tick
+   *          The number of steps the bot has been running.
+   * 
+   * @return The action mask of the held keys.
+   */
+  public int decide(Level level, PlayerElement player, int tick) {
+    NPC target = nearest(level, player);
+    if (target == null) {
+      return 0;
+    }
+
+    double dx = target.posX() - player.posX();
+    double dy = target.posY() - player.posY();
+    int toward = BotController.MOVE_LEFT;
+    LevelElementAction facing = LevelElementAction.MoveLeft;
+    if (dx > 0) {
+      toward = BotController.MOVE_RIGHT;
+      facing = LevelElementAction.MoveRight;
+    }
+
+    int keys = 0;
+    if (Math.abs(dy) < Constants.BLOCKSIZE && Math.abs(dx) <= RANGE) {
+      if (player.getLastMove() != facing || Math.abs(dx) > CLOSE) {
+        keys |= toward;
+      }
+      if (player.getLastMove() == facing && tick % 2 == 0) {
+        keys |= BotController.SHOOT;
+      }
+      return keys;
+    }
+
+    keys |= toward;
+    if (dy <= -Constants.BLOCKSIZE && player.vSpeed() == 0) {
+      keys |= BotController.JUMP;
+    }
+    return keys;
+  }
+
+  /**
+   * Find the NPC nearest to a player.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @return The nearest NPC, or null if there are none.
+   */
+  private static NPC nearest(Level level, PlayerElement player) {
+    NPC nearest = null;
+    double best = Double.MAX_VALUE;
+    for (NPC npc : level.getNPCs()) {
+      double dx = npc.posX() - player.posX();
+      double dy = npc.posY() - player.posY();
+      double distance = dx * dx + dy * dy;
+      if (distance < best) {
+        best = distance;
+        nearest = npc;
+      }
+    }
+    return nearest;
+  }
+
+}
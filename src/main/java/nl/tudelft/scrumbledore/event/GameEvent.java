@@ -0,0 +1,142 @@
+package nl.tudelft.scrumbledore.event;
+
+/**
+ * A single gameplay event decoded from the binary event stream. Instances are only created when
+ * reading a stream back, never while recording.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEvent {
+  private int tick;
+  private GameEventType type;
+  private int actor;
+  private int target;
+  private double posX;
+  private double posY;
+  private int value;
+
+  /**
+   * Construct a new decoded GameEvent.
+   * 
+   * @param tick
+   *          The (full) step in which the event occurred.
+   * 
+   * @param type
+   *          The type of the event.
+   * 
+   * @param actor
+   *          The id of the entity causing the event, or -1.
+   * 
+   * @param target
+   *          The id of the entity undergoing the event, or -1.
+   * 
+   * @param posX
+   *          The X coordinate at which the event occurred.
+   * 
+   * @param posY
+   *          The Y coordinate at which the event occurred.
+   * 
+   * @param value
+   *          A type specific value, such as a number of points.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public GameEvent(int tick, GameEventType type, int actor, int target, double posX, double posY,
+      int value) {
+    this.tick = tick;
+    this.type = type;
+    this.actor = actor;
+    this.target = target;
+    this.posX = posX;
+    this.posY = posY;
+    this.value = value;
+  }
+
+  /**
+   * Get the step in which the event occurred.
+   * 
+   * @return The tick.
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Get the type of the event.
+   * 
+   * @return The type.
+   */
+  public GameEventType getType() {
+    return type;
+  }
+
+  /**
+   * Get the id of the entity causing the event.
+   * 
+   * @return The actor id, or -1 if there is none.
+   */
+  public int getActor() {
+    return actor;
+  }
+
+  /**
+   * Get the id of the entity undergoing the event.
+   * 
+   * @return The target id, or -1 if there is none.
+   */
+  public int getTarget() {
+    return target;
+  }
+
+  /**
+   * Get the X coordinate at which the event occurred.
+   * 
+   * @return The X coordinate.
+   */
+  public double posX() {
+    return posX;
+  }
+
+  /**
+   * Get the Y coordinate at which the event occurred.
+   * 
+   * @return The Y coordinate.
+   */
+  public double posY() {
+    return posY;
+  }
+
+  /**
+   * Get the type specific value of the event.
+   * 
+   * @return The value.
+   */
+  public int getValue() {
+    return value;
+  }
+
+  /**
+   * Decode this event into a human readable line of text.
+   * 
+   * @return The text representation of this event.
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(96);
+    builder.append("[step ").append(tick).append("] ");
+    if (type == null) {
+      builder.append("Unknown event.");
+    } else {
+      builder.append(type.getDescription());
+    }
+    if (actor >= 0) {
+      builder.append(" actor=").append(actor);
+    }
+    if (target >= 0) {
+      builder.append(" target=").append(target);
+    }
+    builder.append(" value=").append(value);
+    builder.append(" at (").append(posX).append(", ").append(posY).append(')');
+    return builder.toString();
+  }
+
+}
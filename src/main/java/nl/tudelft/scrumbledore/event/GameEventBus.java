@@ -0,0 +1,152 @@
+package nl.tudelft.scrumbledore.event;
+
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * Typed bus carrying gameplay events from the simulation to the subsystems reacting to them, such
+ * as scoring, logging and the user interface. Every subscriber gets its own GameEventQueue, which it
+ * drains on its own thread and at its own pace, so publishing an event is a handful of array writes
+ * that never block on I/O or touch state owned by another thread. Publishing is safe from any
+ * thread.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventBus {
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private volatile GameEventQueue[] queues;
+  private volatile int tick;
+
+  /**
+   * Constructs a new GameEventBus without subscribers.
+   */
+  public GameEventBus() {
+    this.queues = new GameEventQueue[0];
+  }
+
+  /**
+   * Subscribe a new consumer to all events published from now on.
+   * 
+   * @return The queue the consumer should drain.
+   */
+  public GameEventQueue subscribe() {
+    return subscribe(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Subscribe a new consumer to all events published from now on.
+   * 
+   * @param capacity
+   *          The number of events the consumer's queue can hold.
+   * 
+   * @return The queue the consumer should drain.
+   */
+  public synchronized GameEventQueue subscribe(int capacity) {
+    GameEventQueue queue = new GameEventQueue(capacity);
+    GameEventQueue[] grown = new GameEventQueue[queues.length + 1];
+    System.arraycopy(queues, 0, grown, 0, queues.length);
+    grown[queues.length] = queue;
+    queues = grown;
+    return queue;
+  }
+
+  /**
+   * Stop delivering events to a queue.
+   * 
+   * @param queue
+   *          The queue of the subscriber.
+   */
+  public synchronized void unsubscribe(GameEventQueue queue) {
+    for (int i = 0; i < queues.length; i++) {
+      if (queues[i] == queue) {
+        GameEventQueue[] shrunk = new GameEventQueue[queues.length - 1];
+        System.arraycopy(queues, 0, shrunk, 0, i);
+        System.arraycopy(queues, i + 1, shrunk, i, shrunk.length - i);
+        queues = shrunk;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get the number of subscribers.
+   * 
+   * @return The number of subscribed queues.
+   */
+  public int getSubscribers() {
+    return queues.length;
+  }
+
+  /**
+   * Set the step that subsequently published events should be attributed to.
+   * 
+   * @param tick
+   *          The current (full) step of the game.
+   */
+  public void setTick(int tick) {
+    this.tick = tick;
+  }
+
+  /**
+   * Get the step that published events are currently attributed to.
+   * 
+   * @return The current tick.
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Publish an event occurring at the position of a given element.
+   * 
+   * @param type
+   *          The type of the event.
+   * 
+   * @param actor
+   *          The id of the entity causing the event, or -1.
+   * 
+   * @param target
+   *          The id of the entity undergoing the event, or -1.
+   * 
+   * @param element
+   *          The element at whose position the event occurred.
+   * 
+   * @param value
+   *          A type specific value.
+   */
+  public void publish(GameEventType type, int actor, int target, LevelElement element, int value) {
+    publish(type, actor, target, element.posX(), element.posY(), value);
+  }
+
+  /**
+   * Publish an event to all subscribers.
+   * 
+   * @param type
+   *          The type of the event.
+   * 
+   * @param actor
+   *          The id of the entity causing the event, or -1.
+   * 
+   * @param target
+   *          The id of the entity undergoing the event, or -1.
+   * 
+   * @param posX
+   *          The X coordinate at which the event occurred.
+   * 
+   * @param posY
+   *          The Y coordinate at which the event occurred.
+   * 
+   * @param value
+   *          A type specific value.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public void publish(GameEventType type, int actor, int target, double posX, double posY,
+      int value) {
+    GameEventQueue[] current = queues;
+    int at = tick;
+    for (GameEventQueue queue : current) {
+      queue.offer(at, type, actor, target, posX, posY, value);
+    }
+  }
+
+}
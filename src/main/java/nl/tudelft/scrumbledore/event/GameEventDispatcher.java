@@ -0,0 +1,103 @@
+package nl.tudelft.scrumbledore.event;
+
+/**
+ * Background thread draining a GameEventQueue into a listener, for consumers that do slow work such
+ * as I/O and should not hold up the simulation or the user interface.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventDispatcher implements Runnable {
+  public static final long DEFAULT_INTERVAL = 50;
+
+  private final GameEventQueue queue;
+  private final GameEventListener listener;
+  private final long interval;
+  private volatile boolean running;
+  private Thread thread;
+
+  /**
+   * Constructs a new GameEventDispatcher draining a queue at the default interval.
+   * 
+   * @param queue
+   *          The queue to drain.
+   * 
+   * @param listener
+   *          The listener to hand the events to.
+   */
+  public GameEventDispatcher(GameEventQueue queue, GameEventListener listener) {
+    this(queue, listener, DEFAULT_INTERVAL);
+  }
+
+  /**
+   * Constructs a new GameEventDispatcher.
+   * 
+   * @param queue
+   *          The queue to drain.
+   * 
+   * @param listener
+   *          The listener to hand the events to.
+   * 
+   * @param interval
+   *          The number of milliseconds to wait between drains.
+   */
+  public GameEventDispatcher(GameEventQueue queue, GameEventListener listener, long interval) {
+    this.queue = queue;
+    this.listener = listener;
+    this.interval = interval;
+  }
+
+  /**
+   * Start draining the queue on a daemon thread.
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    thread = new Thread(this, "game-events");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Stop the thread, and hand the events still in the queue to the listener before returning.
+   */
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    thread.interrupt();
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    thread = null;
+  }
+
+  /**
+   * Drain the queue until the dispatcher is stopped.
+   */
+  public void run() {
+    while (running) {
+      queue.drain(listener);
+      try {
+        Thread.sleep(interval);
+      } catch (InterruptedException e) {
+        break;
+      }
+    }
+    queue.drain(listener);
+  }
+
+  /**
+   * Check whether the dispatcher is running.
+   * 
+   * @return Whether the queue is being drained.
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+}
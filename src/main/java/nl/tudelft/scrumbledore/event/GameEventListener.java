@@ -0,0 +1,17 @@
+package nl.tudelft.scrumbledore.event;
+
+/**
+ * Consumer of gameplay events drained from a GameEventQueue.
+ * 
+ * @author Jesse Tilro
+ */
+public interface GameEventListener {
+
+  /**
+   * Handle a gameplay event.
+   * 
+   * @param event
+   *          The event.
+   */
+  void handle(GameEvent event);
+}
@@ -0,0 +1,103 @@
+package nl.tudelft.scrumbledore.event;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.Logger;
+
+/**
+ * Listener writing gameplay events to the session log and the binary event stream, according to the
+ * logging preferences of the user. Meant to be run by a GameEventDispatcher, off the simulation
+ * thread.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventLogger implements GameEventListener {
+
+  /**
+   * Log an event and append it to the event stream.
+   * 
+   * @param event
+   *          The event.
+   */
+  public void handle(GameEvent event) {
+    if (event.getType() == null) {
+      return;
+    }
+    log(event);
+
+    if (Constants.isLoggingWantEvents()) {
+      GameEventStream stream = GameEventStream.getInstance();
+      stream.setTick(event.getTick());
+      stream.record(event.getType(), event.getActor(), event.getTarget(), event.posX(),
+          event.posY(), event.getValue());
+      if (event.getType() == GameEventType.GameCompleted) {
+        stream.flush();
+      }
+    }
+  }
+
+  /**
+   * Write a line to the session log for the events the user wishes to see.
+   * 
+   * @param event
+   *          The event.
+   */
+  private void log(GameEvent event) {
+    switch (event.getType()) {
+    case EnemyEncapsulated:
+    case EnemyExecuted:
+      if (Constants.isLoggingWantEnemy()) {
+        Logger.getInstance().log(event.getType().getDescription());
+      }
+      break;
+    case PointsGained:
+      if (Constants.isLoggingWantPoints()) {
+        Logger.getInstance().log("Player gained " + event.getValue() + " points.");
+      }
+      break;
+    case HighScoreChanged:
+      if (Constants.isLoggingWantPoints()) {
+        Logger.getInstance().log(
+            "The high-score has been changed and is now worth " + event.getValue() + " points!");
+      }
+      break;
+    case PlayerMoved:
+      if (Constants.isLoggingWantInput()) {
+        Logger.getInstance().log("Player performed the move " + direction(event) + " action.");
+      }
+      break;
+    case PlayerJumped:
+    case PlayerStopped:
+      if (Constants.isLoggingWantInput()) {
+        Logger.getInstance().log(event.getType().getDescription());
+      }
+      break;
+    case PlayerShot:
+      if (Constants.isLoggingWantShooting()) {
+        Logger.getInstance().log("Player shot in the " + direction(event) + " direction.");
+      }
+      break;
+    case LevelAdvanced:
+    case GameCompleted:
+      Logger.getInstance().log(event.getType().getDescription());
+      break;
+    default:
+      break;
+    }
+  }
+
+  /**
+   * Get the direction of a move or a shot, whose value is -1 for the left and 1 for the right.
+   * 
+   * @param event
+   *          The event.
+   * 
+   * @return Either "left" or "right".
+   */
+  private static String direction(GameEvent event) {
+    if (event.getValue() < 0) {
+      return "left";
+    }
+    return "right";
+  }
+
+}
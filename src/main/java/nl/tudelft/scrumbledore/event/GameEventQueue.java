@@ -0,0 +1,179 @@
+package nl.tudelft.scrumbledore.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free queue of gameplay events with any number of producers and a single consumer.
+ * The events are stored field by field in preallocated arrays, so offering an event never
+ * allocates. Every slot carries a sequence number: a producer claims a slot by advancing the tail
+ * and publishes it by bumping the sequence of the slot, after which the consumer may read it and
+ * hand the slot back by bumping the sequence once more. When the queue is full, offered events are
+ * dropped and counted rather than blocking the producer.
+ * 
+ * @author Jesse Tilro
+ */
+public final class GameEventQueue {
+  private final int mask;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail;
+  private final AtomicLong dropped;
+  private long head;
+
+  private final int[] ticks;
+  private final int[] types;
+  private final int[] actors;
+  private final int[] targets;
+  private final double[] xs;
+  private final double[] ys;
+  private final int[] values;
+
+  /**
+   * Constructs a new, empty GameEventQueue.
+   * 
+   * @param capacity
+   *          The number of events the queue can hold, rounded up to a power of two.
+   */
+  public GameEventQueue(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    this.mask = size - 1;
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.tail = new AtomicLong();
+    this.dropped = new AtomicLong();
+
+    this.ticks = new int[size];
+    this.types = new int[size];
+    this.actors = new int[size];
+    this.targets = new int[size];
+    this.xs = new double[size];
+    this.ys = new double[size];
+    this.values = new int[size];
+  }
+
+  /**
+   * Offer an event to the queue. Safe to call from any thread.
+   * 
+   * @param tick
+   *          The step at which the event occurred.
+   * 
+   * @param type
+   *          The type of the event.
+   * 
+   * @param actor
+   *          The id of the entity causing the event, or -1.
+   * 
+   * @param target
+   *          The id of the entity undergoing the event, or -1.
+   * 
+   * @param posX
+   *          The X coordinate at which the event occurred.
+   * 
+   * @param posY
+   *          The Y coordinate at which the event occurred.
+   * 
+   * @param value
+   *          A type specific value.
+   * 
+   * @return Whether the event was queued, false if the queue was full.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public boolean offer(int tick, GameEventType type, int actor, int target, double posX,
+      double posY, int value) {
+    long position;
+    int slot;
+    while (true) {
+      position = tail.get();
+      slot = (int) position & mask;
+      long sequence = sequences.get(slot);
+      if (sequence == position) {
+        if (tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+      } else if (sequence < position) {
+        dropped.incrementAndGet();
+        return false;
+      }
+    }
+
+    ticks[slot] = tick;
+    types[slot] = type.getCode();
+    actors[slot] = actor;
+    targets[slot] = target;
+    xs[slot] = posX;
+    ys[slot] = posY;
+    values[slot] = value;
+    sequences.lazySet(slot, position + 1);
+    return true;
+  }
+
+  /**
+   * Take the oldest event from the queue. May only be called from the consuming thread.
+   * 
+   * @return The event, or null if the queue is empty.
+   */
+  public GameEvent poll() {
+    int slot = (int) head & mask;
+    if (sequences.get(slot) != head + 1) {
+      return null;
+    }
+
+    GameEvent event = new GameEvent(ticks[slot], GameEventType.fromCode(types[slot]),
+        actors[slot], targets[slot], xs[slot], ys[slot], values[slot]);
+    sequences.lazySet(slot, head + mask + 1);
+    head++;
+    return event;
+  }
+
+  /**
+   * Hand all events currently in the queue to a listener, oldest first. May only be called from
+   * the consuming thread.
+   * 
+   * @param listener
+   *          The listener.
+   * 
+   * @return The number of events drained.
+   */
+  public int drain(GameEventListener listener) {
+    int drained = 0;
+    GameEvent event = poll();
+    while (event != null) {
+      listener.handle(event);
+      drained++;
+      event = poll();
+    }
+    return drained;
+  }
+
+  /**
+   * Get the number of events waiting in the queue. The result is only an estimate while producers
+   * are offering events.
+   * 
+   * @return The number of queued events.
+   */
+  public int size() {
+    long size = tail.get() - head;
+    return (int) Math.max(0, Math.min(size, mask + 1));
+  }
+
+  /**
+   * Get the number of events the queue can hold.
+   * 
+   * @return The capacity.
+   */
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Get the number of events dropped because the queue was full.
+   * 
+   * @return The number of dropped events.
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+}
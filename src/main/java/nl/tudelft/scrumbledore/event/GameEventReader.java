@@ -0,0 +1,122 @@
+package nl.tudelft.scrumbledore.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Reads the binary records written by a GameEventStream back from disk and decodes them into
+ * GameEvents or text on demand.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventReader {
+  private ByteBuffer buffer;
+
+  /**
+   * Construct a new GameEventReader reading all records from a given event file.
+   * 
+   * @param file
+   *          The event file.
+   * 
+   * @throws IOException
+   *           When the file can not be read.
+   */
+  public GameEventReader(File file) throws IOException {
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      buffer = ByteBuffer.allocate((int) channel.size());
+      int read = 0;
+      while (buffer.hasRemaining() && read >= 0) {
+        read = channel.read(buffer);
+      }
+      buffer.flip();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Construct a new GameEventReader reading records from a given buffer.
+   * 
+   * @param buffer
+   *          A buffer positioned at the first record.
+   */
+  public GameEventReader(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Check whether there is another complete record to be read.
+   * 
+   * @return Whether another record is available.
+   */
+  public boolean hasNext() {
+    return buffer.remaining() >= GameEventStream.RECORD_SIZE;
+  }
+
+  /**
+   * Decode the next record.
+   * 
+   * @return The decoded GameEvent.
+   */
+  public GameEvent next() {
+    int tick = buffer.getInt();
+    GameEventType type = GameEventType.fromCode(buffer.getShort());
+    int actor = buffer.getShort();
+    int target = buffer.getShort();
+    buffer.getShort();
+    double posX = buffer.getFloat();
+    double posY = buffer.getFloat();
+    int value = buffer.getInt();
+    return new GameEvent(tick, type, actor, target, posX, posY, value);
+  }
+
+  /**
+   * Decode all remaining records.
+   * 
+   * @return A list of GameEvents.
+   */
+  public ArrayList<GameEvent> readAll() {
+    ArrayList<GameEvent> events = new ArrayList<GameEvent>();
+    while (hasNext()) {
+      events.add(next());
+    }
+    return events;
+  }
+
+  /**
+   * Decode all remaining records into lines of text.
+   * 
+   * @return A list of text lines, one per event.
+   */
+  public ArrayList<String> readLines() {
+    ArrayList<String> lines = new ArrayList<String>();
+    while (hasNext()) {
+      lines.add(next().toString());
+    }
+    return lines;
+  }
+
+  /**
+   * Print the decoded contents of the event files given as arguments.
+   * 
+   * @param args
+   *          Paths to event files.
+   * 
+   * @throws IOException
+   *           When one of the files can not be read.
+   */
+  public static void main(String[] args) throws IOException {
+    for (String path : args) {
+      GameEventReader reader = new GameEventReader(new File(path));
+      for (String line : reader.readLines()) {
+        System.out.println(line);
+      }
+    }
+  }
+
+}
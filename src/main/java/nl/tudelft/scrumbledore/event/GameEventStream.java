@@ -0,0 +1,237 @@
+package nl.tudelft.scrumbledore.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * Append-only stream of fixed-size binary gameplay event records. Records are written into a
+ * preallocated direct buffer, which is only flushed to disk when it is full or when explicitly
+ * requested, so recording an event never formats strings or allocates.
+ * 
+ * <p>
+ * Every record is {@link #RECORD_SIZE} bytes long and laid out as: tick (int), type (short), actor
+ * (short), target (short), reserved (short), x (float), y (float), value (int).
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public final class GameEventStream {
+  public static final int RECORD_SIZE = 24;
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private static volatile GameEventStream instance;
+
+  private final ByteBuffer buffer;
+  private final File file;
+  private FileChannel channel;
+  private int tick;
+
+  /**
+   * Constructs the session event stream, which should be used only once since this is a Singleton
+   * class.
+   */
+  private GameEventStream() {
+    this(createSessionFile(), DEFAULT_CAPACITY);
+
+    Runtime.getRuntime().addShutdownHook(new Thread() {
+      public void run() {
+        close();
+      }
+    });
+  }
+
+  /**
+   * Constructs a new event stream appending to a given file.
+   * 
+   * @param file
+   *          The file the records should be appended to.
+   * 
+   * @param capacity
+   *          The number of records that can be buffered before the buffer is flushed to disk.
+   */
+  public GameEventStream(File file, int capacity) {
+    this.file = file;
+    this.buffer = ByteBuffer.allocateDirect(capacity * RECORD_SIZE);
+    this.tick = 0;
+  }
+
+  /**
+   * Creates the session event stream if it has not yet been instantiated.
+   * 
+   * @return The single session GameEventStream instance.
+   */
+  public static GameEventStream getInstance() {
+    if (instance == null) {
+      synchronized (GameEventStream.class) {
+        if (instance == null) {
+          instance = new GameEventStream();
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Create the directory for event files if needed and determine the file for this session.
+   * 
+   * @return The file the session's events should be written to.
+   */
+  private static File createSessionFile() {
+    File eventsDir = new File(Constants.APPDATA_DIR + Constants.EVENTS_DIR);
+
+    try {
+      if (!eventsDir.exists() && !eventsDir.mkdirs()) {
+        throw new IOException();
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+
+    SimpleDateFormat simpleFormat = new SimpleDateFormat("yyyy-MM.dd-hh-mm-ss");
+    String desiredFileName = "Session-" + simpleFormat.format(new Date()) + ".events";
+    return new File(eventsDir, desiredFileName);
+  }
+
+  /**
+   * Set the step that subsequently recorded events should be attributed to.
+   * 
+   * @param tick
+   *          The current (full) step of the game.
+   */
+  public synchronized void setTick(int tick) {
+    this.tick = tick;
+  }
+
+  /**
+   * Get the step that recorded events are currently attributed to.
+   * 
+   * @return The current tick.
+   */
+  public synchronized int getTick() {
+    return tick;
+  }
+
+  /**
+   * Record an event occurring at the position of a given element.
+   * 
+   * @param type
+   *          The type of the event.
+   * 
+   * @param actor
+   *          The id of the entity causing the event, or -1.
+   * 
+   * @param target
+   *          The id of the entity undergoing the event, or -1.
+   * 
+   * @param element
+   *          The element at whose position the event occurred.
+   * 
+   * @param value
+   *          A type specific value.
+   */
+  public void record(GameEventType type, int actor, int target, LevelElement element, int value) {
+    record(type, actor, target, element.posX(), element.posY(), value);
+  }
+
+  /**
+   * Record an event by appending a fixed-size record to the buffer, flushing it to disk first if it
+   * is full.
+   * 
+   * @param type
+   *          The type of the event.
+   * 
+   * @param actor
+   *          The id of the entity causing the event, or -1.
+   * 
+   * @param target
+   *          The id of the entity undergoing the event, or -1.
+   * 
+   * @param posX
+   *          The X coordinate at which the event occurred.
+   * 
+   * @param posY
+   *          The Y coordinate at which the event occurred.
+   * 
+   * @param value
+   *          A type specific value.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public synchronized void record(GameEventType type, int actor, int target, double posX,
+      double posY, int value) {
+    if (buffer.remaining() < RECORD_SIZE) {
+      flush();
+    }
+    buffer.putInt(tick);
+    buffer.putShort(type.getCode());
+    buffer.putShort((short) actor);
+    buffer.putShort((short) target);
+    buffer.putShort((short) 0);
+    buffer.putFloat((float) posX);
+    buffer.putFloat((float) posY);
+    buffer.putInt(value);
+  }
+
+  /**
+   * Get the number of records currently buffered and not yet written to disk.
+   * 
+   * @return The number of pending records.
+   */
+  public synchronized int pending() {
+    return buffer.position() / RECORD_SIZE;
+  }
+
+  /**
+   * Write all buffered records to the end of the event file.
+   */
+  public synchronized void flush() {
+    if (buffer.position() == 0) {
+      return;
+    }
+
+    buffer.flip();
+    try {
+      if (channel == null) {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+      }
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Flush all buffered records and release the event file.
+   */
+  public synchronized void close() {
+    flush();
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+      channel = null;
+    }
+  }
+
+  /**
+   * Get the file the events are written to.
+   * 
+   * @return The event file.
+   */
+  public File getFile() {
+    return file;
+  }
+
+}
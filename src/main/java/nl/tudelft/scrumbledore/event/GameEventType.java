@@ -0,0 +1,72 @@
+package nl.tudelft.scrumbledore.event;
+
+/**
+ * Enumeration of the types of gameplay events that can be recorded in the binary event stream.
+ * Every type carries the English description that is used when a record is decoded into text.
+ * 
+ * @author Jesse Tilro
+ */
+public enum GameEventType {
+  EnemyEncapsulated("An enemy was encapsulated by a bubble."),
+  EnemyExecuted("Player executed an encapsulated enemy."),
+  FruitPicked("Player picked up a fruit."),
+  PointsGained("Player gained points."),
+  HighScoreChanged("The high-score has been changed."),
+  PlayerJumped("Player performed the jump action."),
+  PlayerShot("Player shot a bubble."),
+  PlayerDied("Player was hit by an enemy."),
+  PowerupPicked("Player picked up a power-up."),
+  LevelAdvanced("Player advanced to the next level."),
+  GameCompleted("Player completed the game successfully."),
+  LevelCleared("All enemies of the level have been defeated."),
+  PlayerMoved("Player performed a move action."),
+  PlayerStopped("Player stopped moving.");
+
+  private static final GameEventType[] TYPES = values();
+
+  private final String description;
+
+  /**
+   * Construct a new GameEventType.
+   * 
+   * @param description
+   *          The description used when decoding a record of this type.
+   */
+  GameEventType(String description) {
+    this.description = description;
+  }
+
+  /**
+   * Get the English description of this event type.
+   * 
+   * @return The description.
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Get the code with which this type is stored in a record.
+   * 
+   * @return The code.
+   */
+  public short getCode() {
+    return (short) ordinal();
+  }
+
+  /**
+   * Look up the event type belonging to a code read from a record.
+   * 
+   * @param code
+   *          The code stored in the record.
+   * 
+   * @return The corresponding event type, or null if the code is unknown.
+   */
+  public static GameEventType fromCode(int code) {
+    if (code < 0 || code >= TYPES.length) {
+      return null;
+    }
+    return TYPES[code];
+  }
+
+}
@@ -0,0 +1,82 @@
+package nl.tudelft.scrumbledore.game;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads values of arbitrary bit widths written by a BitWriter from a ByteBuffer. The reader can be
+ * pointed at a new buffer to be reused for every packet or frame, so reading does not allocate.
+ * 
+ * @author Jesse Tilro
+ */
+public final class BitReader {
+  private ByteBuffer in;
+  private long accumulator;
+  private int available;
+
+  /**
+   * Start reading at the current position of a buffer.
+   * 
+   * @param buffer
+   *          The buffer to read from.
+   */
+  public void reset(ByteBuffer buffer) {
+    this.in = buffer;
+    this.accumulator = 0;
+    this.available = 0;
+  }
+
+  /**
+   * Read a value of a given number of bits.
+   * 
+   * @param bits
+   *          The number of bits to read, at most 32.
+   * 
+   * @return The value, in the lowest bits of the int.
+   */
+  public int read(int bits) {
+    while (available < bits) {
+      accumulator = (accumulator << 8) | (in.get() & 0xFF);
+      available += 8;
+    }
+    available -= bits;
+    return (int) ((accumulator >>> available) & BitWriter.mask(bits));
+  }
+
+  /**
+   * Read a single bit.
+   * 
+   * @return The bit.
+   */
+  public boolean readBit() {
+    return read(1) != 0;
+  }
+
+  /**
+   * Read a number written by BitWriter.writeUnsigned.
+   * 
+   * @return The number, taken as unsigned.
+   */
+  public int readUnsigned() {
+    switch (read(2)) {
+    case 0:
+      return read(4);
+    case 1:
+      return read(8);
+    case 2:
+      return read(16);
+    default:
+      return read(32);
+    }
+  }
+
+  /**
+   * Read a number written by BitWriter.writeSigned.
+   * 
+   * @return The number.
+   */
+  public int readSigned() {
+    int value = readUnsigned();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+}
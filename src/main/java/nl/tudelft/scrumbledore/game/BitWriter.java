@@ -0,0 +1,130 @@
+package nl.tudelft.scrumbledore.game;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes values of arbitrary bit widths into a ByteBuffer, most significant bit first. The writer
+ * can be pointed at a new buffer to be reused for every packet or frame, so writing does not
+ * allocate. Besides fixed widths it offers a compact variable width encoding for small numbers,
+ * which a BitReader decodes again.
+ * 
+ * @author Jesse Tilro
+ */
+public final class BitWriter {
+  private ByteBuffer out;
+  private long accumulator;
+  private int pending;
+  private long written;
+
+  /**
+   * Start writing at the current position of a buffer.
+   * 
+   * @param buffer
+   *          The buffer to write to.
+   */
+  public void reset(ByteBuffer buffer) {
+    this.out = buffer;
+    this.accumulator = 0;
+    this.pending = 0;
+    this.written = 0;
+  }
+
+  /**
+   * Write the lowest bits of a value.
+   * 
+   * @param value
+   *          The value.
+   * 
+   * @param bits
+   *          The number of bits to write, at most 32.
+   */
+  public void write(int value, int bits) {
+    accumulator = (accumulator << bits) | (value & mask(bits));
+    pending += bits;
+    written += bits;
+    while (pending >= 8) {
+      pending -= 8;
+      out.put((byte) (accumulator >>> pending));
+    }
+  }
+
+  /**
+   * Write a single bit.
+   * 
+   * @param bit
+   *          The bit.
+   */
+  public void writeBit(boolean bit) {
+    if (bit) {
+      write(1, 1);
+    } else {
+      write(0, 1);
+    }
+  }
+
+  /**
+   * Write a non-negative number in as few bits as its size allows: two bits telling whether 4, 8,
+   * 16 or 32 bits follow, and then the number.
+   * 
+   * @param value
+   *          The number, taken as unsigned.
+   */
+  public void writeUnsigned(int value) {
+    if ((value & ~0xF) == 0) {
+      write(0, 2);
+      write(value, 4);
+    } else if ((value & ~0xFF) == 0) {
+      write(1, 2);
+      write(value, 8);
+    } else if ((value & ~0xFFFF) == 0) {
+      write(2, 2);
+      write(value, 16);
+    } else {
+      write(3, 2);
+      write(value, 32);
+    }
+  }
+
+  /**
+   * Write a signed number, interleaving positive and negative numbers so that numbers close to
+   * zero take few bits.
+   * 
+   * @param value
+   *          The number.
+   */
+  public void writeSigned(int value) {
+    writeUnsigned((value << 1) ^ (value >> 31));
+  }
+
+  /**
+   * Write the remaining bits, padding the last byte with zeros.
+   */
+  public void flush() {
+    if (pending > 0) {
+      out.put((byte) (accumulator << (8 - pending)));
+      pending = 0;
+    }
+  }
+
+  /**
+   * Get the number of bits written since the last reset.
+   * 
+   * @return The number of bits.
+   */
+  public long getBitsWritten() {
+    return written;
+  }
+
+  /**
+   * Get a mask of the lowest bits of an int.
+   * 
+   * @param bits
+   *          The number of bits.
+   * 
+   * @return The mask.
+   */
+  static long mask(int bits) {
+    return (1L << bits) - 1;
+  }
+
+}
@@ -0,0 +1,141 @@
+package nl.tudelft.scrumbledore.game;
+
+/**
+ * Encodes a WorldState as the difference with an earlier baseline state, bit-packed through a
+ * BitWriter. Elements of each kind are matched by their index in the level. An element that did
+ * not change costs a single bit; of an element that did change, only the fields that changed are
+ * written, each as the difference with the baseline in a variable number of bits, except for the
+ * flags, which are written as they are. Without a baseline, the state is encoded against an empty
+ * state, which gives a full, but still quantised and bit-packed, encoding.
+ * 
+ * @author Jesse Tilro
+ */
+public final class DeltaStateCodec {
+  private static final WorldState EMPTY = new WorldState();
+
+  /**
+   * Private constructor, since this class only offers static utility methods.
+   */
+  private DeltaStateCodec() {
+  }
+
+  /**
+   * Encode a state against a baseline.
+   * 
+   * @param current
+   *          The state to encode.
+   * 
+   * @param baseline
+   *          The state the receiver already has, or null for none.
+   * 
+   * @param out
+   *          The writer to write to. It is not flushed.
+   */
+  public static void encode(WorldState current, WorldState baseline, BitWriter out) {
+    WorldState base = baseline;
+    if (base == null) {
+      base = EMPTY;
+    }
+
+    int[] header = current.getHeader();
+    int[] baseHeader = base.getHeader();
+    for (int i = 0; i < WorldState.HEADER; i++) {
+      out.writeSigned(header[i] - baseHeader[i]);
+    }
+
+    for (int kind = 0; kind < WorldState.KINDS; kind++) {
+      int stride = WorldState.STRIDE[kind];
+      int count = current.getCount(kind);
+      int baseCount = base.getCount(kind);
+      int[] data = current.getData(kind);
+      int[] baseData = base.getData(kind);
+      out.writeUnsigned(count);
+
+      for (int i = 0; i < count; i++) {
+        int start = i * stride;
+        boolean known = i < baseCount;
+        boolean changed = !known;
+        for (int f = 0; known && !changed && f < stride; f++) {
+          changed = data[start + f] != baseData[start + f];
+        }
+        out.writeBit(changed);
+        if (!changed) {
+          continue;
+        }
+
+        for (int f = 0; f < stride; f++) {
+          int previous = 0;
+          if (known) {
+            previous = baseData[start + f];
+          }
+          int value = data[start + f];
+          out.writeBit(value != previous);
+          if (value == previous) {
+            continue;
+          }
+          if (f == WorldState.FLAGS) {
+            out.write(value, WorldState.FLAG_BITS);
+          } else {
+            out.writeSigned(value - previous);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Decode a state encoded against a baseline.
+   * 
+   * @param baseline
+   *          The baseline the state was encoded against, or null for none.
+   * 
+   * @param in
+   *          The reader to read from.
+   * 
+   * @param result
+   *          The state to decode into, which may not be the baseline itself.
+   */
+  public static void decode(WorldState baseline, BitReader in, WorldState result) {
+    WorldState base = baseline;
+    if (base == null) {
+      base = EMPTY;
+    }
+    assert base != result;
+
+    int[] header = result.getHeader();
+    int[] baseHeader = base.getHeader();
+    for (int i = 0; i < WorldState.HEADER; i++) {
+      header[i] = baseHeader[i] + in.readSigned();
+    }
+
+    for (int kind = 0; kind < WorldState.KINDS; kind++) {
+      int stride = WorldState.STRIDE[kind];
+      int count = in.readUnsigned();
+      int baseCount = base.getCount(kind);
+      result.setCount(kind, count);
+      int[] data = result.getData(kind);
+      int[] baseData = base.getData(kind);
+
+      for (int i = 0; i < count; i++) {
+        int start = i * stride;
+        boolean known = i < baseCount;
+        boolean changed = in.readBit();
+        for (int f = 0; f < stride; f++) {
+          int value = 0;
+          if (known) {
+            value = baseData[start + f];
+          }
+          if (changed && in.readBit()) {
+            if (f == WorldState.FLAGS) {
+              value = in.read(WorldState.FLAG_BITS);
+            } else {
+              value += in.readSigned();
+            }
+          }
+          data[start + f] = value;
+        }
+      }
+    }
+  }
+
+}
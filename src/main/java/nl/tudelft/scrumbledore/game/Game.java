@@ -1,8 +1,18 @@
 package nl.tudelft.scrumbledore.game;
 
 import java.util.ArrayList;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventQueue;
+import nl.tudelft.scrumbledore.event.GameEventType;
+import nl.tudelft.scrumbledore.jfr.ModifierEvent;
+import nl.tudelft.scrumbledore.jfr.StepEvent;
+import nl.tudelft.scrumbledore.latency.InputLatency;
 import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.LevelPreparer;
+import nl.tudelft.scrumbledore.level.LevelSequence;
+import nl.tudelft.scrumbledore.level.ListLevelSequence;
 import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.NPCLevelModifier;
 
 /**
  * The class responsible for aggregating all model classes of the Game, and therefore modeling a
@@ -12,14 +22,20 @@ import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
  * @author David Alderliesten
  */
 public abstract class Game {
-  private ArrayList<Level> levels;
+  private LevelSequence levels;
+  private LevelPreparer preparer;
   private ArrayList<LevelModifier> modifiers;
+  private int currentIndex;
   private Level currentLevel;
   private ScoreCounter score;
   private double steps;
+  private GameEventBus events;
+  private GameEventQueue scoreEvents;
+  private InputLatency latency;
+  private boolean cleared;
 
   /**
-   * Constructs a new Game with levels parsed from file system.
+   * Constructs a new Game with levels created on demand from the cached level templates.
    */
   public Game() {
     construct(makeLevels());
@@ -32,7 +48,7 @@ public abstract class Game {
    *          The levels this Game needs to consist of.
    */
   public Game(ArrayList<Level> levels) {
-    construct(levels);
+    construct(new ListLevelSequence(levels));
   }
 
   /**
@@ -41,13 +57,18 @@ public abstract class Game {
    * @param levels
    *          The levels for the game.
    */
-  private void construct(ArrayList<Level> levels) {
+  private void construct(LevelSequence levels) {
     assert levels.size() > 0;
 
     this.levels = levels;
+    this.currentIndex = 0;
     this.currentLevel = this.levels.get(0);
 
+    this.events = new GameEventBus();
     this.score = new ScoreCounter();
+    this.score.setEventBus(events);
+    this.scoreEvents = events.subscribe();
+    this.latency = new InputLatency();
     this.steps = 0;
 
     this.modifiers = new ArrayList<LevelModifier>();
@@ -57,7 +78,7 @@ public abstract class Game {
    * Runs invariant assertions required for the functioning of the game.
    */
   public void invariant() {
-    assert levels.contains(currentLevel);
+    assert currentIndex >= 0 && currentIndex < levels.size();
   }
 
   /**
@@ -76,31 +97,43 @@ public abstract class Game {
    */
   public int getCurrentLevelNumber() {
     invariant();
-    int index = 0;
-    while (!currentLevel.equals(levels.get(index)) && index < levels.size()) {
-      ++index;
-    }
-    return index + 1;
+    return currentIndex + 1;
   }
 
   /**
-   * Returns the list of all levels in the game.
+   * Returns the sequence of all levels in the game.
    * 
    * @return All levels in the game.
    */
-  public ArrayList<Level> getLevels() {
+  public LevelSequence getLevelSequence() {
     return levels;
   }
 
   /**
-   * Set the current level to the given level.
+   * Make the level at a given index the current level.
+   * 
+   * @param index
+   *          The index of the level, starting at 0.
+   */
+  public void setCurrentLevelIndex(int index) {
+    assert index >= 0 && index < levels.size();
+    if (index != currentIndex) {
+      this.currentLevel = levels.get(index);
+      this.currentIndex = index;
+      this.cleared = false;
+    }
+  }
+
+  /**
+   * Set the preparer to run on levels before they become the current level, also after the Game is
+   * restarted.
    * 
-   * @param level
-   *          The level.
+   * @param preparer
+   *          The preparer, or null for none.
    */
-  public void setCurrentLevel(Level level) {
-    assert levels.contains(level);
-    this.currentLevel = level;
+  public void setLevelPreparer(LevelPreparer preparer) {
+    this.preparer = preparer;
+    levels.setPreparer(preparer);
   }
 
   /**
@@ -110,11 +143,7 @@ public abstract class Game {
    */
   public int remainingLevels() {
     invariant();
-    int remaining = 0;
-    while (!currentLevel.equals(levels.get(levels.size() - 1 - remaining))) {
-      ++remaining;
-    }
-    return remaining;
+    return levels.size() - 1 - currentIndex;
   }
 
   /**
@@ -124,9 +153,7 @@ public abstract class Game {
     invariant();
     assert remainingLevels() > 0;
 
-    int newIndex = getCurrentLevelNumber();
-
-    setCurrentLevel(levels.get(newIndex));
+    setCurrentLevelIndex(currentIndex + 1);
 
     invariant();
   }
@@ -142,7 +169,9 @@ public abstract class Game {
   }
 
   /**
-   * Performs a step, the next cycle in the game.
+   * Performs a step, the next cycle in the game. The events published during the step are applied
+   * to the score before the step ends, so the score is always in line with the level. The step
+   * and each of its Level Modifiers are reported as Flight Recorder events when those are enabled.
    * 
    * @param delta
    *          The relative period of time passed with respect to the expected period of time since
@@ -150,11 +179,63 @@ public abstract class Game {
    */
   public void step(double delta) {
     addSteps(delta);
+    events.setTick(getFullSteps());
+    StepEvent stepEvent = new StepEvent();
+    stepEvent.begin();
     for (LevelModifier modifier : modifiers) {
+      ModifierEvent modifierEvent = new ModifierEvent();
+      modifierEvent.begin();
       modifier.modify(currentLevel, delta);
+      if (modifierEvent.shouldCommit()) {
+        modifierEvent.setModifier(modifier.getClass().getSimpleName());
+        modifierEvent.setTick(getFullSteps());
+        modifierEvent.commit();
+      }
+    }
+    scoreEvents.drain(score);
+    checkCleared();
+    if (stepEvent.shouldCommit()) {
+      stepEvent.setTick(getFullSteps());
+      stepEvent.setDelta(delta);
+      stepEvent.setPlayers(currentLevel.getPlayers().size());
+      stepEvent.setNpcs(currentLevel.getNPCs().size());
+      stepEvent.setFruits(currentLevel.getFruits().size());
+      stepEvent.setBubbles(currentLevel.getBubbles().size());
+      stepEvent.setPowerups(currentLevel.getPowerups().size());
+      stepEvent.commit();
     }
   }
 
+  /**
+   * Publish a LevelCleared event the first time no enemies are left in the current level.
+   */
+  private void checkCleared() {
+    if (!cleared && currentLevel.getNPCs().isEmpty()
+        && currentLevel.getEnemyBubbles().isEmpty()) {
+      cleared = true;
+      events.publish(GameEventType.LevelCleared, -1, -1, 0, 0, getCurrentLevelNumber());
+    }
+  }
+
+  /**
+   * Get the bus on which the gameplay events of this Game are published.
+   * 
+   * @return The event bus.
+   */
+  public GameEventBus getEventBus() {
+    return events;
+  }
+
+  /**
+   * Get the measurements of the latency from key presses of the players in this Game until their
+   * effect is rendered.
+   * 
+   * @return The input latency.
+   */
+  public InputLatency getInputLatency() {
+    return latency;
+  }
+
   /**
    * Returns the current value of the score.
    * 
@@ -192,6 +273,17 @@ public abstract class Game {
     this.steps += steps;
   }
 
+  /**
+   * Set the exact number of steps that have been performed in this game, used when restoring a
+   * snapshot.
+   * 
+   * @param steps
+   *          The number of steps performed.
+   */
+  public void setSteps(double steps) {
+    this.steps = steps;
+  }
+
   /**
    * Get the exact number of steps that have been performed in this game.
    * 
@@ -215,8 +307,11 @@ public abstract class Game {
    */
   public void restart() {
     levels = makeLevels();
+    levels.setPreparer(preparer);
     score.resetScore();
+    currentIndex = 0;
     currentLevel = levels.get(0);
+    cleared = false;
   }
 
   /**
@@ -229,9 +324,25 @@ public abstract class Game {
   }
 
   /**
-   * Make the Levels for this Game.
+   * Set the time the NPCs of this Game may spend deciding per step. A budget makes which NPCs
+   * decide in a step depend on the load of the machine, so sessions that are recorded, replayed,
+   * rolled back or served have to run without one.
+   * 
+   * @param budgetMicros
+   *          The number of microseconds per step, zero or less for no limit.
+   */
+  public void setAIBudget(long budgetMicros) {
+    for (LevelModifier modifier : modifiers) {
+      if (modifier instanceof NPCLevelModifier) {
+        ((NPCLevelModifier) modifier).getScheduler().setBudgetMicros(budgetMicros);
+      }
+    }
+  }
+
+  /**
+   * Make the sequence of Levels for this Game.
    * 
-   * @return A list of Levels.
+   * @return A sequence of Levels.
    */
-  protected abstract ArrayList<Level> makeLevels();
+  protected abstract LevelSequence makeLevels();
 }
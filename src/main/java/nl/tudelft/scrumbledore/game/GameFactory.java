@@ -1,11 +1,17 @@
 package nl.tudelft.scrumbledore.game;
 
+import java.util.ArrayList;
+import nl.tudelft.scrumbledore.level.ChunkedWorld;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.modifier.ChunkStreamer;
 import nl.tudelft.scrumbledore.level.modifier.CollisionsLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.GravityLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.KineticsLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.NPCLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.PlayerActionsLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.BubbleActionsLevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.SleepLevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.StatusEffectLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.WarpLevelModifier;
 
 /**
@@ -13,7 +19,7 @@ import nl.tudelft.scrumbledore.level.modifier.WarpLevelModifier;
  * pattern.
  * 
  * @author Jesse Tilro
- *
+ * 
  */
 public abstract class GameFactory {
 
@@ -34,6 +40,47 @@ public abstract class GameFactory {
     return game;
   }
 
+  /**
+   * Makes a new Single / MultiPlayer game consisting of given levels instead of the game's own
+   * levels, for instance generated ones.
+   * 
+   * @param levels
+   *          The levels the game needs to consist of.
+   * 
+   * @return A SinglePlayer or MultiPlayer game.
+   */
+  public Game makeGame(ArrayList<Level> levels) {
+    Game game = createGame(levels);
+    makeLevelModifiers(game);
+    return game;
+  }
+
+  /**
+   * Makes a new Single / MultiPlayer game playing a single chunked world. The chunks around the
+   * players are streamed into the level by a ChunkStreamer running in front of the other
+   * modifiers.
+   * 
+   * @param world
+   *          The world the game needs to consist of.
+   * 
+   * @return A SinglePlayer or MultiPlayer game.
+   */
+  public Game makeGame(ChunkedWorld world) {
+    ArrayList<Level> levels = new ArrayList<Level>();
+    levels.add(world.makeLevel(getMaxPlayers()));
+    Game game = createGame(levels);
+    game.registerLevelModifier(new ChunkStreamer(world, game.getModifiers()));
+    makeLevelModifiers(game);
+    return game;
+  }
+
+  /**
+   * Get the maximum number of players in the games made by this factory.
+   * 
+   * @return The maximum number of players.
+   */
+  abstract int getMaxPlayers();
+
   /**
    * Abstract method implemented by child classes for the creation of a specific type of game.
    * 
@@ -41,6 +88,17 @@ public abstract class GameFactory {
    */
   abstract Game createGame();
 
+  /**
+   * Abstract method implemented by child classes for the creation of a specific type of game
+   * consisting of given levels.
+   * 
+   * @param levels
+   *          The levels the game needs to consist of.
+   * 
+   * @return A Single Player or MultiPlayer game.
+   */
+  abstract Game createGame(ArrayList<Level> levels);
+
   /**
    * Registers Level Modifiers to a given game.
    * 
@@ -48,13 +106,16 @@ public abstract class GameFactory {
    *          A given game.
    */
   protected void makeLevelModifiers(Game game) {
-    game.registerLevelModifier(new PlayerActionsLevelModifier());
+    game.registerLevelModifier(new PlayerActionsLevelModifier(game.getEventBus(),
+        game.getInputLatency()));
+    game.registerLevelModifier(new StatusEffectLevelModifier());
     game.registerLevelModifier(new GravityLevelModifier());
     game.registerLevelModifier(new NPCLevelModifier());
     game.registerLevelModifier(new BubbleActionsLevelModifier());
-    game.registerLevelModifier(new CollisionsLevelModifier(game.getScoreCounter()));
+    game.registerLevelModifier(new CollisionsLevelModifier(game.getEventBus()));
     game.registerLevelModifier(new KineticsLevelModifier());
     game.registerLevelModifier(new WarpLevelModifier());
+    game.registerLevelModifier(new SleepLevelModifier());
   }
 
 }
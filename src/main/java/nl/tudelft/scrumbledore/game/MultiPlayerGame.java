@@ -2,7 +2,8 @@ package nl.tudelft.scrumbledore.game;
 
 import java.util.ArrayList;
 import nl.tudelft.scrumbledore.level.Level;
-import nl.tudelft.scrumbledore.level.LevelParser;
+import nl.tudelft.scrumbledore.level.LevelSequence;
+import nl.tudelft.scrumbledore.level.LevelTemplateCache;
 
 /**
  * A Game that can be played by multiple players.
@@ -31,13 +32,12 @@ public class MultiPlayerGame extends Game {
   }
 
   /**
-   * Make new Levels for this Game.
+   * Make a new sequence of Levels for this Game from the cached level templates.
    * 
-   * @return A list of Levels.
+   * @return A sequence of Levels.
    */
-  protected ArrayList<Level> makeLevels() {
-    LevelParser parser = new LevelParser();
-    return parser.getLevels();
+  protected LevelSequence makeLevels() {
+    return LevelTemplateCache.getInstance().makeSequence(Integer.MAX_VALUE);
   }
 
 }
@@ -1,5 +1,8 @@
 package nl.tudelft.scrumbledore.game;
 
+import java.util.ArrayList;
+import nl.tudelft.scrumbledore.level.Level;
+
 /**
  * Creates an instance of a MultiPlayerGame.
  * 
@@ -16,4 +19,25 @@ public class MultiPlayerGameFactory extends GameFactory {
     return new MultiPlayerGame();
   }
 
+  /**
+   * Creates a new instance of a MultiPlayerGame consisting of given levels.
+   * 
+   * @param levels
+   *          The levels the game needs to consist of.
+   * 
+   * @return a new instance of a MultiPlayerGame.
+   */
+  Game createGame(ArrayList<Level> levels) {
+    return new MultiPlayerGame(levels);
+  }
+
+  /**
+   * Get the maximum number of players in a MultiPlayerGame.
+   * 
+   * @return The maximum number of players.
+   */
+  int getMaxPlayers() {
+    return Integer.MAX_VALUE;
+  }
+
 }
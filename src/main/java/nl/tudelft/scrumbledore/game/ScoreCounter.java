@@ -1,17 +1,27 @@
 package nl.tudelft.scrumbledore.game;
 
-import nl.tudelft.scrumbledore.Constants;
-import nl.tudelft.scrumbledore.Logger;
+import nl.tudelft.scrumbledore.event.GameEvent;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventListener;
+import nl.tudelft.scrumbledore.event.GameEventType;
+import nl.tudelft.scrumbledore.score.ScoreStore;
 
 /**
- * A counter given to the Game class as an attribute that keeps track of the score.
+ * A counter given to the Game class as an attribute that keeps track of the score. The counter
+ * listens to the gameplay events of the Game to award points, and publishes its own changes on the
+ * event bus. When given a ScoreStore, the high score starts at the best score in the store, and
+ * the score of every finished game is submitted to it.
  * 
  * @author Floris Doolaard
  * @author David Alderliesten
  */
-public class ScoreCounter {
+public class ScoreCounter implements GameEventListener {
   private int score;
   private int highScore;
+  private GameEventBus events;
+  private ScoreStore store;
+  private String name;
+  private boolean submitted;
 
   /**
    * Constructing a ScoreCounter object.
@@ -21,6 +31,46 @@ public class ScoreCounter {
     this.highScore = 0;
   }
 
+  /**
+   * Set the bus on which changes of the score should be published.
+   * 
+   * @param events
+   *          The event bus, or null for none.
+   */
+  public void setEventBus(GameEventBus events) {
+    this.events = events;
+  }
+
+  /**
+   * Set the store the score of every finished game should be submitted to, raising the high score
+   * to the best score in the store.
+   * 
+   * @param store
+   *          The score store, or null for none.
+   * 
+   * @param name
+   *          The name of the player the scores are submitted under.
+   */
+  public void setStore(ScoreStore store, String name) {
+    this.store = store;
+    this.name = name;
+    if (store != null) {
+      highScore = Math.max(highScore, store.getHighScore());
+    }
+  }
+
+  /**
+   * Award the points carried by gameplay events.
+   * 
+   * @param event
+   *          The event.
+   */
+  public void handle(GameEvent event) {
+    if (event.getType() == GameEventType.FruitPicked) {
+      updateScore(event.getValue());
+    }
+  }
+
   /**
    * Returns the current total score.
    * 
@@ -39,6 +89,26 @@ public class ScoreCounter {
     return highScore;
   }
 
+  /**
+   * Set the current total score, used when restoring a snapshot.
+   * 
+   * @param score
+   *          The score.
+   */
+  public void setScore(int score) {
+    this.score = score;
+  }
+
+  /**
+   * Set the current high score, used when restoring a snapshot.
+   * 
+   * @param highScore
+   *          The high score.
+   */
+  public void setHighScore(int highScore) {
+    this.highScore = highScore;
+  }
+
   /**
    * Returns the current total score in the form of a string.
    * 
@@ -56,26 +126,38 @@ public class ScoreCounter {
    */
   public void updateScore(int addScore) {
     score += addScore;
+    submitted = false;
 
-    if (Constants.isLoggingWantPoints()) {
-      Logger.getInstance().log(
-          "Player gained " + addScore + " points, totalling at " + score + " points.");
+    if (events != null) {
+      events.publish(GameEventType.PointsGained, -1, -1, 0, 0, addScore);
     }
 
     if (score > highScore) {
       highScore = score;
 
-      if (Constants.isLoggingWantPoints()) {
-        Logger.getInstance().log(
-            "The high-score has been changed and is now worth " + highScore + " points!");
+      if (events != null) {
+        events.publish(GameEventType.HighScoreChanged, -1, -1, 0, 0, highScore);
       }
     }
   }
 
   /**
-   * Resets the score to a value of 0 when called.
+   * Submit the current score to the score store as the score of a finished game, unless it was
+   * submitted already or there is no store. This never blocks on I/O.
+   */
+  public void submitScore() {
+    if (store != null && score > 0 && !submitted) {
+      store.submit(name, score);
+      submitted = true;
+    }
+  }
+
+  /**
+   * Resets the score to a value of 0 when called, submitting the score of the finished game first.
    */
   public void resetScore() {
+    submitScore();
     score = 0;
+    submitted = false;
   }
 }
\ No newline at end of file
@@ -2,7 +2,8 @@ package nl.tudelft.scrumbledore.game;
 
 import java.util.ArrayList;
 import nl.tudelft.scrumbledore.level.Level;
-import nl.tudelft.scrumbledore.level.LevelParser;
+import nl.tudelft.scrumbledore.level.LevelSequence;
+import nl.tudelft.scrumbledore.level.LevelTemplateCache;
 
 /**
  * A game that can be played by a single player.
@@ -29,23 +30,13 @@ public class SinglePlayerGame extends Game {
   }
 
   /**
-   * Make new Levels for this Game.
+   * Make a new sequence of Levels for this Game from the cached level templates, leaving out all but the first
+   * player.
    * 
-   * @return A list of Levels.
+   * @return A sequence of Levels.
    */
-  protected ArrayList<Level> makeLevels() {
-    LevelParser parser = new LevelParser();
-    ArrayList<Level> levels = parser.getLevels();
-
-    for (Level level : levels) {
-      if (level.getPlayers().size() > 1) {
-        for (int i = 1; i < level.getPlayers().size(); i++) {
-          level.getPlayers().remove(i);
-        }
-      }
-    }
-
-    return levels;
+  protected LevelSequence makeLevels() {
+    return LevelTemplateCache.getInstance().makeSequence(1);
   }
 
 }
@@ -1,5 +1,8 @@
 package nl.tudelft.scrumbledore.game;
 
+import java.util.ArrayList;
+import nl.tudelft.scrumbledore.level.Level;
+
 /**
  * Creates an instance of a SinglePlayerGame.
  * 
@@ -16,4 +19,25 @@ public class SinglePlayerGameFactory extends GameFactory {
     return new SinglePlayerGame();
   }
 
+  /**
+   * Creates a new instance of a SinglePlayerGame consisting of given levels.
+   * 
+   * @param levels
+   *          The levels the game needs to consist of.
+   * 
+   * @return a new instance of a SinglePlayerGame.
+   */
+  Game createGame(ArrayList<Level> levels) {
+    return new SinglePlayerGame(levels);
+  }
+
+  /**
+   * Get the maximum number of players in a SinglePlayerGame.
+   * 
+   * @return The maximum number of players.
+   */
+  int getMaxPlayers() {
+    return 1;
+  }
+
 }
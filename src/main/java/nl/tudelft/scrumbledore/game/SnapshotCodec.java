@@ -0,0 +1,483 @@
+package nl.tudelft.scrumbledore.game;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Bubble;
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Player;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.powerup.ChiliChickenPickUp;
+import nl.tudelft.scrumbledore.level.powerup.PowerupPickUp;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffects;
+import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
+
+/**
+ * Encodes the state of a Game's current level and counters into a compact binary snapshot, and
+ * restores such a snapshot into an existing Game in place. Every field is written explicitly, so
+ * no reflection is involved, and element instances already present in the level are reused when
+ * restoring.
+ * 
+ * <p>
+ * A snapshot starts with a magic number and a format version, followed by the level index, the
+ * step counter and the score counters, and the lists of players (with the remaining steps of each
+ * of their status effects), NPCs, fruits, bubbles, encapsulated enemies (as indices into the
+ * bubbles) and power-ups of the current level.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class SnapshotCodec {
+  public static final int MAGIC = 0x5343534E;
+  public static final short VERSION = 2;
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+
+  private static final byte CHILI = 1;
+  private static final byte TACO = 2;
+  private static final LevelElementAction[] ACTIONS = LevelElementAction.values();
+  private static final StatusEffect[] EFFECTS = StatusEffect.values();
+
+  private ByteBuffer buffer;
+
+  /**
+   * Construct a new SnapshotCodec with a buffer of the default capacity.
+   */
+  public SnapshotCodec() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Construct a new SnapshotCodec.
+   * 
+   * @param capacity
+   *          The initial capacity of the snapshot buffer in bytes.
+   */
+  public SnapshotCodec(int capacity) {
+    this.buffer = ByteBuffer.allocateDirect(capacity);
+  }
+
+  /**
+   * Take a snapshot of a Game into the codec's own buffer. The buffer is reused by the next call,
+   * so its contents should be copied if the snapshot needs to be kept around.
+   * 
+   * @param game
+   *          The game.
+   * 
+   * @return The buffer holding the snapshot, positioned at its start.
+   */
+  public ByteBuffer snapshot(Game game) {
+    while (true) {
+      buffer.clear();
+      try {
+        write(game, buffer);
+        buffer.flip();
+        return buffer;
+      } catch (BufferOverflowException e) {
+        buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+      }
+    }
+  }
+
+  /**
+   * Write a snapshot of a Game into a given buffer at its current position.
+   * 
+   * @param game
+   *          The game.
+   * 
+   * @param out
+   *          The buffer to write to.
+   */
+  public static void write(Game game, ByteBuffer out) {
+    Level level = game.getCurrentLevel();
+
+    out.putInt(MAGIC);
+    out.putShort(VERSION);
+    out.putShort((short) (game.getCurrentLevelNumber() - 1));
+    out.putDouble(game.getSteps());
+    out.putInt(game.getScoreCounter().getScore());
+    out.putInt(game.getScoreCounter().getHighScore());
+
+    ArrayList<PlayerElement> players = level.getPlayers();
+    StatusEffects effects = level.getEffects();
+    out.putShort((short) players.size());
+    for (PlayerElement player : players) {
+      out.putShort((short) player.getPlayerNumber());
+      out.put(toByte(player.isAlive()));
+      out.put(toByte(player.isFiring()));
+      out.put(moveCode(player.getLastMove()));
+      writeDynamic(player, out);
+      for (StatusEffect effect : EFFECTS) {
+        out.putDouble(effects.getRemaining(player.getPlayerNumber(), effect));
+      }
+    }
+
+    out.putShort((short) level.getNPCs().size());
+    for (NPC npc : level.getNPCs()) {
+      out.put(moveCode(npc.getLastMove()));
+      writeDynamic(npc, out);
+    }
+
+    out.putShort((short) level.getFruits().size());
+    for (Fruit fruit : level.getFruits()) {
+      out.putInt(fruit.getValue());
+      out.put(toByte(fruit.isPickable()));
+      writeDynamic(fruit, out);
+    }
+
+    ArrayList<Bubble> bubbles = level.getBubbles();
+    out.putShort((short) bubbles.size());
+    for (Bubble bubble : bubbles) {
+      out.put(toByte(bubble.hasNPC()));
+      out.putDouble(bubble.getLifetime());
+      writeDynamic(bubble, out);
+    }
+
+    out.putShort((short) level.getEnemyBubbles().size());
+    for (Bubble bubble : level.getEnemyBubbles()) {
+      out.putShort((short) indexOf(bubbles, bubble));
+    }
+
+    out.putShort((short) level.getPowerups().size());
+    for (PowerupPickUp powerup : level.getPowerups()) {
+      byte kind = CHILI;
+      if (powerup instanceof TurtleTacoPickUp) {
+        kind = TACO;
+      }
+      out.put(kind);
+      writeDynamic(powerup, out);
+    }
+  }
+
+  /**
+   * Restore a snapshot into a Game in place. The level the snapshot was taken in becomes the
+   * current level, and its elements are overwritten by those in the snapshot.
+   * 
+   * @param game
+   *          The game, containing the level the snapshot was taken in.
+   * 
+   * @param in
+   *          The buffer positioned at the start of the snapshot.
+   */
+  public static void restore(Game game, ByteBuffer in) {
+    if (in.getInt() != MAGIC) {
+      throw new IllegalArgumentException("The buffer does not contain a snapshot.");
+    }
+    short version = in.getShort();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported snapshot version " + version + ".");
+    }
+
+    game.setCurrentLevelIndex(in.getShort());
+    Level level = game.getCurrentLevel();
+    game.setSteps(in.getDouble());
+    game.getScoreCounter().setScore(in.getInt());
+    game.getScoreCounter().setHighScore(in.getInt());
+
+    restorePlayers(level, in);
+    restoreNPCs(level.getNPCs(), in);
+    restoreFruits(level.getFruits(), in);
+    restoreBubbles(level.getBubbles(), in);
+
+    ArrayList<Bubble> bubbles = level.getBubbles();
+    ArrayList<Bubble> enemyBubbles = level.getEnemyBubbles();
+    enemyBubbles.clear();
+    int enemies = in.getShort();
+    for (int i = 0; i < enemies; i++) {
+      int index = in.getShort();
+      if (index >= 0) {
+        enemyBubbles.add(bubbles.get(index));
+      }
+    }
+
+    restorePowerups(level.getPowerups(), in);
+  }
+
+  /**
+   * Restore the players of a level along with their status effects.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @param in
+   *          The buffer to read from.
+   */
+  private static void restorePlayers(Level level, ByteBuffer in) {
+    ArrayList<PlayerElement> players = level.getPlayers();
+    StatusEffects effects = level.getEffects();
+    effects.clear();
+
+    int size = in.getShort();
+    truncate(players, size);
+    for (int i = 0; i < size; i++) {
+      PlayerElement player = null;
+      if (i < players.size()) {
+        player = players.get(i);
+      } else {
+        player = new Player(new Vector(0, 0), new Vector(0, 0));
+        players.add(player);
+      }
+
+      player.setPlayerNumber(in.getShort());
+      player.setAlive(in.get() != 0);
+      player.setFiring(in.get() != 0);
+      player.setLastMove(lastMove(in.get()));
+      readDynamic(player, in);
+      for (StatusEffect effect : EFFECTS) {
+        effects.setRemaining(player.getPlayerNumber(), effect, in.getDouble());
+      }
+    }
+  }
+
+  /**
+   * Restore the NPCs of a level.
+   * 
+   * @param npcs
+   *          The NPCs of the level.
+   * 
+   * @param in
+   *          The buffer to read from.
+   */
+  private static void restoreNPCs(ArrayList<NPC> npcs, ByteBuffer in) {
+    int size = in.getShort();
+    truncate(npcs, size);
+    for (int i = 0; i < size; i++) {
+      if (i == npcs.size()) {
+        npcs.add(new NPC(new Vector(0, 0), new Vector(0, 0)));
+      }
+      NPC npc = npcs.get(i);
+      npc.setLastMove(lastMove(in.get()));
+      readDynamic(npc, in);
+    }
+  }
+
+  /**
+   * Restore the fruits of a level.
+   * 
+   * @param fruits
+   *          The fruits of the level.
+   * 
+   * @param in
+   *          The buffer to read from.
+   */
+  private static void restoreFruits(ArrayList<Fruit> fruits, ByteBuffer in) {
+    int size = in.getShort();
+    truncate(fruits, size);
+    for (int i = 0; i < size; i++) {
+      if (i == fruits.size()) {
+        fruits.add(new Fruit(new Vector(0, 0), new Vector(0, 0)));
+      }
+      Fruit fruit = fruits.get(i);
+      fruit.setValue(in.getInt());
+      fruit.setPickable(in.get() != 0);
+      readDynamic(fruit, in);
+    }
+  }
+
+  /**
+   * Restore the bubbles of a level.
+   * 
+   * @param bubbles
+   *          The bubbles of the level.
+   * 
+   * @param in
+   *          The buffer to read from.
+   */
+  private static void restoreBubbles(ArrayList<Bubble> bubbles, ByteBuffer in) {
+    int size = in.getShort();
+    truncate(bubbles, size);
+    for (int i = 0; i < size; i++) {
+      if (i == bubbles.size()) {
+        bubbles.add(new Bubble(new Vector(0, 0), new Vector(0, 0)));
+      }
+      Bubble bubble = bubbles.get(i);
+      bubble.setHasNPC(in.get() != 0);
+      bubble.setLifetime(in.getDouble());
+      readDynamic(bubble, in);
+    }
+  }
+
+  /**
+   * Restore the power-ups of a level, replacing those of the wrong kind.
+   * 
+   * @param powerups
+   *          The power-ups of the level.
+   * 
+   * @param in
+   *          The buffer to read from.
+   */
+  private static void restorePowerups(ArrayList<PowerupPickUp> powerups, ByteBuffer in) {
+    int size = in.getShort();
+    truncate(powerups, size);
+    for (int i = 0; i < size; i++) {
+      byte kind = in.get();
+      PowerupPickUp current = null;
+      if (i < powerups.size()) {
+        current = powerups.get(i);
+      }
+
+      PowerupPickUp restored = current;
+      if (kind == TACO && !(current instanceof TurtleTacoPickUp)) {
+        restored = new TurtleTacoPickUp(new Vector(0, 0), new Vector(0, 0));
+      } else if (kind == CHILI && !(current instanceof ChiliChickenPickUp)) {
+        restored = new ChiliChickenPickUp(new Vector(0, 0), new Vector(0, 0));
+      }
+      readDynamic(restored, in);
+
+      if (i < powerups.size()) {
+        powerups.set(i, restored);
+      } else {
+        powerups.add(restored);
+      }
+    }
+  }
+
+  /**
+   * Write the state shared by all dynamic elements.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param out
+   *          The buffer to write to.
+   */
+  private static void writeDynamic(DynamicElement element, ByteBuffer out) {
+    out.putDouble(element.posX());
+    out.putDouble(element.posY());
+    out.putDouble(element.getSize().getX());
+    out.putDouble(element.getSize().getY());
+    out.putDouble(element.hSpeed());
+    out.putDouble(element.vSpeed());
+    out.putDouble(element.hFric());
+    out.putDouble(element.vFric());
+    out.put(toByte(element.hasGravity()));
+
+    int mask = 0;
+    if (element.getActions() != null) {
+      for (LevelElementAction action : element.getActions()) {
+        mask |= 1 << action.ordinal();
+      }
+    }
+    out.put((byte) mask);
+  }
+
+  /**
+   * Read the state shared by all dynamic elements into an existing element.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param in
+   *          The buffer to read from.
+   */
+  private static void readDynamic(DynamicElement element, ByteBuffer in) {
+    element.getPosition().setX(in.getDouble());
+    element.getPosition().setY(in.getDouble());
+    element.getSize().setX(in.getDouble());
+    element.getSize().setY(in.getDouble());
+    element.getSpeed().setX(in.getDouble());
+    element.getSpeed().setY(in.getDouble());
+    element.getFriction().setX(in.getDouble());
+    element.getFriction().setY(in.getDouble());
+    element.setGravity(in.get() != 0);
+
+    int mask = in.get();
+    element.clearActions();
+    for (LevelElementAction action : ACTIONS) {
+      if ((mask & (1 << action.ordinal())) != 0) {
+        element.addAction(action);
+      }
+    }
+    element.wake();
+  }
+
+  /**
+   * Remove the elements at the end of a list beyond a given size.
+   * 
+   * @param list
+   *          The list.
+   * 
+   * @param size
+   *          The size.
+   */
+  private static void truncate(ArrayList<?> list, int size) {
+    while (list.size() > size) {
+      list.remove(list.size() - 1);
+    }
+  }
+
+  /**
+   * Find the index of an element in a list by identity.
+   * 
+   * @param list
+   *          The list.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @return The index, or -1 if the element is not in the list.
+   */
+  private static int indexOf(ArrayList<Bubble> list, Bubble element) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == element) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Encode the last horizontal move of an element.
+   * 
+   * @param action
+   *          The last move, or null if there is none.
+   * 
+   * @return 1 for left, 2 for right, 0 otherwise.
+   */
+  private static byte moveCode(LevelElementAction action) {
+    if (action == LevelElementAction.MoveLeft) {
+      return 1;
+    } else if (action == LevelElementAction.MoveRight) {
+      return 2;
+    }
+    return 0;
+  }
+
+  /**
+   * Decode the last horizontal move of an element.
+   * 
+   * @param code
+   *          The encoded move.
+   * 
+   * @return The last move, or null if there is none.
+   */
+  private static LevelElementAction lastMove(byte code) {
+    if (code == 1) {
+      return LevelElementAction.MoveLeft;
+    } else if (code == 2) {
+      return LevelElementAction.MoveRight;
+    }
+    return null;
+  }
+
+  /**
+   * Encode a boolean as a byte.
+   * 
+   * @param bool
+   *          The boolean.
+   * 
+   * @return 1 if true, 0 otherwise.
+   */
+  private static byte toByte(boolean bool) {
+    if (bool) {
+      return 1;
+    }
+    return 0;
+  }
+
+}
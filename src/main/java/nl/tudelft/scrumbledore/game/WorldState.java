@@ -0,0 +1,513 @@
+package nl.tudelft.scrumbledore.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Bubble;
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Player;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.powerup.ChiliChickenPickUp;
+import nl.tudelft.scrumbledore.level.powerup.PowerupPickUp;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffects;
+import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
+
+/**
+ * Quantised state of a Game's current level and counters, as encoded by the DeltaStateCodec. Every
+ * kind of dynamic element is kept in a flat int array with a fixed number of fields per element.
+ * Positions, sizes, speeds and timers are stored in fixed point with SCALE steps per pixel or
+ * step, and the boolean properties and actions of an element are packed into a single int of
+ * flags. The static platforms are not part of the state, since they never change during a level.
+ * 
+ * @author Jesse Tilro
+ */
+public final class WorldState {
+  public static final int SCALE = 16;
+
+  static final int PLAYERS = 0;
+  static final int NPCS = 1;
+  static final int FRUITS = 2;
+  static final int BUBBLES = 3;
+  static final int POWERUPS = 4;
+  static final int KINDS = 5;
+
+  static final int LEVEL = 0;
+  static final int STEPS = 1;
+  static final int SCORE = 2;
+  static final int HIGH_SCORE = 3;
+  static final int HEADER = 4;
+
+  static final int X = 0;
+  static final int Y = 1;
+  static final int WIDTH = 2;
+  static final int HEIGHT = 3;
+  static final int SPEED_X = 4;
+  static final int SPEED_Y = 5;
+  static final int FLAGS = 6;
+  static final int EXTRA = 7;
+
+  static final int FLAG_BITS = 15;
+  private static final int GRAVITY = 1;
+  private static final int MOVE_SHIFT = 1;
+  private static final int ACTION_SHIFT = 3;
+  private static final int ALIVE = 1 << 9;
+  private static final int FIRING = 1 << 10;
+  private static final int HAS_NPC = 1 << 11;
+  private static final int ENEMY = 1 << 12;
+  private static final int PICKABLE = 1 << 13;
+  private static final int TACO = 1 << 14;
+
+  private static final LevelElementAction[] ACTIONS = LevelElementAction.values();
+  private static final StatusEffect[] EFFECTS = StatusEffect.values();
+  static final int[] STRIDE = { EXTRA + 1 + EFFECTS.length, EXTRA, EXTRA + 1, EXTRA + 1, EXTRA };
+
+  private final int[] header;
+  private final int[] counts;
+  private final int[][] data;
+  private int tick;
+
+  /**
+   * Constructs a new, empty WorldState.
+   */
+  public WorldState() {
+    this.header = new int[HEADER];
+    this.counts = new int[KINDS];
+    this.data = new int[KINDS][];
+    for (int kind = 0; kind < KINDS; kind++) {
+      data[kind] = new int[STRIDE[kind] * 8];
+    }
+    this.tick = -1;
+  }
+
+  /**
+   * Get the tick the state was captured at.
+   * 
+   * @return The tick, or -1 if unknown.
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Set the tick the state was captured at.
+   * 
+   * @param tick
+   *          The tick.
+   */
+  public void setTick(int tick) {
+    this.tick = tick;
+  }
+
+  /**
+   * Get the header fields: the level index, the steps, the score and the high score.
+   * 
+   * @return The header fields.
+   */
+  int[] getHeader() {
+    return header;
+  }
+
+  /**
+   * Get the number of elements of a kind.
+   * 
+   * @param kind
+   *          The kind of element.
+   * 
+   * @return The number of elements.
+   */
+  int getCount(int kind) {
+    return counts[kind];
+  }
+
+  /**
+   * Set the number of elements of a kind, making room for them.
+   * 
+   * @param kind
+   *          The kind of element.
+   * 
+   * @param count
+   *          The number of elements.
+   */
+  void setCount(int kind, int count) {
+    if (count * STRIDE[kind] > data[kind].length) {
+      data[kind] = Arrays.copyOf(data[kind], Math.max(count, counts[kind] * 2) * STRIDE[kind]);
+    }
+    counts[kind] = count;
+  }
+
+  /**
+   * Get the fields of all elements of a kind.
+   * 
+   * @param kind
+   *          The kind of element.
+   * 
+   * @return The fields, STRIDE[kind] per element.
+   */
+  int[] getData(int kind) {
+    return data[kind];
+  }
+
+  /**
+   * Convert a value to fixed point.
+   * 
+   * @param value
+   *          The value.
+   * 
+   * @return The fixed point value.
+   */
+  static int quantise(double value) {
+    return (int) Math.round(value * SCALE);
+  }
+
+  /**
+   * Convert a fixed point value back.
+   * 
+   * @param value
+   *          The fixed point value.
+   * 
+   * @return The value.
+   */
+  static double restore(int value) {
+    return value / (double) SCALE;
+  }
+
+  /**
+   * Capture the state of a Game.
+   * 
+   * @param game
+   *          The game.
+   */
+  public void capture(Game game) {
+    Level level = game.getCurrentLevel();
+    tick = game.getFullSteps();
+    header[LEVEL] = game.getCurrentLevelNumber() - 1;
+    header[STEPS] = quantise(game.getSteps());
+    header[SCORE] = game.getScoreCounter().getScore();
+    header[HIGH_SCORE] = game.getScoreCounter().getHighScore();
+
+    ArrayList<PlayerElement> players = level.getPlayers();
+    StatusEffects effects = level.getEffects();
+    setCount(PLAYERS, players.size());
+    for (int i = 0; i < players.size(); i++) {
+      PlayerElement player = players.get(i);
+      int base = i * STRIDE[PLAYERS];
+      int flags = 0;
+      if (player.isAlive()) {
+        flags |= ALIVE;
+      }
+      if (player.isFiring()) {
+        flags |= FIRING;
+      }
+      captureDynamic(player, data[PLAYERS], base, flags);
+      data[PLAYERS][base + EXTRA] = player.getPlayerNumber();
+      for (StatusEffect effect : EFFECTS) {
+        data[PLAYERS][base + EXTRA + 1 + effect.ordinal()] =
+            quantise(effects.getRemaining(player.getPlayerNumber(), effect));
+      }
+    }
+
+    ArrayList<NPC> npcs = level.getNPCs();
+    setCount(NPCS, npcs.size());
+    for (int i = 0; i < npcs.size(); i++) {
+      captureDynamic(npcs.get(i), data[NPCS], i * STRIDE[NPCS], 0);
+    }
+
+    ArrayList<Fruit> fruits = level.getFruits();
+    setCount(FRUITS, fruits.size());
+    for (int i = 0; i < fruits.size(); i++) {
+      Fruit fruit = fruits.get(i);
+      int flags = 0;
+      if (fruit.isPickable()) {
+        flags |= PICKABLE;
+      }
+      captureDynamic(fruit, data[FRUITS], i * STRIDE[FRUITS], flags);
+      data[FRUITS][i * STRIDE[FRUITS] + EXTRA] = fruit.getValue();
+    }
+
+    ArrayList<Bubble> bubbles = level.getBubbles();
+    setCount(BUBBLES, bubbles.size());
+    for (int i = 0; i < bubbles.size(); i++) {
+      Bubble bubble = bubbles.get(i);
+      int flags = 0;
+      if (bubble.hasNPC()) {
+        flags |= HAS_NPC;
+      }
+      if (isEnemy(level, bubble)) {
+        flags |= ENEMY;
+      }
+      captureDynamic(bubble, data[BUBBLES], i * STRIDE[BUBBLES], flags);
+      data[BUBBLES][i * STRIDE[BUBBLES] + EXTRA] = quantise(bubble.getLifetime());
+    }
+
+    ArrayList<PowerupPickUp> powerups = level.getPowerups();
+    setCount(POWERUPS, powerups.size());
+    for (int i = 0; i < powerups.size(); i++) {
+      int flags = 0;
+      if (powerups.get(i) instanceof TurtleTacoPickUp) {
+        flags |= TACO;
+      }
+      captureDynamic(powerups.get(i), data[POWERUPS], i * STRIDE[POWERUPS], flags);
+    }
+  }
+
+  /**
+   * Check whether a bubble is one of the bubbles holding an enemy.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @param bubble
+   *          The bubble.
+   * 
+   * @return Whether the bubble holds an enemy.
+   */
+  private static boolean isEnemy(Level level, Bubble bubble) {
+    for (Bubble enemy : level.getEnemyBubbles()) {
+      if (enemy == bubble) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Capture the fields shared by all dynamic elements.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param fields
+   *          The fields of its kind.
+   * 
+   * @param base
+   *          The index of its first field.
+   * 
+   * @param flags
+   *          The flags specific to the kind of element.
+   */
+  private static void captureDynamic(DynamicElement element, int[] fields, int base, int flags) {
+    fields[base + X] = quantise(element.posX());
+    fields[base + Y] = quantise(element.posY());
+    fields[base + WIDTH] = quantise(element.getSize().getX());
+    fields[base + HEIGHT] = quantise(element.getSize().getY());
+    fields[base + SPEED_X] = quantise(element.hSpeed());
+    fields[base + SPEED_Y] = quantise(element.vSpeed());
+
+    int all = flags;
+    if (element.hasGravity()) {
+      all |= GRAVITY;
+    }
+    if (element.getLastMove() == LevelElementAction.MoveLeft) {
+      all |= 1 << MOVE_SHIFT;
+    } else if (element.getLastMove() == LevelElementAction.MoveRight) {
+      all |= 2 << MOVE_SHIFT;
+    }
+    if (element.getActions() != null) {
+      for (LevelElementAction action : element.getActions()) {
+        all |= 1 << (ACTION_SHIFT + action.ordinal());
+      }
+    }
+    fields[base + FLAGS] = all;
+  }
+
+  /**
+   * Apply the state to a Game in place. The level the state was captured in becomes the current
+   * level, and its elements are overwritten by those in the state.
+   * 
+   * @param game
+   *          The game, containing the level the state was captured in.
+   */
+  public void apply(Game game) {
+    game.setCurrentLevelIndex(header[LEVEL]);
+    Level level = game.getCurrentLevel();
+    game.setSteps(restore(header[STEPS]));
+    game.getScoreCounter().setScore(header[SCORE]);
+    game.getScoreCounter().setHighScore(header[HIGH_SCORE]);
+
+    ArrayList<PlayerElement> players = level.getPlayers();
+    StatusEffects effects = level.getEffects();
+    effects.clear();
+    truncate(players, counts[PLAYERS]);
+    for (int i = 0; i < counts[PLAYERS]; i++) {
+      if (i == players.size()) {
+        players.add(new Player(new Vector(0, 0), new Vector(0, 0)));
+      }
+      PlayerElement player = players.get(i);
+      int base = i * STRIDE[PLAYERS];
+      int flags = applyDynamic(player, data[PLAYERS], base);
+      player.setPlayerNumber(data[PLAYERS][base + EXTRA]);
+      player.setAlive((flags & ALIVE) != 0);
+      player.setFiring((flags & FIRING) != 0);
+      for (StatusEffect effect : EFFECTS) {
+        effects.setRemaining(player.getPlayerNumber(), effect,
+            restore(data[PLAYERS][base + EXTRA + 1 + effect.ordinal()]));
+      }
+    }
+
+    ArrayList<NPC> npcs = level.getNPCs();
+    truncate(npcs, counts[NPCS]);
+    for (int i = 0; i < counts[NPCS]; i++) {
+      if (i == npcs.size()) {
+        npcs.add(new NPC(new Vector(0, 0), new Vector(0, 0)));
+      }
+      applyDynamic(npcs.get(i), data[NPCS], i * STRIDE[NPCS]);
+    }
+
+    ArrayList<Fruit> fruits = level.getFruits();
+    truncate(fruits, counts[FRUITS]);
+    for (int i = 0; i < counts[FRUITS]; i++) {
+      if (i == fruits.size()) {
+        fruits.add(new Fruit(new Vector(0, 0), new Vector(0, 0)));
+      }
+      Fruit fruit = fruits.get(i);
+      int flags = applyDynamic(fruit, data[FRUITS], i * STRIDE[FRUITS]);
+      fruit.setPickable((flags & PICKABLE) != 0);
+      fruit.setValue(data[FRUITS][i * STRIDE[FRUITS] + EXTRA]);
+    }
+
+    ArrayList<Bubble> bubbles = level.getBubbles();
+    ArrayList<Bubble> enemies = level.getEnemyBubbles();
+    enemies.clear();
+    truncate(bubbles, counts[BUBBLES]);
+    for (int i = 0; i < counts[BUBBLES]; i++) {
+      if (i == bubbles.size()) {
+        bubbles.add(new Bubble(new Vector(0, 0), new Vector(0, 0)));
+      }
+      Bubble bubble = bubbles.get(i);
+      int flags = applyDynamic(bubble, data[BUBBLES], i * STRIDE[BUBBLES]);
+      bubble.setHasNPC((flags & HAS_NPC) != 0);
+      bubble.setLifetime(restore(data[BUBBLES][i * STRIDE[BUBBLES] + EXTRA]));
+      if ((flags & ENEMY) != 0) {
+        enemies.add(bubble);
+      }
+    }
+
+    ArrayList<PowerupPickUp> powerups = level.getPowerups();
+    truncate(powerups, counts[POWERUPS]);
+    for (int i = 0; i < counts[POWERUPS]; i++) {
+      boolean taco = (data[POWERUPS][i * STRIDE[POWERUPS] + FLAGS] & TACO) != 0;
+      PowerupPickUp current = null;
+      if (i < powerups.size()) {
+        current = powerups.get(i);
+      }
+      PowerupPickUp restored = current;
+      if (taco && !(current instanceof TurtleTacoPickUp)) {
+        restored = new TurtleTacoPickUp(new Vector(0, 0), new Vector(0, 0));
+      } else if (!taco && !(current instanceof ChiliChickenPickUp)) {
+        restored = new ChiliChickenPickUp(new Vector(0, 0), new Vector(0, 0));
+      }
+      applyDynamic(restored, data[POWERUPS], i * STRIDE[POWERUPS]);
+      if (i < powerups.size()) {
+        powerups.set(i, restored);
+      } else {
+        powerups.add(restored);
+      }
+    }
+  }
+
+  /**
+   * Apply the fields shared by all dynamic elements to an existing element.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param fields
+   *          The fields of its kind.
+   * 
+   * @param base
+   *          The index of its first field.
+   * 
+   * @return The flags of the element.
+   */
+  private static int applyDynamic(DynamicElement element, int[] fields, int base) {
+    element.getPosition().setX(restore(fields[base + X]));
+    element.getPosition().setY(restore(fields[base + Y]));
+    element.getSize().setX(restore(fields[base + WIDTH]));
+    element.getSize().setY(restore(fields[base + HEIGHT]));
+    element.getSpeed().setX(restore(fields[base + SPEED_X]));
+    element.getSpeed().setY(restore(fields[base + SPEED_Y]));
+
+    int flags = fields[base + FLAGS];
+    element.setGravity((flags & GRAVITY) != 0);
+    int move = (flags >> MOVE_SHIFT) & 3;
+    if (move == 1) {
+      element.setLastMove(LevelElementAction.MoveLeft);
+    } else if (move == 2) {
+      element.setLastMove(LevelElementAction.MoveRight);
+    }
+    element.clearActions();
+    for (LevelElementAction action : ACTIONS) {
+      if ((flags & (1 << (ACTION_SHIFT + action.ordinal()))) != 0) {
+        element.addAction(action);
+      }
+    }
+    element.wake();
+    return flags;
+  }
+
+  /**
+   * Remove the elements at the end of a list beyond a given size.
+   * 
+   * @param list
+   *          The list.
+   * 
+   * @param size
+   *          The size.
+   */
+  private static void truncate(ArrayList<?> list, int size) {
+    while (list.size() > size) {
+      list.remove(list.size() - 1);
+    }
+  }
+
+  /**
+   * Make this state a copy of another state.
+   * 
+   * @param other
+   *          The state to copy.
+   */
+  public void copy(WorldState other) {
+    tick = other.tick;
+    System.arraycopy(other.header, 0, header, 0, HEADER);
+    for (int kind = 0; kind < KINDS; kind++) {
+      setCount(kind, other.counts[kind]);
+      System.arraycopy(other.data[kind], 0, data[kind], 0, counts[kind] * STRIDE[kind]);
+    }
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof WorldState)) {
+      return false;
+    }
+    WorldState that = (WorldState) other;
+    if (!Arrays.equals(header, that.header) || !Arrays.equals(counts, that.counts)) {
+      return false;
+    }
+    for (int kind = 0; kind < KINDS; kind++) {
+      for (int i = 0; i < counts[kind] * STRIDE[kind]; i++) {
+        if (data[kind][i] != that.data[kind][i]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = Arrays.hashCode(header) * 31 + Arrays.hashCode(counts);
+    for (int kind = 0; kind < KINDS; kind++) {
+      for (int i = 0; i < counts[kind] * STRIDE[kind]; i++) {
+        hash = hash * 31 + data[kind][i];
+      }
+    }
+    return hash;
+  }
+
+}
@@ -0,0 +1,92 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event counting the pairs the broadphase handed to one registered collision
+ * handler in a step, and how many of them were actually passed to the handler.
+ * 
+ * @author Jesse Tilro
+ */
+@Name("scrumbledore.CollisionPairs")
+@Label("Collision Pairs")
+@Description("The candidate pairs dispatched to a collision handler during a step")
+@Category({ "Scrumbledore", "Simulation" })
+@Enabled(false)
+@StackTrace(false)
+public class CollisionPairsEvent extends Event {
+  @Label("Handler")
+  @Description("The index of the handler in the collision registry")
+  private int handler;
+
+  @Label("First Kind")
+  private String first;
+
+  @Label("Second Kind")
+  private String second;
+
+  @Label("Candidates")
+  @Description("The number of pairs found by the broadphase")
+  private int candidates;
+
+  @Label("Handled")
+  @Description("The number of pairs passed to the handler")
+  private int handled;
+
+  /**
+   * Set the index of the handler in the collision registry.
+   * 
+   * @param handler
+   *          The index of the handler in the collision registry.
+   */
+  public void setHandler(int handler) {
+    this.handler = handler;
+  }
+
+  /**
+   * Set the kind of the first element of the pairs.
+   * 
+   * @param first
+   *          The kind of the first element of the pairs.
+   */
+  public void setFirst(String first) {
+    this.first = first;
+  }
+
+  /**
+   * Set the kind of the second element of the pairs.
+   * 
+   * @param second
+   *          The kind of the second element of the pairs.
+   */
+  public void setSecond(String second) {
+    this.second = second;
+  }
+
+  /**
+   * Set the number of pairs found by the broadphase.
+   * 
+   * @param candidates
+   *          The number of pairs found by the broadphase.
+   */
+  public void setCandidates(int candidates) {
+    this.candidates = candidates;
+  }
+
+  /**
+   * Set the number of pairs passed to the handler.
+   * 
+   * @param handled
+   *          The number of pairs passed to the handler.
+   */
+  public void setHandled(int handled) {
+    this.handled = handled;
+  }
+
+}
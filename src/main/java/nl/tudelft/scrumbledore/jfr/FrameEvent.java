@@ -0,0 +1,51 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the rendering of a frame by the Game Display.
+ * 
+ * @author Jesse Tilro
+ */
+@Name("scrumbledore.Frame")
+@Label("Frame")
+@Description("A frame rendered by the game display")
+@Category({ "Scrumbledore", "Rendering" })
+@Enabled(false)
+@StackTrace(false)
+public class FrameEvent extends Event {
+  @Label("Sprites")
+  @Description("The number of sprites drawn")
+  private int sprites;
+
+  @Label("Full Redraw")
+  @Description("Whether the static elements were drawn again as well")
+  private boolean redraw;
+
+  /**
+   * Set the number of sprites drawn.
+   * 
+   * @param sprites
+   *          The number of sprites drawn.
+   */
+  public void setSprites(int sprites) {
+    this.sprites = sprites;
+  }
+
+  /**
+   * Set whether the static elements were drawn again.
+   * 
+   * @param redraw
+   *          Whether the static elements were drawn again.
+   */
+  public void setRedraw(boolean redraw) {
+    this.redraw = redraw;
+  }
+
+}
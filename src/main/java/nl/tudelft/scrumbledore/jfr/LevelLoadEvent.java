@@ -0,0 +1,75 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the instantiation of a playable Level from a level template.
+ * 
+ * @author Jesse Tilro
+ */
+@Name("scrumbledore.LevelLoad")
+@Label("Level Load")
+@Description("A level instantiated from its template")
+@Category({ "Scrumbledore", "Loading" })
+@Enabled(false)
+@StackTrace(false)
+public class LevelLoadEvent extends Event {
+  @Label("Elements")
+  private int elements;
+
+  @Label("Players")
+  private int players;
+
+  @Label("Width")
+  private int width;
+
+  @Label("Height")
+  private int height;
+
+  /**
+   * Set the number of elements.
+   * 
+   * @param elements
+   *          The number of elements.
+   */
+  public void setElements(int elements) {
+    this.elements = elements;
+  }
+
+  /**
+   * Set the number of players.
+   * 
+   * @param players
+   *          The number of players.
+   */
+  public void setPlayers(int players) {
+    this.players = players;
+  }
+
+  /**
+   * Set the width in blocks.
+   * 
+   * @param width
+   *          The width in blocks.
+   */
+  public void setWidth(int width) {
+    this.width = width;
+  }
+
+  /**
+   * Set the height in blocks.
+   * 
+   * @param height
+   *          The height in blocks.
+   */
+  public void setHeight(int height) {
+    this.height = height;
+  }
+
+}
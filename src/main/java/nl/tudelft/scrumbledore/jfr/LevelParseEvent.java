@@ -0,0 +1,51 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the parsing of a level map or the decoding of a level from a
+ * compiled level pack.
+ * 
+ * @author Jesse Tilro
+ */
+@Name("scrumbledore.LevelParse")
+@Label("Level Parse")
+@Description("A level template read from a map file or a level pack")
+@Category({ "Scrumbledore", "Loading" })
+@Enabled(false)
+@StackTrace(false)
+public class LevelParseEvent extends Event {
+  @Label("Source")
+  @Description("The map file or level pack entry")
+  private String source;
+
+  @Label("Elements")
+  private int elements;
+
+  /**
+   * Set the map file or level pack entry.
+   * 
+   * @param source
+   *          The map file or level pack entry.
+   */
+  public void setSource(String source) {
+    this.source = source;
+  }
+
+  /**
+   * Set the number of elements.
+   * 
+   * @param elements
+   *          The number of elements.
+   */
+  public void setElements(int elements) {
+    this.elements = elements;
+  }
+
+}
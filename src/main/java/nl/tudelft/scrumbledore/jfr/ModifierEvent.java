@@ -0,0 +1,49 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering a single invocation of a Level Modifier during a step.
+ * 
+ * @author Jesse Tilro
+ */
+@Name("scrumbledore.Modifier")
+@Label("Level Modifier")
+@Description("A Level Modifier modifying the current level")
+@Category({ "Scrumbledore", "Simulation" })
+@Enabled(false)
+@StackTrace(false)
+public class ModifierEvent extends Event {
+  @Label("Modifier")
+  private String modifier;
+
+  @Label("Tick")
+  private int tick;
+
+  /**
+   * Set the name of the Level Modifier.
+   * 
+   * @param modifier
+   *          The name of the Level Modifier.
+   */
+  public void setModifier(String modifier) {
+    this.modifier = modifier;
+  }
+
+  /**
+   * Set the tick of the step.
+   * 
+   * @param tick
+   *          The tick of the step.
+   */
+  public void setTick(int tick) {
+    this.tick = tick;
+  }
+
+}
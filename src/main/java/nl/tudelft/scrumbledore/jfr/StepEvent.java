@@ -0,0 +1,123 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering a single simulation step of a Game, with the number of elements
+ * in the current level at the end of the step.
+ * 
+ * <p>
+ * Like all events in this package it is disabled by default, so it only costs an allocation the
+ * JIT can remove while nobody records it. Enable it for a recording with, for instance,
+ * {@code -XX:StartFlightRecording:settings=profile,+scrumbledore.Step#enabled=true} (JDK 17 and
+ * later) or a custom .jfc file.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+@Name("scrumbledore.Step")
+@Label("Game Step")
+@Description("A simulation step of the game")
+@Category({ "Scrumbledore", "Simulation" })
+@Enabled(false)
+@StackTrace(false)
+public class StepEvent extends Event {
+  @Label("Tick")
+  private int tick;
+
+  @Label("Delta")
+  @Description("The number of steps simulated")
+  private double delta;
+
+  @Label("Players")
+  private int players;
+
+  @Label("NPCs")
+  private int npcs;
+
+  @Label("Fruits")
+  private int fruits;
+
+  @Label("Bubbles")
+  private int bubbles;
+
+  @Label("Power-Ups")
+  private int powerups;
+
+  /**
+   * Set the tick of the step.
+   * 
+   * @param tick
+   *          The tick of the step.
+   */
+  public void setTick(int tick) {
+    this.tick = tick;
+  }
+
+  /**
+   * Set the number of steps simulated.
+   * 
+   * @param delta
+   *          The number of steps simulated.
+   */
+  public void setDelta(double delta) {
+    this.delta = delta;
+  }
+
+  /**
+   * Set the number of players.
+   * 
+   * @param players
+   *          The number of players.
+   */
+  public void setPlayers(int players) {
+    this.players = players;
+  }
+
+  /**
+   * Set the number of NPCs.
+   * 
+   * @param npcs
+   *          The number of NPCs.
+   */
+  public void setNpcs(int npcs) {
+    this.npcs = npcs;
+  }
+
+  /**
+   * Set the number of fruits.
+   * 
+   * @param fruits
+   *          The number of fruits.
+   */
+  public void setFruits(int fruits) {
+    this.fruits = fruits;
+  }
+
+  /**
+   * Set the number of bubbles.
+   * 
+   * @param bubbles
+   *          The number of bubbles.
+   */
+  public void setBubbles(int bubbles) {
+    this.bubbles = bubbles;
+  }
+
+  /**
+   * Set the number of power-ups.
+   * 
+   * @param powerups
+   *          The number of power-ups.
+   */
+  public void setPowerups(int powerups) {
+    this.powerups = powerups;
+  }
+
+}
@@ -56,6 +56,19 @@ public final class KeybindingContainer {
     return keybindingList.get(playerNumber);
   }
 
+  /**
+   * Checks whether the given player has a Keybinding, which is not the case for players that are
+   * not controlled by a keyboard, such as bots.
+   * 
+   * @param playerNumber
+   *          The Player to check.
+   * 
+   * @return Whether the Player has a Keybinding.
+   */
+  public boolean hasKeybinding(int playerNumber) {
+    return playerNumber >= 0 && playerNumber < keybindingList.size();
+  }
+
   /**
    * Updates a Keybinding and if necessary unbinds other Keybinding to enforce KeyCode uniqueness.
    * 
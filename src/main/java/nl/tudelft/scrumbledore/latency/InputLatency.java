@@ -0,0 +1,232 @@
+package nl.tudelft.scrumbledore.latency;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Measures the latency from a key press until its effect is on screen, in two stages. A press is
+ * stamped when the key event is handled, again by the first step that applies the action of the
+ * press to the player, and once more by the first frame rendered after that step. The time between
+ * the press and the step, between the step and the frame, and between the press and the frame are
+ * each counted in a LatencyHistogram.
+ * 
+ * <p>
+ * Every player has at most one press waiting for a step and one waiting for a frame. A press made
+ * while an earlier press of the same player is still waiting for a step is applied by the same
+ * step, so only the earliest is kept. Key events, steps and frames may come from different
+ * threads.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class InputLatency {
+  private static final String HEADER = "stage,from_us,to_us,count";
+
+  private final LatencyHistogram keyToStep;
+  private final LatencyHistogram stepToFrame;
+  private final LatencyHistogram keyToFrame;
+  private long[] pressed;
+  private long[] appliedPress;
+  private long[] appliedStep;
+  private int waiting;
+  private long dropped;
+
+  /**
+   * Construct a new InputLatency without any measurements.
+   */
+  public InputLatency() {
+    this.keyToStep = new LatencyHistogram();
+    this.stepToFrame = new LatencyHistogram();
+    this.keyToFrame = new LatencyHistogram();
+    this.pressed = new long[2];
+    this.appliedPress = new long[2];
+    this.appliedStep = new long[2];
+  }
+
+  /**
+   * Make room for a player number.
+   * 
+   * @param player
+   *          The player number.
+   */
+  private void ensure(int player) {
+    if (player >= pressed.length) {
+      int size = Math.max(player + 1, pressed.length * 2);
+      pressed = Arrays.copyOf(pressed, size);
+      appliedPress = Arrays.copyOf(appliedPress, size);
+      appliedStep = Arrays.copyOf(appliedStep, size);
+    }
+  }
+
+  /**
+   * Stamp a key press of a player.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @param nanos
+   *          The time the key event was handled, as given by System.nanoTime().
+   */
+  public synchronized void pressed(int player, long nanos) {
+    if (player < 0) {
+      return;
+    }
+    ensure(player);
+    if (pressed[player] == 0) {
+      pressed[player] = nanos;
+    }
+  }
+
+  /**
+   * Stamp the step applying the actions of a player, if a press of the player is waiting for one.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @param nanos
+   *          The time the actions were applied, as given by System.nanoTime().
+   */
+  public synchronized void applied(int player, long nanos) {
+    if (player < 0 || player >= pressed.length || pressed[player] == 0) {
+      return;
+    }
+    keyToStep.record(nanos - pressed[player]);
+    if (appliedPress[player] == 0) {
+      waiting++;
+    } else {
+      dropped++;
+    }
+    appliedPress[player] = pressed[player];
+    appliedStep[player] = nanos;
+    pressed[player] = 0;
+  }
+
+  /**
+   * Stamp a rendered frame, completing the measurement of every press applied before it.
+   * 
+   * @param nanos
+   *          The time the frame was rendered, as given by System.nanoTime().
+   */
+  public synchronized void rendered(long nanos) {
+    if (waiting == 0) {
+      return;
+    }
+    for (int player = 0; player < appliedPress.length; player++) {
+      if (appliedPress[player] != 0) {
+        stepToFrame.record(nanos - appliedStep[player]);
+        keyToFrame.record(nanos - appliedPress[player]);
+        appliedPress[player] = 0;
+        appliedStep[player] = 0;
+      }
+    }
+    waiting = 0;
+  }
+
+  /**
+   * Forget all measurements and presses waiting to be measured.
+   */
+  public synchronized void reset() {
+    keyToStep.reset();
+    stepToFrame.reset();
+    keyToFrame.reset();
+    Arrays.fill(pressed, 0);
+    Arrays.fill(appliedPress, 0);
+    Arrays.fill(appliedStep, 0);
+    waiting = 0;
+    dropped = 0;
+  }
+
+  /**
+   * Get a copy of the histogram of the time from a key press until the step applying it.
+   * 
+   * @return The histogram.
+   */
+  public synchronized LatencyHistogram getKeyToStep() {
+    return copy(keyToStep);
+  }
+
+  /**
+   * Get a copy of the histogram of the time from the step applying a key press until the first
+   * frame rendered after it.
+   * 
+   * @return The histogram.
+   */
+  public synchronized LatencyHistogram getStepToFrame() {
+    return copy(stepToFrame);
+  }
+
+  /**
+   * Get a copy of the histogram of the time from a key press until the first frame rendered after
+   * the step applying it.
+   * 
+   * @return The histogram.
+   */
+  public synchronized LatencyHistogram getKeyToFrame() {
+    return copy(keyToFrame);
+  }
+
+  /**
+   * Copy a histogram.
+   * 
+   * @param histogram
+   *          The histogram.
+   * 
+   * @return The copy.
+   */
+  private static LatencyHistogram copy(LatencyHistogram histogram) {
+    LatencyHistogram result = new LatencyHistogram();
+    result.add(histogram);
+    return result;
+  }
+
+  /**
+   * Get the number of applied presses that were never measured up to a frame, because another
+   * press of the same player was applied before a frame was rendered.
+   * 
+   * @return The number of dropped presses.
+   */
+  public synchronized long getDropped() {
+    return dropped;
+  }
+
+  /**
+   * Summarise the measurements in lines of text, as shown in the profiling overlay.
+   * 
+   * @return The summary.
+   */
+  public synchronized String summary() {
+    return "key to step: " + keyToStep.summary() + "\nstep to frame: " + stepToFrame.summary()
+        + "\nkey to frame: " + keyToFrame.summary();
+  }
+
+  /**
+   * Write the histograms to a file as comma separated values.
+   * 
+   * @param file
+   *          The file to write to.
+   * 
+   * @throws IOException
+   *           When the file can not be written.
+   */
+  public synchronized void write(File file) throws IOException {
+    PrintWriter out = new PrintWriter(new OutputStreamWriter(
+        Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8));
+    try {
+      out.println(HEADER);
+      keyToStep.write("key_to_step", out);
+      stepToFrame.write("step_to_frame", out);
+      keyToFrame.write("key_to_frame", out);
+      if (out.checkError()) {
+        throw new IOException("Could not write " + file + ".");
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+}
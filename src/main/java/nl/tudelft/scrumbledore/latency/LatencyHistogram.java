@@ -0,0 +1,199 @@
+package nl.tudelft.scrumbledore.latency;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Histogram of latencies with a fixed number of buckets, so recording a latency never allocates.
+ * Latencies are counted in microseconds. Below 32 microseconds every bucket holds a single value,
+ * above that every power of two is split into 16 buckets, so a percentile read from the histogram
+ * is off by less than 1/16th of its value. Latencies above {@link #MAX_MICROS} are counted in the
+ * last bucket.
+ * 
+ * @author Jesse Tilro
+ */
+public class LatencyHistogram {
+  public static final long MAX_MICROS = 10000000L;
+
+  private static final int SUB_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+  private final long[] counts;
+  private long count;
+  private long total;
+  private long max;
+
+  /**
+   * Construct a new, empty LatencyHistogram.
+   */
+  public LatencyHistogram() {
+    this.counts = new long[index(MAX_MICROS) + 1];
+  }
+
+  /**
+   * Get the bucket a number of microseconds is counted in.
+   * 
+   * @param micros
+   *          The number of microseconds, at least zero.
+   * 
+   * @return The index of the bucket.
+   */
+  static int index(long micros) {
+    if (micros < 2 * SUB_BUCKETS) {
+      return (int) micros;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BITS;
+    return shift * SUB_BUCKETS + (int) (micros >> shift);
+  }
+
+  /**
+   * Get the smallest number of microseconds counted in a bucket.
+   * 
+   * @param index
+   *          The index of the bucket.
+   * 
+   * @return The number of microseconds.
+   */
+  static long lowerBound(int index) {
+    if (index < 2 * SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    return (long) (index - shift * SUB_BUCKETS) << shift;
+  }
+
+  /**
+   * Get the largest number of microseconds counted in a bucket.
+   * 
+   * @param index
+   *          The index of the bucket.
+   * 
+   * @return The number of microseconds.
+   */
+  static long upperBound(int index) {
+    return lowerBound(index + 1) - 1;
+  }
+
+  /**
+   * Record a latency.
+   * 
+   * @param nanos
+   *          The latency in nanoseconds, negative latencies are counted as zero.
+   */
+  public void record(long nanos) {
+    long micros = Math.min(Math.max(0, nanos / 1000), MAX_MICROS);
+    counts[index(micros)]++;
+    count++;
+    total += micros;
+    max = Math.max(max, micros);
+  }
+
+  /**
+   * Get the number of recorded latencies.
+   * 
+   * @return The number of latencies.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Get the highest recorded latency.
+   * 
+   * @return The latency in microseconds, zero if nothing was recorded.
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Get the mean of the recorded latencies.
+   * 
+   * @return The mean latency in microseconds, zero if nothing was recorded.
+   */
+  public double getMean() {
+    if (count == 0) {
+      return 0;
+    }
+    return (double) total / count;
+  }
+
+  /**
+   * Get a percentile of the recorded latencies, being the upper bound of the bucket holding it,
+   * but never more than the highest recorded latency.
+   * 
+   * @param percentile
+   *          The percentile, between 0 and 100.
+   * 
+   * @return The latency in microseconds, zero if nothing was recorded.
+   */
+  public long getPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Add the latencies recorded by another histogram to this one.
+   * 
+   * @param other
+   *          The other histogram.
+   */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    count += other.count;
+    total += other.total;
+    max = Math.max(max, other.max);
+  }
+
+  /**
+   * Forget all recorded latencies.
+   */
+  public void reset() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    total = 0;
+    max = 0;
+  }
+
+  /**
+   * Write the non-empty buckets of the histogram as lines of comma separated values, each holding
+   * the name of the histogram, the bounds of the bucket in microseconds and the number of latencies
+   * in it.
+   * 
+   * @param name
+   *          The name of the histogram.
+   * 
+   * @param out
+   *          The writer to write to.
+   */
+  public void write(String name, PrintWriter out) {
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] > 0) {
+        out.println(name + "," + lowerBound(i) + "," + upperBound(i) + "," + counts[i]);
+      }
+    }
+  }
+
+  /**
+   * Summarise the histogram by its median, 99th percentile and maximum in milliseconds.
+   * 
+   * @return The summary.
+   */
+  public String summary() {
+    return String.format("p50 %.1f ms, p99 %.1f ms, max %.1f ms (%d)", getPercentile(50) / 1000.0,
+        getPercentile(99) / 1000.0, max / 1000.0, count);
+  }
+
+}
@@ -0,0 +1,279 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+import nl.tudelft.scrumbledore.level.element.Player;
+
+/**
+ * A very large level split into square chunks of blocks, stored in a memory-mapped file so chunks
+ * can be read one at a time when they are needed.
+ * 
+ * <p>
+ * The file starts with a magic number, a format version, the size of a chunk in blocks and the
+ * number of chunk columns and rows, followed by a level pack (see LevelPack). The first level of
+ * the pack contains the players of the world, every following level one chunk in row-major order,
+ * with its elements at columns and rows relative to the chunk.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class ChunkedWorld {
+  public static final int MAGIC = 0x53434357;
+  public static final short VERSION = 1;
+  public static final int HEADER_SIZE = 16;
+
+  private final int chunkSize;
+  private final int cols;
+  private final int rows;
+  private final LevelPack pack;
+
+  /**
+   * Construct a new ChunkedWorld reading from a given buffer.
+   * 
+   * @param buffer
+   *          The buffer containing the world, positioned at its start.
+   */
+  public ChunkedWorld(ByteBuffer buffer) {
+    ByteBuffer world = buffer.slice();
+    if (world.remaining() < HEADER_SIZE || world.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("The buffer does not contain a chunked world.");
+    }
+    short version = world.getShort(4);
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported chunked world version " + version + ".");
+    }
+    this.chunkSize = world.getShort(6);
+    this.cols = world.getInt(8);
+    this.rows = world.getInt(12);
+
+    world.position(HEADER_SIZE);
+    this.pack = new LevelPack(world.slice());
+    if (pack.size() != 1 + cols * rows) {
+      throw new IllegalArgumentException("The world does not contain all of its chunks.");
+    }
+  }
+
+  /**
+   * Open a chunked world by memory-mapping a file.
+   * 
+   * @param file
+   *          The world file.
+   * 
+   * @return The chunked world.
+   * 
+   * @throws IOException
+   *           When the file can not be read.
+   */
+  public static ChunkedWorld open(File file) throws IOException {
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      return new ChunkedWorld(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Split a level into chunks and write it to a world file.
+   * 
+   * @param template
+   *          The template of the entire level.
+   * 
+   * @param chunkSize
+   *          The width and height of a chunk in blocks.
+   * 
+   * @param file
+   *          The file to write the world to.
+   * 
+   * @throws IOException
+   *           When the file can not be written.
+   */
+  public static void write(LevelTemplate template, int chunkSize, File file) throws IOException {
+    int cols = (template.getWidth() + chunkSize - 1) / chunkSize;
+    int rows = (template.getHeight() + chunkSize - 1) / chunkSize;
+
+    List<TemplateBuilder> builders = new ArrayList<TemplateBuilder>();
+    for (int i = 0; i < 1 + cols * rows; i++) {
+      builders.add(new TemplateBuilder());
+    }
+    for (int idx = 0; idx < template.size(); idx++) {
+      char kind = template.getKind(idx);
+      int col = template.getCol(idx);
+      int row = template.getRow(idx);
+      if (LevelTemplate.createElement(kind, 0, 0) instanceof Player) {
+        builders.get(0).add(kind, col, row);
+      } else {
+        int chunk = 1 + (row / chunkSize) * cols + col / chunkSize;
+        builders.get(chunk).add(kind, col % chunkSize, row % chunkSize);
+      }
+    }
+
+    List<LevelTemplate> templates = new ArrayList<LevelTemplate>();
+    templates.add(builders.get(0).build(template.getWidth(), template.getHeight()));
+    for (int i = 1; i < builders.size(); i++) {
+      templates.add(builders.get(i).build(chunkSize, chunkSize));
+    }
+    ByteBuffer pack = LevelCompiler.compile(templates);
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putShort(VERSION);
+    header.putShort((short) chunkSize);
+    header.putInt(cols);
+    header.putInt(rows);
+    header.flip();
+
+    FileChannel channel = new FileOutputStream(file).getChannel();
+    try {
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      while (pack.hasRemaining()) {
+        channel.write(pack);
+      }
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Get the width and height of a chunk.
+   * 
+   * @return The size of a chunk in blocks.
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Get the number of chunk columns.
+   * 
+   * @return The number of columns.
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Get the number of chunk rows.
+   * 
+   * @return The number of rows.
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Get the width of the world.
+   * 
+   * @return The width in pixels.
+   */
+  public double getWidth() {
+    return cols * chunkSize * Constants.BLOCKSIZE;
+  }
+
+  /**
+   * Get the height of the world.
+   * 
+   * @return The height in pixels.
+   */
+  public double getHeight() {
+    return rows * chunkSize * Constants.BLOCKSIZE;
+  }
+
+  /**
+   * Create a Level of the size of the world containing only its players. The chunks are to be
+   * loaded into it by a ChunkStreamer.
+   * 
+   * @param maxPlayers
+   *          The maximum number of players.
+   * 
+   * @return A new Level.
+   */
+  public Level makeLevel(int maxPlayers) {
+    Level level = pack.decode(0).instantiate(maxPlayers);
+    level.setDimensions(getWidth(), getHeight());
+    return level;
+  }
+
+  /**
+   * Read the elements of a chunk from the file and add them to a given Level at their position in
+   * the world.
+   * 
+   * @param col
+   *          The column of the chunk.
+   * 
+   * @param row
+   *          The row of the chunk.
+   * 
+   * @param level
+   *          The level to add the elements to.
+   */
+  public void loadChunk(int col, int row, Level level) {
+    LevelTemplate chunk = pack.decode(1 + row * cols + col);
+    int offsetCol = col * chunkSize;
+    int offsetRow = row * chunkSize;
+    for (int idx = 0; idx < chunk.size(); idx++) {
+      LevelElement element = LevelTemplate.createElement(chunk.getKind(idx),
+          offsetCol + chunk.getCol(idx), offsetRow + chunk.getRow(idx));
+      level.addElement(element);
+    }
+  }
+
+  /**
+   * Collects the elements of one template while splitting a world into chunks.
+   */
+  private static class TemplateBuilder {
+    private final StringBuilder kinds = new StringBuilder();
+    private final ArrayList<Integer> cols = new ArrayList<Integer>();
+    private final ArrayList<Integer> rows = new ArrayList<Integer>();
+
+    /**
+     * Add an element.
+     * 
+     * @param kind
+     *          The map character.
+     * 
+     * @param col
+     *          The column.
+     * 
+     * @param row
+     *          The row.
+     */
+    void add(char kind, int col, int row) {
+      kinds.append(kind);
+      cols.add(col);
+      rows.add(row);
+    }
+
+    /**
+     * Build the template.
+     * 
+     * @param width
+     *          The number of columns of the map.
+     * 
+     * @param height
+     *          The number of rows of the map.
+     * 
+     * @return The template.
+     */
+    LevelTemplate build(int width, int height) {
+      int[] colArray = new int[cols.size()];
+      int[] rowArray = new int[rows.size()];
+      for (int idx = 0; idx < colArray.length; idx++) {
+        colArray[idx] = cols.get(idx);
+        rowArray[idx] = rows.get(idx);
+      }
+      return new LevelTemplate(kinds.toString().toCharArray(), colArray, rowArray, width, height);
+    }
+  }
+
+}
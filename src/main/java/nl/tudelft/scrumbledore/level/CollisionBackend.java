@@ -0,0 +1,39 @@
+package nl.tudelft.scrumbledore.level;
+
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * Enumeration of the ways collisions between level elements can be detected. Discrete collisions
+ * probe every direction by moving the collider ahead one step, swept collisions compute the time of
+ * impact analytically.
+ * 
+ * @author Jesse Tilro
+ */
+public enum CollisionBackend {
+  Discrete, Swept;
+
+  /**
+   * Create a collision between a collider and a collidee using this backend.
+   * 
+   * @param collider
+   *          The (moving) LevelElement colliding.
+   * 
+   * @param collidee
+   *          The LevelElement the collider is colliding with.
+   * 
+   * @param delta
+   *          The number of steps passed since collisions were last detected.
+   * 
+   * @return A new Collision.
+   */
+  public Collision collide(DynamicElement collider, LevelElement collidee, double delta) {
+    switch (this) {
+    case Swept:
+      return new SweptCollision(collider, collidee, delta);
+    default:
+      return new Collision(collider, collidee, delta);
+    }
+  }
+
+}
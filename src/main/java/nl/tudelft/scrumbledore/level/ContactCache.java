@@ -0,0 +1,189 @@
+package nl.tudelft.scrumbledore.level;
+
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * Per-step table of the contacts between pairs of level elements, shared by all collision handlers
+ * so that every pair is evaluated only once as long as neither element moves. The table is an open
+ * addressing hash table keyed on the identity of both elements, whose ContactManifolds are reused
+ * from step to step instead of being allocated for every query.
+ * 
+ * @author Jesse Tilro
+ */
+public final class ContactCache {
+  private static final int INITIAL_CAPACITY = 256;
+
+  private final CollisionBackend backend;
+  private ContactManifold[] table;
+  private int size;
+  private long evaluations;
+
+  /**
+   * Constructs a new, empty ContactCache evaluating contacts with a given backend.
+   * 
+   * @param backend
+   *          The collision detection backend.
+   */
+  public ContactCache(CollisionBackend backend) {
+    this.backend = backend;
+    this.table = new ContactManifold[INITIAL_CAPACITY];
+    for (int i = 0; i < table.length; i++) {
+      table[i] = new ContactManifold(this);
+    }
+  }
+
+  /**
+   * Forget all contacts, to be called at the start of every step. The manifolds are kept for reuse.
+   */
+  public void reset() {
+    if (size == 0) {
+      return;
+    }
+    for (ContactManifold manifold : table) {
+      manifold.release();
+    }
+    size = 0;
+  }
+
+  /**
+   * Get the contact between two elements, evaluating it only if it is not yet known for their
+   * current positions and speeds. The returned manifold is owned by the cache and only valid until
+   * the next reset.
+   * 
+   * @param collider
+   *          The (moving) LevelElement colliding.
+   * 
+   * @param collidee
+   *          The LevelElement the collider is colliding with.
+   * 
+   * @param delta
+   *          The number of steps passed since collisions were last detected.
+   * 
+   * @return The contact manifold of the pair.
+   */
+  public ContactManifold get(DynamicElement collider, LevelElement collidee, double delta) {
+    int slot = find(table, collider, collidee);
+    ContactManifold manifold = table[slot];
+    if (manifold.isUsed()) {
+      manifold.refresh(delta);
+      return manifold;
+    }
+
+    if (2 * (size + 1) > table.length) {
+      grow();
+      slot = find(table, collider, collidee);
+      manifold = table[slot];
+    }
+    manifold.assign(collider, collidee, delta);
+    size++;
+    return manifold;
+  }
+
+  /**
+   * Find the slot of a pair in a table, or the empty slot where it belongs.
+   * 
+   * @param table
+   *          The table.
+   * 
+   * @param collider
+   *          The collider.
+   * 
+   * @param collidee
+   *          The collidee.
+   * 
+   * @return The index of the slot.
+   */
+  private static int find(ContactManifold[] table, DynamicElement collider,
+      LevelElement collidee) {
+    int mask = table.length - 1;
+    int slot = hash(collider, collidee) & mask;
+    while (table[slot].isUsed() && !table[slot].belongsTo(collider, collidee)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Compute the hash of a pair of elements from their identities.
+   * 
+   * @param collider
+   *          The collider.
+   * 
+   * @param collidee
+   *          The collidee.
+   * 
+   * @return The hash.
+   */
+  private static int hash(Object collider, Object collidee) {
+    int hash = System.identityHashCode(collider) * 31 + System.identityHashCode(collidee);
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Double the capacity of the table, moving the manifolds in use to their new slots.
+   */
+  private void grow() {
+    ContactManifold[] grown = new ContactManifold[table.length * 2];
+    int mask = grown.length - 1;
+    for (ContactManifold manifold : table) {
+      if (manifold.isUsed()) {
+        int slot = hash(manifold.getCollider(), manifold.getCollidee()) & mask;
+        while (grown[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        grown[slot] = manifold;
+      }
+    }
+
+    int next = 0;
+    for (int i = 0; i < grown.length; i++) {
+      if (grown[i] == null) {
+        while (next < table.length && table[next].isUsed()) {
+          next++;
+        }
+        if (next < table.length) {
+          grown[i] = table[next++];
+        } else {
+          grown[i] = new ContactManifold(this);
+        }
+      }
+    }
+    table = grown;
+  }
+
+  /**
+   * Count an evaluation of a contact, called by the manifolds.
+   */
+  void countEvaluation() {
+    evaluations++;
+  }
+
+  /**
+   * Get the number of contacts evaluated since the cache was created.
+   * 
+   * @return The number of evaluations.
+   */
+  public long getEvaluations() {
+    return evaluations;
+  }
+
+  /**
+   * Get the number of pairs in the cache.
+   * 
+   * @return The number of pairs.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the backend used to evaluate contacts.
+   * 
+   * @return The collision detection backend.
+   */
+  public CollisionBackend getBackend() {
+    return backend;
+  }
+
+}
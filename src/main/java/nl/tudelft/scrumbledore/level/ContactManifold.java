@@ -0,0 +1,303 @@
+package nl.tudelft.scrumbledore.level;
+
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * Compact summary of the contact between two level elements: whether they collide, which sides of
+ * the collidee are touched, how deep they overlap and the contact normal. Manifolds are pooled by a
+ * ContactCache and evaluated at most once for as long as the positions and speeds of the elements
+ * stay the same. As soon as one of the elements is moved, the next query evaluates it again, so a
+ * manifold always describes the current state, just like a Collision does.
+ * 
+ * @author Jesse Tilro
+ */
+public final class ContactManifold {
+  private static final int COLLIDING = 1;
+  private static final int TOP = 2;
+  private static final int BOTTOM = 4;
+  private static final int LEFT = 8;
+  private static final int RIGHT = 16;
+
+  private final ContactCache cache;
+
+  private DynamicElement collider;
+  private LevelElement collidee;
+  private double delta;
+  private final double[] state;
+
+  private int sides;
+  private double penetration;
+
+  /**
+   * Constructs a new, unused ContactManifold.
+   * 
+   * @param cache
+   *          The cache pooling the manifold.
+   */
+  ContactManifold(ContactCache cache) {
+    this.cache = cache;
+    this.state = new double[8];
+  }
+
+  /**
+   * Assign the manifold to a pair of elements and evaluate their contact.
+   * 
+   * @param collider
+   *          The (moving) LevelElement colliding.
+   * 
+   * @param collidee
+   *          The LevelElement the collider is colliding with.
+   * 
+   * @param delta
+   *          The number of steps passed since collisions were last detected.
+   */
+  void assign(DynamicElement collider, LevelElement collidee, double delta) {
+    this.collider = collider;
+    this.collidee = collidee;
+    this.delta = delta;
+    evaluate();
+  }
+
+  /**
+   * Release the elements of the manifold, so it can be reused.
+   */
+  void release() {
+    collider = null;
+    collidee = null;
+  }
+
+  /**
+   * Check whether the manifold is assigned to a pair of elements.
+   * 
+   * @return Whether the manifold is in use.
+   */
+  boolean isUsed() {
+    return collider != null;
+  }
+
+  /**
+   * Check whether the manifold belongs to a given pair of elements.
+   * 
+   * @param collider
+   *          The collider.
+   * 
+   * @param collidee
+   *          The collidee.
+   * 
+   * @return Whether the manifold describes the pair.
+   */
+  boolean belongsTo(DynamicElement collider, LevelElement collidee) {
+    return this.collider == collider && this.collidee == collidee;
+  }
+
+  /**
+   * Get the collider of the manifold.
+   * 
+   * @return The collider, or null if the manifold is not in use.
+   */
+  DynamicElement getCollider() {
+    return collider;
+  }
+
+  /**
+   * Get the collidee of the manifold.
+   * 
+   * @return The collidee, or null if the manifold is not in use.
+   */
+  LevelElement getCollidee() {
+    return collidee;
+  }
+
+  /**
+   * Make sure the manifold describes the current state of its elements for a given delta,
+   * evaluating it again only if that state has changed.
+   * 
+   * @param delta
+   *          The number of steps passed since collisions were last detected.
+   */
+  void refresh(double delta) {
+    if (this.delta != delta) {
+      this.delta = delta;
+      evaluate();
+    } else {
+      refresh();
+    }
+  }
+
+  /**
+   * Evaluate the manifold again if one of its elements has moved or changed speed since it was last
+   * evaluated.
+   */
+  private void refresh() {
+    if (collider != null && !capture(false)) {
+      evaluate();
+    }
+  }
+
+  /**
+   * Compare the positions and speeds of the elements to the ones the manifold was evaluated with,
+   * optionally recording them.
+   * 
+   * @param record
+   *          Whether to record the current state.
+   * 
+   * @return Whether the state was unchanged.
+   */
+  private boolean capture(boolean record) {
+    boolean same = true;
+    same &= store(0, collider.getPosition().getX(), record);
+    same &= store(1, collider.getPosition().getY(), record);
+    same &= store(2, collider.getSpeed().getX(), record);
+    same &= store(3, collider.getSpeed().getY(), record);
+    same &= store(4, collidee.getPosition().getX(), record);
+    same &= store(5, collidee.getPosition().getY(), record);
+    if (collidee instanceof DynamicElement) {
+      same &= store(6, ((DynamicElement) collidee).getSpeed().getX(), record);
+      same &= store(7, ((DynamicElement) collidee).getSpeed().getY(), record);
+    }
+    return same;
+  }
+
+  /**
+   * Compare a single recorded value, optionally replacing it.
+   * 
+   * @param index
+   *          The index of the value.
+   * 
+   * @param value
+   *          The current value.
+   * 
+   * @param record
+   *          Whether to record the current value.
+   * 
+   * @return Whether the value was unchanged.
+   */
+  private boolean store(int index, double value, boolean record) {
+    boolean same = state[index] == value;
+    if (record) {
+      state[index] = value;
+    }
+    return same;
+  }
+
+  /**
+   * Evaluate the contact between the elements using the backend of the cache.
+   */
+  private void evaluate() {
+    capture(true);
+    cache.countEvaluation();
+
+    Collision collision = cache.getBackend().collide(collider, collidee, delta);
+    sides = 0;
+    if (collision.colliding()) {
+      sides |= COLLIDING;
+    }
+    if (collision.collidingFromTop()) {
+      sides |= TOP;
+    }
+    if (collision.collidingFromBottom()) {
+      sides |= BOTTOM;
+    }
+    if (collision.collidingFromLeft()) {
+      sides |= LEFT;
+    }
+    if (collision.collidingFromRight()) {
+      sides |= RIGHT;
+    }
+
+    double overlapX = Math.min(collider.getRight(), collidee.getRight())
+        - Math.max(collider.getLeft(), collidee.getLeft());
+    double overlapY = Math.min(collider.getBottom(), collidee.getBottom())
+        - Math.max(collider.getTop(), collidee.getTop());
+    penetration = Math.max(0, Math.min(overlapX, overlapY));
+  }
+
+  /**
+   * Check whether a side flag is set in the current state.
+   * 
+   * @param flag
+   *          The flag.
+   * 
+   * @return Whether the flag is set.
+   */
+  private boolean has(int flag) {
+    refresh();
+    return (sides & flag) != 0;
+  }
+
+  /**
+   * Check whether collider and collidee are colliding at all.
+   * 
+   * @return Whether the elements collide.
+   */
+  public boolean colliding() {
+    return has(COLLIDING);
+  }
+
+  /**
+   * Check whether the collider is colliding with the collidee from the top.
+   * 
+   * @return Whether the top side of the collidee is touched.
+   */
+  public boolean collidingFromTop() {
+    return has(TOP);
+  }
+
+  /**
+   * Check whether the collider is colliding with the collidee from the bottom.
+   * 
+   * @return Whether the bottom side of the collidee is touched.
+   */
+  public boolean collidingFromBottom() {
+    return has(BOTTOM);
+  }
+
+  /**
+   * Check whether the collider is colliding with the collidee from the left.
+   * 
+   * @return Whether the left side of the collidee is touched.
+   */
+  public boolean collidingFromLeft() {
+    return has(LEFT);
+  }
+
+  /**
+   * Check whether the collider is colliding with the collidee from the right.
+   * 
+   * @return Whether the right side of the collidee is touched.
+   */
+  public boolean collidingFromRight() {
+    return has(RIGHT);
+  }
+
+  /**
+   * Get the depth of the overlap between the bounding boxes of the elements.
+   * 
+   * @return The penetration along the axis of least overlap, or zero if they do not overlap.
+   */
+  public double getPenetration() {
+    refresh();
+    return penetration;
+  }
+
+  /**
+   * Get the normal of the touched side of the collidee, pointing towards the collider. Vertical
+   * contact takes precedence when several sides are touched.
+   * 
+   * @return The contact normal, or the zero vector if no side is touched.
+   */
+  public Vector getNormal() {
+    if (has(TOP)) {
+      return new Vector(0, -1);
+    } else if (has(BOTTOM)) {
+      return new Vector(0, 1);
+    } else if (has(LEFT)) {
+      return new Vector(-1, 0);
+    } else if (has(RIGHT)) {
+      return new Vector(1, 0);
+    }
+    return new Vector(0, 0);
+  }
+
+}
@@ -0,0 +1,120 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.util.Arrays;
+
+/**
+ * Flow field over a NavigationGraph towards a single target node. A breadth-first search backwards
+ * from the target gives every node its distance in links to the target and the link to follow
+ * from there, so any number of NPCs can look up their next move without searching a path of their
+ * own. The field only has to be computed again when the target moves to another node.
+ * 
+ * @author Jesse Tilro
+ */
+public class FlowField {
+  public static final int UNREACHABLE = -1;
+
+  private final NavigationGraph graph;
+  private final int[] distance;
+  private final int[] next;
+  private final int[] queue;
+  private int target;
+  private int computations;
+
+  /**
+   * Construct a new FlowField without a target.
+   * 
+   * @param graph
+   *          The navigation graph.
+   */
+  public FlowField(NavigationGraph graph) {
+    this.graph = graph;
+    this.distance = new int[graph.getNodeCount()];
+    this.next = new int[graph.getNodeCount()];
+    this.queue = new int[graph.getNodeCount()];
+    this.target = -1;
+    Arrays.fill(distance, UNREACHABLE);
+    Arrays.fill(next, -1);
+  }
+
+  /**
+   * Compute the field towards a target node.
+   * 
+   * @param target
+   *          The target node.
+   */
+  public void compute(int target) {
+    this.target = target;
+    computations++;
+    Arrays.fill(distance, UNREACHABLE);
+    Arrays.fill(next, -1);
+
+    int head = 0;
+    int tail = 0;
+    distance[target] = 0;
+    queue[tail++] = target;
+    while (head < tail) {
+      int node = queue[head++];
+      for (int i = graph.getInStart(node); i < graph.getInEnd(node); i++) {
+        int source = graph.getInSource(i);
+        if (distance[source] == UNREACHABLE) {
+          distance[source] = distance[node] + 1;
+          queue[tail++] = source;
+        }
+      }
+    }
+
+    for (int node = 0; node < next.length; node++) {
+      if (distance[node] > 0) {
+        for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+          if (distance[graph.getEdgeTarget(edge)] == distance[node] - 1) {
+            next[node] = edge;
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the target node of the field.
+   * 
+   * @return The target node, or -1 if the field has not been computed yet.
+   */
+  public int getTarget() {
+    return target;
+  }
+
+  /**
+   * Get the distance in links from a node to the target.
+   * 
+   * @param node
+   *          The node.
+   * 
+   * @return The distance, or UNREACHABLE.
+   */
+  public int getDistance(int node) {
+    return distance[node];
+  }
+
+  /**
+   * Get the link to follow from a node towards the target.
+   * 
+   * @param node
+   *          The node.
+   * 
+   * @return The index of the link, or -1 at the target or when it can not be reached.
+   */
+  public int getNextEdge(int node) {
+    return next[node];
+  }
+
+  /**
+   * Get the number of times the field has been computed.
+   * 
+   * @return The number of computations.
+   */
+  public int getComputations() {
+    return computations;
+  }
+
+}
@@ -1,6 +1,7 @@
 package nl.tudelft.scrumbledore.level;
 
 import java.util.ArrayList;
+import nl.tudelft.scrumbledore.Constants;
 import nl.tudelft.scrumbledore.level.element.Bubble;
 import nl.tudelft.scrumbledore.level.element.Fruit;
 import nl.tudelft.scrumbledore.level.element.LevelElement;
@@ -9,6 +10,7 @@ import nl.tudelft.scrumbledore.level.element.Platform;
 import nl.tudelft.scrumbledore.level.element.Player;
 import nl.tudelft.scrumbledore.level.element.PlayerElement;
 import nl.tudelft.scrumbledore.level.powerup.PowerupPickUp;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffects;
 
 /**
  * Class representing a Level in the Game.
@@ -23,11 +25,19 @@ public class Level {
   private ArrayList<PlayerElement> players;
   private ArrayList<Bubble> encapEnemies;
   private ArrayList<PowerupPickUp> powerups;
+  private double width;
+  private double height;
+  private SpatialGrid<Platform> platformGrid;
+  private int platformVersion;
+  private int gridVersion;
+  private StatusEffects effects;
 
   /**
    * Constructs a new Level instance.
    */
   public Level() {
+    width = Constants.LEVELX;
+    height = Constants.LEVELY;
     platforms = new ArrayList<Platform>();
     projectiles = new ArrayList<Bubble>();
     encapEnemies = new ArrayList<Bubble>();
@@ -35,6 +45,7 @@ public class Level {
     npcs = new ArrayList<NPC>();
     players = new ArrayList<PlayerElement>();
     powerups = new ArrayList<PowerupPickUp>();
+    effects = new StatusEffects();
   }
 
   /**
@@ -46,6 +57,7 @@ public class Level {
   public void addElement(LevelElement element) {
     if (element instanceof Platform) {
       platforms.add((Platform) element);
+      platformVersion++;
     } else if (element instanceof NPC) {
       npcs.add((NPC) element);
     } else if (element instanceof Fruit) {
@@ -85,6 +97,73 @@ public class Level {
     return elements;
   }
 
+  /**
+   * Get the width of the Level.
+   * 
+   * @return The width in pixels.
+   */
+  public double getWidth() {
+    return width;
+  }
+
+  /**
+   * Get the height of the Level.
+   * 
+   * @return The height in pixels.
+   */
+  public double getHeight() {
+    return height;
+  }
+
+  /**
+   * Set the dimensions of the Level.
+   * 
+   * @param width
+   *          The width in pixels.
+   * 
+   * @param height
+   *          The height in pixels.
+   */
+  public void setDimensions(double width, double height) {
+    this.width = width;
+    this.height = height;
+    this.platformGrid = null;
+  }
+
+  /**
+   * Report that platforms have been added to or removed from the list of platforms directly.
+   */
+  public void platformsChanged() {
+    platformVersion++;
+  }
+
+  /**
+   * Get the version of the platforms, which changes whenever platforms are added or removed.
+   * 
+   * @return The version.
+   */
+  public int getPlatformVersion() {
+    return platformVersion;
+  }
+
+  /**
+   * Get a spatial index of the platforms in the Level, which is (re)built when the platforms have
+   * changed.
+   * 
+   * @return A SpatialGrid of all platforms.
+   */
+  public SpatialGrid<Platform> getPlatformGrid() {
+    if (platformGrid == null || platformGrid.size() != platforms.size()
+        || gridVersion != platformVersion) {
+      gridVersion = platformVersion;
+      platformGrid = new SpatialGrid<Platform>(width, height, Constants.GRID_CELLSIZE);
+      for (Platform platform : platforms) {
+        platformGrid.insert(platform);
+      }
+    }
+    return platformGrid;
+  }
+
   /**
    * Returns an ArrayList of Platform elements.
    * 
@@ -148,4 +227,13 @@ public class Level {
     return powerups;
   }
 
+  /**
+   * Get the status effects of the players in this Level.
+   * 
+   * @return The status effects.
+   */
+  public StatusEffects getEffects() {
+    return effects;
+  }
+
 }
@@ -0,0 +1,206 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import nl.tudelft.scrumbledore.Constants;
+
+/**
+ * Converts levels into the compiled binary level format read by LevelPack. Run as a program, it
+ * compiles the text level maps in a directory into a single pack file.
+ * 
+ * @author Jesse Tilro
+ */
+public final class LevelCompiler {
+
+  /**
+   * Private constructor, since this class only offers static utility methods.
+   */
+  private LevelCompiler() {
+  }
+
+  /**
+   * Compute the number of bytes a template takes up in the compiled format.
+   * 
+   * @param template
+   *          The template.
+   * 
+   * @return The size in bytes.
+   */
+  public static int encodedSize(LevelTemplate template) {
+    int width = template.getWidth();
+    int height = template.getHeight();
+    int bitmapSize = (width * height + 7) / 8;
+    return LevelPack.LEVEL_HEADER_SIZE + 2 * bitmapSize + spawns(template) * LevelPack.SPAWN_SIZE;
+  }
+
+  /**
+   * Encode a template into a buffer at its current position.
+   * 
+   * @param template
+   *          The template.
+   * 
+   * @param out
+   *          The buffer to write to.
+   */
+  public static void encode(LevelTemplate template, ByteBuffer out) {
+    int width = template.getWidth();
+    int height = template.getHeight();
+    int bitmapSize = (width * height + 7) / 8;
+
+    int start = out.position();
+    out.putInt(LevelPack.LEVEL_MAGIC);
+    out.putShort(LevelPack.VERSION);
+    out.putShort((short) width);
+    out.putShort((short) height);
+    out.putInt(spawns(template));
+
+    int solidStart = out.position();
+    int passableStart = solidStart + bitmapSize;
+    for (int i = 0; i < 2 * bitmapSize; i++) {
+      out.put((byte) 0);
+    }
+
+    for (int idx = 0; idx < template.size(); idx++) {
+      char kind = template.getKind(idx);
+      int cell = template.getRow(idx) * width + template.getCol(idx);
+      int bitmap;
+      if (kind == LevelPack.SOLID) {
+        bitmap = solidStart;
+      } else if (kind == LevelPack.PASSABLE) {
+        bitmap = passableStart;
+      } else {
+        continue;
+      }
+      int position = bitmap + (cell >> 3);
+      out.put(position, (byte) (out.get(position) | (1 << (cell & 7))));
+    }
+
+    for (int idx = 0; idx < template.size(); idx++) {
+      char kind = template.getKind(idx);
+      if (isSpawn(kind)) {
+        out.put((byte) kind);
+        out.putShort((short) template.getCol(idx));
+        out.putShort((short) template.getRow(idx));
+      }
+    }
+
+    assert out.position() - start == encodedSize(template);
+  }
+
+  /**
+   * Compile a list of templates into a level pack.
+   * 
+   * @param templates
+   *          The templates.
+   * 
+   * @return A buffer containing the pack, positioned at its start.
+   */
+  public static ByteBuffer compile(List<LevelTemplate> templates) {
+    int offset = LevelPack.HEADER_SIZE + templates.size() * 8;
+    int total = offset;
+    for (LevelTemplate template : templates) {
+      total += encodedSize(template);
+    }
+
+    ByteBuffer out = ByteBuffer.allocate(total);
+    out.putInt(LevelPack.PACK_MAGIC);
+    out.putShort(LevelPack.VERSION);
+    out.putInt(templates.size());
+    for (LevelTemplate template : templates) {
+      int length = encodedSize(template);
+      out.putInt(offset);
+      out.putInt(length);
+      offset += length;
+    }
+    for (LevelTemplate template : templates) {
+      encode(template, out);
+    }
+
+    out.flip();
+    return out;
+  }
+
+  /**
+   * Compile a list of templates into a level pack file.
+   * 
+   * @param templates
+   *          The templates.
+   * 
+   * @param file
+   *          The file to write the pack to.
+   * 
+   * @throws IOException
+   *           When the file can not be written.
+   */
+  public static void write(List<LevelTemplate> templates, File file) throws IOException {
+    ByteBuffer pack = compile(templates);
+    FileChannel channel = new FileOutputStream(file).getChannel();
+    try {
+      while (pack.hasRemaining()) {
+        channel.write(pack);
+      }
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Compile the text level maps in a directory into a pack file.
+   * 
+   * @param args
+   *          The directory containing the maps and the pack file to write, defaulting to the game's
+   *          levels and pack.
+   * 
+   * @throws IOException
+   *           When the pack file can not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    String dir = Constants.LEVELS_DIR;
+    if (args.length > 0) {
+      dir = args[0];
+    }
+    File file = new File(Constants.RESOURCES_DIR + Constants.LEVEL_PACK);
+    if (args.length > 1) {
+      file = new File(args[1]);
+    }
+
+    List<LevelTemplate> templates = new LevelParser(dir).getTemplates();
+    write(templates, file);
+    System.out.println("Compiled " + templates.size() + " levels into " + file + ".");
+  }
+
+  /**
+   * Determine whether a map character is an entity spawn rather than a tile.
+   * 
+   * @param kind
+   *          The map character.
+   * 
+   * @return Whether the character is a spawn.
+   */
+  private static boolean isSpawn(char kind) {
+    return LevelPack.SPAWN_KINDS.indexOf(kind) >= 0;
+  }
+
+  /**
+   * Count the entity spawns in a template.
+   * 
+   * @param template
+   *          The template.
+   * 
+   * @return The number of spawns.
+   */
+  private static int spawns(LevelTemplate template) {
+    int spawns = 0;
+    for (int idx = 0; idx < template.size(); idx++) {
+      if (isSpawn(template.getKind(idx))) {
+        spawns++;
+      }
+    }
+    return spawns;
+  }
+
+}
@@ -0,0 +1,277 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import nl.tudelft.scrumbledore.jfr.LevelParseEvent;
+
+/**
+ * A pack of levels in the compiled binary level format, as written by the LevelCompiler. The pack
+ * is read from a memory-mapped file or from the classpath, and its levels are decoded into
+ * LevelTemplates on demand, in parallel when there are many of them.
+ * 
+ * <p>
+ * A pack starts with a magic number, a format version and the number of levels, followed by an
+ * offset table with the position and length of every level. Every level consists of a header
+ * (magic number, version, width, height and number of spawns), a bitmap of solid tiles, a bitmap of
+ * passable tiles and a table of entity spawns (map character, column and row).
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class LevelPack {
+  public static final int PACK_MAGIC = 0x53434C50;
+  public static final int LEVEL_MAGIC = 0x53434C56;
+  public static final short VERSION = 1;
+  public static final int HEADER_SIZE = 10;
+  public static final int LEVEL_HEADER_SIZE = 14;
+  public static final int SPAWN_SIZE = 5;
+  public static final char SOLID = '#';
+  public static final char PASSABLE = '_';
+  public static final String SPAWN_KINDS = "PNFCV";
+
+  private static final int PARALLEL_THRESHOLD = 16;
+
+  private final ByteBuffer buffer;
+  private final int size;
+
+  /**
+   * Construct a new LevelPack reading from a given buffer.
+   * 
+   * @param buffer
+   *          The buffer containing the pack, positioned at its start.
+   */
+  public LevelPack(ByteBuffer buffer) {
+    this.buffer = buffer.slice();
+
+    if (this.buffer.remaining() < HEADER_SIZE || this.buffer.getInt(0) != PACK_MAGIC) {
+      throw new IllegalArgumentException("The buffer does not contain a level pack.");
+    }
+    short version = this.buffer.getShort(4);
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported level pack version " + version + ".");
+    }
+    this.size = this.buffer.getInt(6);
+  }
+
+  /**
+   * Open a level pack by memory-mapping a file.
+   * 
+   * @param file
+   *          The pack file.
+   * 
+   * @return The level pack.
+   * 
+   * @throws IOException
+   *           When the file can not be read.
+   */
+  public static LevelPack open(File file) throws IOException {
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      return new LevelPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Load a level pack from the classpath.
+   * 
+   * @param resource
+   *          The absolute name of the resource.
+   * 
+   * @return The level pack.
+   * 
+   * @throws IOException
+   *           When the resource does not exist or can not be read.
+   */
+  public static LevelPack fromClasspath(String resource) throws IOException {
+    InputStream in = LevelPack.class.getResourceAsStream(resource);
+    if (in == null) {
+      throw new FileNotFoundException(resource);
+    }
+
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] chunk = new byte[8192];
+      int read = in.read(chunk);
+      while (read >= 0) {
+        out.write(chunk, 0, read);
+        read = in.read(chunk);
+      }
+      return new LevelPack(ByteBuffer.wrap(out.toByteArray()));
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Get the number of levels in the pack.
+   * 
+   * @return The number of levels.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Decode a single level of the pack. Safe to call from multiple threads at once.
+   * 
+   * @param index
+   *          The index of the level.
+   * 
+   * @return The LevelTemplate of the level.
+   */
+  public LevelTemplate decode(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Level " + index + " of " + size + ".");
+    }
+    int offset = buffer.getInt(HEADER_SIZE + index * 8);
+    int length = buffer.getInt(HEADER_SIZE + index * 8 + 4);
+
+    LevelParseEvent event = new LevelParseEvent();
+    event.begin();
+    ByteBuffer level = buffer.duplicate();
+    level.position(offset);
+    level.limit(offset + length);
+    LevelTemplate template = decodeLevel(level.slice());
+    if (event.shouldCommit()) {
+      event.setSource("pack#" + index);
+      event.setElements(template.size());
+      event.commit();
+    }
+    return template;
+  }
+
+  /**
+   * Decode all levels of the pack, spreading the work over the available processors when the pack
+   * contains many levels.
+   * 
+   * @return The LevelTemplates of all levels, in the order of the pack.
+   */
+  public ArrayList<LevelTemplate> decodeAll() {
+    int threads = Math.min(Runtime.getRuntime().availableProcessors(), size / PARALLEL_THRESHOLD);
+    if (threads <= 1) {
+      ArrayList<LevelTemplate> templates = new ArrayList<LevelTemplate>(size);
+      for (int i = 0; i < size; i++) {
+        templates.add(decode(i));
+      }
+      return templates;
+    }
+    return decodeAll(threads);
+  }
+
+  /**
+   * Decode all levels of the pack using a given number of threads.
+   * 
+   * @param threads
+   *          The number of threads.
+   * 
+   * @return The LevelTemplates of all levels, in the order of the pack.
+   */
+  public ArrayList<LevelTemplate> decodeAll(int threads) {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      ArrayList<Future<LevelTemplate[]>> futures = new ArrayList<Future<LevelTemplate[]>>();
+      int chunk = (size + threads - 1) / threads;
+      for (int start = 0; start < size; start += chunk) {
+        final int from = start;
+        final int to = Math.min(size, start + chunk);
+        futures.add(executor.submit(new Callable<LevelTemplate[]>() {
+          public LevelTemplate[] call() {
+            LevelTemplate[] result = new LevelTemplate[to - from];
+            for (int i = from; i < to; i++) {
+              result[i - from] = decode(i);
+            }
+            return result;
+          }
+        }));
+      }
+
+      ArrayList<LevelTemplate> templates = new ArrayList<LevelTemplate>(size);
+      for (Future<LevelTemplate[]> future : futures) {
+        for (LevelTemplate template : future.get()) {
+          templates.add(template);
+        }
+      }
+      return templates;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while decoding levels.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalArgumentException("Corrupt level in pack.", e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Decode a single compiled level.
+   * 
+   * @param level
+   *          A buffer containing only the level.
+   * 
+   * @return The LevelTemplate of the level.
+   */
+  public static LevelTemplate decodeLevel(ByteBuffer level) {
+    if (level.getInt(0) != LEVEL_MAGIC || level.getShort(4) != VERSION) {
+      throw new IllegalArgumentException("Not a compiled level of a supported version.");
+    }
+    int width = level.getShort(6);
+    int height = level.getShort(8);
+    int spawns = level.getInt(10);
+
+    int cells = width * height;
+    int bitmapSize = (cells + 7) / 8;
+    int solidStart = LEVEL_HEADER_SIZE;
+    int passableStart = solidStart + bitmapSize;
+    int spawnStart = passableStart + bitmapSize;
+
+    int tiles = 0;
+    for (int i = 0; i < bitmapSize; i++) {
+      tiles += Integer.bitCount(level.get(solidStart + i) & 0xFF);
+      tiles += Integer.bitCount(level.get(passableStart + i) & 0xFF);
+    }
+
+    char[] kinds = new char[tiles + spawns];
+    int[] cols = new int[kinds.length];
+    int[] rows = new int[kinds.length];
+
+    int idx = 0;
+    for (int cell = 0; cell < cells && idx < tiles; cell++) {
+      int bit = 1 << (cell & 7);
+      if ((level.get(solidStart + (cell >> 3)) & bit) != 0) {
+        kinds[idx] = SOLID;
+      } else if ((level.get(passableStart + (cell >> 3)) & bit) != 0) {
+        kinds[idx] = PASSABLE;
+      } else {
+        continue;
+      }
+      cols[idx] = cell % width;
+      rows[idx] = cell / width;
+      idx++;
+    }
+
+    for (int i = 0; i < spawns; i++) {
+      int position = spawnStart + i * SPAWN_SIZE;
+      kinds[idx] = (char) (level.get(position) & 0xFF);
+      cols[idx] = level.getShort(position + 1);
+      rows[idx] = level.getShort(position + 3);
+      idx++;
+    }
+
+    return new LevelTemplate(kinds, cols, rows, width, height);
+  }
+
+}
@@ -3,30 +3,27 @@ package nl.tudelft.scrumbledore.level;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Scanner;
 import nl.tudelft.scrumbledore.Constants;
-import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.jfr.LevelParseEvent;
 import nl.tudelft.scrumbledore.level.element.LevelElement;
-import nl.tudelft.scrumbledore.level.element.NPC;
-import nl.tudelft.scrumbledore.level.element.Platform;
-import nl.tudelft.scrumbledore.level.element.Player;
-import nl.tudelft.scrumbledore.level.powerup.ChiliChickenPickUp;
-import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
 
 /**
- * Class responsible for reading a map from disk and converting it into a Level object.
+ * Class responsible for reading a map from disk and converting it into a Level object. Maps are
+ * parsed into immutable LevelTemplates first, from which the Level objects are instantiated.
  * 
  * @author Niels Warnars
  */
-@SuppressWarnings("PMD.CyclomaticComplexity")
 public class LevelParser {
+  private ArrayList<LevelTemplate> templates;
   private ArrayList<Level> levels;
 
   /**
    * Creates a new LevelParser.
    */
   public LevelParser() {
-    levels = loadLevelsFromDisk(Constants.LEVELS_DIR);
+    this(Constants.LEVELS_DIR);
   }
 
   /**
@@ -36,7 +33,11 @@ public class LevelParser {
    *          A given directory.
    */
   public LevelParser(String dir) {
-    levels = loadLevelsFromDisk(dir);
+    templates = loadTemplatesFromDisk(dir);
+    levels = new ArrayList<Level>();
+    for (LevelTemplate template : templates) {
+      levels.add(template.instantiate());
+    }
   }
 
   /**
@@ -48,21 +49,46 @@ public class LevelParser {
    * @return An array of Level objects.
    */
   protected ArrayList<Level> loadLevelsFromDisk(String dir) {
-    ArrayList<String> levelFiles = listFilesInDir(dir);
     ArrayList<Level> levels = new ArrayList<Level>();
+    for (LevelTemplate template : loadTemplatesFromDisk(dir)) {
+      levels.add(template.instantiate());
+    }
+    return levels;
+  }
+
+  /**
+   * Loads an array of LevelTemplate objects from disk.
+   * 
+   * @param dir
+   *          A given directory.
+   * 
+   * @return An array of LevelTemplate objects.
+   */
+  protected ArrayList<LevelTemplate> loadTemplatesFromDisk(String dir) {
+    ArrayList<String> levelFiles = listFilesInDir(dir);
+    ArrayList<LevelTemplate> templates = new ArrayList<LevelTemplate>();
 
     for (int idx = 0; idx < levelFiles.size(); idx++) {
+      LevelParseEvent event = new LevelParseEvent();
+      event.begin();
       try {
-        levels.add(readLevelFromFile(dir + "/" + levelFiles.get(idx)));
+        LevelTemplate template = readTemplateFromScanner(
+            new Scanner(new File(dir + "/" + levelFiles.get(idx)), "UTF-8"));
+        templates.add(template);
+        if (event.shouldCommit()) {
+          event.setSource(levelFiles.get(idx));
+          event.setElements(template.size());
+          event.commit();
+        }
       } catch (FileNotFoundException e) {
         e.printStackTrace();
       }
     }
-    return levels;
+    return templates;
   }
 
   /**
-   * Lists all files in a given directory.
+   * Lists all files in a given directory, sorted by name.
    * 
    * @param dir
    *          A given directory.
@@ -81,6 +107,7 @@ public class LevelParser {
         }
       }
     }
+    Collections.sort(levelFiles);
     return levelFiles;
   }
 
@@ -110,24 +137,35 @@ public class LevelParser {
    * @return A level object.
    */
   protected Level readLevelFromScanner(Scanner lineScanner) throws FileNotFoundException {
-    Level tmpLevel = new Level();
+    return readTemplateFromScanner(lineScanner).instantiate();
+  }
+
+  /**
+   * Reads a level template from a given scanner.
+   * 
+   * @param lineScanner
+   *          A given Scanner object.
+   * 
+   * @return A LevelTemplate object.
+   */
+  protected LevelTemplate readTemplateFromScanner(Scanner lineScanner) {
+    StringBuilder kinds = new StringBuilder();
+    ArrayList<Integer> cols = new ArrayList<Integer>();
+    ArrayList<Integer> rows = new ArrayList<Integer>();
     int lineNumber = 0;
+    int width = 0;
 
     do {
       String line = lineScanner.nextLine();
+      width = Math.max(width, line.length());
 
       for (int idx = 0; idx < line.length(); idx++) {
         char ch = line.charAt(idx);
 
         if (ch != ' ') {
-          LevelElement le = getElementFromChar(ch, idx, lineNumber);
-
-          if (le instanceof Player) {
-            int numPlayers = tmpLevel.getPlayers().size();
-            ((Player) le).setPlayerNumber(numPlayers);
-          }
-
-          tmpLevel.addElement(le);
+          kinds.append(ch);
+          cols.add(idx);
+          rows.add(lineNumber);
         }
       }
 
@@ -135,7 +173,14 @@ public class LevelParser {
     } while (lineScanner.hasNextLine());
     lineScanner.close();
 
-    return tmpLevel;
+    int[] colArray = new int[cols.size()];
+    int[] rowArray = new int[rows.size()];
+    for (int idx = 0; idx < colArray.length; idx++) {
+      colArray[idx] = cols.get(idx);
+      rowArray[idx] = rows.get(idx);
+    }
+    return new LevelTemplate(kinds.toString().toCharArray(), colArray, rowArray, width,
+        lineNumber);
   }
 
   /**
@@ -153,30 +198,8 @@ public class LevelParser {
    * 
    * @return An instance of a LevelElement child.
    */
-  @SuppressWarnings({ "PMD.StdCyclomaticComplexity", "PMD.CyclomaticComplexity" })
   protected LevelElement getElementFromChar(char ch, int i, int j) {
-    Vector blockPos = getBlockPosition(i, j);
-    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
-    switch (ch) {
-    case '#':
-      return new Platform(blockPos, size);
-    case '_':
-      Platform platform = new Platform(blockPos, size);
-      platform.setPassable(true);
-      return platform;
-    case 'P':
-      return new Player(blockPos, size);
-    case 'N':
-      return new NPC(blockPos, size);
-    case 'F':
-      return new Fruit(blockPos, size);
-    case 'C':
-      return new ChiliChickenPickUp(blockPos, size);
-    case 'V':
-      return new TurtleTacoPickUp(blockPos, size);
-    default:
-      return null;
-    }
+    return LevelTemplate.createElement(ch, i, j);
   }
 
   /**
@@ -206,4 +229,13 @@ public class LevelParser {
     return levels;
   }
 
+  /**
+   * Returns an ArrayList of the LevelTemplates the levels were instantiated from.
+   * 
+   * @return An ArrayList of LevelTemplate objects.
+   */
+  public ArrayList<LevelTemplate> getTemplates() {
+    return templates;
+  }
+
 }
@@ -0,0 +1,20 @@
+package nl.tudelft.scrumbledore.level;
+
+/**
+ * A LevelPreparer does the work needed before a Level can be played, such as loading the images of
+ * its elements, so that this work can be done in the background before the Level is handed out.
+ * 
+ * @author Jesse Tilro
+ */
+public interface LevelPreparer {
+
+  /**
+   * Prepare a given level. May be called from a background thread, while another level is being
+   * played.
+   * 
+   * @param level
+   *          The level to prepare.
+   */
+  void prepare(Level level);
+
+}
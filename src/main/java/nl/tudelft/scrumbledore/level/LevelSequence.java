@@ -0,0 +1,37 @@
+package nl.tudelft.scrumbledore.level;
+
+/**
+ * The ordered levels of a Game. A sequence may create its levels only when they are needed, so
+ * callers should not expect to be able to hold on to all levels at once.
+ * 
+ * @author Jesse Tilro
+ */
+public interface LevelSequence {
+
+  /**
+   * Get the number of levels in the sequence.
+   * 
+   * @return The number of levels.
+   */
+  int size();
+
+  /**
+   * Get the level at a given index, making it the current level of the sequence. Getting the
+   * current level again returns the same instance.
+   * 
+   * @param index
+   *          The index of the level.
+   * 
+   * @return The level.
+   */
+  Level get(int index);
+
+  /**
+   * Set the preparer to run on levels before they are handed out.
+   * 
+   * @param preparer
+   *          The preparer, or null for none.
+   */
+  void setPreparer(LevelPreparer preparer);
+
+}
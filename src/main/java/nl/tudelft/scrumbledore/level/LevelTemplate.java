@@ -0,0 +1,242 @@
+package nl.tudelft.scrumbledore.level;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.jfr.LevelLoadEvent;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.Player;
+import nl.tudelft.scrumbledore.level.powerup.ChiliChickenPickUp;
+import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
+
+/**
+ * Immutable description of a parsed level map, from which any number of fresh Level instances can
+ * be created without reading the map from disk again. Every element of the map is stored as its
+ * map character together with its column and row.
+ * 
+ * @author Jesse Tilro
+ */
+public final class LevelTemplate {
+  private final char[] kinds;
+  private final int[] cols;
+  private final int[] rows;
+  private final int width;
+  private final int height;
+
+  /**
+   * Construct a new LevelTemplate with a map just large enough to hold its elements. The arrays are
+   * copied, so the template can not be changed afterwards.
+   * 
+   * @param kinds
+   *          The map characters of the elements.
+   * 
+   * @param cols
+   *          The columns of the elements in the map.
+   * 
+   * @param rows
+   *          The rows of the elements in the map.
+   */
+  public LevelTemplate(char[] kinds, int[] cols, int[] rows) {
+    this(kinds, cols, rows, extent(cols), extent(rows));
+  }
+
+  /**
+   * Construct a new LevelTemplate with a map of given dimensions. The arrays are copied, so the
+   * template can not be changed afterwards.
+   * 
+   * @param kinds
+   *          The map characters of the elements.
+   * 
+   * @param cols
+   *          The columns of the elements in the map.
+   * 
+   * @param rows
+   *          The rows of the elements in the map.
+   * 
+   * @param width
+   *          The number of columns in the map.
+   * 
+   * @param height
+   *          The number of rows in the map.
+   */
+  public LevelTemplate(char[] kinds, int[] cols, int[] rows, int width, int height) {
+    assert kinds.length == cols.length && kinds.length == rows.length;
+
+    this.kinds = kinds.clone();
+    this.cols = cols.clone();
+    this.rows = rows.clone();
+    this.width = Math.max(width, extent(cols));
+    this.height = Math.max(height, extent(rows));
+  }
+
+  /**
+   * Compute the number of columns or rows needed to hold given coordinates.
+   * 
+   * @param coordinates
+   *          The columns or rows of the elements.
+   * 
+   * @return The number of columns or rows.
+   */
+  private static int extent(int[] coordinates) {
+    int extent = 0;
+    for (int coordinate : coordinates) {
+      extent = Math.max(extent, coordinate + 1);
+    }
+    return extent;
+  }
+
+  /**
+   * Get the number of elements in the template.
+   * 
+   * @return The number of elements.
+   */
+  public int size() {
+    return kinds.length;
+  }
+
+  /**
+   * Get the map character of an element.
+   * 
+   * @param index
+   *          The index of the element.
+   * 
+   * @return The map character.
+   */
+  public char getKind(int index) {
+    return kinds[index];
+  }
+
+  /**
+   * Get the column of an element in the map.
+   * 
+   * @param index
+   *          The index of the element.
+   * 
+   * @return The column.
+   */
+  public int getCol(int index) {
+    return cols[index];
+  }
+
+  /**
+   * Get the row of an element in the map.
+   * 
+   * @param index
+   *          The index of the element.
+   * 
+   * @return The row.
+   */
+  public int getRow(int index) {
+    return rows[index];
+  }
+
+  /**
+   * Get the number of columns in the map.
+   * 
+   * @return The width of the map in blocks.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Get the number of rows in the map.
+   * 
+   * @return The height of the map in blocks.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Create a fresh Level from this template.
+   * 
+   * @return A new Level.
+   */
+  public Level instantiate() {
+    return instantiate(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Create a fresh Level from this template with a limited number of players. Players beyond the
+   * limit are left out, the others are numbered in the order they appear in the map. The Level is
+   * as large as the map, but never smaller than the screen.
+   * 
+   * @param maxPlayers
+   *          The maximum number of players.
+   * 
+   * @return A new Level.
+   */
+  public Level instantiate(int maxPlayers) {
+    LevelLoadEvent event = new LevelLoadEvent();
+    event.begin();
+    Level level = new Level();
+    level.setDimensions(Math.max(width, Constants.NUM_BLOCKS) * Constants.BLOCKSIZE,
+        Math.max(height, Constants.NUM_BLOCKS) * Constants.BLOCKSIZE);
+    for (int idx = 0; idx < kinds.length; idx++) {
+      LevelElement element = createElement(kinds[idx], cols[idx], rows[idx]);
+
+      if (element instanceof Player) {
+        int numPlayers = level.getPlayers().size();
+        if (numPlayers >= maxPlayers) {
+          continue;
+        }
+        ((Player) element).setPlayerNumber(numPlayers);
+      }
+
+      level.addElement(element);
+    }
+
+    if (event.shouldCommit()) {
+      event.setElements(kinds.length);
+      event.setPlayers(level.getPlayers().size());
+      event.setWidth(width);
+      event.setHeight(height);
+      event.commit();
+    }
+    return level;
+  }
+
+  /**
+   * Returns an instance of a LevelElement child based on the corresponding character in the level
+   * map.
+   * 
+   * @param ch
+   *          Character representing a LevelElement.
+   * 
+   * @param i
+   *          Horizontal position in the level map.
+   * 
+   * @param j
+   *          Vertical position in the level map.
+   * 
+   * @return An instance of a LevelElement child, or null if the character is unknown.
+   */
+  @SuppressWarnings({ "PMD.StdCyclomaticComplexity", "PMD.CyclomaticComplexity" })
+  public static LevelElement createElement(char ch, int i, int j) {
+    Vector blockPos = new Vector(i * Constants.BLOCKSIZE, j * Constants.BLOCKSIZE);
+    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+    switch (ch) {
+    case '#':
+      return new Platform(blockPos, size);
+    case '_':
+      Platform platform = new Platform(blockPos, size);
+      platform.setPassable(true);
+      return platform;
+    case 'P':
+      return new Player(blockPos, size);
+    case 'N':
+      return new NPC(blockPos, size);
+    case 'F':
+      return new Fruit(blockPos, size);
+    case 'C':
+      return new ChiliChickenPickUp(blockPos, size);
+    case 'V':
+      return new TurtleTacoPickUp(blockPos, size);
+    default:
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,116 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import nl.tudelft.scrumbledore.Constants;
+
+/**
+ * Holds the LevelTemplates of the game's levels, which are loaded only once: from the compiled level
+ * pack on the classpath if there is one, or else by parsing the text maps in the levels directory.
+ * Games use it to create fresh Levels when they start or restart, without touching the file system
+ * again.
+ * 
+ * @author Jesse Tilro
+ */
+public final class LevelTemplateCache {
+  private static volatile LevelTemplateCache instance;
+
+  private final List<LevelTemplate> templates;
+
+  /**
+   * Constructs a new LevelTemplateCache from the templates in a given directory.
+   * 
+   * @param dir
+   *          The directory containing the level maps.
+   */
+  public LevelTemplateCache(String dir) {
+    this(new LevelParser(dir).getTemplates());
+  }
+
+  /**
+   * Constructs a new LevelTemplateCache holding given templates.
+   * 
+   * @param templates
+   *          The templates.
+   */
+  public LevelTemplateCache(List<LevelTemplate> templates) {
+    this.templates = Collections.unmodifiableList(new ArrayList<LevelTemplate>(templates));
+  }
+
+  /**
+   * Creates the cache of the game's levels if it has not yet been instantiated.
+   * 
+   * @return The single LevelTemplateCache instance.
+   */
+  public static LevelTemplateCache getInstance() {
+    if (instance == null) {
+      synchronized (LevelTemplateCache.class) {
+        if (instance == null) {
+          instance = load();
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Load the game's levels from the compiled level pack on the classpath, falling back to parsing
+   * the text maps if there is no (valid) pack.
+   * 
+   * @return A new LevelTemplateCache.
+   */
+  private static LevelTemplateCache load() {
+    String resource = "/" + Constants.LEVEL_PACK;
+    if (LevelTemplateCache.class.getResource(resource) != null) {
+      try {
+        return new LevelTemplateCache(LevelPack.fromClasspath(resource).decodeAll());
+      } catch (IOException e) {
+        e.printStackTrace();
+      } catch (IllegalArgumentException e) {
+        e.printStackTrace();
+      }
+    }
+    return new LevelTemplateCache(Constants.LEVELS_DIR);
+  }
+
+  /**
+   * Get the cached templates.
+   * 
+   * @return An unmodifiable list of LevelTemplates.
+   */
+  public List<LevelTemplate> getTemplates() {
+    return templates;
+  }
+
+  /**
+   * Create fresh Levels from all cached templates.
+   * 
+   * @param maxPlayers
+   *          The maximum number of players in every level.
+   * 
+   * @return A list of new Levels.
+   */
+  public ArrayList<Level> makeLevels(int maxPlayers) {
+    ArrayList<Level> levels = new ArrayList<Level>(templates.size());
+    for (LevelTemplate template : templates) {
+      levels.add(template.instantiate(maxPlayers));
+    }
+    return levels;
+  }
+
+  /**
+   * Create a sequence of Levels from the cached templates, which only creates a Level once it is
+   * about to be played.
+   * 
+   * @param maxPlayers
+   *          The maximum number of players in every level.
+   * 
+   * @return A new LevelSequence.
+   */
+  public LevelSequence makeSequence(int maxPlayers) {
+    return new PrefetchingLevelSequence(templates, maxPlayers);
+  }
+
+}
@@ -0,0 +1,53 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.util.ArrayList;
+
+/**
+ * A LevelSequence over a list of levels that have already been created, used for testing purposes.
+ * 
+ * @author Jesse Tilro
+ */
+public class ListLevelSequence implements LevelSequence {
+  private final ArrayList<Level> levels;
+
+  /**
+   * Construct a new ListLevelSequence.
+   * 
+   * @param levels
+   *          The levels of the sequence.
+   */
+  public ListLevelSequence(ArrayList<Level> levels) {
+    this.levels = levels;
+  }
+
+  /**
+   * Get the number of levels in the sequence.
+   * 
+   * @return The number of levels.
+   */
+  public int size() {
+    return levels.size();
+  }
+
+  /**
+   * Get the level at a given index.
+   * 
+   * @param index
+   *          The index of the level.
+   * 
+   * @return The level.
+   */
+  public Level get(int index) {
+    return levels.get(index);
+  }
+
+  /**
+   * Ignores the preparer, since the levels of this sequence already exist.
+   * 
+   * @param preparer
+   *          The preparer.
+   */
+  public void setPreparer(LevelPreparer preparer) {
+  }
+
+}
@@ -0,0 +1,358 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.util.Arrays;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.Platform;
+
+/**
+ * Graph of the places in a level an NPC can stand on, built once from the platforms of the level.
+ * Every node is a free block right above a platform. Nodes are connected by walk links to the
+ * neighbouring blocks on the same platform, fall links to where an NPC lands after walking off an
+ * edge, and jump links to blocks on higher platforms within jumping distance. Solid platforms
+ * block jumps, passable ones can be jumped through.
+ * 
+ * <p>
+ * The links are stored in compressed arrays, both by origin and by target, so that searches over
+ * the graph do not allocate.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class NavigationGraph {
+  private static final byte EMPTY = 0;
+  private static final byte PASSABLE = 1;
+  private static final byte SOLID = 2;
+  private static final NavigationLink[] LINKS = NavigationLink.values();
+
+  private final int cols;
+  private final int rows;
+  private final byte[] tiles;
+  private final int[] nodeOfTile;
+  private int[] tileOfNode;
+  private int nodes;
+
+  private int[] outStart;
+  private int[] outTarget;
+  private byte[] outLink;
+  private int[] inStart;
+  private int[] inSource;
+  private int edges;
+
+  /**
+   * Build the navigation graph of a level.
+   * 
+   * @param level
+   *          The level.
+   */
+  public NavigationGraph(Level level) {
+    cols = Math.max(1, (int) Math.ceil(level.getWidth() / Constants.BLOCKSIZE));
+    rows = Math.max(1, (int) Math.ceil(level.getHeight() / Constants.BLOCKSIZE));
+    tiles = new byte[cols * rows];
+    for (Platform platform : level.getPlatforms()) {
+      int col = toTile(platform.posX());
+      int row = toTile(platform.posY());
+      if (col >= 0 && col < cols && row >= 0 && row < rows) {
+        byte kind = SOLID;
+        if (platform.isPassable()) {
+          kind = PASSABLE;
+        }
+        tiles[row * cols + col] = (byte) Math.max(tiles[row * cols + col], kind);
+      }
+    }
+
+    nodeOfTile = new int[cols * rows];
+    Arrays.fill(nodeOfTile, -1);
+    tileOfNode = new int[cols * rows];
+    for (int row = 0; row < rows - 1; row++) {
+      for (int col = 0; col < cols; col++) {
+        int tile = row * cols + col;
+        if (tiles[tile] == EMPTY && tiles[tile + cols] != EMPTY) {
+          nodeOfTile[tile] = nodes;
+          tileOfNode[nodes++] = tile;
+        }
+      }
+    }
+    tileOfNode = Arrays.copyOf(tileOfNode, nodes);
+    buildLinks();
+  }
+
+  /**
+   * Convert a coordinate in the level to the index of the block it lies in.
+   * 
+   * @param coordinate
+   *          The coordinate.
+   * 
+   * @return The block index.
+   */
+  private static int toTile(double coordinate) {
+    return (int) Math.floor(coordinate / Constants.BLOCKSIZE + .5);
+  }
+
+  /**
+   * Build the links between the nodes, first by origin and then by target.
+   */
+  private void buildLinks() {
+    outStart = new int[nodes + 1];
+    outTarget = new int[nodes * 4];
+    outLink = new byte[outTarget.length];
+    for (int node = 0; node < nodes; node++) {
+      outStart[node] = edges;
+      int col = getColumn(node);
+      int row = getRow(node);
+      for (int dc = -1; dc <= 1; dc += 2) {
+        int next = nodeAtTile(col + dc, row);
+        if (next >= 0) {
+          addLink(next, NavigationLink.Walk);
+        } else if (isFree(col + dc, row)) {
+          int landing = landing(col + dc, row + 1);
+          if (landing >= 0) {
+            addLink(landing, NavigationLink.Fall);
+          }
+        }
+      }
+      for (int dr = 1; dr <= Constants.NPC_JUMP_TILES && isFree(col, row - dr); dr++) {
+        for (int dc = -Constants.NPC_JUMP_REACH; dc <= Constants.NPC_JUMP_REACH; dc++) {
+          int next = nodeAtTile(col + dc, row - dr);
+          if (next >= 0) {
+            addLink(next, NavigationLink.Jump);
+          }
+        }
+      }
+    }
+    outStart[nodes] = edges;
+
+    inStart = new int[nodes + 1];
+    inSource = new int[edges];
+    for (int edge = 0; edge < edges; edge++) {
+      inStart[outTarget[edge] + 1]++;
+    }
+    for (int node = 0; node < nodes; node++) {
+      inStart[node + 1] += inStart[node];
+    }
+    int[] fill = Arrays.copyOf(inStart, nodes);
+    for (int node = 0; node < nodes; node++) {
+      for (int edge = outStart[node]; edge < outStart[node + 1]; edge++) {
+        inSource[fill[outTarget[edge]]++] = node;
+      }
+    }
+  }
+
+  /**
+   * Add a link from the node currently being linked.
+   * 
+   * @param target
+   *          The target node.
+   * 
+   * @param link
+   *          The kind of link.
+   */
+  private void addLink(int target, NavigationLink link) {
+    if (edges == outTarget.length) {
+      outTarget = Arrays.copyOf(outTarget, edges * 2 + 4);
+      outLink = Arrays.copyOf(outLink, outTarget.length);
+    }
+    outTarget[edges] = target;
+    outLink[edges++] = (byte) link.ordinal();
+  }
+
+  /**
+   * Find the node an NPC lands on when falling down a column from a given row.
+   * 
+   * @param col
+   *          The column.
+   * 
+   * @param row
+   *          The row to start falling from.
+   * 
+   * @return The node, or -1 if the NPC falls out of the level.
+   */
+  private int landing(int col, int row) {
+    for (int r = row; r < rows; r++) {
+      int node = nodeAtTile(col, r);
+      if (node >= 0) {
+        return node;
+      }
+      if (!isFree(col, r)) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Check whether a block can be moved through, being inside the level and not holding a solid
+   * platform.
+   * 
+   * @param col
+   *          The column of the block.
+   * 
+   * @param row
+   *          The row of the block.
+   * 
+   * @return Whether the block is free.
+   */
+  private boolean isFree(int col, int row) {
+    return col >= 0 && col < cols && row >= 0 && row < rows && tiles[row * cols + col] != SOLID;
+  }
+
+  /**
+   * Get the node at a given block.
+   * 
+   * @param col
+   *          The column of the block.
+   * 
+   * @param row
+   *          The row of the block.
+   * 
+   * @return The node, or -1 if the block can not be stood on.
+   */
+  public int nodeAtTile(int col, int row) {
+    if (col < 0 || col >= cols || row < 0 || row >= rows) {
+      return -1;
+    }
+    return nodeOfTile[row * cols + col];
+  }
+
+  /**
+   * Get the node at a given position in the level, being the block the position is closest to.
+   * 
+   * @param x
+   *          The horizontal position.
+   * 
+   * @param y
+   *          The vertical position.
+   * 
+   * @return The node, or -1 if that block can not be stood on.
+   */
+  public int nodeAt(double x, double y) {
+    return nodeAtTile(toTile(x), toTile(y));
+  }
+
+  /**
+   * Get the number of nodes.
+   * 
+   * @return The number of nodes.
+   */
+  public int getNodeCount() {
+    return nodes;
+  }
+
+  /**
+   * Get the number of links.
+   * 
+   * @return The number of links.
+   */
+  public int getEdgeCount() {
+    return edges;
+  }
+
+  /**
+   * Get the column of the block of a node.
+   * 
+   * @param node
+   *          The node.
+   * 
+   * @return The column.
+   */
+  public int getColumn(int node) {
+    return tileOfNode[node] % cols;
+  }
+
+  /**
+   * Get the row of the block of a node.
+   * 
+   * @param node
+   *          The node.
+   * 
+   * @return The row.
+   */
+  public int getRow(int node) {
+    return tileOfNode[node] / cols;
+  }
+
+  /**
+   * Get the index of the first link leaving a node. The links of a node are ordered walk and fall
+   * links first, then jump links.
+   * 
+   * @param node
+   *          The node.
+   * 
+   * @return The index of the first link.
+   */
+  public int getEdgeStart(int node) {
+    return outStart[node];
+  }
+
+  /**
+   * Get the index after the last link leaving a node.
+   * 
+   * @param node
+   *          The node.
+   * 
+   * @return The end index of the links.
+   */
+  public int getEdgeEnd(int node) {
+    return outStart[node + 1];
+  }
+
+  /**
+   * Get the target node of a link.
+   * 
+   * @param edge
+   *          The index of the link.
+   * 
+   * @return The target node.
+   */
+  public int getEdgeTarget(int edge) {
+    return outTarget[edge];
+  }
+
+  /**
+   * Get the kind of a link.
+   * 
+   * @param edge
+   *          The index of the link.
+   * 
+   * @return The kind of link.
+   */
+  public NavigationLink getEdgeLink(int edge) {
+    return LINKS[outLink[edge]];
+  }
+
+  /**
+   * Get the index of the first link arriving at a node, in the order by target.
+   * 
+   * @param node
+   *          The node.
+   * 
+   * @return The index of the first arriving link.
+   */
+  int getInStart(int node) {
+    return inStart[node];
+  }
+
+  /**
+   * Get the index after the last link arriving at a node, in the order by target.
+   * 
+   * @param node
+   *          The node.
+   * 
+   * @return The end index of the arriving links.
+   */
+  int getInEnd(int node) {
+    return inStart[node + 1];
+  }
+
+  /**
+   * Get the origin node of an arriving link, in the order by target.
+   * 
+   * @param index
+   *          The index of the arriving link.
+   * 
+   * @return The origin node.
+   */
+  int getInSource(int index) {
+    return inSource[index];
+  }
+
+}
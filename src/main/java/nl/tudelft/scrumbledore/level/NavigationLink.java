@@ -0,0 +1,12 @@
+package nl.tudelft.scrumbledore.level;
+
+/**
+ * Enumeration of the ways an NPC can get from one standing place in a level to another: walking
+ * to a neighbouring block on the same platform, jumping up to a higher platform, or walking off
+ * the edge of a platform and falling down onto a lower one.
+ * 
+ * @author Jesse Tilro
+ */
+public enum NavigationLink {
+  Walk, Jump, Fall;
+}
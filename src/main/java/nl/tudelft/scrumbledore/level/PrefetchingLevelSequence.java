@@ -0,0 +1,170 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A LevelSequence that only keeps the current level in memory, while the level after it is created
+ * and prepared on a background thread. Handing out the next level never waits for the background
+ * thread: if the level is not ready yet, it is created on the spot instead.
+ * 
+ * @author Jesse Tilro
+ */
+public class PrefetchingLevelSequence implements LevelSequence {
+  private static final ExecutorService EXECUTOR = Executors
+      .newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "level-prefetch");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+
+  private final List<LevelTemplate> templates;
+  private final int maxPlayers;
+  private volatile LevelPreparer preparer;
+
+  private int currentIndex;
+  private Level current;
+  private int pendingIndex;
+  private Future<Level> pending;
+
+  /**
+   * Construct a new PrefetchingLevelSequence.
+   * 
+   * @param templates
+   *          The templates of the levels.
+   * 
+   * @param maxPlayers
+   *          The maximum number of players in every level.
+   */
+  public PrefetchingLevelSequence(List<LevelTemplate> templates, int maxPlayers) {
+    this.templates = templates;
+    this.maxPlayers = maxPlayers;
+    this.currentIndex = -1;
+    this.pendingIndex = -1;
+  }
+
+  /**
+   * Get the number of levels in the sequence.
+   * 
+   * @return The number of levels.
+   */
+  public int size() {
+    return templates.size();
+  }
+
+  /**
+   * Get the level at a given index, taking it from the background thread if it is ready, and start
+   * preparing the level after it.
+   * 
+   * @param index
+   *          The index of the level.
+   * 
+   * @return The level.
+   */
+  public synchronized Level get(int index) {
+    if (index == currentIndex) {
+      return current;
+    }
+
+    Level level = null;
+    if (pending != null) {
+      if (index == pendingIndex && pending.isDone()) {
+        level = take(pending);
+      } else {
+        pending.cancel(false);
+      }
+      pending = null;
+    }
+    if (level == null) {
+      level = templates.get(index).instantiate(maxPlayers);
+    }
+
+    current = level;
+    currentIndex = index;
+    prefetch(index + 1);
+    return level;
+  }
+
+  /**
+   * Set the preparer to run on levels before they are handed out. A level that is already being
+   * prefetched is prefetched again, so it will be prepared as well.
+   * 
+   * @param preparer
+   *          The preparer, or null for none.
+   */
+  public synchronized void setPreparer(LevelPreparer preparer) {
+    this.preparer = preparer;
+    if (pending != null) {
+      pending.cancel(false);
+      prefetch(pendingIndex);
+    }
+  }
+
+  /**
+   * Determine whether the level at a given index has been prefetched and is ready to be handed out.
+   * 
+   * @param index
+   *          The index of the level.
+   * 
+   * @return Whether the level is ready.
+   */
+  public synchronized boolean isReady(int index) {
+    return pending != null && index == pendingIndex && pending.isDone() && !pending.isCancelled();
+  }
+
+  /**
+   * Start creating and preparing the level at a given index in the background.
+   * 
+   * @param index
+   *          The index of the level.
+   */
+  private void prefetch(final int index) {
+    pendingIndex = index;
+    if (index >= templates.size()) {
+      pending = null;
+      return;
+    }
+
+    final LevelTemplate template = templates.get(index);
+    pending = EXECUTOR.submit(new Callable<Level>() {
+      public Level call() {
+        Level level = template.instantiate(maxPlayers);
+        LevelPreparer active = preparer;
+        if (active != null) {
+          active.prepare(level);
+        }
+        return level;
+      }
+    });
+  }
+
+  /**
+   * Get the level of a finished prefetch.
+   * 
+   * @param future
+   *          The finished prefetch.
+   * 
+   * @return The level, or null if the prefetch was cancelled or failed.
+   */
+  private static Level take(Future<Level> future) {
+    if (future.isCancelled()) {
+      return null;
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      e.printStackTrace();
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,149 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.util.ArrayList;
+import java.util.List;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * A uniform grid over the area of a Level, used to quickly find the elements within a rectangle
+ * without looking at every element. Every element is stored in the cell containing its center, and
+ * queries are widened by half the size of the largest element, so elements reaching into the
+ * rectangle from a neighbouring cell are found as well.
+ * 
+ * @param <T>
+ *          The type of elements in the grid.
+ * 
+ * @author Jesse Tilro
+ */
+public class SpatialGrid<T extends LevelElement> {
+  private final double cellSize;
+  private final int cols;
+  private final int rows;
+  private final ArrayList<ArrayList<T>> cells;
+  private double margin;
+  private int size;
+
+  /**
+   * Construct a new, empty SpatialGrid.
+   * 
+   * @param width
+   *          The width of the area covered by the grid.
+   * 
+   * @param height
+   *          The height of the area covered by the grid.
+   * 
+   * @param cellSize
+   *          The width and height of a single cell.
+   */
+  public SpatialGrid(double width, double height, double cellSize) {
+    assert cellSize > 0;
+
+    this.cellSize = cellSize;
+    this.cols = Math.max(1, (int) Math.ceil(width / cellSize));
+    this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+    this.cells = new ArrayList<ArrayList<T>>(cols * rows);
+    for (int i = 0; i < cols * rows; i++) {
+      cells.add(new ArrayList<T>());
+    }
+  }
+
+  /**
+   * Add an element to the grid. Elements outside the area of the grid are kept in the nearest
+   * cell along the edge.
+   * 
+   * @param element
+   *          The element.
+   */
+  public void insert(T element) {
+    int col = clamp((int) Math.floor(element.posX() / cellSize), cols);
+    int row = clamp((int) Math.floor(element.posY() / cellSize), rows);
+    cells.get(row * cols + col).add(element);
+
+    margin = Math.max(margin, Math.max(element.width(), element.height()) / 2);
+    size++;
+  }
+
+  /**
+   * Get the number of elements in the grid.
+   * 
+   * @return The number of elements.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Find the elements overlapping a given rectangle.
+   * 
+   * @param left
+   *          The left side of the rectangle.
+   * 
+   * @param top
+   *          The top side of the rectangle.
+   * 
+   * @param right
+   *          The right side of the rectangle.
+   * 
+   * @param bottom
+   *          The bottom side of the rectangle.
+   * 
+   * @return A list of the elements overlapping the rectangle.
+   */
+  public ArrayList<T> query(double left, double top, double right, double bottom) {
+    ArrayList<T> result = new ArrayList<T>();
+    query(left, top, right, bottom, result);
+    return result;
+  }
+
+  /**
+   * Find the elements overlapping a given rectangle and add them to a given list.
+   * 
+   * @param left
+   *          The left side of the rectangle.
+   * 
+   * @param top
+   *          The top side of the rectangle.
+   * 
+   * @param right
+   *          The right side of the rectangle.
+   * 
+   * @param bottom
+   *          The bottom side of the rectangle.
+   * 
+   * @param out
+   *          The list to add the elements to.
+   */
+  public void query(double left, double top, double right, double bottom, List<? super T> out) {
+    int fromCol = clamp((int) Math.floor((left - margin) / cellSize), cols);
+    int toCol = clamp((int) Math.floor((right + margin) / cellSize), cols);
+    int fromRow = clamp((int) Math.floor((top - margin) / cellSize), rows);
+    int toRow = clamp((int) Math.floor((bottom + margin) / cellSize), rows);
+
+    for (int row = fromRow; row <= toRow; row++) {
+      for (int col = fromCol; col <= toCol; col++) {
+        for (T element : cells.get(row * cols + col)) {
+          if (element.getRight() >= left && element.getLeft() <= right
+              && element.getBottom() >= top && element.getTop() <= bottom) {
+            out.add(element);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Clamp a cell index to the grid.
+   * 
+   * @param index
+   *          The index.
+   * 
+   * @param count
+   *          The number of cells in the dimension.
+   * 
+   * @return The clamped index.
+   */
+  private static int clamp(int index, int count) {
+    return Math.max(0, Math.min(count - 1, index));
+  }
+
+}
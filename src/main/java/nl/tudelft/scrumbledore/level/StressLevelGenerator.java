@@ -0,0 +1,287 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Generates large level maps in the text format read by the LevelParser, to put the collision
+ * handling and the renderer under load. A map is surrounded by walls and has a platform row every
+ * few rows, covered by platforms for a configurable fraction. Players, NPCs, fruits and power-ups
+ * are placed on random free cells right above a platform or the floor. The same seed always
+ * produces the same map.
+ * 
+ * @author Jesse Tilro
+ */
+public class StressLevelGenerator {
+  public static final int MIN_SIZE = 5;
+  public static final int PLATFORM_SPACING = 4;
+  public static final int MIN_PLATFORM = 3;
+  public static final int MAX_PLATFORM = 8;
+
+  private final int width;
+  private final int height;
+  private final double platformDensity;
+  private final long seed;
+
+  /**
+   * Construct a new StressLevelGenerator.
+   * 
+   * @param width
+   *          The width of the maps in blocks, walls included.
+   * 
+   * @param height
+   *          The height of the maps in blocks, walls included.
+   * 
+   * @param platformDensity
+   *          The fraction of every platform row covered by platforms, between 0 and 1.
+   * 
+   * @param seed
+   *          The seed of the random placement.
+   */
+  public StressLevelGenerator(int width, int height, double platformDensity, long seed) {
+    if (width < MIN_SIZE || height < MIN_SIZE) {
+      throw new IllegalArgumentException("A level should be at least " + MIN_SIZE + " by "
+          + MIN_SIZE + " blocks.");
+    }
+    if (platformDensity < 0 || platformDensity > 1) {
+      throw new IllegalArgumentException("The platform density should be between 0 and 1.");
+    }
+    this.width = width;
+    this.height = height;
+    this.platformDensity = platformDensity;
+    this.seed = seed;
+  }
+
+  /**
+   * Generate a map with a single player.
+   * 
+   * @param npcs
+   *          The number of NPCs ('N').
+   * 
+   * @param fruits
+   *          The number of fruits ('F').
+   * 
+   * @param powerups
+   *          The number of power-ups, alternately ChiliChicken ('C') and TurtleTaco ('V').
+   * 
+   * @return The map, one line per row of blocks.
+   */
+  public String generate(int npcs, int fruits, int powerups) {
+    return generate(1, npcs, fruits, powerups);
+  }
+
+  /**
+   * Generate a map.
+   * 
+   * @param players
+   *          The number of players ('P').
+   * 
+   * @param npcs
+   *          The number of NPCs ('N').
+   * 
+   * @param fruits
+   *          The number of fruits ('F').
+   * 
+   * @param powerups
+   *          The number of power-ups, alternately ChiliChicken ('C') and TurtleTaco ('V').
+   * 
+   * @return The map, one line per row of blocks.
+   */
+  public String generate(int players, int npcs, int fruits, int powerups) {
+    Random random = new Random(seed);
+    char[][] map = new char[height][width];
+    for (char[] row : map) {
+      Arrays.fill(row, ' ');
+    }
+    buildWalls(map);
+    buildPlatforms(map, random);
+
+    ArrayList<Integer> cells = spawnCells(map);
+    int needed = players + npcs + fruits + powerups;
+    if (cells.size() < needed) {
+      throw new IllegalArgumentException("The level has room for " + cells.size()
+          + " elements, but " + needed + " were asked for.");
+    }
+    Collections.shuffle(cells, random);
+
+    int next = 0;
+    next = place(map, cells, next, players, 'P');
+    next = place(map, cells, next, npcs, 'N');
+    next = place(map, cells, next, fruits, 'F');
+    for (int i = 0; i < powerups; i++) {
+      int cell = cells.get(next++);
+      map[cell / width][cell % width] = i % 2 == 0 ? 'C' : 'V';
+    }
+
+    StringBuilder result = new StringBuilder(height * (width + 1));
+    for (int row = 0; row < height; row++) {
+      if (row > 0) {
+        result.append('\n');
+      }
+      result.append(map[row]);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Generate a map and write it to a file.
+   * 
+   * @param file
+   *          The file.
+   * 
+   * @param npcs
+   *          The number of NPCs.
+   * 
+   * @param fruits
+   *          The number of fruits.
+   * 
+   * @param powerups
+   *          The number of power-ups.
+   * 
+   * @throws IOException
+   *           When the file can not be written.
+   */
+  public void write(File file, int npcs, int fruits, int powerups) throws IOException {
+    write(file, 1, npcs, fruits, powerups);
+  }
+
+  /**
+   * Generate a map and write it to a file.
+   * 
+   * @param file
+   *          The file.
+   * 
+   * @param players
+   *          The number of players.
+   * 
+   * @param npcs
+   *          The number of NPCs.
+   * 
+   * @param fruits
+   *          The number of fruits.
+   * 
+   * @param powerups
+   *          The number of power-ups.
+   * 
+   * @throws IOException
+   *           When the file can not be written.
+   */
+  public void write(File file, int players, int npcs, int fruits, int powerups)
+      throws IOException {
+    Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()),
+        StandardCharsets.UTF_8);
+    try {
+      writer.write(generate(players, npcs, fruits, powerups));
+    } finally {
+      writer.close();
+    }
+  }
+
+  /**
+   * Surround a map by walls.
+   * 
+   * @param map
+   *          The map.
+   */
+  private void buildWalls(char[][] map) {
+    for (int col = 0; col < width; col++) {
+      map[0][col] = '#';
+      map[height - 1][col] = '#';
+    }
+    for (int row = 0; row < height; row++) {
+      map[row][0] = '#';
+      map[row][width - 1] = '#';
+    }
+  }
+
+  /**
+   * Fill every platform row of a map with platforms of random length at random places, leaving a
+   * block free next to the walls so elements can always fall down.
+   * 
+   * @param map
+   *          The map.
+   * 
+   * @param random
+   *          The source of randomness.
+   */
+  private void buildPlatforms(char[][] map, Random random) {
+    int length = width - 4;
+    int target = (int) Math.round(platformDensity * length);
+    for (int row = PLATFORM_SPACING; row < height - 2; row += PLATFORM_SPACING) {
+      int free = length - target;
+      int covered = 0;
+      int col = 2;
+      while (covered < target) {
+        int gap = random.nextInt(Math.min(free, MAX_PLATFORM) + 1);
+        int size = Math.min(MIN_PLATFORM + random.nextInt(MAX_PLATFORM - MIN_PLATFORM + 1),
+            target - covered);
+        col += gap;
+        free -= gap;
+        for (int i = 0; i < size; i++) {
+          map[row][col++] = '_';
+        }
+        covered += size;
+      }
+    }
+  }
+
+  /**
+   * Collect the free cells of a map right above a platform or the floor, encoded as row times the
+   * width plus column.
+   * 
+   * @param map
+   *          The map.
+   * 
+   * @return The cells.
+   */
+  private ArrayList<Integer> spawnCells(char[][] map) {
+    ArrayList<Integer> cells = new ArrayList<Integer>();
+    for (int row = 1; row < height - 1; row++) {
+      for (int col = 1; col < width - 1; col++) {
+        char below = map[row + 1][col];
+        if (map[row][col] == ' ' && (below == '_' || below == '#')) {
+          cells.add(row * width + col);
+        }
+      }
+    }
+    return cells;
+  }
+
+  /**
+   * Place a number of elements of the same kind on the next cells.
+   * 
+   * @param map
+   *          The map.
+   * 
+   * @param cells
+   *          The shuffled free cells.
+   * 
+   * @param next
+   *          The index of the next free cell.
+   * 
+   * @param count
+   *          The number of elements.
+   * 
+   * @param kind
+   *          The character of the elements.
+   * 
+   * @return The index of the next free cell after placing the elements.
+   */
+  private int place(char[][] map, ArrayList<Integer> cells, int next, int count, char kind) {
+    int index = next;
+    for (int i = 0; i < count; i++) {
+      int cell = cells.get(index++);
+      map[cell / width][cell % width] = kind;
+    }
+    return index;
+  }
+
+}
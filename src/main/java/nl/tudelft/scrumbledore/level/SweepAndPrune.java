@@ -0,0 +1,274 @@
+package nl.tudelft.scrumbledore.level;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * Sort-and-sweep broadphase along the horizontal axis. The elements are kept sorted on the left
+ * edge of their bounding box from one step to the next; since elements only move a little per step
+ * the order is nearly sorted already, and an insertion sort restores it in close to linear time.
+ * Sweeping over the sorted elements then yields every pair whose bounding boxes overlap exactly
+ * once, without looking at pairs that are far apart. Pairs of two static elements, which can never
+ * collide, are left out. Elements whose speed changed after the sweep, or which were added since,
+ * can be looked up afterwards without sweeping all elements again.
+ * 
+ * @param <T>
+ *          The type of elements.
+ * 
+ * @author Jesse Tilro
+ */
+public class SweepAndPrune<T extends LevelElement> {
+  private static final Boolean NEW = Boolean.TRUE;
+  private static final Boolean KEPT = Boolean.FALSE;
+
+  private final ArrayList<T> order;
+  private final IdentityHashMap<T, Boolean> marks;
+  private double reach;
+  private double width;
+
+  /**
+   * Construct a new, empty SweepAndPrune.
+   */
+  public SweepAndPrune() {
+    this.order = new ArrayList<T>();
+    this.marks = new IdentityHashMap<T, Boolean>();
+  }
+
+  /**
+   * Bring the sorted elements up to date with a list of elements, dropping the ones that are gone,
+   * appending the new ones and sorting them again on their left edge.
+   * 
+   * @param elements
+   *          The current elements.
+   */
+  public void update(List<T> elements) {
+    marks.clear();
+    for (T element : elements) {
+      marks.put(element, NEW);
+    }
+
+    int kept = 0;
+    for (int i = 0; i < order.size(); i++) {
+      T element = order.get(i);
+      if (marks.get(element) == NEW) {
+        marks.put(element, KEPT);
+        order.set(kept++, element);
+      }
+    }
+    while (order.size() > kept) {
+      order.remove(order.size() - 1);
+    }
+    for (T element : elements) {
+      if (marks.get(element) == NEW) {
+        marks.put(element, KEPT);
+        order.add(element);
+      }
+    }
+    marks.clear();
+
+    sort();
+  }
+
+  /**
+   * Insertion sort the elements on their left edge, which is fast on the nearly sorted order left
+   * by the previous step.
+   */
+  private void sort() {
+    for (int i = 1; i < order.size(); i++) {
+      T element = order.get(i);
+      double left = element.getLeft();
+      int j = i - 1;
+      while (j >= 0 && order.get(j).getLeft() > left) {
+        order.set(j + 1, order.get(j));
+        j--;
+      }
+      order.set(j + 1, element);
+    }
+  }
+
+  /**
+   * Find all pairs of elements whose bounding boxes overlap, after widening every dynamic element
+   * by the distance it moves in the given time. Every pair is reported once, with the element whose
+   * left edge comes first as first element.
+   * 
+   * @param delta
+   *          The number of steps the elements move.
+   * 
+   * @param first
+   *          The list to add the first element of every pair to.
+   * 
+   * @param second
+   *          The list to add the second element of every pair to.
+   * 
+   * @return The number of pairs found.
+   */
+  public int findPairs(double delta, List<T> first, List<T> second) {
+    double max = 0;
+    width = 0;
+    for (T element : order) {
+      max = Math.max(max, reachX(element, delta));
+      width = Math.max(width, element.getRight() - element.getLeft());
+    }
+    reach = max;
+
+    int pairs = 0;
+    for (int i = 0; i < order.size(); i++) {
+      T element = order.get(i);
+      boolean dynamic = element instanceof DynamicElement;
+      double right = element.getRight() + reachX(element, delta);
+      double top = element.getTop() - reachY(element, delta);
+      double bottom = element.getBottom() + reachY(element, delta);
+      for (int j = i + 1; j < order.size(); j++) {
+        T other = order.get(j);
+        if (other.getLeft() - max > right) {
+          break;
+        }
+        if ((dynamic || other instanceof DynamicElement)
+            && other.getLeft() - reachX(other, delta) <= right
+            && other.getTop() - reachY(other, delta) <= bottom
+            && other.getBottom() + reachY(other, delta) >= top) {
+          first.add(element);
+          second.add(other);
+          pairs++;
+        }
+      }
+    }
+    return pairs;
+  }
+
+  /**
+   * Insert an element that was added after the last sweep at its place in the sorted order.
+   * 
+   * @param element
+   *          The element.
+   */
+  public void insert(T element) {
+    order.add(lowerBound(element.getLeft()), element);
+  }
+
+  /**
+   * Find all pairs of a few elements, whose speed changed or which were inserted after the last
+   * sweep, with the other elements, using the speeds they have now. Only the elements around every
+   * given element are looked at. A pair of two of the given elements is reported by both of them.
+   * 
+   * @param elements
+   *          The elements to find the pairs of.
+   * 
+   * @param delta
+   *          The number of steps the elements move.
+   * 
+   * @param first
+   *          The list to add the first element of every pair to.
+   * 
+   * @param second
+   *          The list to add the second element of every pair to.
+   * 
+   * @return The number of pairs found.
+   */
+  public int findPairsOf(List<T> elements, double delta, List<T> first, List<T> second) {
+    for (T element : elements) {
+      reach = Math.max(reach, reachX(element, delta));
+      width = Math.max(width, element.getRight() - element.getLeft());
+    }
+
+    int pairs = 0;
+    for (T element : elements) {
+      double left = element.getLeft() - reachX(element, delta);
+      double right = element.getRight() + reachX(element, delta);
+      double top = element.getTop() - reachY(element, delta);
+      double bottom = element.getBottom() + reachY(element, delta);
+      for (int j = lowerBound(left - reach - width); j < order.size(); j++) {
+        T other = order.get(j);
+        if (other.getLeft() - reach > right) {
+          break;
+        }
+        if (other != element && other.getLeft() - reachX(other, delta) <= right
+            && other.getRight() + reachX(other, delta) >= left
+            && other.getTop() - reachY(other, delta) <= bottom
+            && other.getBottom() + reachY(other, delta) >= top) {
+          if (other.getLeft() < element.getLeft()) {
+            first.add(other);
+            second.add(element);
+          } else {
+            first.add(element);
+            second.add(other);
+          }
+          pairs++;
+        }
+      }
+    }
+    return pairs;
+  }
+
+  /**
+   * Find the index of the first element in the sorted order whose left edge is at least a given
+   * value.
+   * 
+   * @param left
+   *          The value.
+   * 
+   * @return The index.
+   */
+  private int lowerBound(double left) {
+    int low = 0;
+    int high = order.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (order.get(middle).getLeft() < left) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Get the horizontal distance an element moves in the given time.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param delta
+   *          The number of steps the element moves.
+   * 
+   * @return The horizontal reach, zero for static elements.
+   */
+  private static double reachX(LevelElement element, double delta) {
+    if (element instanceof DynamicElement) {
+      return Math.abs(((DynamicElement) element).hSpeed() * delta);
+    }
+    return 0;
+  }
+
+  /**
+   * Get the vertical distance an element moves in the given time.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param delta
+   *          The number of steps the element moves.
+   * 
+   * @return The vertical reach, zero for static elements.
+   */
+  private static double reachY(LevelElement element, double delta) {
+    if (element instanceof DynamicElement) {
+      return Math.abs(((DynamicElement) element).vSpeed() * delta);
+    }
+    return 0;
+  }
+
+  /**
+   * Get the elements in their sorted order.
+   * 
+   * @return The elements sorted on their left edge.
+   */
+  public List<T> getOrder() {
+    return order;
+  }
+
+}
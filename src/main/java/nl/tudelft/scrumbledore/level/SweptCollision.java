@@ -0,0 +1,238 @@
+package nl.tudelft.scrumbledore.level;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * Continuous collision between two level elements, computed by sweeping the bounding box of the
+ * collider along its motion during the next step. The time of impact and the contact normal are
+ * found in a single analytic pass, without moving either element, so fast elements can not tunnel
+ * through thin ones.
+ * 
+ * <p>
+ * Elements that already touch at the start of the step are in contact on the side they overlap the
+ * least, provided that overlap is within Constants.COLLISION_PRECISION, just like the discrete
+ * Collision. When the collidee is dynamic as well, the motion of the collider relative to it is
+ * used.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class SweptCollision extends Collision {
+  private boolean colliding;
+  private double time;
+  private int normalX;
+  private int normalY;
+
+  /**
+   * Constructs a new SweptCollision between a collider and a collidee.
+   * 
+   * @param collider
+   *          The (moving) LevelElement colliding.
+   * 
+   * @param collidee
+   *          The LevelElement the collider is colliding with.
+   * 
+   * @param delta
+   *          The number of steps passed since this method was last called.
+   */
+  public SweptCollision(DynamicElement collider, LevelElement collidee, double delta) {
+    super(collider, collidee, delta);
+    this.time = Double.POSITIVE_INFINITY;
+
+    double dx = collider.getSpeed().getX() * delta;
+    double dy = collider.getSpeed().getY() * delta;
+    if (collidee instanceof DynamicElement) {
+      dx -= ((DynamicElement) collidee).getSpeed().getX() * delta;
+      dy -= ((DynamicElement) collidee).getSpeed().getY() * delta;
+    }
+
+    boolean overlapX = collider.getRight() >= collidee.getLeft()
+        && collider.getLeft() <= collidee.getRight();
+    boolean overlapY = collider.getBottom() >= collidee.getTop()
+        && collider.getTop() <= collidee.getBottom();
+
+    if (overlapX && overlapY) {
+      touch(collider, collidee);
+    } else {
+      sweep(collider, collidee, dx, dy);
+    }
+  }
+
+  /**
+   * Resolve the contact between two elements that already overlap, on the side with the smallest
+   * overlap. Vertical contact wins ties, so elements walking over a row of platforms are not stopped
+   * at the seams.
+   * 
+   * @param collider
+   *          The collider.
+   * 
+   * @param collidee
+   *          The collidee.
+   */
+  private void touch(LevelElement collider, LevelElement collidee) {
+    colliding = true;
+    time = 0;
+
+    double top = collider.getBottom() - collidee.getTop();
+    double bottom = collidee.getBottom() - collider.getTop();
+    double left = collider.getRight() - collidee.getLeft();
+    double right = collidee.getRight() - collider.getLeft();
+
+    double vertical = Math.min(top, bottom);
+    double horizontal = Math.min(left, right);
+    if (vertical <= horizontal) {
+      if (vertical <= Constants.COLLISION_PRECISION) {
+        normalY = top <= bottom ? -1 : 1;
+      }
+    } else if (horizontal <= Constants.COLLISION_PRECISION) {
+      normalX = left <= right ? -1 : 1;
+    }
+  }
+
+  /**
+   * Sweep the collider along its motion and find the moment it first touches the collidee, if that
+   * happens during the step.
+   * 
+   * @param collider
+   *          The collider.
+   * 
+   * @param collidee
+   *          The collidee.
+   * 
+   * @param dx
+   *          The horizontal motion of the collider during the step.
+   * 
+   * @param dy
+   *          The vertical motion of the collider during the step.
+   */
+  private void sweep(LevelElement collider, LevelElement collidee, double dx, double dy) {
+    double[] x = interval(collider.getLeft(), collider.getRight(), collidee.getLeft(),
+        collidee.getRight(), dx);
+    double[] y = interval(collider.getTop(), collider.getBottom(), collidee.getTop(),
+        collidee.getBottom(), dy);
+    if (x == null || y == null) {
+      return;
+    }
+
+    double entry = Math.max(x[0], y[0]);
+    double exit = Math.min(x[1], y[1]);
+    if (entry > exit || entry < 0 || entry > 1) {
+      return;
+    }
+
+    colliding = true;
+    time = entry;
+    if (y[0] >= x[0]) {
+      normalY = dy > 0 ? -1 : 1;
+    } else {
+      normalX = dx > 0 ? -1 : 1;
+    }
+  }
+
+  /**
+   * Compute the interval of time, as a fraction of the step, during which two ranges overlap along
+   * one axis.
+   * 
+   * @param lo
+   *          The start of the moving range.
+   * 
+   * @param hi
+   *          The end of the moving range.
+   * 
+   * @param otherLo
+   *          The start of the other range.
+   * 
+   * @param otherHi
+   *          The end of the other range.
+   * 
+   * @param d
+   *          The motion of the moving range during the step.
+   * 
+   * @return The entry and exit times, or null if the ranges never overlap.
+   */
+  private static double[] interval(double lo, double hi, double otherLo, double otherHi,
+      double d) {
+    if (d == 0) {
+      if (hi >= otherLo && lo <= otherHi) {
+        return new double[] { Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY };
+      }
+      return null;
+    }
+    if (d > 0) {
+      return new double[] { (otherLo - hi) / d, (otherHi - lo) / d };
+    }
+    return new double[] { (otherHi - lo) / d, (otherLo - hi) / d };
+  }
+
+  /**
+   * Check whether collider and collidee touch now or will touch during the step.
+   * 
+   * @return Whether the elements collide.
+   */
+  @Override
+  public boolean colliding() {
+    return colliding;
+  }
+
+  /**
+   * Check whether the collider is in contact with or hits the top side of the collidee.
+   * 
+   * @return Whether the collider is colliding with the collidee from the top.
+   */
+  @Override
+  public boolean collidingFromTop() {
+    return normalY < 0;
+  }
+
+  /**
+   * Check whether the collider is in contact with or hits the bottom side of the collidee.
+   * 
+   * @return Whether the collider is colliding with the collidee from the bottom.
+   */
+  @Override
+  public boolean collidingFromBottom() {
+    return normalY > 0;
+  }
+
+  /**
+   * Check whether the collider is in contact with or hits the left side of the collidee.
+   * 
+   * @return Whether the collider is colliding with the collidee from the left.
+   */
+  @Override
+  public boolean collidingFromLeft() {
+    return normalX < 0;
+  }
+
+  /**
+   * Check whether the collider is in contact with or hits the right side of the collidee.
+   * 
+   * @return Whether the collider is colliding with the collidee from the right.
+   */
+  @Override
+  public boolean collidingFromRight() {
+    return normalX > 0;
+  }
+
+  /**
+   * Get the moment the collider first touches the collidee.
+   * 
+   * @return The time of impact as a fraction of the step, zero if the elements already touch, or
+   *         infinity if they do not collide during the step.
+   */
+  public double getTimeOfImpact() {
+    return time;
+  }
+
+  /**
+   * Get the normal of the side of the collidee that is touched, pointing towards the collider.
+   * 
+   * @return The contact normal, or the zero vector if no side is touched.
+   */
+  public Vector getNormal() {
+    return new Vector(normalX, normalY);
+  }
+
+}
@@ -17,6 +17,10 @@ public abstract class BasicDynamicElement implements DynamicElement {
   private Vector friction;
   private boolean gravity;
   private ArrayList<LevelElementAction> actions;
+  private LevelElement support;
+  private LevelElement touched;
+  private int restingSteps;
+  private boolean asleep;
 
   /**
    * Create a new LevelElement instance.
@@ -178,6 +182,69 @@ public abstract class BasicDynamicElement implements DynamicElement {
     this.gravity = gravity;
   }
 
+  /**
+   * Check whether this LevelElement has come to rest and is skipped by the simulation until it is
+   * woken up.
+   * 
+   * @return Whether this LevelElement is asleep.
+   */
+  public boolean isAsleep() {
+    return asleep;
+  }
+
+  /**
+   * Wake this LevelElement up, so that it is simulated again and has to rest for a while before it
+   * can fall asleep again.
+   */
+  public void wake() {
+    asleep = false;
+    restingSteps = 0;
+  }
+
+  /**
+   * Record the element this LevelElement is standing on during the current step.
+   * 
+   * @param support
+   *          The supporting element.
+   */
+  public void setSupport(LevelElement support) {
+    this.touched = support;
+  }
+
+  /**
+   * Get the element this LevelElement was last found standing on.
+   * 
+   * @return The supporting element, or null if it was not supported.
+   */
+  public LevelElement getSupport() {
+    return support;
+  }
+
+  /**
+   * Update the resting state of this LevelElement at the end of a step. It falls asleep once it has
+   * stood still on the same support, without any queued actions, for a given number of steps.
+   * 
+   * @param steps
+   *          The number of resting steps after which the element falls asleep.
+   */
+  public void settle(int steps) {
+    if (asleep) {
+      return;
+    }
+
+    boolean resting = touched != null && touched == support && speed.getX() == 0
+        && speed.getY() == 0 && actions.isEmpty();
+    support = touched;
+    touched = null;
+
+    if (resting) {
+      restingSteps++;
+      asleep = restingSteps >= steps;
+    } else {
+      restingSteps = 0;
+    }
+  }
+
   /**
    * Get the absolute Y-coordinate of the top of this element, given the position and size.
    * 
@@ -310,12 +377,13 @@ public abstract class BasicDynamicElement implements DynamicElement {
   }
 
   /**
-   * Add an action to be performed in the next step.
+   * Add an action to be performed in the next step, waking the element up if it was asleep.
    * 
    * @param action
    *          A LevelElementAction
    */
   public void addAction(LevelElementAction action) {
+    wake();
     if (!hasAction(action)) {
       actions.add(action);
       setLastMove(action);
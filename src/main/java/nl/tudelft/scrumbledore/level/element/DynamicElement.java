@@ -88,6 +88,19 @@ public interface DynamicElement extends LevelElement {
    */
   boolean hasGravity();
 
+  /**
+   * Check whether this LevelElement has come to rest and is skipped by the simulation until it is
+   * woken up.
+   * 
+   * @return Whether this LevelElement is asleep.
+   */
+  boolean isAsleep();
+
+  /**
+   * Wake this LevelElement up, so that it is simulated again.
+   */
+  void wake();
+
   /**
    * Set the property determining whether this LevelElement is affected by gravity.
    * 
@@ -0,0 +1,11 @@
+package nl.tudelft.scrumbledore.level.element;
+
+/**
+ * Enumeration of the kinds of elements in a level, which correspond to the lists a Level keeps its
+ * elements in. Used to look up how two colliding elements should respond to each other.
+ * 
+ * @author Jesse Tilro
+ */
+public enum ElementKind {
+  Player, NPC, Fruit, Bubble, Powerup, Platform;
+}
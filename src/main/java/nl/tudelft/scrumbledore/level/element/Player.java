@@ -18,7 +18,6 @@ public class Player extends BasicDynamicElement implements PlayerElement {
   private Boolean firing;
   private Boolean alive;
   private int id;
-  private double lifetime;
 
   /**
    * Create a new Player instance.
@@ -38,7 +37,6 @@ public class Player extends BasicDynamicElement implements PlayerElement {
     lastMove = LevelElementAction.MoveRight;
     firing = false;
     alive = true;
-    lifetime = Constants.PLAYER_POWERUP_LIFETIME;
   }
 
   /**
@@ -161,40 +159,12 @@ public class Player extends BasicDynamicElement implements PlayerElement {
         steps = 0;
       }
 
-      id = "player-" + Constants.PLAYER_COLORS.get(getPlayerNumber()) + "-" + id;
+      int color = getPlayerNumber() % Constants.PLAYER_COLORS.size();
+      id = "player-" + Constants.PLAYER_COLORS.get(color) + "-" + id;
 
       result.add(store.getAnimated(id).getFrame(steps));
     }
     return result;
   }
 
-  /**
-   * Decrease the lifetime by a given number of steps.
-   * 
-   * @param delta
-   *          The number of steps.
-   */
-  public void decreaseLifetime(double delta) {
-    lifetime -= delta;
-  }
-
-  /**
-   * Get the remaining lifetime.
-   * 
-   * @return Remaining lifetime.
-   */
-  public double getLifetime() {
-    return lifetime;
-  }
-
-  /**
-   * Setting the life time of a bubble.
-   * 
-   * @param newTime
-   *          The new life time.
-   */
-  public void setLifetime(double newTime) {
-    lifetime = newTime;
-  }
-
 }
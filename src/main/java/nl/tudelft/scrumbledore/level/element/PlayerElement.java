@@ -54,27 +54,4 @@ public interface PlayerElement extends DynamicElement {
    *          Can be True or False, stated on situation of element.
    */
   void setAlive(Boolean bool);
-  
-  /**
-   * Decrease the lifetime by a given number of steps.
-   * 
-   * @param delta
-   *          The number of steps.
-   */
-  void decreaseLifetime(double delta);
-
-  /**
-   * Get the remaining lifetime.
-   * 
-   * @return Remaining lifetime.
-   */
-  double getLifetime();
-
-  /**
-   * Setting the life time of a bubble.
-   * 
-   * @param newTime
-   *          The new life time.
-   */
-  void setLifetime(double newTime);
 }
@@ -0,0 +1,185 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+/**
+ * Scheduler spreading AI decisions over several steps. The agents are split round-robin into a
+ * number of buckets, and every step only the next bucket worth of agents makes a new decision,
+ * while the others keep acting on their cached decision. On top of that every step has a budget in
+ * microseconds: when it runs out, the remaining decisions of that step are deferred to the next
+ * one. Steps that exceed their budget are counted as overruns, so the cost of the AI stays visible
+ * without it being able to make a single step spike. Since which decisions fit in the budget
+ * depends on the clock, simulations that must be repeatable run without a budget.
+ * 
+ * @author Jesse Tilro
+ */
+public class AIScheduler {
+  private final int buckets;
+  private long budget;
+  private int cursor;
+  private long steps;
+  private long decisions;
+  private long overruns;
+  private long deferred;
+  private long lastNanos;
+
+  /**
+   * Constructs a new AIScheduler.
+   * 
+   * @param buckets
+   *          The number of steps over which a decision for every agent is spread.
+   * 
+   * @param budgetMicros
+   *          The number of microseconds per step the decisions may take, zero or less for no
+   *          limit.
+   */
+  public AIScheduler(int buckets, long budgetMicros) {
+    if (buckets < 1) {
+      throw new IllegalArgumentException("The number of buckets must be positive.");
+    }
+    this.buckets = buckets;
+    this.budget = budgetMicros * 1000;
+  }
+
+  /**
+   * Run the decisions due in the current step. At least one decision is made every step, so all
+   * agents eventually get their turn however small the budget.
+   * 
+   * @param agents
+   *          The number of agents.
+   * 
+   * @param task
+   *          The task making a decision for an agent.
+   * 
+   * @return The number of decisions made.
+   */
+  public int run(int agents, AITask task) {
+    steps++;
+    lastNanos = 0;
+    if (agents <= 0) {
+      cursor = 0;
+      return 0;
+    }
+    if (cursor >= agents) {
+      cursor = 0;
+    }
+
+    int due = (agents + buckets - 1) / buckets;
+    long start = System.nanoTime();
+    int done = 0;
+    while (done < due) {
+      task.decide(cursor);
+      cursor = (cursor + 1) % agents;
+      done++;
+      if (budget > 0 && done < due && System.nanoTime() - start > budget) {
+        deferred += due - done;
+        break;
+      }
+    }
+    lastNanos = System.nanoTime() - start;
+    if (budget > 0 && lastNanos > budget) {
+      overruns++;
+    }
+    decisions += done;
+    return done;
+  }
+
+  /**
+   * Reset the round-robin order, for instance when the agents have changed.
+   */
+  public void reset() {
+    cursor = 0;
+  }
+
+  /**
+   * Get the index of the agent making the next decision.
+   * 
+   * @return The cursor.
+   */
+  public int getCursor() {
+    return cursor;
+  }
+
+  /**
+   * Set the index of the agent making the next decision, used when restoring a snapshot.
+   * 
+   * @param cursor
+   *          The cursor.
+   */
+  public void setCursor(int cursor) {
+    this.cursor = cursor;
+  }
+
+  /**
+   * Get the number of buckets.
+   * 
+   * @return The number of buckets.
+   */
+  public int getBuckets() {
+    return buckets;
+  }
+
+  /**
+   * Get the budget per step.
+   * 
+   * @return The budget in microseconds, zero or less for no limit.
+   */
+  public long getBudgetMicros() {
+    return budget / 1000;
+  }
+
+  /**
+   * Set the budget per step.
+   * 
+   * @param budgetMicros
+   *          The number of microseconds per step the decisions may take, zero or less for no
+   *          limit.
+   */
+  public void setBudgetMicros(long budgetMicros) {
+    this.budget = budgetMicros * 1000;
+  }
+
+  /**
+   * Get the number of steps run.
+   * 
+   * @return The number of steps.
+   */
+  public long getSteps() {
+    return steps;
+  }
+
+  /**
+   * Get the total number of decisions made.
+   * 
+   * @return The number of decisions.
+   */
+  public long getDecisions() {
+    return decisions;
+  }
+
+  /**
+   * Get the number of steps in which the decisions took longer than the budget.
+   * 
+   * @return The number of overruns.
+   */
+  public long getOverruns() {
+    return overruns;
+  }
+
+  /**
+   * Get the total number of decisions deferred to a later step because the budget ran out.
+   * 
+   * @return The number of deferred decisions.
+   */
+  public long getDeferred() {
+    return deferred;
+  }
+
+  /**
+   * Get the time the decisions took in the last step.
+   * 
+   * @return The time in nanoseconds.
+   */
+  public long getLastNanos() {
+    return lastNanos;
+  }
+
+}
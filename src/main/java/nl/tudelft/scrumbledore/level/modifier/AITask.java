@@ -0,0 +1,18 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+/**
+ * A piece of AI work run by an AIScheduler for a single agent, such as an NPC making a new
+ * decision.
+ * 
+ * @author Jesse Tilro
+ */
+public interface AITask {
+
+  /**
+   * Make a new decision for an agent.
+   * 
+   * @param index
+   *          The index of the agent.
+   */
+  void decide(int index);
+}
@@ -0,0 +1,411 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.ChunkedWorld;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.Bubble;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Level Modifier keeping only the chunks of a ChunkedWorld around the players in the Level being
+ * played, so the other modifiers only have to deal with the area around the players.
+ * 
+ * <p>
+ * Chunks within the active radius of a player are read from the world file when they are first
+ * needed and simulated every step as part of the Level. When all players have moved away, the
+ * elements of a chunk are parked in a Level of their own. Parked chunks within the reduced radius
+ * are still simulated, but only once every few steps, catching up on the steps passed since, and
+ * chunks further away are frozen until a player comes back. The NPCs of parked chunks are moved by
+ * an NPCLevelModifier of their own, so that the one of the game keeps its navigation graph and
+ * cached decisions for the Level being played. Games are made with a streamer by
+ * GameFactory.makeGame(ChunkedWorld).
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class ChunkStreamer implements LevelModifier {
+  private final ChunkedWorld world;
+  private final List<LevelModifier> modifiers;
+  private final ArrayList<LevelModifier> parkedModifiers;
+  private int parkedSource = -1;
+  private final int activeRadius;
+  private final int reducedRadius;
+  private final int reducedInterval;
+  private final double chunkPixels;
+
+  private final Chunk[] chunks;
+  private final ArrayList<Chunk> active;
+  private int stamp;
+  private double sinceReducedTick;
+  private double time;
+
+  /**
+   * Construct a new ChunkStreamer with the default radii.
+   * 
+   * @param world
+   *          The world to stream the chunks of.
+   * 
+   * @param modifiers
+   *          The modifiers to simulate parked chunks with, usually those of the Game.
+   */
+  public ChunkStreamer(ChunkedWorld world, List<LevelModifier> modifiers) {
+    this(world, modifiers, Constants.CHUNK_ACTIVE_RADIUS, Constants.CHUNK_REDUCED_RADIUS,
+        Constants.CHUNK_REDUCED_INTERVAL);
+  }
+
+  /**
+   * Construct a new ChunkStreamer.
+   * 
+   * @param world
+   *          The world to stream the chunks of.
+   * 
+   * @param modifiers
+   *          The modifiers to simulate parked chunks with, usually those of the Game.
+   * 
+   * @param activeRadius
+   *          The distance in chunks from a player within which chunks are simulated every step.
+   * 
+   * @param reducedRadius
+   *          The distance in chunks from a player within which parked chunks are still simulated.
+   * 
+   * @param reducedInterval
+   *          The number of steps between two simulations of a parked chunk.
+   */
+  public ChunkStreamer(ChunkedWorld world, List<LevelModifier> modifiers, int activeRadius,
+      int reducedRadius, int reducedInterval) {
+    assert reducedRadius >= activeRadius && reducedInterval > 0;
+
+    this.world = world;
+    this.modifiers = modifiers;
+    this.activeRadius = activeRadius;
+    this.reducedRadius = reducedRadius;
+    this.reducedInterval = reducedInterval;
+    this.chunkPixels = world.getChunkSize() * Constants.BLOCKSIZE;
+    this.chunks = new Chunk[world.getCols() * world.getRows()];
+    this.active = new ArrayList<Chunk>();
+    this.parkedModifiers = new ArrayList<LevelModifier>();
+  }
+
+  /**
+   * Load and unload chunks around the players, and simulate the parked chunks that are due.
+   * 
+   * @param level
+   *          The level being played, containing the active chunks.
+   * 
+   * @param delta
+   *          The number of steps passed since the last execution of this method.
+   */
+  public void modify(Level level, double delta) {
+    stamp++;
+    activateAround(level);
+    deactivateDistant(level);
+
+    time += delta;
+    sinceReducedTick += delta;
+    if (sinceReducedTick >= reducedInterval) {
+      simulateReduced(level, sinceReducedTick);
+      sinceReducedTick = 0;
+    }
+  }
+
+  /**
+   * Get the number of chunks currently simulated as part of the Level.
+   * 
+   * @return The number of active chunks.
+   */
+  public int getActiveChunks() {
+    return active.size();
+  }
+
+  /**
+   * Determine whether a chunk is simulated as part of the Level.
+   * 
+   * @param col
+   *          The column of the chunk.
+   * 
+   * @param row
+   *          The row of the chunk.
+   * 
+   * @return Whether the chunk is active.
+   */
+  public boolean isActive(int col, int row) {
+    Chunk chunk = chunks[row * world.getCols() + col];
+    return chunk != null && chunk.parked == null;
+  }
+
+  /**
+   * Get the Level holding the elements of a parked chunk.
+   * 
+   * @param col
+   *          The column of the chunk.
+   * 
+   * @param row
+   *          The row of the chunk.
+   * 
+   * @return The parked elements, or null if the chunk is active or has never been loaded.
+   */
+  public Level getParked(int col, int row) {
+    Chunk chunk = chunks[row * world.getCols() + col];
+    if (chunk == null) {
+      return null;
+    }
+    return chunk.parked;
+  }
+
+  /**
+   * Activate all chunks within the active radius of any player, marking them as near.
+   * 
+   * @param level
+   *          The level being played.
+   */
+  private void activateAround(Level level) {
+    for (PlayerElement player : level.getPlayers()) {
+      int col = chunkCol(player);
+      int row = chunkRow(player);
+      int fromCol = Math.max(0, col - activeRadius);
+      int toCol = Math.min(world.getCols() - 1, col + activeRadius);
+      int fromRow = Math.max(0, row - activeRadius);
+      int toRow = Math.min(world.getRows() - 1, row + activeRadius);
+
+      for (int r = fromRow; r <= toRow; r++) {
+        for (int c = fromCol; c <= toCol; c++) {
+          Chunk chunk = chunk(c, r);
+          chunk.near = stamp;
+          if (chunk.parked != null || !chunk.loaded) {
+            activate(chunk, level);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Park all active chunks that are no longer within the active radius of any player.
+   * 
+   * @param level
+   *          The level being played.
+   */
+  private void deactivateDistant(Level level) {
+    Iterator<Chunk> iterator = active.iterator();
+    while (iterator.hasNext()) {
+      Chunk chunk = iterator.next();
+      if (chunk.near != stamp) {
+        iterator.remove();
+        chunk.parked = new Level();
+        chunk.parkedAt = time;
+        chunk.parked.setDimensions(level.getWidth(), level.getHeight());
+        transfer(level, chunk.parked, chunk);
+      }
+    }
+  }
+
+  /**
+   * Simulate the parked chunks within the reduced radius of any player.
+   * 
+   * @param level
+   *          The level being played.
+   * 
+   * @param delta
+   *          The number of steps passed since the parked chunks were last simulated, which they
+   *          catch up on at once. Chunks parked since then only catch up on the steps since they
+   *          were parked.
+   */
+  private void simulateReduced(Level level, double delta) {
+    updateParkedModifiers();
+    for (PlayerElement player : level.getPlayers()) {
+      int col = chunkCol(player);
+      int row = chunkRow(player);
+      int fromCol = Math.max(0, col - reducedRadius);
+      int toCol = Math.min(world.getCols() - 1, col + reducedRadius);
+      int fromRow = Math.max(0, row - reducedRadius);
+      int toRow = Math.min(world.getRows() - 1, row + reducedRadius);
+
+      for (int r = fromRow; r <= toRow; r++) {
+        for (int c = fromCol; c <= toCol; c++) {
+          Chunk chunk = chunks[r * world.getCols() + c];
+          if (chunk != null && chunk.parked != null && chunk.ticked != stamp) {
+            chunk.ticked = stamp;
+            double missed = Math.min(delta, time - chunk.parkedAt);
+            for (LevelModifier modifier : parkedModifiers) {
+              modifier.modify(chunk.parked, missed);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Bring the modifiers simulating the parked chunks up to date with the modifiers of the game,
+   * leaving out this streamer and replacing any NPCLevelModifier by one for the parked chunks.
+   */
+  private void updateParkedModifiers() {
+    if (parkedSource == modifiers.size()) {
+      return;
+    }
+    parkedSource = modifiers.size();
+    parkedModifiers.clear();
+    for (LevelModifier modifier : modifiers) {
+      if (modifier instanceof NPCLevelModifier) {
+        parkedModifiers.add(new NPCLevelModifier(new AIScheduler(1, 0)));
+      } else if (modifier != this) {
+        parkedModifiers.add(modifier);
+      }
+    }
+  }
+
+  /**
+   * Bring the elements of a chunk into the level being played, reading them from the world file if
+   * the chunk has never been loaded.
+   * 
+   * @param chunk
+   *          The chunk.
+   * 
+   * @param level
+   *          The level being played.
+   */
+  private void activate(Chunk chunk, Level level) {
+    if (chunk.loaded) {
+      transfer(chunk.parked, level, null);
+      chunk.parked = null;
+    } else {
+      world.loadChunk(chunk.col, chunk.row, level);
+      chunk.loaded = true;
+    }
+    active.add(chunk);
+  }
+
+  /**
+   * Move the elements of one level that are within a given chunk to another level. Players are
+   * never moved.
+   * 
+   * @param from
+   *          The level to take the elements from.
+   * 
+   * @param to
+   *          The level to add the elements to.
+   * 
+   * @param chunk
+   *          The chunk, or null to move all elements.
+   */
+  private void transfer(Level from, Level to, Chunk chunk) {
+    for (Bubble bubble : take(from.getEnemyBubbles(), chunk)) {
+      to.getEnemyBubbles().add(bubble);
+    }
+    ArrayList<Platform> platforms = take(from.getPlatforms(), chunk);
+    if (!platforms.isEmpty()) {
+      to.getPlatforms().addAll(platforms);
+      from.platformsChanged();
+      to.platformsChanged();
+    }
+    to.getNPCs().addAll(take(from.getNPCs(), chunk));
+    to.getFruits().addAll(take(from.getFruits(), chunk));
+    to.getBubbles().addAll(take(from.getBubbles(), chunk));
+    to.getPowerups().addAll(take(from.getPowerups(), chunk));
+  }
+
+  /**
+   * Remove the elements within a given chunk from a list.
+   * 
+   * @param elements
+   *          The list of elements.
+   * 
+   * @param chunk
+   *          The chunk, or null to take all elements.
+   * 
+   * @param <T>
+   *          The type of elements.
+   * 
+   * @return The removed elements.
+   */
+  private <T extends LevelElement> ArrayList<T> take(List<T> elements, Chunk chunk) {
+    ArrayList<T> taken = new ArrayList<T>();
+    Iterator<T> iterator = elements.iterator();
+    while (iterator.hasNext()) {
+      T element = iterator.next();
+      if (chunk == null || chunkCol(element) == chunk.col && chunkRow(element) == chunk.row) {
+        iterator.remove();
+        taken.add(element);
+      }
+    }
+    return taken;
+  }
+
+  /**
+   * Get the chunk at a given position, creating it if it has not been visited before.
+   * 
+   * @param col
+   *          The column of the chunk.
+   * 
+   * @param row
+   *          The row of the chunk.
+   * 
+   * @return The chunk.
+   */
+  private Chunk chunk(int col, int row) {
+    int index = row * world.getCols() + col;
+    if (chunks[index] == null) {
+      chunks[index] = new Chunk(col, row);
+    }
+    return chunks[index];
+  }
+
+  /**
+   * Get the column of the chunk containing the center of an element.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @return The column of the chunk.
+   */
+  private int chunkCol(LevelElement element) {
+    int col = (int) Math.floor(element.posX() / chunkPixels);
+    return Math.max(0, Math.min(world.getCols() - 1, col));
+  }
+
+  /**
+   * Get the row of the chunk containing the center of an element.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @return The row of the chunk.
+   */
+  private int chunkRow(LevelElement element) {
+    int row = (int) Math.floor(element.posY() / chunkPixels);
+    return Math.max(0, Math.min(world.getRows() - 1, row));
+  }
+
+  /**
+   * The streaming state of a single chunk.
+   */
+  private static class Chunk {
+    private final int col;
+    private final int row;
+    private boolean loaded;
+    private Level parked;
+    private double parkedAt;
+    private int near;
+    private int ticked;
+
+    /**
+     * Construct a new chunk that has not been loaded yet.
+     * 
+     * @param col
+     *          The column of the chunk.
+     * 
+     * @param row
+     *          The row of the chunk.
+     */
+    Chunk(int col, int row) {
+      this.col = col;
+      this.row = row;
+    }
+  }
+
+}
@@ -0,0 +1,34 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * Response to a possible collision between two elements of given kinds, registered with a
+ * CollisionRegistry. The handler is called for every candidate pair found by the broadphase of the
+ * CollisionsLevelModifier, and decides itself whether the elements actually collide.
+ * 
+ * @author Jesse Tilro
+ */
+public interface CollisionHandler {
+
+  /**
+   * Handle a candidate pair of elements.
+   * 
+   * @param level
+   *          The level containing the elements.
+   * 
+   * @param first
+   *          The element of the first kind of the registration.
+   * 
+   * @param second
+   *          The element of the second kind of the registration.
+   * 
+   * @param delta
+   *          The number of steps passed since collisions were last detected.
+   * 
+   * @return Whether the first element is done, so that its remaining pairs are skipped by this
+   *         handler in the current step.
+   */
+  boolean handle(Level level, LevelElement first, LevelElement second, double delta);
+}
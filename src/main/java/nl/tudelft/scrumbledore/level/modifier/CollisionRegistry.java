@@ -0,0 +1,136 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import java.util.ArrayList;
+import nl.tudelft.scrumbledore.level.element.ElementKind;
+
+/**
+ * Maps pairs of element kinds to the handlers responding to their collisions. Handlers are run in
+ * the order they were registered, and the same pair of kinds may have several handlers, for
+ * responses that need to see all pairs of one phase before the next phase starts.
+ * 
+ * @author Jesse Tilro
+ */
+public class CollisionRegistry {
+  private final ArrayList<ElementKind> firsts;
+  private final ArrayList<ElementKind> seconds;
+  private final ArrayList<CollisionHandler> handlers;
+  private final ArrayList<ArrayList<Integer>> routes;
+
+  /**
+   * Constructs a new, empty CollisionRegistry.
+   */
+  public CollisionRegistry() {
+    this.firsts = new ArrayList<ElementKind>();
+    this.seconds = new ArrayList<ElementKind>();
+    this.handlers = new ArrayList<CollisionHandler>();
+
+    int kinds = ElementKind.values().length;
+    this.routes = new ArrayList<ArrayList<Integer>>(kinds * kinds);
+    for (int i = 0; i < kinds * kinds; i++) {
+      routes.add(new ArrayList<Integer>());
+    }
+  }
+
+  /**
+   * Register a handler for the collisions between elements of two kinds.
+   * 
+   * @param first
+   *          The kind of the first element passed to the handler.
+   * 
+   * @param second
+   *          The kind of the second element passed to the handler.
+   * 
+   * @param handler
+   *          The handler.
+   * 
+   * @return The index of the registration.
+   */
+  public int register(ElementKind first, ElementKind second, CollisionHandler handler) {
+    int index = handlers.size();
+    firsts.add(first);
+    seconds.add(second);
+    handlers.add(handler);
+
+    routes.get(route(first, second)).add(index);
+    if (first != second) {
+      routes.get(route(second, first)).add(index);
+    }
+    return index;
+  }
+
+  /**
+   * Get the registrations involving elements of two kinds, in either order.
+   * 
+   * @param first
+   *          The kind of one element.
+   * 
+   * @param second
+   *          The kind of the other element.
+   * 
+   * @return The indices of the registrations.
+   */
+  public ArrayList<Integer> getRegistrations(ElementKind first, ElementKind second) {
+    return routes.get(route(first, second));
+  }
+
+  /**
+   * Compute the index of the routes of an ordered pair of kinds.
+   * 
+   * @param first
+   *          The first kind.
+   * 
+   * @param second
+   *          The second kind.
+   * 
+   * @return The index.
+   */
+  private static int route(ElementKind first, ElementKind second) {
+    return first.ordinal() * ElementKind.values().length + second.ordinal();
+  }
+
+  /**
+   * Get the number of registrations.
+   * 
+   * @return The number of registered handlers.
+   */
+  public int size() {
+    return handlers.size();
+  }
+
+  /**
+   * Get the handler of a registration.
+   * 
+   * @param index
+   *          The index of the registration.
+   * 
+   * @return The handler.
+   */
+  public CollisionHandler getHandler(int index) {
+    return handlers.get(index);
+  }
+
+  /**
+   * Get the kind of the first element of a registration.
+   * 
+   * @param index
+   *          The index of the registration.
+   * 
+   * @return The kind.
+   */
+  public ElementKind getFirst(int index) {
+    return firsts.get(index);
+  }
+
+  /**
+   * Get the kind of the second element of a registration.
+   * 
+   * @param index
+   *          The index of the registration.
+   * 
+   * @return The kind.
+   */
+  public ElementKind getSecond(int index) {
+    return seconds.get(index);
+  }
+
+}
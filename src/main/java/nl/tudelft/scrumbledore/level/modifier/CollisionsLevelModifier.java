@@ -1,27 +1,38 @@
 package nl.tudelft.scrumbledore.level.modifier;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import nl.tudelft.scrumbledore.Constants;
-import nl.tudelft.scrumbledore.Logger;
-import nl.tudelft.scrumbledore.game.ScoreCounter;
-import nl.tudelft.scrumbledore.level.Collision;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventType;
+import nl.tudelft.scrumbledore.jfr.CollisionPairsEvent;
+import nl.tudelft.scrumbledore.level.CollisionBackend;
+import nl.tudelft.scrumbledore.level.ContactCache;
+import nl.tudelft.scrumbledore.level.ContactManifold;
 import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.SweepAndPrune;
 import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.level.element.Bubble;
 import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.ElementKind;
 import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
 import nl.tudelft.scrumbledore.level.element.LevelElementAction;
 import nl.tudelft.scrumbledore.level.element.NPC;
 import nl.tudelft.scrumbledore.level.element.Platform;
 import nl.tudelft.scrumbledore.level.element.PlayerElement;
-import nl.tudelft.scrumbledore.level.powerup.ChiliChicken;
-import nl.tudelft.scrumbledore.level.powerup.ChiliChickenPickUp;
 import nl.tudelft.scrumbledore.level.powerup.PowerupPickUp;
-import nl.tudelft.scrumbledore.level.powerup.TurtleTaco;
-import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
 
 /**
- * Class responsible for collision detection between given elements.
+ * Class responsible for collision detection between given elements. Every step, a single
+ * sort-and-sweep broadphase over all elements of the level produces the candidate pairs, which are
+ * dispatched to the handlers registered for the kinds of the two elements. The handlers run in the
+ * order they were registered, and each of them sees its pairs in the order of the level's lists.
+ * Elements whose speed is changed by a handler, and elements a handler adds, are looked up in the
+ * broadphase again, so that the handlers after it see their new pairs in the same step. The
+ * consequences for the rest of the game, such as points, are published as gameplay events.
  * 
  * @author Jesse Tilro
  * @author David Alderliesten
@@ -30,16 +41,169 @@ import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
     "PMD.NPathComplexity", "PMD.StdCyclomaticComplexity", "PMD.CyclomaticComplexity",
     "PMD.TooManyMethods" })
 public class CollisionsLevelModifier implements LevelModifier {
-  private ScoreCounter score;
+  private GameEventBus events;
+  private CollisionBackend backend;
+  private ContactCache contacts;
+  private CollisionRegistry registry;
+
+  private SweepAndPrune<LevelElement> broadphase;
+  private ArrayList<LevelElement> elements;
+  private ArrayList<LevelElement> firsts;
+  private ArrayList<LevelElement> seconds;
+  private ArrayList<LevelElement> changed;
+  private IdentityHashMap<LevelElement, Entry> entries;
+  private ArrayList<ArrayList<Entry>> slots;
+  private ArrayList<Entry> pool;
+  private ArrayList<Bucket> buckets;
+
+  /**
+   * Constructs a new Collisions Level Modifier publishing on a given event bus.
+   * 
+   * @param events
+   *          The bus to publish gameplay events on.
+   */
+  public CollisionsLevelModifier(GameEventBus events) {
+    this(events, CollisionBackend.Discrete);
+  }
+
+  /**
+   * Constructs a new Collisions Level Modifier detecting collisions with a given backend.
+   * 
+   * @param events
+   *          The bus to publish gameplay events on.
+   * 
+   * @param backend
+   *          The collision detection backend.
+   */
+  public CollisionsLevelModifier(GameEventBus events, CollisionBackend backend) {
+    this.events = events;
+    this.backend = backend;
+    this.contacts = new ContactCache(backend);
+    this.registry = new CollisionRegistry();
+
+    this.broadphase = new SweepAndPrune<LevelElement>();
+    this.elements = new ArrayList<LevelElement>();
+    this.firsts = new ArrayList<LevelElement>();
+    this.seconds = new ArrayList<LevelElement>();
+    this.changed = new ArrayList<LevelElement>();
+    this.entries = new IdentityHashMap<LevelElement, Entry>();
+    this.slots = new ArrayList<ArrayList<Entry>>();
+    for (int i = 0; i < ElementKind.values().length; i++) {
+      slots.add(new ArrayList<Entry>());
+    }
+    this.pool = new ArrayList<Entry>();
+    this.buckets = new ArrayList<Bucket>();
+
+    registerHandlers();
+  }
+
+  /**
+   * Register the handlers for the collisions between the elements of the game, in the order in
+   * which they should respond.
+   */
+  @SuppressWarnings("PMD.ExcessiveMethodLength")
+  protected void registerHandlers() {
+    registry.register(ElementKind.Player, ElementKind.Powerup, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handlePlayerPowerup(level, (PlayerElement) first, (PowerupPickUp) second, delta);
+      }
+    });
+    registry.register(ElementKind.Player, ElementKind.Bubble, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handlePlayerBubble(level, (PlayerElement) first, (Bubble) second, delta);
+      }
+    });
+    registry.register(ElementKind.NPC, ElementKind.Bubble, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handleBubbleEnemy(level, (NPC) first, (Bubble) second, delta);
+      }
+    });
+    registry.register(ElementKind.Bubble, ElementKind.Bubble, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handleBubbleBubble((Bubble) first, (Bubble) second, delta);
+      }
+    });
+    registry.register(ElementKind.Fruit, ElementKind.Player, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handleFruitPlayer((Fruit) first, (PlayerElement) second, delta);
+      }
+    });
+    registry.register(ElementKind.Fruit, ElementKind.Platform, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handleFruitPlatform((Fruit) first, (Platform) second, delta);
+      }
+    });
+    registry.register(ElementKind.Bubble, ElementKind.Platform, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handleBubblePlatform((Bubble) first, (Platform) second, delta);
+      }
+    });
+    registry.register(ElementKind.Player, ElementKind.Platform, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handlePlayerPlatformTop((PlayerElement) first, (Platform) second, delta);
+      }
+    });
+    registry.register(ElementKind.Player, ElementKind.Platform, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handlePlayerPlatformSides((PlayerElement) first, (Platform) second, delta);
+      }
+    });
+    registry.register(ElementKind.Player, ElementKind.Fruit, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handlePlayerFruit(level, (PlayerElement) first, (Fruit) second, delta);
+      }
+    });
+    registry.register(ElementKind.Player, ElementKind.NPC, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handlePlayerEnemy(level, (PlayerElement) first, (NPC) second, delta);
+      }
+    });
+    registry.register(ElementKind.NPC, ElementKind.Platform, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handleNPCPlatformVertical((NPC) first, (Platform) second, delta);
+      }
+    });
+    registry.register(ElementKind.NPC, ElementKind.Platform, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        return handleNPCPlatformSides((NPC) first, (Platform) second, delta);
+      }
+    });
+  }
+
+  /**
+   * Get the contact between two elements from the contact cache of the current step.
+   * 
+   * @param collider
+   *          The (moving) LevelElement colliding.
+   * 
+   * @param collidee
+   *          The LevelElement the collider is colliding with.
+   * 
+   * @param delta
+   *          The delta provided by the StepTimer.
+   * 
+   * @return The contact manifold of the pair.
+   */
+  public ContactManifold contact(DynamicElement collider, LevelElement collidee, double delta) {
+    return contacts.get(collider, collidee, delta);
+  }
+
+  /**
+   * Get the backend used to detect collisions.
+   * 
+   * @return The collision detection backend.
+   */
+  public CollisionBackend getBackend() {
+    return backend;
+  }
 
   /**
-   * Constructs a new Collisions Level Modifier using a given Kinetics Level Modifier.
+   * Get the registry of collision handlers, with which new kinds of responses can be added.
    * 
-   * @param score
-   *          The Score Counter to be used.
+   * @return The registry.
    */
-  public CollisionsLevelModifier(ScoreCounter score) {
-    this.score = score;
+  public CollisionRegistry getRegistry() {
+    return registry;
   }
 
   /**
@@ -52,407 +216,829 @@ public class CollisionsLevelModifier implements LevelModifier {
    *          The steps passed since this method wat last executed.
    */
   public void modify(Level level, double delta) {
-    detectPlayerPowerup(level, delta);
-    detectPlayerBubble(level, delta);
-    detectBubbleEnemy(level, delta);
-    detectBubbleBubble(level, delta);
-    detectFruitPlatform(level, delta);
-    detectBubblePlatform(level, delta);
-    detectPlayerPlatform(level, delta);
-    detectPlayerFruit(level, delta);
-    detectPlayerEnemy(level, delta);
-    detectNPCPlatform(level, delta);
+    contacts.reset();
+    collect(level);
+    sweep(delta);
+    dispatch(level, delta);
+    updatePickable();
   }
 
   /**
-   * Detect collisions between player and powerups.
+   * Collect the elements of a level, remembering the kind of every element and its index in the
+   * list of its kind.
    * 
    * @param level
-   *          the level.
+   *          The level.
+   */
+  private void collect(Level level) {
+    elements.clear();
+    entries.clear();
+    int used = 0;
+    for (ElementKind kind : ElementKind.values()) {
+      ArrayList<Entry> kindSlots = slots.get(kind.ordinal());
+      kindSlots.clear();
+      for (LevelElement element : elementsOf(level, kind)) {
+        enter(element, kind, used++);
+        elements.add(element);
+      }
+    }
+    for (int i = used; i < pool.size() && pool.get(i).element != null; i++) {
+      pool.get(i).element = null;
+    }
+  }
+
+  /**
+   * Enter an element in the list of its kind, using an entry from the pool.
    * 
-   * @param delta
-   *          the delta provided by StepTimer.
+   * @param element
+   *          The element.
+   * 
+   * @param kind
+   *          The kind of the element.
+   * 
+   * @param used
+   *          The number of entries of the pool in use.
+   * 
+   * @return The entry.
    */
-  protected void detectPlayerPowerup(Level level, double delta) {
-    ArrayList<PowerupPickUp> powerUps = level.getPowerups();
-    ArrayList<PlayerElement> players = level.getPlayers();
-
-    if (powerUps.size() > 0) {
-      for (int j = 0; j < players.size(); j++) {
-        DynamicElement player = players.get(j);
-        for (int i = 0; i < powerUps.size(); i++) {
-          PowerupPickUp currentPow = powerUps.get(i);
-          if (currentPow.inBoxRangeOf(player, Constants.COLLISION_RADIUS)) {
-            Collision collision = new Collision(player, currentPow, delta);
-            if (collision.colliding()) {
-              if (currentPow instanceof ChiliChickenPickUp) {
-                ChiliChicken newChick = new ChiliChicken((PlayerElement) player);
-                players.add(j, newChick);
-                players.remove(j + 1);
-              } else if (currentPow instanceof TurtleTacoPickUp) {
-                TurtleTaco newTurtle = new TurtleTaco((PlayerElement) player);
-                players.add(j, newTurtle);
-                players.remove(j + 1);
-              }
-              powerUps.remove(i);
-            }
-          }
-        }
+  private Entry enter(LevelElement element, ElementKind kind, int used) {
+    if (used == pool.size()) {
+      pool.add(new Entry());
+    }
+    ArrayList<Entry> kindSlots = slots.get(kind.ordinal());
+    Entry entry = pool.get(used);
+    entry.element = element;
+    entry.kind = kind;
+    entry.index = kindSlots.size();
+    entry.removed = false;
+    entry.touched = false;
+    if (element instanceof DynamicElement) {
+      entry.hSpeed = ((DynamicElement) element).hSpeed();
+      entry.vSpeed = ((DynamicElement) element).vSpeed();
+    }
+
+    kindSlots.add(entry);
+    entries.put(element, entry);
+    return entry;
+  }
+
+  /**
+   * Get the list of elements of a given kind in a level.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @param kind
+   *          The kind.
+   * 
+   * @return The elements of that kind.
+   */
+  private static ArrayList<? extends LevelElement> elementsOf(Level level, ElementKind kind) {
+    switch (kind) {
+    case Player:
+      return level.getPlayers();
+    case NPC:
+      return level.getNPCs();
+    case Fruit:
+      return level.getFruits();
+    case Bubble:
+      return level.getBubbles();
+    case Powerup:
+      return level.getPowerups();
+    default:
+      return level.getPlatforms();
+    }
+  }
+
+  /**
+   * Find an element in a list by identity. Elements of the same kind at the same position and of
+   * the same size are equal, so the list can hold other elements equal to it.
+   * 
+   * @param elements
+   *          The list.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @return The index of the element, or -1 if the list does not hold it.
+   */
+  private static int indexOf(ArrayList<? extends LevelElement> elements, LevelElement element) {
+    for (int i = 0; i < elements.size(); i++) {
+      if (elements.get(i) == element) {
+        return i;
       }
     }
+    return -1;
+  }
+
+  /**
+   * Remove an element from a list by identity.
+   * 
+   * @param elements
+   *          The list.
+   * 
+   * @param element
+   *          The element.
+   */
+  private static void remove(ArrayList<? extends LevelElement> elements, LevelElement element) {
+    int index = indexOf(elements, element);
+    if (index >= 0) {
+      elements.remove(index);
+    }
+  }
+
+  /**
+   * Sweep over all collected elements and sort the candidate pairs into the buckets of the
+   * registrations for their kinds.
+   * 
+   * @param delta
+   *          The delta provided by the StepTimer.
+   */
+  private void sweep(double delta) {
+    while (buckets.size() < registry.size()) {
+      buckets.add(new Bucket());
+    }
+    for (Bucket bucket : buckets) {
+      bucket.clear();
+    }
 
+    broadphase.update(elements);
+    firsts.clear();
+    seconds.clear();
+    broadphase.findPairs(delta, firsts, seconds);
+    distribute(0);
   }
 
   /**
-   * Detect collisions between player and platform.
+   * Look up the pairs of the elements whose speed was changed or which were added by the handlers
+   * of a registration, and sort them into the buckets of the registrations after it. Platforms
+   * never move nor appear during a step, so they are not looked at.
    * 
    * @param level
-   *          The Level.
+   *          The level.
+   * 
+   * @param registration
+   *          The registration whose handler just ran.
    * 
    * @param delta
    *          The delta provided by the StepTimer.
    */
-  protected void detectFruitPlatform(Level level, double delta) {
-    for (Fruit fruit : level.getFruits()) {
-      boolean pickable = true;
-      for (DynamicElement player : level.getPlayers()) {
-        Collision playerCollision = new Collision(fruit, player, delta);
-        if (playerCollision.colliding()) {
-          pickable = false;
+  private void resweep(Level level, int registration, double delta) {
+    changed.clear();
+    for (ElementKind kind : ElementKind.values()) {
+      if (kind == ElementKind.Platform) {
+        continue;
+      }
+      int live = 0;
+      for (Entry entry : slots.get(kind.ordinal())) {
+        if (entry.removed) {
+          continue;
+        }
+        live++;
+        DynamicElement element = (DynamicElement) entry.element;
+        if (element.hSpeed() != entry.hSpeed || element.vSpeed() != entry.vSpeed) {
+          entry.hSpeed = element.hSpeed();
+          entry.vSpeed = element.vSpeed();
+          changed.add(element);
         }
       }
-      if (pickable) {
-        fruit.setPickable(pickable);
+
+      ArrayList<? extends LevelElement> list = elementsOf(level, kind);
+      if (list.size() > live) {
+        for (LevelElement element : list) {
+          if (!entries.containsKey(element)) {
+            enter(element, kind, entries.size());
+            broadphase.insert(element);
+            changed.add(element);
+          }
+        }
       }
+    }
+    if (changed.isEmpty()) {
+      return;
+    }
 
-      for (Platform platform : level.getPlatforms()) {
-        if (platform.inBoxRangeOf(fruit, Constants.COLLISION_RADIUS)) {
-          Collision collision = new Collision(fruit, platform, delta);
+    firsts.clear();
+    seconds.clear();
+    broadphase.findPairsOf(changed, delta, firsts, seconds);
+    distribute(registration + 1);
+  }
 
-          if (collision.collidingFromTop() && fruit.vSpeed() > 0) {
-            fruit.stopVertically();
-            fruit.snapTop(platform);
-          }
+  /**
+   * Sort the candidate pairs found by the broadphase into the buckets of the registrations for
+   * their kinds.
+   * 
+   * @param from
+   *          The first registration whose bucket may still be filled.
+   */
+  private void distribute(int from) {
+    for (int i = 0; i < firsts.size(); i++) {
+      Entry one = entries.get(firsts.get(i));
+      Entry other = entries.get(seconds.get(i));
+      for (int registration : registry.getRegistrations(one.kind, other.kind)) {
+        if (registration < from) {
+          continue;
+        }
+        boolean inOrder = registry.getFirst(registration) == one.kind
+            && (one.kind != other.kind || one.index < other.index);
+        if (inOrder) {
+          buckets.get(registration).add(one.index, other.index);
+        } else {
+          buckets.get(registration).add(other.index, one.index);
         }
       }
     }
   }
 
   /**
-   * Detect collisions between player and platform.
+   * Run the registered handlers in order on their candidate pairs, skipping elements that have
+   * been removed from the level by an earlier handler and pairs found twice. After every handler
+   * that ran, the new pairs of the elements it changed are added for the handlers after it. The
+   * number of pairs per handler is reported as a Flight Recorder event when that is enabled.
    * 
    * @param level
-   *          The Level.
+   *          The level.
    * 
    * @param delta
    *          The delta provided by the StepTimer.
    */
-  protected void detectPlayerPlatform(Level level, double delta) {
-    for (DynamicElement player : level.getPlayers()) {
-      ArrayList<Platform> candidates = new ArrayList<Platform>();
-      for (Platform platform : level.getPlatforms()) {
-        if (platform.inBoxRangeOf(player, Constants.COLLISION_RADIUS)) {
-          candidates.add(platform);
-          Collision collision = new Collision(player, platform, delta);
-
-          if (collision.collidingFromTop() && player.vSpeed() > 0) {
-            player.stopVertically();
-            player.snapTop(platform);
-          }
-        }
+  private void dispatch(Level level, double delta) {
+    for (int registration = 0; registration < registry.size(); registration++) {
+      Bucket bucket = buckets.get(registration);
+      if (bucket.size == 0) {
+        continue;
       }
-      for (Platform platform : candidates) {
-        Collision collision = new Collision(player, platform, delta);
-
-        if (!platform.isPassable()) {
-          if (collision.collidingFromBottom() && player.vSpeed() < 0) {
-            player.stopVertically();
-            player.snapBottom(platform);
-          }
-
-          if (collision.collidingFromLeft() && player.hSpeed() > 0) {
-            player.stopHorizontally();
-            player.snapLeft(platform);
-          }
+      bucket.sort();
 
-          if (collision.collidingFromRight() && player.hSpeed() < 0) {
-            player.stopHorizontally();
-            player.snapRight(platform);
-          }
+      CollisionHandler handler = registry.getHandler(registration);
+      ArrayList<Entry> firstSlots = slots.get(registry.getFirst(registration).ordinal());
+      ArrayList<Entry> secondSlots = slots.get(registry.getSecond(registration).ordinal());
+      CollisionPairsEvent event = new CollisionPairsEvent();
+      int handled = 0;
+      int done = -1;
+      for (int i = 0; i < bucket.size; i++) {
+        int firstIndex = (int) (bucket.keys[i] >>> 32);
+        if (firstIndex == done || i > 0 && bucket.keys[i] == bucket.keys[i - 1]) {
+          continue;
+        }
+        Entry first = firstSlots.get(firstIndex);
+        Entry second = secondSlots.get((int) bucket.keys[i]);
+        if (first.removed || second.removed) {
+          continue;
         }
+        handled++;
+        if (handler.handle(level, first.element, second.element, delta)) {
+          done = firstIndex;
+        }
+      }
+      if (event.shouldCommit()) {
+        event.setHandler(registration);
+        event.setFirst(registry.getFirst(registration).name());
+        event.setSecond(registry.getSecond(registration).name());
+        event.setCandidates(bucket.size);
+        event.setHandled(handled);
+        event.commit();
+      }
+      if (handled > 0) {
+        resweep(level, registration, delta);
+      }
+    }
+  }
+
+  /**
+   * Make all fruits that were not touched by a player during this step pickable.
+   */
+  private void updatePickable() {
+    for (Entry entry : slots.get(ElementKind.Fruit.ordinal())) {
+      if (!entry.removed && !entry.touched) {
+        ((Fruit) entry.element).setPickable(true);
       }
     }
   }
 
   /**
-   * Detect collisions between NPC's and platform.
+   * Mark an element as removed from the level, so that no more collisions are reported for it
+   * during the current step.
+   * 
+   * @param element
+   *          The removed element.
+   */
+  public void discard(LevelElement element) {
+    Entry entry = entries.get(element);
+    if (entry != null) {
+      entry.removed = true;
+    }
+  }
+
+  /**
+   * Handle a collision between a player and a powerup, applying the status effect of the powerup
+   * to the player.
    * 
    * @param level
-   *          The Level.
+   *          The level.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param powerup
+   *          The powerup.
+   * 
+   * @param delta
+   *          The delta provided by StepTimer.
+   * 
+   * @return Whether the player picked up the powerup.
+   */
+  protected boolean handlePlayerPowerup(Level level, PlayerElement player, PowerupPickUp powerup,
+      double delta) {
+    if (!contact(player, powerup, delta).colliding()) {
+      return false;
+    }
+
+    ArrayList<PowerupPickUp> powerUps = level.getPowerups();
+    int index = indexOf(powerUps, powerup);
+    StatusEffect effect = powerup.getEffect();
+    events.publish(GameEventType.PowerupPicked, player.getPlayerNumber(), index, powerup,
+        effect.ordinal());
+
+    level.getEffects().apply(player.getPlayerNumber(), effect);
+    powerUps.remove(index);
+    discard(powerup);
+    return true;
+  }
+
+  /**
+   * Handle a collision between a fruit and a player, which wakes the fruit up and keeps it from
+   * becoming pickable as long as the player touches it.
+   * 
+   * @param fruit
+   *          The fruit.
+   * 
+   * @param player
+   *          The player.
    * 
    * @param delta
    *          The delta provided by the StepTimer.
+   * 
+   * @return Always false.
    */
-  public void detectNPCPlatform(Level level, double delta) {
-    for (NPC npc : level.getNPCs()) {
-      ArrayList<Platform> candidates = new ArrayList<Platform>();
-      for (Platform platform : level.getPlatforms()) {
-        if (platform.inBoxRangeOf(npc, Constants.COLLISION_RADIUS)) {
-          candidates.add(platform);
-          Collision collision = new Collision(npc, platform, delta);
-
-          if (collision.collidingFromTop() && npc.vSpeed() > 0) {
-            npc.stopVertically();
-            npc.snapTop(platform);
-          }
+  protected boolean handleFruitPlayer(Fruit fruit, PlayerElement player, double delta) {
+    if (contact(fruit, player, delta).colliding()) {
+      entries.get(fruit).touched = true;
+      fruit.wake();
+    }
+    return false;
+  }
 
-          if (collision.collidingFromBottom() && npc.vSpeed() < 0) {
-            npc.stopVertically();
-            npc.snapBottom(platform);
-          }
-        }
-      }
-      for (Platform platform : candidates) {
-        Collision collision = new Collision(npc, platform, delta);
-
-        if (!platform.isPassable()) {
-          if (collision.collidingFromLeft() && npc.hSpeed() > 0) {
-            npc.stopHorizontally();
-            npc.snapLeft(platform);
-            npc.addAction(LevelElementAction.MoveLeft);
-
-            if (!collision.collidingFromTop() && npc.vSpeed() == 0) {
-              npc.addAction(LevelElementAction.Jump);
-            }
-          }
+  /**
+   * Handle a collision between fruit and platform. Fruit that is asleep is not checked against the
+   * platforms.
+   * 
+   * @param fruit
+   *          The fruit.
+   * 
+   * @param platform
+   *          The platform.
+   * 
+   * @param delta
+   *          The delta provided by the StepTimer.
+   * 
+   * @return Whether the fruit is asleep.
+   */
+  protected boolean handleFruitPlatform(Fruit fruit, Platform platform, double delta) {
+    if (fruit.isAsleep()) {
+      return true;
+    }
 
-          if (collision.collidingFromRight() && npc.hSpeed() < 0) {
-            npc.stopHorizontally();
-            npc.snapRight(platform);
-            npc.addAction(LevelElementAction.MoveRight);
+    ContactManifold collision = contact(fruit, platform, delta);
+    if (collision.collidingFromTop() && fruit.vSpeed() > 0) {
+      fruit.stopVertically();
+      fruit.snapTop(platform);
+      fruit.setSupport(platform);
+    }
+    return false;
+  }
 
-            if (!collision.collidingFromTop() && npc.vSpeed() == 0) {
-              npc.addAction(LevelElementAction.Jump);
-            }
-          }
-        }
-      }
+  /**
+   * Handle a player landing on a platform. Runs for all platforms before the other sides are
+   * handled.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param platform
+   *          The platform.
+   * 
+   * @param delta
+   *          The delta provided by the StepTimer.
+   * 
+   * @return Always false.
+   */
+  protected boolean handlePlayerPlatformTop(PlayerElement player, Platform platform,
+      double delta) {
+    ContactManifold collision = contact(player, platform, delta);
 
+    if (collision.collidingFromTop() && player.vSpeed() > 0) {
+      player.stopVertically();
+      player.snapTop(platform);
     }
+    return false;
+  }
 
+  /**
+   * Handle a player bumping into the bottom or the sides of a solid platform.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param platform
+   *          The platform.
+   * 
+   * @param delta
+   *          The delta provided by the StepTimer.
+   * 
+   * @return Always false.
+   */
+  protected boolean handlePlayerPlatformSides(PlayerElement player, Platform platform,
+      double delta) {
+    if (platform.isPassable()) {
+      return false;
+    }
+    ContactManifold collision = contact(player, platform, delta);
+
+    if (collision.collidingFromBottom() && player.vSpeed() < 0) {
+      player.stopVertically();
+      player.snapBottom(platform);
+    }
+
+    if (collision.collidingFromLeft() && player.hSpeed() > 0) {
+      player.stopHorizontally();
+      player.snapLeft(platform);
+    }
+
+    if (collision.collidingFromRight() && player.hSpeed() < 0) {
+      player.stopHorizontally();
+      player.snapRight(platform);
+    }
+    return false;
   }
 
   /**
-   * Detect collisions between bubble and platform.
+   * Handle an NPC landing on or bumping its head against a platform. Runs for all platforms before
+   * the sides are handled. NPCs that are asleep are not checked against the platforms.
    * 
-   * @param level
-   *          The Level.
+   * @param npc
+   *          The NPC.
+   * 
+   * @param platform
+   *          The platform.
    * 
    * @param delta
    *          The delta provided by the StepTimer.
+   * 
+   * @return Whether the NPC is asleep.
    */
-  @SuppressWarnings("PMD.CollapsibleIfStatements")
-  protected void detectBubblePlatform(Level level, double delta) {
-    ArrayList<Bubble> projectiles = level.getBubbles();
-    for (int i = 0; i < projectiles.size(); i++) {
-      Bubble currentBubble = projectiles.get(i);
-      for (Platform platform : level.getPlatforms()) {
-        if (platform.inBoxRangeOf(currentBubble, Constants.COLLISION_RADIUS)) {
-          Collision collision = new Collision(currentBubble, platform, delta);
-
-          if (collision.collidingFromBottom()) {
-            currentBubble.getSpeed().setY(Constants.BUBBLE_BOUNCE);
-            currentBubble.snapBottom(platform);
-            break;
-          }
+  protected boolean handleNPCPlatformVertical(NPC npc, Platform platform, double delta) {
+    if (npc.isAsleep()) {
+      return true;
+    }
+    ContactManifold collision = contact(npc, platform, delta);
 
-          if (collision.collidingFromLeft()) {
-            currentBubble.getSpeed().setX(-Constants.BUBBLE_BOUNCE);
-            currentBubble.snapLeft(platform);
-            break;
-          }
+    if (collision.collidingFromTop() && npc.vSpeed() > 0) {
+      npc.stopVertically();
+      npc.snapTop(platform);
+      npc.setSupport(platform);
+    }
 
-          if (collision.collidingFromRight()) {
-            currentBubble.getSpeed().setX(Constants.BUBBLE_BOUNCE);
-            currentBubble.snapRight(platform);
-            break;
-          }
-        }
+    if (collision.collidingFromBottom() && npc.vSpeed() < 0) {
+      npc.stopVertically();
+      npc.snapBottom(platform);
+    }
+    return false;
+  }
+
+  /**
+   * Handle an NPC walking into the side of a solid platform, which makes it turn around and jump.
+   * 
+   * @param npc
+   *          The NPC.
+   * 
+   * @param platform
+   *          The platform.
+   * 
+   * @param delta
+   *          The delta provided by the StepTimer.
+   * 
+   * @return Whether the NPC is asleep.
+   */
+  protected boolean handleNPCPlatformSides(NPC npc, Platform platform, double delta) {
+    if (npc.isAsleep()) {
+      return true;
+    }
+    if (platform.isPassable()) {
+      return false;
+    }
+    ContactManifold collision = contact(npc, platform, delta);
+
+    if (collision.collidingFromLeft() && npc.hSpeed() > 0) {
+      npc.stopHorizontally();
+      npc.snapLeft(platform);
+      npc.addAction(LevelElementAction.MoveLeft);
+
+      if (!collision.collidingFromTop() && npc.vSpeed() == 0) {
+        npc.addAction(LevelElementAction.Jump);
+      }
+    }
+
+    if (collision.collidingFromRight() && npc.hSpeed() < 0) {
+      npc.stopHorizontally();
+      npc.snapRight(platform);
+      npc.addAction(LevelElementAction.MoveRight);
+
+      if (!collision.collidingFromTop() && npc.vSpeed() == 0) {
+        npc.addAction(LevelElementAction.Jump);
       }
     }
+    return false;
+  }
+
+  /**
+   * Handle a collision between a bubble and a platform, bouncing the bubble off the first platform
+   * it hits.
+   * 
+   * @param bubble
+   *          The bubble.
+   * 
+   * @param platform
+   *          The platform.
+   * 
+   * @param delta
+   *          The delta provided by the StepTimer.
+   * 
+   * @return Whether the bubble bounced.
+   */
+  protected boolean handleBubblePlatform(Bubble bubble, Platform platform, double delta) {
+    ContactManifold collision = contact(bubble, platform, delta);
+
+    if (collision.collidingFromBottom()) {
+      bubble.getSpeed().setY(Constants.BUBBLE_BOUNCE);
+      bubble.snapBottom(platform);
+      return true;
+    }
+
+    if (collision.collidingFromLeft()) {
+      bubble.getSpeed().setX(-Constants.BUBBLE_BOUNCE);
+      bubble.snapLeft(platform);
+      return true;
+    }
+
+    if (collision.collidingFromRight()) {
+      bubble.getSpeed().setX(Constants.BUBBLE_BOUNCE);
+      bubble.snapRight(platform);
+      return true;
+    }
+    return false;
   }
 
   /**
-   * Detect collision between the player an bubbles.
+   * Handle a collision between a player and a bubble. The player bounces off empty bubbles and
+   * turns bubbles holding an enemy into fruit.
    * 
    * @param level
    *          The level.
    * 
+   * @param player
+   *          The player.
+   * 
+   * @param bubble
+   *          The bubble.
+   * 
    * @param delta
    *          The delta.
+   * 
+   * @return Whether the player responded to the bubble.
    */
-  protected void detectPlayerBubble(Level level, double delta) {
-    for (DynamicElement player : level.getPlayers()) {
-      for (Bubble bubble : level.getBubbles()) {
-        if (bubble.inBoxRangeOf(player, Constants.COLLISION_RADIUS)) {
-          Collision collision = new Collision(player, bubble, delta);
-          if (collision.collidingFromTop() && !(bubble.hasNPC())) {
-            player.getSpeed().setY(-Constants.PLAYER_JUMP);
-            player.snapTop(bubble);
-            break;
-          }
+  protected boolean handlePlayerBubble(Level level, PlayerElement player, Bubble bubble,
+      double delta) {
+    ContactManifold collision = contact(player, bubble, delta);
+    if (collision.collidingFromTop() && !(bubble.hasNPC())) {
+      player.getSpeed().setY(-Constants.PLAYER_JUMP);
+      player.snapTop(bubble);
+      return true;
+    }
 
-          if (collision.colliding() && bubble.hasNPC()) {
-            Fruit newFruit = null;
-            try {
-              newFruit = new Fruit(bubble.getPosition().clone(), new Vector(Constants.BLOCKSIZE,
-                  Constants.BLOCKSIZE));
-            } catch (CloneNotSupportedException e) {
-              e.printStackTrace();
-            }
-            level.getFruits().add(newFruit);
-            level.getEnemyBubbles().remove(bubble);
-            level.getBubbles().remove(bubble);
-
-            if (Constants.isLoggingWantEnemy()) {
-              Logger.getInstance().log("Player executed an encapsulated enemy.");
-            }
-
-            break;
-          }
-        }
+    if (collision.colliding() && bubble.hasNPC()) {
+      Fruit newFruit = null;
+      try {
+        newFruit = new Fruit(bubble.getPosition().clone(), new Vector(Constants.BLOCKSIZE,
+            Constants.BLOCKSIZE));
+      } catch (CloneNotSupportedException e) {
+        e.printStackTrace();
       }
+      level.getFruits().add(newFruit);
+      remove(level.getEnemyBubbles(), bubble);
+      remove(level.getBubbles(), bubble);
+      discard(bubble);
+
+      events.publish(GameEventType.EnemyExecuted, player.getPlayerNumber(), -1, bubble, 0);
+      return true;
     }
+    return false;
   }
 
   /**
-   * Detect collisions between Bubbles and enemies.
+   * Handle a collision between an enemy and a bubble, which encapsulates the enemy if the bubble is
+   * still empty.
    * 
    * @param level
    *          The Level.
    * 
+   * @param enemy
+   *          The enemy.
+   * 
+   * @param bubble
+   *          The bubble.
+   * 
    * @param delta
    *          The steps passed since this method was last executed.
+   * 
+   * @return Whether the enemy was encapsulated.
    */
-  protected void detectBubbleEnemy(Level level, double delta) {
-    ArrayList<NPC> enemies = level.getNPCs();
-    ArrayList<Bubble> projectiles = level.getBubbles();
-    ArrayList<Bubble> enemyBubbles = level.getEnemyBubbles();
-
-    if (projectiles.size() > 0 && enemies.size() > 0) {
-      for (int i = 0; i < enemies.size(); i++) {
-
-        for (int j = 0; j < projectiles.size(); j++) {
-          Bubble currentP = projectiles.get(j);
-          if (!(currentP.hasNPC()) && enemies.size() != i
-              && enemies.get(i).inBoxRangeOf(currentP, Constants.COLLISION_RADIUS)
-              && new Collision(currentP, enemies.get(i), delta).colliding()) {
-
-            enemies.remove(i);
-            enemyBubbles.add(currentP);
-            currentP.setHasNPC(true);
-            currentP.setLifetime(1.5 * Constants.BUBBLE_LIFETIME);
-
-            if (Constants.isLoggingWantEnemy()) {
-              Logger.getInstance().log("An enemy was encapsulated by a bubble.");
-            }
-          }
-        }
-      }
+  protected boolean handleBubbleEnemy(Level level, NPC enemy, Bubble bubble, double delta) {
+    if (bubble.hasNPC() || !contact(bubble, enemy, delta).colliding()) {
+      return false;
     }
+
+    ArrayList<NPC> enemies = level.getNPCs();
+    int index = indexOf(enemies, enemy);
+    enemies.remove(index);
+    discard(enemy);
+    level.getEnemyBubbles().add(bubble);
+    bubble.setHasNPC(true);
+    bubble.setLifetime(1.5 * Constants.BUBBLE_LIFETIME);
+
+    events.publish(GameEventType.EnemyEncapsulated, indexOf(level.getBubbles(), bubble), index,
+        bubble, 0);
+    return true;
   }
 
   /**
-   * Detect and handle collisions between Bubbles.
+   * Handle a collision between two bubbles: the bubble further left bounces off to the left and
+   * the other one to the right. When they are exactly above each other, the first bubble in the
+   * level bounces to the right.
    * 
-   * @param level
-   *          The level to be modified.
+   * @param bubble
+   *          The bubble that comes first in the level.
+   * 
+   * @param other
+   *          The other bubble.
    * 
    * @param delta
    *          The number of steps passed since this method was last executed.
+   * 
+   * @return Always false.
    */
-  protected void detectBubbleBubble(Level level, double delta) {
-    ArrayList<Bubble> bubbles = level.getBubbles();
-
-    for (Bubble bubble : bubbles) {
-      for (Bubble other : bubbles) {
-        if (!other.equals(bubble) && other.inBoxRangeOf(bubble, Constants.COLLISION_RADIUS)) {
-          Collision collision = new Collision(bubble, other, delta);
-          if (collision.colliding()) {
-            if (other.posX() < bubble.posX()) {
-              other.getSpeed().setX(-Constants.BUBBLE_BOUNCE);
-              bubble.getSpeed().setX(Constants.BUBBLE_BOUNCE);
-            } else {
-              other.getSpeed().setX(Constants.BUBBLE_BOUNCE);
-              bubble.getSpeed().setX(-Constants.BUBBLE_BOUNCE);
-            }
-          }
-        }
+  protected boolean handleBubbleBubble(Bubble bubble, Bubble other, double delta) {
+    if (contact(bubble, other, delta).colliding() || contact(other, bubble, delta).colliding()) {
+      Bubble left = bubble;
+      Bubble right = other;
+      if (other.posX() <= bubble.posX()) {
+        left = other;
+        right = bubble;
       }
+      left.getSpeed().setX(-Constants.BUBBLE_BOUNCE);
+      right.getSpeed().setX(Constants.BUBBLE_BOUNCE);
     }
+    return false;
   }
 
   /**
-   * Detect collisions between player and fruit element.
+   * Handle a collision between a player and a pickable fruit, which is picked up.
    * 
    * @param level
    *          The Level.
    * 
+   * @param player
+   *          The player.
+   * 
+   * @param fruit
+   *          The fruit.
+   * 
    * @param delta
    *          The delta provided by the StepTimer.
+   * 
+   * @return Always false.
    */
-  protected void detectPlayerFruit(Level level, double delta) {
-    for (DynamicElement player : level.getPlayers()) {
-      ArrayList<Fruit> fruits = level.getFruits();
-
-      if (fruits.size() > 0) {
-        for (int i = 0; i < fruits.size(); i++) {
-          if (fruits.get(i).isPickable()
-              && fruits.get(i).inBoxRangeOf(player, Constants.COLLISION_RADIUS)) {
-            Collision collision = new Collision(player, fruits.get(i), delta);
-            if (collision.colliding()) {
-              fruits.remove(i);
-              score.updateScore(100);
-            }
-          }
-        }
-      }
+  protected boolean handlePlayerFruit(Level level, PlayerElement player, Fruit fruit,
+      double delta) {
+    if (!fruit.isPickable() || !contact(player, fruit, delta).colliding()) {
+      return false;
     }
+
+    ArrayList<Fruit> fruits = level.getFruits();
+    int index = indexOf(fruits, fruit);
+    events.publish(GameEventType.FruitPicked, player.getPlayerNumber(), index, fruit,
+        Constants.FRUIT_POINTS);
+
+    fruits.remove(index);
+    discard(fruit);
+    return false;
   }
 
   /**
-   * Restarting level on hit with enemy.
+   * Handle a collision between a player and an enemy, which kills the player unless a status
+   * effect makes it invincible.
    * 
    * @param level
    *          The Level.
    * 
+   * @param player
+   *          The player.
+   * 
+   * @param enemy
+   *          The enemy.
+   * 
    * @param delta
    *          The delta provided by the StepTimer.
+   * 
+   * @return Whether the player is protected.
    */
-  protected void detectPlayerEnemy(Level level, double delta) {
-    for (PlayerElement player : level.getPlayers()) {
-      ArrayList<NPC> npcs = level.getNPCs();
-
-      if (npcs.size() > 0 && !(player instanceof TurtleTaco)) {
-        for (int i = 0; i < npcs.size(); i++) {
-          if (npcs.get(i).inBoxRangeOf(player, Constants.COLLISION_RADIUS)) {
-            Collision collision = new Collision(player, npcs.get(i), delta);
-            if (collision.colliding()) {
-              player.setAlive(false);
-            }
-          }
-        }
+  protected boolean handlePlayerEnemy(Level level, PlayerElement player, NPC enemy,
+      double delta) {
+    if (level.getEffects().isInvincible(player.getPlayerNumber())) {
+      return true;
+    }
+
+    if (contact(player, enemy, delta).colliding()) {
+      if (player.isAlive()) {
+        events.publish(GameEventType.PlayerDied, indexOf(level.getNPCs(), enemy),
+            player.getPlayerNumber(), player, 0);
       }
+
+      player.setAlive(false);
     }
+    return false;
   }
 
   /**
-   * Returns a ScoreCounter.
+   * Get the bus on which gameplay events are published.
    * 
-   * @return the score.
+   * @return The event bus.
+   */
+  public GameEventBus getEventBus() {
+    return events;
+  }
+
+  /**
+   * An element collected for the current step, with its kind and its index in the list of its kind.
+   */
+  private static final class Entry {
+    private LevelElement element;
+    private ElementKind kind;
+    private int index;
+    private boolean removed;
+    private boolean touched;
+    private double hSpeed;
+    private double vSpeed;
+  }
+
+  /**
+   * Growable array of candidate pairs of one registration, each encoded as the index of the first
+   * element in the high half and the index of the second element in the low half of a long, so
+   * that sorting them yields the order of the level's lists.
    */
-  public ScoreCounter getScore() {
-    return score;
+  private static final class Bucket {
+    private long[] keys = new long[64];
+    private int size;
+
+    /**
+     * Add a pair.
+     * 
+     * @param first
+     *          The index of the first element.
+     * 
+     * @param second
+     *          The index of the second element.
+     */
+    private void add(int first, int second) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+      }
+      keys[size++] = ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Sort the pairs in the order of the level's lists.
+     */
+    private void sort() {
+      Arrays.sort(keys, 0, size);
+    }
+
+    /**
+     * Remove all pairs.
+     */
+    private void clear() {
+      size = 0;
+    }
   }
 
 }
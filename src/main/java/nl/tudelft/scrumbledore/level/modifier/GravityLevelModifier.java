@@ -62,7 +62,7 @@ public class GravityLevelModifier implements LevelModifier {
 
   /**
    * Pull down a LevelElement that is affected by Gravity by incrementing its vertical speed if it
-   * has not yet reached the maximal vertical speed.
+   * has not yet reached the maximal vertical speed. Elements that are asleep are left alone.
    * 
    * @param element
    *          A DynamicElement
@@ -75,7 +75,7 @@ public class GravityLevelModifier implements LevelModifier {
       return;
     }
 
-    if (!element.hasGravity()) {
+    if (!element.hasGravity() || element.isAsleep()) {
       return;
     }
 
@@ -16,7 +16,7 @@ import nl.tudelft.scrumbledore.level.element.LevelElement;
 public class KineticsLevelModifier implements LevelModifier {
 
   /**
-   * Update all elements in a given Level.
+   * Update all elements in a given Level, skipping the elements that are asleep.
    * 
    * @param level
    *          The level whose elements should be updated.
@@ -28,6 +28,9 @@ public class KineticsLevelModifier implements LevelModifier {
     ArrayList<LevelElement> elements = level.getDynamicElements();
     for (int i = 0; i < elements.size(); i++) {
       DynamicElement element = (DynamicElement) elements.get(i);
+      if (element.isAsleep()) {
+        continue;
+      }
       move(element, d);
       applyFriction(element, d);
     }
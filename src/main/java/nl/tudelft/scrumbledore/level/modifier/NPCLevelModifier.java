@@ -1,19 +1,74 @@
 package nl.tudelft.scrumbledore.level.modifier;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.FlowField;
 import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.NavigationGraph;
+import nl.tudelft.scrumbledore.level.NavigationLink;
 import nl.tudelft.scrumbledore.level.element.LevelElementAction;
 import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
 
 /**
- * Level Modifier that processes the actions to be performed on an NPC.
+ * Level Modifier that processes the actions to be performed on an NPC. NPCs standing on a platform
+ * are steered towards the nearest player they can reach, following a flow field over the
+ * navigation graph of the level. There is one flow field per player, shared by all NPCs, which is
+ * only computed again when that player moves to another block. Which way an NPC goes is decided by
+ * an AIScheduler, so only part of the NPCs make a new decision every step while the others follow
+ * their cached one. The graph is built again when the platforms of the level change, keeping the
+ * cached decisions, and is not built at all for levels without players. When NPCs leave the level, the decisions of the others are kept and the
+ * scheduler carries on where it was. The cached decisions are part of the state saved with a
+ * snapshot, so a rolled back simulation makes the same moves again.
  * 
  * @author David Alderliesten
  * @author Jesse Tilro
  * @author Niels Warnars
  */
 @SuppressWarnings("PMD.CyclomaticComplexity")
-public class NPCLevelModifier implements LevelModifier {
+public class NPCLevelModifier implements StatefulLevelModifier {
+  private static final byte LEFT = 1;
+  private static final byte RIGHT = 2;
+  private static final byte JUMP = 4;
+  private static final int STALE = -2;
+
+  private Level graphLevel;
+  private NavigationGraph graph;
+  private int graphVersion;
+  private int graphPlatforms;
+  private FlowField[] fields = new FlowField[0];
+  private final AIScheduler scheduler;
+  private final AITask planner;
+  private ArrayList<NPC> npcs;
+  private byte[] decisions = new byte[0];
+  private int[] decisionNodes = new int[0];
+  private final ArrayList<NPC> known = new ArrayList<NPC>();
+  private boolean restored;
+
+  /**
+   * Constructs a new NPCLevelModifier spreading decisions over the buckets configured in the
+   * Constants, without a time budget.
+   */
+  public NPCLevelModifier() {
+    this(new AIScheduler(Constants.AI_BUCKETS, 0));
+  }
+
+  /**
+   * Constructs a new NPCLevelModifier.
+   * 
+   * @param scheduler
+   *          The scheduler spreading the decisions of the NPCs over the steps.
+   */
+  public NPCLevelModifier(AIScheduler scheduler) {
+    this.scheduler = scheduler;
+    this.planner = new AITask() {
+      public void decide(int index) {
+        plan(index);
+      }
+    };
+  }
 
   /**
    * Make NPC's move in the given level.
@@ -25,8 +80,15 @@ public class NPCLevelModifier implements LevelModifier {
    *          The number of steps passed since this method was last called.
    */
   public void modify(Level level, double delta) {
+    updateFields(level);
+    npcs = level.getNPCs();
+    track();
+    scheduler.run(npcs.size(), planner);
+
+    for (int i = 0; i < npcs.size(); i++) {
+      NPC npc = npcs.get(i);
 
-    for (NPC npc : level.getNPCs()) {
+      steer(npc, i);
 
       if (npc.hasAction(LevelElementAction.Jump)) {
         npc.getSpeed().setY(-Constants.PLAYER_JUMP / 1.1);
@@ -46,4 +108,277 @@ public class NPCLevelModifier implements LevelModifier {
 
   }
 
+  /**
+   * Start over when another level is modified, build the navigation graph when the platforms of
+   * the level have changed, and compute the flow field of every player that has moved to another
+   * node since the last step. The flow fields of dead players are dropped, so that the NPCs no
+   * longer chase them. The nodes the cached decisions were made on belong to the old graph, so
+   * their jumps are left out until the NPCs decide again.
+   * 
+   * @param level
+   *          The level.
+   */
+  private void updateFields(Level level) {
+    if (level != graphLevel) {
+      graphLevel = level;
+      graph = null;
+      fields = new FlowField[0];
+      decisions = new byte[0];
+      decisionNodes = new int[0];
+      known.clear();
+      scheduler.reset();
+    }
+    if (level.getPlayers().isEmpty()) {
+      return;
+    }
+    if (graph == null || graphVersion != level.getPlatformVersion()
+        || graphPlatforms != level.getPlatforms().size()) {
+      graph = new NavigationGraph(level);
+      graphVersion = level.getPlatformVersion();
+      graphPlatforms = level.getPlatforms().size();
+      fields = new FlowField[0];
+      Arrays.fill(decisionNodes, STALE);
+    }
+
+    for (PlayerElement player : level.getPlayers()) {
+      int number = player.getPlayerNumber();
+      if (number < 0) {
+        continue;
+      }
+      if (!player.isAlive()) {
+        if (number < fields.length) {
+          fields[number] = null;
+        }
+        continue;
+      }
+      int node = graph.nodeAt(player.posX(), player.posY());
+      if (node < 0) {
+        continue;
+      }
+      if (number >= fields.length) {
+        fields = Arrays.copyOf(fields, number + 1);
+      }
+      if (fields[number] == null) {
+        fields[number] = new FlowField(graph);
+      }
+      if (fields[number].getTarget() != node) {
+        fields[number].compute(node);
+      }
+    }
+  }
+
+  /**
+   * Keep the cached decisions in line with the NPCs of the level. NPCs that left the level are
+   * dropped from the decisions, those that joined it start without one, and the scheduler cursor
+   * moves along to the same NPC it was at. Right after a restore the decisions belong to the NPCs
+   * of the restored level in order.
+   */
+  private void track() {
+    if (restored && decisions.length == npcs.size()) {
+      restored = false;
+      known.clear();
+      known.addAll(npcs);
+      return;
+    }
+    restored = false;
+    if (isKnown()) {
+      return;
+    }
+
+    byte[] keptDecisions = new byte[npcs.size()];
+    int[] keptNodes = new int[npcs.size()];
+    int cursor = scheduler.getCursor();
+    int next = -1;
+    int from = 0;
+    for (int i = 0; i < npcs.size(); i++) {
+      NPC npc = npcs.get(i);
+      int old = from;
+      while (old < known.size() && known.get(old) != npc) {
+        old++;
+      }
+      if (old < known.size()) {
+        keptDecisions[i] = decisions[old];
+        keptNodes[i] = decisionNodes[old];
+        if (next < 0 && old >= cursor) {
+          next = i;
+        }
+        from = old + 1;
+      } else {
+        keptNodes[i] = -1;
+      }
+    }
+
+    decisions = keptDecisions;
+    decisionNodes = keptNodes;
+    known.clear();
+    known.addAll(npcs);
+    if (next < 0) {
+      next = 0;
+    }
+    scheduler.setCursor(next);
+  }
+
+  /**
+   * Check whether the NPCs of the level are the ones the cached decisions belong to.
+   * 
+   * @return Whether the NPCs are unchanged.
+   */
+  private boolean isKnown() {
+    if (known.size() != npcs.size() || decisions.length != npcs.size()) {
+      return false;
+    }
+    for (int i = 0; i < npcs.size(); i++) {
+      if (known.get(i) != npcs.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Decide which way an NPC standing on a platform should go to reach the nearest player it can
+   * reach, following the flow field of that player. NPCs in the air, or without any player to
+   * reach, decide to keep the actions they already have.
+   * 
+   * @param index
+   *          The index of the NPC.
+   */
+  private void plan(int index) {
+    NPC npc = npcs.get(index);
+    decisions[index] = 0;
+    if (graph == null) {
+      return;
+    }
+    int node = graph.nodeAt(npc.posX(), npc.posY());
+    decisionNodes[index] = node;
+    if (npc.vSpeed() != 0 || node < 0) {
+      return;
+    }
+
+    FlowField nearest = null;
+    for (FlowField field : fields) {
+      if (field != null && field.getDistance(node) > 0 && (nearest == null
+          || field.getDistance(node) < nearest.getDistance(node))) {
+        nearest = field;
+      }
+    }
+    if (nearest == null) {
+      return;
+    }
+
+    int edge = nearest.getNextEdge(node);
+    int dc = graph.getColumn(graph.getEdgeTarget(edge)) - graph.getColumn(node);
+    byte decision = 0;
+    if (dc < 0) {
+      decision |= LEFT;
+    } else if (dc > 0) {
+      decision |= RIGHT;
+    }
+    if (graph.getEdgeLink(edge) == NavigationLink.Jump) {
+      decision |= JUMP;
+    }
+    decisions[index] = decision;
+  }
+
+  /**
+   * Steer an NPC standing on a platform by its cached decision. A jump is only made from the node
+   * the decision was made on, since the NPC may have moved on since.
+   * 
+   * @param npc
+   *          The NPC.
+   * 
+   * @param index
+   *          The index of the NPC.
+   */
+  private void steer(NPC npc, int index) {
+    byte decision = decisions[index];
+    if (decision == 0 || npc.vSpeed() != 0) {
+      return;
+    }
+    if ((decision & LEFT) != 0) {
+      npc.removeAction(LevelElementAction.MoveRight);
+      npc.addAction(LevelElementAction.MoveLeft);
+    } else if ((decision & RIGHT) != 0) {
+      npc.removeAction(LevelElementAction.MoveLeft);
+      npc.addAction(LevelElementAction.MoveRight);
+    }
+    if ((decision & JUMP) != 0
+        && graph.nodeAt(npc.posX(), npc.posY()) == decisionNodes[index]) {
+      npc.addAction(LevelElementAction.Jump);
+    }
+  }
+
+  /**
+   * Get the navigation graph of the level last modified.
+   * 
+   * @return The navigation graph, or null if no level with players has been modified yet.
+   */
+  public NavigationGraph getGraph() {
+    return graph;
+  }
+
+  /**
+   * Write the cached decisions and the position of the scheduler into a buffer. The decisions are
+   * first brought in line with the NPCs of the level, which may have changed since the last step.
+   * 
+   * @param out
+   *          The buffer to write to.
+   */
+  public void save(ByteBuffer out) {
+    if (npcs != null) {
+      track();
+    }
+    out.putInt(scheduler.getCursor());
+    out.putInt(decisions.length);
+    out.put(decisions);
+    for (int node : decisionNodes) {
+      out.putInt(node);
+    }
+  }
+
+  /**
+   * Read the cached decisions and the position of the scheduler from a buffer.
+   * 
+   * @param in
+   *          The buffer to read from.
+   */
+  public void restore(ByteBuffer in) {
+    scheduler.setCursor(in.getInt());
+    int count = in.getInt();
+    if (decisions.length != count) {
+      decisions = new byte[count];
+      decisionNodes = new int[count];
+    }
+    in.get(decisions);
+    for (int i = 0; i < count; i++) {
+      decisionNodes[i] = in.getInt();
+    }
+    known.clear();
+    restored = true;
+  }
+
+  /**
+   * Get the scheduler spreading the decisions of the NPCs over the steps.
+   * 
+   * @return The scheduler.
+   */
+  public AIScheduler getScheduler() {
+    return scheduler;
+  }
+
+  /**
+   * Get the flow field towards a player.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @return The flow field, or null if it has not been computed.
+   */
+  public FlowField getField(int player) {
+    if (player < 0 || player >= fields.length) {
+      return null;
+    }
+    return fields[player];
+  }
+
 }
@@ -2,18 +2,18 @@ package nl.tudelft.scrumbledore.level.modifier;
 
 import java.util.ArrayList;
 import nl.tudelft.scrumbledore.Constants;
-import nl.tudelft.scrumbledore.Logger;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventType;
+import nl.tudelft.scrumbledore.latency.InputLatency;
 import nl.tudelft.scrumbledore.level.Level;
 import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.level.element.Bubble;
 import nl.tudelft.scrumbledore.level.element.LevelElementAction;
-import nl.tudelft.scrumbledore.level.element.Player;
 import nl.tudelft.scrumbledore.level.element.PlayerElement;
-import nl.tudelft.scrumbledore.level.powerup.ChiliChicken;
-import nl.tudelft.scrumbledore.level.powerup.TurtleTaco;
 
 /**
- * Level Modifier that processes the actions to be performed on the Player.
+ * Level Modifier that processes the actions to be performed on the Player. The actions performed
+ * are published as gameplay events, which are logged off the simulation thread.
  * 
  * @author Jesse Tilro
  * @author David Alderliesten
@@ -21,9 +21,44 @@ import nl.tudelft.scrumbledore.level.powerup.TurtleTaco;
 @SuppressWarnings({ "PMD.StdCyclomaticComplexity", "PMD.ModifiedCyclomaticComplexity",
     "PMD.CyclomaticComplexity" })
 public class PlayerActionsLevelModifier implements LevelModifier {
+  private GameEventBus events;
+  private InputLatency latency;
 
   /**
-   * Process the actions to be performed on the Player.
+   * Constructs a new Player Actions Level Modifier without anyone listening to its events.
+   */
+  public PlayerActionsLevelModifier() {
+    this(new GameEventBus());
+  }
+
+  /**
+   * Constructs a new Player Actions Level Modifier publishing on a given event bus.
+   * 
+   * @param events
+   *          The bus to publish gameplay events on.
+   */
+  public PlayerActionsLevelModifier(GameEventBus events) {
+    this(events, new InputLatency());
+  }
+
+  /**
+   * Constructs a new Player Actions Level Modifier publishing on a given event bus and stamping
+   * the key presses it applies.
+   * 
+   * @param events
+   *          The bus to publish gameplay events on.
+   * 
+   * @param latency
+   *          The input latency measurement to stamp applied key presses in.
+   */
+  public PlayerActionsLevelModifier(GameEventBus events, InputLatency latency) {
+    this.events = events;
+    this.latency = latency;
+  }
+
+  /**
+   * Process the actions to be performed on the Player, stamping the key presses of the living
+   * players as applied.
    * 
    * @param level
    *          The level in which the player actions need to be processed.
@@ -31,35 +66,19 @@ public class PlayerActionsLevelModifier implements LevelModifier {
    * @param delta
    *          The number of steps passed since the last execution of this method.
    */
-  @SuppressWarnings("checkstyle:methodlength")
   public void modify(Level level, double delta) {
     ArrayList<PlayerElement> players = level.getPlayers();
+    long now = System.nanoTime();
 
     for (int i = 0; i < players.size(); i++) {
       PlayerElement player = players.get(i);
       if (player.isAlive()) {
+        latency.applied(player.getPlayerNumber(), now);
         checkStopMovement(player);
-        checkHorizontalMovement(player);
+        checkHorizontalMovement(player,
+            level.getEffects().getSpeedMultiplier(player.getPlayerNumber()));
         checkShooting(player, level);
 
-        if (player instanceof ChiliChicken || player instanceof TurtleTaco) {
-          if (player.getLifetime() <= 0) {
-            try {
-              PlayerElement newP = new Player(player.getPosition().clone(),
-                  new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE));
-              for (int j = 0; j < player.getActions().size(); j++) {
-                newP.addAction(player.getActions().get(j));
-              }
-              players.remove(i);
-              players.add(i, newP);
-            } catch (CloneNotSupportedException e) {
-              e.printStackTrace();
-            }
-          } else {
-            player.decreaseLifetime(delta);
-          }
-        }
-
         if (player.hasAction(LevelElementAction.ShootStop)) {
           player.setFiring(false);
           player.removeAction(LevelElementAction.ShootStop);
@@ -67,10 +86,7 @@ public class PlayerActionsLevelModifier implements LevelModifier {
 
         if (player.hasAction(LevelElementAction.Jump) && player.vSpeed() == 0) {
           player.getSpeed().setY(-1 * Constants.PLAYER_JUMP);
-
-          if (Constants.isLoggingWantInput()) {
-            Logger.getInstance().log("Player performed the jump action.");
-          }
+          events.publish(GameEventType.PlayerJumped, player.getPlayerNumber(), -1, player, 0);
         }
 
         player.removeAction(LevelElementAction.MoveStop);
@@ -86,31 +102,19 @@ public class PlayerActionsLevelModifier implements LevelModifier {
    * 
    * @param player
    *          Player to be checked.
+   * 
+   * @param multiplier
+   *          The factor the status effects of the player multiply its speed by.
    */
-  public void checkHorizontalMovement(PlayerElement player) {
+  public void checkHorizontalMovement(PlayerElement player, double multiplier) {
     if (player.hasAction(LevelElementAction.MoveLeft)) {
-      if (player instanceof ChiliChicken) {
-        player.getSpeed().setX(-1 * Constants.PLAYER_SPEED * Constants.PLAYER_CHILI_MULTIPLIER);
-      } else {
-        player.getSpeed().setX(-1 * Constants.PLAYER_SPEED);
-      }
-
-      if (Constants.isLoggingWantInput()) {
-        Logger.getInstance().log("Player performed the move left action.");
-      }
+      player.getSpeed().setX(-1 * Constants.PLAYER_SPEED * multiplier);
+      events.publish(GameEventType.PlayerMoved, player.getPlayerNumber(), -1, player, -1);
     }
 
     if (player.hasAction(LevelElementAction.MoveRight)) {
-      if (player instanceof ChiliChicken) {
-        player.getSpeed().setX(Constants.PLAYER_SPEED * Constants.PLAYER_CHILI_MULTIPLIER);
-      } else {
-        player.getSpeed().setX(Constants.PLAYER_SPEED);
-
-      }
-
-      if (Constants.isLoggingWantInput()) {
-        Logger.getInstance().log("Player performed the move right action.");
-      }
+      player.getSpeed().setX(Constants.PLAYER_SPEED * multiplier);
+      events.publish(GameEventType.PlayerMoved, player.getPlayerNumber(), -1, player, 1);
     }
   }
 
@@ -123,10 +127,7 @@ public class PlayerActionsLevelModifier implements LevelModifier {
   public void checkStopMovement(PlayerElement player) {
     if (player.hasAction(LevelElementAction.MoveStop)) {
       player.getSpeed().setX(0);
-
-      if (Constants.isLoggingWantInput()) {
-        Logger.getInstance().log("Player stopped moving.");
-      }
+      events.publish(GameEventType.PlayerStopped, player.getPlayerNumber(), -1, player, 0);
     }
   }
 
@@ -157,6 +158,13 @@ public class PlayerActionsLevelModifier implements LevelModifier {
 
         projectiles.add(newBubble);
         checkShootingDirection(player, newBubble);
+
+        int direction = 1;
+        if (player.getLastMove() == LevelElementAction.MoveLeft) {
+          direction = -1;
+        }
+        events.publish(GameEventType.PlayerShot, player.getPlayerNumber(), -1, newBubble,
+            direction);
       }
       player.setFiring(true);
     }
@@ -174,14 +182,8 @@ public class PlayerActionsLevelModifier implements LevelModifier {
    */
   public static void checkShootingDirection(PlayerElement player, Bubble projectile) {
     if (player.getLastMove() == LevelElementAction.MoveLeft) {
-      if (Constants.isLoggingWantShooting()) {
-        Logger.getInstance().log("Player shot in the left direction.");
-      }
       projectile.addAction(LevelElementAction.MoveLeft);
     } else {
-      if (Constants.isLoggingWantShooting()) {
-        Logger.getInstance().log("Player shot in the right direction.");
-      }
       projectile.addAction(LevelElementAction.MoveRight);
     }
   }
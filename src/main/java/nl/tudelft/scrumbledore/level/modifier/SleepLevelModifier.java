@@ -0,0 +1,115 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.BasicDynamicElement;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Platform;
+
+/**
+ * Puts fruits and NPCs that have come to rest to sleep, so that gravity, kinetics and collisions
+ * can skip them. An element falls asleep once its speed has been zero and it has stood on the same
+ * platform without any queued actions for a number of steps. It is woken up again by an action, by
+ * a touching player or by the removal of the platform it stands on. Should be registered after the
+ * modifiers that move the elements.
+ * 
+ * @author Jesse Tilro
+ */
+public class SleepLevelModifier implements LevelModifier {
+  private final int steps;
+  private int platforms;
+
+  /**
+   * Constructs a new Sleep Level Modifier putting elements to sleep after a given number of resting
+   * steps.
+   * 
+   * @param steps
+   *          The number of resting steps.
+   */
+  public SleepLevelModifier(int steps) {
+    this.steps = steps;
+    this.platforms = -1;
+  }
+
+  /**
+   * Constructs a new Sleep Level Modifier using the constant number of resting steps.
+   */
+  public SleepLevelModifier() {
+    this(Constants.SLEEP_STEPS);
+  }
+
+  /**
+   * Update the resting state of the fruits and NPCs in a given Level.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @param delta
+   *          The number of steps since last executing this function.
+   */
+  public void modify(Level level, double delta) {
+    int count = level.getPlatforms().size();
+    if (count != platforms) {
+      wakeUnsupported(level);
+      platforms = count;
+    }
+
+    for (Fruit fruit : level.getFruits()) {
+      fruit.settle(steps);
+    }
+    for (NPC npc : level.getNPCs()) {
+      npc.settle(steps);
+    }
+  }
+
+  /**
+   * Wake up the sleeping elements whose supporting platform is no longer part of a given Level.
+   * 
+   * @param level
+   *          The level.
+   */
+  protected void wakeUnsupported(Level level) {
+    Set<LevelElement> present = Collections
+        .newSetFromMap(new IdentityHashMap<LevelElement, Boolean>());
+    for (Platform platform : level.getPlatforms()) {
+      present.add(platform);
+    }
+
+    for (Fruit fruit : level.getFruits()) {
+      wakeUnsupported(fruit, present);
+    }
+    for (NPC npc : level.getNPCs()) {
+      wakeUnsupported(npc, present);
+    }
+  }
+
+  /**
+   * Wake up an element if it is asleep on a platform that is no longer present.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param present
+   *          The platforms that are present.
+   */
+  private void wakeUnsupported(BasicDynamicElement element, Set<LevelElement> present) {
+    if (element.isAsleep() && !present.contains(element.getSupport())) {
+      element.wake();
+    }
+  }
+
+  /**
+   * Get the number of resting steps after which elements fall asleep.
+   * 
+   * @return The number of steps.
+   */
+  public int getSteps() {
+    return steps;
+  }
+
+}
@@ -0,0 +1,31 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A LevelModifier keeping state of its own from step to step that influences the simulation, such
+ * as cached decisions. Its state is saved and restored next to a snapshot of the level, so a
+ * simulation rolled back to that snapshot continues exactly as it did the first time.
+ * 
+ * @author Jesse Tilro
+ */
+public interface StatefulLevelModifier extends LevelModifier {
+
+  /**
+   * Write the state of the modifier into a buffer at its current position.
+   * 
+   * @param out
+   *          The buffer to write to.
+   */
+  void save(ByteBuffer out);
+
+  /**
+   * Read the state of the modifier from a buffer at its current position, as written by
+   * {@link #save(ByteBuffer)}.
+   * 
+   * @param in
+   *          The buffer to read from.
+   */
+  void restore(ByteBuffer in);
+
+}
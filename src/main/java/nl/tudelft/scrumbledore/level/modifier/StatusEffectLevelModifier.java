@@ -0,0 +1,25 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import nl.tudelft.scrumbledore.level.Level;
+
+/**
+ * Level Modifier counting down the status effects of the players in a level.
+ * 
+ * @author Jesse Tilro
+ */
+public class StatusEffectLevelModifier implements LevelModifier {
+
+  /**
+   * Count down the status effects of the players.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @param delta
+   *          The number of steps passed since the last execution of this method.
+   */
+  public void modify(Level level, double delta) {
+    level.getEffects().tick(delta);
+  }
+
+}
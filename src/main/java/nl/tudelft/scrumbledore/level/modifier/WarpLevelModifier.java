@@ -24,47 +24,90 @@ public class WarpLevelModifier implements LevelModifier {
    */
   public void modify(Level level, double delta) {
     for (LevelElement element : level.getDynamicElements()) {
-      warp(element);
+      warp(element, level.getWidth(), level.getHeight());
     }
   }
 
   /**
-   * Warp a LeveElement both in horizontal and vertical direction.
+   * Warp a LeveElement both in horizontal and vertical direction, through the boundaries of a level
+   * of the default size.
    * 
    * @param element
    *          The LevelElement to be warped.
    */
   public void warp(LevelElement element) {
-    warpVertically(element);
-    warpHorizontally(element);
+    warp(element, Constants.LEVELX, Constants.LEVELY);
   }
 
   /**
-   * Warp a Level Element through the vertical boundaries of the level.
+   * Warp a LeveElement both in horizontal and vertical direction.
+   * 
+   * @param element
+   *          The LevelElement to be warped.
+   * 
+   * @param width
+   *          The width of the level.
+   * 
+   * @param height
+   *          The height of the level.
+   */
+  public void warp(LevelElement element, double width, double height) {
+    warpVertically(element, height);
+    warpHorizontally(element, width);
+  }
+
+  /**
+   * Warp a Level Element through the vertical boundaries of a level of the default size.
    * 
    * @param element
    *          The Level Element to be warped.
    */
   public void warpVertically(LevelElement element) {
+    warpVertically(element, Constants.LEVELY);
+  }
+
+  /**
+   * Warp a Level Element through the vertical boundaries of the level.
+   * 
+   * @param element
+   *          The Level Element to be warped.
+   * 
+   * @param height
+   *          The height of the level.
+   */
+  public void warpVertically(LevelElement element, double height) {
     double offset = element.height() / 2;
     if (element.posY() < -offset) {
-      element.getPosition().setY(Constants.LEVELY + offset);
-    } else if (element.posY() > Constants.LEVELY + offset) {
+      element.getPosition().setY(height + offset);
+    } else if (element.posY() > height + offset) {
       element.getPosition().setY(-offset);
     }
   }
 
   /**
-   * Warp a Level Element through the horizontal boundaries of the level.
+   * Warp a Level Element through the horizontal boundaries of a level of the default size.
    * 
    * @param element
    *          The Level Element to be warped.
    */
   public void warpHorizontally(LevelElement element) {
+    warpHorizontally(element, Constants.LEVELX);
+  }
+
+  /**
+   * Warp a Level Element through the horizontal boundaries of the level.
+   * 
+   * @param element
+   *          The Level Element to be warped.
+   * 
+   * @param width
+   *          The width of the level.
+   */
+  public void warpHorizontally(LevelElement element, double width) {
     double offset = -element.width() / 2;
     if (element.posX() < -offset) {
-      element.getPosition().setX(Constants.LEVELX + offset);
-    } else if (element.posX() > Constants.LEVELX + offset) {
+      element.getPosition().setX(width + offset);
+    } else if (element.posX() > width + offset) {
       element.getPosition().setX(-offset);
     }
   }
@@ -26,6 +26,11 @@ public class ChiliChickenPickUp extends PowerupPickUp {
     super(position, size);
   }
 
+  @Override
+  public StatusEffect getEffect() {
+    return StatusEffect.Chili;
+  }
+
   @Override
   public ArrayList<Sprite> getSprites(double steps) {
     SpriteStore store = SpriteStore.getInstance();
@@ -23,4 +23,11 @@ public abstract class PowerupPickUp extends BasicDynamicElement {
     super(position, size);
   }
 
+  /**
+   * Get the status effect the power-up has on the player picking it up.
+   * 
+   * @return The status effect.
+   */
+  public abstract StatusEffect getEffect();
+
 }
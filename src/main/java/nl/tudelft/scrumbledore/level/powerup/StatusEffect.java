@@ -0,0 +1,92 @@
+package nl.tudelft.scrumbledore.level.powerup;
+
+import nl.tudelft.scrumbledore.Constants;
+
+/**
+ * Enumeration of the timed effects a power-up can have on a player. Every effect describes what it
+ * does through plain properties, so adding a power-up comes down to adding a constant here and a
+ * pick-up returning it.
+ * 
+ * @author Jesse Tilro
+ */
+public enum StatusEffect {
+  Chili(Constants.PLAYER_POWERUP_LIFETIME / Constants.CHILI_LIFETIME_MULTIPLIER,
+      Constants.PLAYER_CHILI_MULTIPLIER, false, "fire-yellow"),
+  Taco(Constants.PLAYER_POWERUP_LIFETIME / Constants.TURTLE_LIFETIME_MULTIPLIER, 1, true,
+      "fire-green");
+
+  private final int flag;
+  private final double duration;
+  private final double speedMultiplier;
+  private final boolean invincible;
+  private final String sprite;
+
+  /**
+   * Constructs a new StatusEffect.
+   * 
+   * @param duration
+   *          The number of steps a single stack of the effect lasts.
+   * 
+   * @param speedMultiplier
+   *          The factor the horizontal speed of the player is multiplied by.
+   * 
+   * @param invincible
+   *          Whether enemies can not harm the player.
+   * 
+   * @param sprite
+   *          The id of the animated sprite drawn behind the player.
+   */
+  StatusEffect(double duration, double speedMultiplier, boolean invincible, String sprite) {
+    this.flag = 1 << ordinal();
+    this.duration = duration;
+    this.speedMultiplier = speedMultiplier;
+    this.invincible = invincible;
+    this.sprite = sprite;
+  }
+
+  /**
+   * Get the bit representing the effect in a set of flags.
+   * 
+   * @return The flag.
+   */
+  public int getFlag() {
+    return flag;
+  }
+
+  /**
+   * Get the number of steps a single stack of the effect lasts.
+   * 
+   * @return The duration.
+   */
+  public double getDuration() {
+    return duration;
+  }
+
+  /**
+   * Get the factor the horizontal speed of the player is multiplied by.
+   * 
+   * @return The speed multiplier.
+   */
+  public double getSpeedMultiplier() {
+    return speedMultiplier;
+  }
+
+  /**
+   * Check whether the effect protects the player from enemies.
+   * 
+   * @return Whether the player is invincible.
+   */
+  public boolean isInvincible() {
+    return invincible;
+  }
+
+  /**
+   * Get the id of the animated sprite drawn behind the player.
+   * 
+   * @return The sprite id.
+   */
+  public String getSprite() {
+    return sprite;
+  }
+
+}
@@ -0,0 +1,237 @@
+package nl.tudelft.scrumbledore.level.powerup;
+
+import java.util.Arrays;
+import nl.tudelft.scrumbledore.Constants;
+
+/**
+ * The status effects of all players in a level, kept in flat arrays indexed by player number. Each
+ * player has a set of flags telling which effects are active and, per effect, the number of steps
+ * it remains active. Applying an effect again stacks it by extending its remaining time, up to
+ * Constants.EFFECT_MAX_STACKS times its duration. The effects are counted down centrally by
+ * calling {@link #tick(double)} once per step.
+ * 
+ * @author Jesse Tilro
+ */
+public final class StatusEffects {
+  private static final StatusEffect[] EFFECTS = StatusEffect.values();
+  private static final int INVINCIBLE;
+
+  static {
+    int mask = 0;
+    for (StatusEffect effect : EFFECTS) {
+      if (effect.isInvincible()) {
+        mask |= effect.getFlag();
+      }
+    }
+    INVINCIBLE = mask;
+  }
+
+  private int[] flags;
+  private double[] remaining;
+
+  /**
+   * Constructs a new StatusEffects table without any active effects.
+   */
+  public StatusEffects() {
+    this(2);
+  }
+
+  /**
+   * Constructs a new StatusEffects table without any active effects.
+   * 
+   * @param players
+   *          The number of players to reserve room for.
+   */
+  public StatusEffects(int players) {
+    this.flags = new int[Math.max(1, players)];
+    this.remaining = new double[flags.length * EFFECTS.length];
+  }
+
+  /**
+   * Make room for a player number.
+   * 
+   * @param player
+   *          The player number.
+   */
+  private void ensure(int player) {
+    if (player >= flags.length) {
+      int size = Math.max(player + 1, flags.length * 2);
+      flags = Arrays.copyOf(flags, size);
+      remaining = Arrays.copyOf(remaining, size * EFFECTS.length);
+    }
+  }
+
+  /**
+   * Apply an effect to a player, or stack it if it is already active.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @param effect
+   *          The effect.
+   */
+  public void apply(int player, StatusEffect effect) {
+    ensure(player);
+    int slot = player * EFFECTS.length + effect.ordinal();
+    double max = effect.getDuration() * Constants.EFFECT_MAX_STACKS;
+    remaining[slot] = Math.min(remaining[slot] + effect.getDuration(), max);
+    flags[player] |= effect.getFlag();
+  }
+
+  /**
+   * Check whether an effect is active on a player.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @param effect
+   *          The effect.
+   * 
+   * @return Whether the effect is active.
+   */
+  public boolean has(int player, StatusEffect effect) {
+    return (getFlags(player) & effect.getFlag()) != 0;
+  }
+
+  /**
+   * Get the flags of the effects active on a player.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @return The flags of the active effects.
+   */
+  public int getFlags(int player) {
+    if (player < 0 || player >= flags.length) {
+      return 0;
+    }
+    return flags[player];
+  }
+
+  /**
+   * Check whether an active effect protects a player from enemies.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @return Whether the player is invincible.
+   */
+  public boolean isInvincible(int player) {
+    return (getFlags(player) & INVINCIBLE) != 0;
+  }
+
+  /**
+   * Get the factor the horizontal speed of a player is multiplied by, combining all active effects.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @return The speed multiplier.
+   */
+  public double getSpeedMultiplier(int player) {
+    int active = getFlags(player);
+    double multiplier = 1;
+    for (int i = 0; active != 0 && i < EFFECTS.length; i++) {
+      if ((active & EFFECTS[i].getFlag()) != 0) {
+        multiplier *= EFFECTS[i].getSpeedMultiplier();
+      }
+    }
+    return multiplier;
+  }
+
+  /**
+   * Get the number of steps an effect remains active on a player.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @param effect
+   *          The effect.
+   * 
+   * @return The remaining steps, zero if the effect is not active.
+   */
+  public double getRemaining(int player, StatusEffect effect) {
+    if (!has(player, effect)) {
+      return 0;
+    }
+    return remaining[player * EFFECTS.length + effect.ordinal()];
+  }
+
+  /**
+   * Get the number of stacks of an effect on a player.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @param effect
+   *          The effect.
+   * 
+   * @return The number of stacks, zero if the effect is not active.
+   */
+  public int getStacks(int player, StatusEffect effect) {
+    return (int) Math.ceil(getRemaining(player, effect) / effect.getDuration());
+  }
+
+  /**
+   * Set the number of steps an effect remains active on a player, used when restoring a snapshot.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @param effect
+   *          The effect.
+   * 
+   * @param steps
+   *          The remaining steps, zero or less to end the effect.
+   */
+  public void setRemaining(int player, StatusEffect effect, double steps) {
+    ensure(player);
+    int slot = player * EFFECTS.length + effect.ordinal();
+    if (steps > 0) {
+      remaining[slot] = steps;
+      flags[player] |= effect.getFlag();
+    } else {
+      remaining[slot] = 0;
+      flags[player] &= ~effect.getFlag();
+    }
+  }
+
+  /**
+   * End all effects of all players.
+   */
+  public void clear() {
+    Arrays.fill(flags, 0);
+    Arrays.fill(remaining, 0);
+  }
+
+  /**
+   * Count down the active effects of all players, ending the ones that run out.
+   * 
+   * @param delta
+   *          The number of steps passed.
+   * 
+   * @return The number of effects that ended.
+   */
+  public int tick(double delta) {
+    int ended = 0;
+    for (int player = 0; player < flags.length; player++) {
+      int active = flags[player];
+      if (active == 0) {
+        continue;
+      }
+      int base = player * EFFECTS.length;
+      for (int i = 0; i < EFFECTS.length; i++) {
+        if ((active & EFFECTS[i].getFlag()) != 0) {
+          remaining[base + i] -= delta;
+          if (remaining[base + i] <= 0) {
+            remaining[base + i] = 0;
+            flags[player] &= ~EFFECTS[i].getFlag();
+            ended++;
+          }
+        }
+      }
+    }
+    return ended;
+  }
+
+}
@@ -25,6 +25,11 @@ public class TurtleTacoPickUp extends PowerupPickUp {
     super(position, size);
   }
 
+  @Override
+  public StatusEffect getEffect() {
+    return StatusEffect.Taco;
+  }
+
   @Override
   public ArrayList<Sprite> getSprites(double steps) {
     SpriteStore store = SpriteStore.getInstance();
@@ -0,0 +1,356 @@
+package nl.tudelft.scrumbledore.net;
+
+import java.io.IOException;
+import java.net.PortUnreachableException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.BitReader;
+import nl.tudelft.scrumbledore.game.DeltaStateCodec;
+import nl.tudelft.scrumbledore.game.WorldState;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
+import nl.tudelft.scrumbledore.replay.InputRecording;
+
+/**
+ * Client of a GameServer, mirroring the game run by the server in a local Game. Attached as the
+ * only Level Modifier of that Game, every step it sends the actions of the local player to the
+ * server and replaces the local state by the newest state received, so the game can be displayed
+ * as usual while the simulation happens on the server. The actions of the local player are kept
+ * across received states, since the server may not have seen them yet. The states of the last
+ * ticks are kept to decode the delta encoded states against.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameClient implements LevelModifier {
+  private final Game game;
+  private final DatagramChannel channel;
+  private final SocketAddress server;
+  private final LinkConditioner link;
+  private final ByteBuffer in;
+  private final ByteBuffer out;
+  private final WorldState[] history;
+  private final BitReader bits;
+  private WorldState latest;
+  private int playerNumber;
+  private int sequence;
+  private int tick;
+  private int baseline;
+  private boolean pending;
+  private boolean welcomed;
+  private long states;
+  private long unreachable;
+
+  /**
+   * Constructs a new GameClient, sending over a perfect link.
+   * 
+   * @param game
+   *          The local game mirroring the game on the server.
+   * 
+   * @param server
+   *          The address of the server.
+   * 
+   * @throws IOException
+   *           When the channel can not be opened.
+   */
+  public GameClient(Game game, SocketAddress server) throws IOException {
+    this(game, server, new LinkConditioner());
+  }
+
+  /**
+   * Constructs a new GameClient.
+   * 
+   * @param game
+   *          The local game mirroring the game on the server.
+   * 
+   * @param server
+   *          The address of the server.
+   * 
+   * @param link
+   *          The conditioner through which packets are sent.
+   * 
+   * @throws IOException
+   *           When the channel can not be opened.
+   */
+  public GameClient(Game game, SocketAddress server, LinkConditioner link) throws IOException {
+    this.game = game;
+    this.server = server;
+    this.link = link;
+    this.in = ByteBuffer.allocateDirect(NetProtocol.MAX_PACKET);
+    this.out = ByteBuffer.allocateDirect(NetProtocol.MAX_PACKET);
+    this.history = new WorldState[Constants.NET_HISTORY];
+    for (int i = 0; i < history.length; i++) {
+      history[i] = new WorldState();
+    }
+    this.bits = new BitReader();
+    this.playerNumber = -1;
+    this.tick = -1;
+    this.baseline = -1;
+
+    this.channel = DatagramChannel.open();
+    channel.configureBlocking(false);
+    channel.connect(server);
+  }
+
+  /**
+   * Connect a given Game to a server, replacing its Level Modifiers by a new client, and ask to
+   * join the game.
+   * 
+   * @param game
+   *          The local game.
+   * 
+   * @param server
+   *          The address of the server.
+   * 
+   * @return The client.
+   * 
+   * @throws IOException
+   *           When the server can not be reached.
+   */
+  public static GameClient attach(Game game, SocketAddress server) throws IOException {
+    GameClient client = new GameClient(game, server);
+    game.getModifiers().clear();
+    game.registerLevelModifier(client);
+    client.hello();
+    return client;
+  }
+
+  /**
+   * Ask the server to join the game.
+   * 
+   * @throws IOException
+   *           When the packet can not be sent.
+   */
+  public void hello() throws IOException {
+    NetProtocol.begin(out, NetProtocol.HELLO);
+    out.flip();
+    link.send(channel, out, server, System.nanoTime());
+  }
+
+  /**
+   * Send the action mask of the local player.
+   * 
+   * @param mask
+   *          The action mask.
+   * 
+   * @throws IOException
+   *           When the packet can not be sent.
+   */
+  public void sendInput(int mask) throws IOException {
+    NetProtocol.begin(out, NetProtocol.INPUT);
+    out.putInt(++sequence);
+    out.putInt(mask);
+    out.putInt(tick);
+    out.flip();
+    link.send(channel, out, server, System.nanoTime());
+  }
+
+  /**
+   * Handle all packets that have arrived, keeping the newest state received.
+   * 
+   * @return The number of packets handled.
+   * 
+   * @throws IOException
+   *           When the channel can not be read.
+   */
+  public int poll() throws IOException {
+    int handled = 0;
+    try {
+      in.clear();
+      while (channel.read(in) > 0) {
+        in.flip();
+        handle();
+        handled++;
+        in.clear();
+      }
+    } catch (PortUnreachableException e) {
+      unreachable++;
+    }
+    link.flush(channel, System.nanoTime());
+    return handled;
+  }
+
+  /**
+   * Handle a received packet.
+   */
+  private void handle() {
+    byte type = NetProtocol.readType(in);
+    if (type == NetProtocol.WELCOME && in.remaining() >= 4) {
+      playerNumber = in.getInt();
+      welcomed = true;
+    } else if (type == NetProtocol.STATE && in.remaining() >= 8) {
+      int received = in.getInt();
+      int base = in.getInt();
+      if (received <= tick) {
+        return;
+      }
+      WorldState reference = null;
+      if (base >= 0) {
+        reference = history[base % history.length];
+        if (reference.getTick() != base) {
+          return;
+        }
+      }
+      WorldState state = history[received % history.length];
+      bits.reset(in);
+      DeltaStateCodec.decode(reference, bits, state);
+      state.setTick(received);
+      tick = received;
+      baseline = base;
+      latest = state;
+      pending = true;
+    }
+  }
+
+  /**
+   * Apply the newest state received to the local game, if there is one.
+   * 
+   * @return Whether a state was applied.
+   */
+  public boolean apply() {
+    if (!pending) {
+      return false;
+    }
+    latest.apply(game);
+    pending = false;
+    states++;
+    return true;
+  }
+
+  /**
+   * Send the actions of the local player and mirror the newest state of the server.
+   * 
+   * @param level
+   *          The current level of the local game.
+   * 
+   * @param delta
+   *          The number of steps passed since the last execution of this method.
+   */
+  public void modify(Level level, double delta) {
+    try {
+      poll();
+      PlayerElement player = findPlayer(level);
+      int mask = 0;
+      if (player != null) {
+        mask = InputRecording.toMask(player);
+        sendInput(mask);
+      }
+      if (apply()) {
+        player = findPlayer(game.getCurrentLevel());
+        if (player != null) {
+          InputRecording.applyMask(player, mask);
+        }
+      }
+    } catch (PortUnreachableException e) {
+      unreachable++;
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Find the local player in a level.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @return The player, or null if the client has not joined or the player is not in the level.
+   */
+  private PlayerElement findPlayer(Level level) {
+    if (playerNumber < 0) {
+      return null;
+    }
+    for (PlayerElement player : level.getPlayers()) {
+      if (player.getPlayerNumber() == playerNumber) {
+        return player;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Tell the server the client leaves and close the channel.
+   * 
+   * @throws IOException
+   *           When the channel can not be closed.
+   */
+  public void close() throws IOException {
+    NetProtocol.begin(out, NetProtocol.BYE);
+    out.flip();
+    try {
+      link.send(channel, out, server, System.nanoTime());
+    } catch (PortUnreachableException e) {
+      unreachable++;
+    }
+    channel.close();
+  }
+
+  /**
+   * Get the player number assigned by the server.
+   * 
+   * @return The player number, or -1 if the client has not joined.
+   */
+  public int getPlayerNumber() {
+    return playerNumber;
+  }
+
+  /**
+   * Check whether the server has answered the request to join, with a player number or with -1 if
+   * the game is full.
+   * 
+   * @return Whether the client has been welcomed.
+   */
+  public boolean isWelcomed() {
+    return welcomed;
+  }
+
+  /**
+   * Get the tick of the newest state received.
+   * 
+   * @return The tick, or -1 if no state has been received.
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Get the tick of the state the newest state received was encoded against.
+   * 
+   * @return The tick, or -1 if it was sent in full.
+   */
+  public int getBaseline() {
+    return baseline;
+  }
+
+  /**
+   * Get the number of states applied to the local game.
+   * 
+   * @return The number of states.
+   */
+  public long getStates() {
+    return states;
+  }
+
+  /**
+   * Get the number of times the server turned out to be unreachable, for instance because it was
+   * not up yet.
+   * 
+   * @return The number of times.
+   */
+  public long getUnreachable() {
+    return unreachable;
+  }
+
+  /**
+   * Get the conditioner through which packets are sent.
+   * 
+   * @return The link conditioner.
+   */
+  public LinkConditioner getLink() {
+    return link;
+  }
+
+}
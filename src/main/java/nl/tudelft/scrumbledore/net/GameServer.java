@@ -0,0 +1,490 @@
+package nl.tudelft.scrumbledore.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.game.BitWriter;
+import nl.tudelft.scrumbledore.game.DeltaStateCodec;
+import nl.tudelft.scrumbledore.game.WorldState;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.replay.InputRecording;
+
+/**
+ * Headless, authoritative server running a Game for remote players. A single thread serves all
+ * clients from one non-blocking datagram channel and a selector: between steps it receives the
+ * input of the clients, every step it applies that input to their players, steps the game and
+ * sends a snapshot of the new state to every client. The buffers for receiving and sending are
+ * allocated once and reused for every packet.
+ * 
+ * <p>
+ * A client joins by saying hello and is given the number of a player in the current level that is
+ * not taken yet. The input of a client is its action mask, sent every step with a sequence number,
+ * so a lost packet is made up for by the next one. The mask is only applied to the player when it
+ * differs from the one applied last, which keeps actions that are consumed by the simulation, such
+ * as shooting, from being repeated. A client saying hello again starts over with a clean input
+ * state, and a client that has not been heard from for Constants.NET_TIMEOUT steps is dropped.
+ * </p>
+ * 
+ * <p>
+ * The states of the last steps are kept, and every client acknowledges the newest state it
+ * received with its input. The state sent to a client is delta encoded against the state it
+ * acknowledged, or sent in full when that state is no longer kept. The NPCs decide without a time
+ * budget, so that the decisions they make do not depend on the load of the server.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class GameServer {
+  public static final double FIXED_DELTA = 1.0;
+
+  private final Game game;
+  private final DatagramChannel channel;
+  private final Selector selector;
+  private final LinkConditioner link;
+  private final ByteBuffer in;
+  private final ByteBuffer out;
+  private final SocketAddress[] clients;
+  private final int[] sequences;
+  private final int[] masks;
+  private final int[] applied;
+  private final int[] acks;
+  private final int[] heard;
+  private final WorldState[] history;
+  private final BitWriter bits;
+  private long received;
+  private long oversized;
+  private volatile boolean running;
+
+  /**
+   * Constructs a new GameServer on a given port, sending over a perfect link.
+   * 
+   * @param game
+   *          The game to run.
+   * 
+   * @param port
+   *          The port to listen on, 0 for any free port.
+   * 
+   * @throws IOException
+   *           When the port can not be opened.
+   */
+  public GameServer(Game game, int port) throws IOException {
+    this(game, port, new LinkConditioner());
+  }
+
+  /**
+   * Constructs a new GameServer on a given port.
+   * 
+   * @param game
+   *          The game to run.
+   * 
+   * @param port
+   *          The port to listen on, 0 for any free port.
+   * 
+   * @param link
+   *          The conditioner through which packets are sent.
+   * 
+   * @throws IOException
+   *           When the port can not be opened.
+   */
+  public GameServer(Game game, int port, LinkConditioner link) throws IOException {
+    this.game = game;
+    this.link = link;
+    this.in = ByteBuffer.allocateDirect(NetProtocol.MAX_PACKET);
+    this.out = ByteBuffer.allocateDirect(NetProtocol.MAX_PACKET);
+    this.clients = new SocketAddress[Constants.NET_MAX_CLIENTS];
+    this.sequences = new int[clients.length];
+    this.masks = new int[clients.length];
+    this.applied = new int[clients.length];
+    this.acks = new int[clients.length];
+    this.heard = new int[clients.length];
+    this.history = new WorldState[Constants.NET_HISTORY];
+    for (int i = 0; i < history.length; i++) {
+      history[i] = new WorldState();
+    }
+    this.bits = new BitWriter();
+    game.setAIBudget(0);
+
+    this.channel = DatagramChannel.open();
+    channel.configureBlocking(false);
+    channel.bind(new InetSocketAddress(port));
+    this.selector = Selector.open();
+    channel.register(selector, SelectionKey.OP_READ);
+  }
+
+  /**
+   * Get the port the server listens on.
+   * 
+   * @return The port.
+   * 
+   * @throws IOException
+   *           When the channel has been closed.
+   */
+  public int getPort() throws IOException {
+    return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+  }
+
+  /**
+   * Wait for packets and handle all that have arrived.
+   * 
+   * @param timeout
+   *          The maximum number of milliseconds to wait, 0 to not wait at all.
+   * 
+   * @return The number of packets handled.
+   * 
+   * @throws IOException
+   *           When the channel can not be read.
+   */
+  public int poll(long timeout) throws IOException {
+    if (timeout > 0) {
+      selector.select(timeout);
+    } else {
+      selector.selectNow();
+    }
+    selector.selectedKeys().clear();
+
+    int handled = 0;
+    in.clear();
+    SocketAddress sender = channel.receive(in);
+    while (sender != null) {
+      in.flip();
+      handle(sender);
+      handled++;
+      in.clear();
+      sender = channel.receive(in);
+    }
+    received += handled;
+    link.flush(channel, System.nanoTime());
+    return handled;
+  }
+
+  /**
+   * Handle a received packet.
+   * 
+   * @param sender
+   *          The address of the sender.
+   * 
+   * @throws IOException
+   *           When an answer can not be sent.
+   */
+  private void handle(SocketAddress sender) throws IOException {
+    byte type = NetProtocol.readType(in);
+    int slot = indexOf(sender);
+    if (slot >= 0) {
+      clients[slot] = sender;
+      heard[slot] = game.getFullSteps();
+    }
+    if (type == NetProtocol.HELLO) {
+      if (slot < 0) {
+        slot = join(sender);
+      } else {
+        reset(slot);
+      }
+      NetProtocol.begin(out, NetProtocol.WELCOME);
+      out.putInt(slot);
+      out.flip();
+      link.send(channel, out, sender, System.nanoTime());
+    } else if (type == NetProtocol.INPUT && slot >= 0 && in.remaining() >= 12) {
+      int sequence = in.getInt();
+      if (sequence > sequences[slot]) {
+        sequences[slot] = sequence;
+        masks[slot] = in.getInt();
+        acks[slot] = Math.max(acks[slot], in.getInt());
+      }
+    } else if (type == NetProtocol.BYE && slot >= 0) {
+      clients[slot] = null;
+    }
+  }
+
+  /**
+   * Give a new client the first free player in the current level.
+   * 
+   * @param sender
+   *          The address of the client.
+   * 
+   * @return The player number, or -1 if no player is free.
+   */
+  private int join(SocketAddress sender) {
+    for (PlayerElement player : game.getCurrentLevel().getPlayers()) {
+      int number = player.getPlayerNumber();
+      if (number >= 0 && number < clients.length && clients[number] == null) {
+        clients[number] = sender;
+        heard[number] = game.getFullSteps();
+        reset(number);
+        return number;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Forget the input a client has sent so far and the states it acknowledged.
+   * 
+   * @param slot
+   *          The player number of the client.
+   */
+  private void reset(int slot) {
+    sequences[slot] = 0;
+    masks[slot] = 0;
+    applied[slot] = -1;
+    acks[slot] = -1;
+  }
+
+  /**
+   * Find the player number of a client. The address a client sent from last is compared by
+   * identity first, since the channel may hand out the same instance for every packet of a sender.
+   * 
+   * @param sender
+   *          The address of the client.
+   * 
+   * @return The player number, or -1 if the address is not a client.
+   */
+  private int indexOf(SocketAddress sender) {
+    for (int i = 0; i < clients.length; i++) {
+      if (clients[i] == sender || sender.equals(clients[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Drop the clients that have gone silent, apply the input of the others, step the game and send
+   * the new state to every client.
+   * 
+   * @throws IOException
+   *           When the state can not be sent.
+   */
+  public void tick() throws IOException {
+    expire();
+    for (PlayerElement player : game.getCurrentLevel().getPlayers()) {
+      int number = player.getPlayerNumber();
+      if (number >= 0 && number < clients.length && clients[number] != null
+          && masks[number] != applied[number]) {
+        InputRecording.applyMask(player, masks[number]);
+        applied[number] = masks[number];
+      }
+    }
+    game.step(FIXED_DELTA);
+    broadcast();
+  }
+
+  /**
+   * Drop the clients that have not been heard from for Constants.NET_TIMEOUT steps.
+   */
+  private void expire() {
+    int now = game.getFullSteps();
+    for (int i = 0; i < clients.length; i++) {
+      if (clients[i] != null && now - heard[i] > Constants.NET_TIMEOUT) {
+        clients[i] = null;
+      }
+    }
+  }
+
+  /**
+   * Keep the state of the game and send it to every client, encoded against the state the client
+   * acknowledged last.
+   * 
+   * @throws IOException
+   *           When the state can not be sent.
+   */
+  private void broadcast() throws IOException {
+    int tick = game.getFullSteps();
+    WorldState current = history[tick % history.length];
+    current.capture(game);
+
+    long now = System.nanoTime();
+    for (int i = 0; i < clients.length; i++) {
+      if (clients[i] == null) {
+        continue;
+      }
+      WorldState baseline = null;
+      if (acks[i] >= 0 && acks[i] < tick && tick - acks[i] < history.length
+          && history[acks[i] % history.length].getTick() == acks[i]) {
+        baseline = history[acks[i] % history.length];
+      }
+
+      NetProtocol.begin(out, NetProtocol.STATE);
+      out.putInt(tick);
+      if (baseline == null) {
+        out.putInt(-1);
+      } else {
+        out.putInt(baseline.getTick());
+      }
+      try {
+        bits.reset(out);
+        DeltaStateCodec.encode(current, baseline, bits);
+        bits.flush();
+      } catch (BufferOverflowException e) {
+        oversized++;
+        continue;
+      }
+      out.flip();
+      link.send(channel, out, clients[i], now);
+    }
+    link.flush(channel, now);
+  }
+
+  /**
+   * Serve the game at the refresh rate until stopped, on the calling thread.
+   */
+  public void run() {
+    running = true;
+    long period = 1000000000L / Constants.REFRESH_RATE;
+    long next = System.nanoTime() + period;
+    try {
+      while (running) {
+        long wait = (next - System.nanoTime()) / 1000000;
+        if (wait > 0) {
+          poll(wait);
+        } else {
+          poll(0);
+          tick();
+          next += period;
+        }
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Serve the game at the refresh rate on a thread of its own.
+   */
+  public void start() {
+    Thread loop = new Thread() {
+      public void run() {
+        GameServer.this.run();
+      }
+    };
+    loop.setDaemon(true);
+    loop.start();
+  }
+
+  /**
+   * Stop serving the game.
+   */
+  public void stop() {
+    running = false;
+    selector.wakeup();
+  }
+
+  /**
+   * Stop serving the game and close the channel.
+   * 
+   * @throws IOException
+   *           When the channel can not be closed.
+   */
+  public void close() throws IOException {
+    stop();
+    selector.close();
+    channel.close();
+  }
+
+  /**
+   * Get the number of clients in the game.
+   * 
+   * @return The number of clients.
+   */
+  public int getClients() {
+    int count = 0;
+    for (SocketAddress client : clients) {
+      if (client != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get the input mask last received from a client.
+   * 
+   * @param player
+   *          The player number of the client.
+   * 
+   * @return The action mask.
+   */
+  public int getMask(int player) {
+    return masks[player];
+  }
+
+  /**
+   * Get the tick of the newest state a client acknowledged.
+   * 
+   * @param player
+   *          The player number of the client.
+   * 
+   * @return The tick, or -1 if none.
+   */
+  public int getAck(int player) {
+    return acks[player];
+  }
+
+  /**
+   * Get the number of packets received.
+   * 
+   * @return The number of packets.
+   */
+  public long getReceived() {
+    return received;
+  }
+
+  /**
+   * Get the number of states that did not fit in a single packet and were not sent.
+   * 
+   * @return The number of oversized states.
+   */
+  public long getOversized() {
+    return oversized;
+  }
+
+  /**
+   * Get the conditioner through which packets are sent.
+   * 
+   * @return The link conditioner.
+   */
+  public LinkConditioner getLink() {
+    return link;
+  }
+
+  /**
+   * Get the game being served.
+   * 
+   * @return The game.
+   */
+  public Game getGame() {
+    return game;
+  }
+
+  /**
+   * Run a headless server for a new multiplayer game.
+   * 
+   * <p>
+   * Usage: GameServer [port]
+   * </p>
+   * 
+   * @param args
+   *          The port to listen on, by default Constants.NET_PORT.
+   * 
+   * @throws IOException
+   *           When the port can not be opened.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = Constants.NET_PORT;
+    if (args.length > 0) {
+      port = Integer.parseInt(args[0]);
+    }
+    GameServer server = new GameServer(new MultiPlayerGameFactory().makeGame(), port);
+    System.out.println("Serving on port " + server.getPort() + ".");
+    server.run();
+    server.close();
+  }
+
+}
@@ -0,0 +1,196 @@
+package nl.tudelft.scrumbledore.net;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Random;
+
+/**
+ * Sends packets over a datagram channel as if over a worse link, to try the game on loopback under
+ * simulated latency and packet loss. Lost packets are dropped at random, delayed packets are copied
+ * into a ring of preallocated buffers until they are due, so no memory is allocated per packet. A
+ * conditioner without latency and loss sends every packet right away.
+ * 
+ * @author Jesse Tilro
+ */
+public class LinkConditioner {
+  private final long latency;
+  private final double loss;
+  private final Random random;
+  private final ByteBuffer[] slots;
+  private final SocketAddress[] targets;
+  private final long[] due;
+  private int head;
+  private int size;
+  private long sent;
+  private long dropped;
+
+  /**
+   * Constructs a new LinkConditioner for a perfect link.
+   */
+  public LinkConditioner() {
+    this(0, 0, 0, 1);
+  }
+
+  /**
+   * Constructs a new LinkConditioner.
+   * 
+   * @param latencyMillis
+   *          The number of milliseconds every packet is delayed.
+   * 
+   * @param loss
+   *          The chance a packet is lost, between 0 and 1.
+   * 
+   * @param seed
+   *          The seed deciding which packets are lost.
+   * 
+   * @param capacity
+   *          The number of packets that can be underway at once, beyond which packets are lost.
+   */
+  public LinkConditioner(long latencyMillis, double loss, long seed, int capacity) {
+    this.latency = latencyMillis * 1000000;
+    this.loss = loss;
+    this.random = new Random(seed);
+    this.targets = new SocketAddress[capacity];
+    this.due = new long[capacity];
+    if (latency > 0) {
+      this.slots = new ByteBuffer[capacity];
+      for (int i = 0; i < capacity; i++) {
+        slots[i] = ByteBuffer.allocateDirect(NetProtocol.MAX_PACKET);
+      }
+    } else {
+      this.slots = new ByteBuffer[0];
+    }
+  }
+
+  /**
+   * Send a packet, or lose it, or hold it until its latency has passed.
+   * 
+   * @param channel
+   *          The channel to send over.
+   * 
+   * @param packet
+   *          The buffer holding the packet between its position and limit. Its position is left
+   *          unchanged.
+   * 
+   * @param target
+   *          The address to send to.
+   * 
+   * @param now
+   *          The current time in nanoseconds.
+   * 
+   * @throws IOException
+   *           When the channel can not send.
+   */
+  public void send(DatagramChannel channel, ByteBuffer packet, SocketAddress target, long now)
+      throws IOException {
+    if (loss > 0 && random.nextDouble() < loss) {
+      dropped++;
+      return;
+    }
+    int position = packet.position();
+    if (latency <= 0) {
+      transmit(channel, packet, target);
+      packet.position(position);
+      return;
+    }
+    if (size == slots.length) {
+      dropped++;
+      return;
+    }
+    int tail = (head + size) % slots.length;
+    slots[tail].clear();
+    slots[tail].put(packet);
+    slots[tail].flip();
+    packet.position(position);
+    targets[tail] = target;
+    due[tail] = now + latency;
+    size++;
+  }
+
+  /**
+   * Send the held packets whose latency has passed.
+   * 
+   * @param channel
+   *          The channel to send over.
+   * 
+   * @param now
+   *          The current time in nanoseconds.
+   * 
+   * @return The number of packets sent.
+   * 
+   * @throws IOException
+   *           When the channel can not send.
+   */
+  public int flush(DatagramChannel channel, long now) throws IOException {
+    int flushed = 0;
+    while (size > 0 && due[head] <= now) {
+      transmit(channel, slots[head], targets[head]);
+      targets[head] = null;
+      head = (head + 1) % slots.length;
+      size--;
+      flushed++;
+    }
+    return flushed;
+  }
+
+  /**
+   * Hand a packet to the channel. A datagram the channel has no room for is lost, like it would be
+   * on the network.
+   * 
+   * @param channel
+   *          The channel.
+   * 
+   * @param packet
+   *          The packet.
+   * 
+   * @param target
+   *          The address to send to.
+   * 
+   * @throws IOException
+   *           When the channel can not send.
+   */
+  private void transmit(DatagramChannel channel, ByteBuffer packet, SocketAddress target)
+      throws IOException {
+    int written;
+    if (channel.isConnected()) {
+      written = channel.write(packet);
+    } else {
+      written = channel.send(packet, target);
+    }
+    if (written == 0) {
+      dropped++;
+    } else {
+      sent++;
+    }
+  }
+
+  /**
+   * Get the number of packets being held.
+   * 
+   * @return The number of delayed packets.
+   */
+  public int getPending() {
+    return size;
+  }
+
+  /**
+   * Get the number of packets handed to the channel.
+   * 
+   * @return The number of packets sent.
+   */
+  public long getSent() {
+    return sent;
+  }
+
+  /**
+   * Get the number of packets lost.
+   * 
+   * @return The number of packets dropped.
+   */
+  public long getDropped() {
+    return dropped;
+  }
+
+}
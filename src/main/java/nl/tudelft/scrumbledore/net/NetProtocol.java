@@ -0,0 +1,68 @@
+package nl.tudelft.scrumbledore.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The packets exchanged between a GameServer and its GameClients. Every packet starts with a magic
+ * number and a packet type, followed by the body of that type:
+ * 
+ * <ul>
+ * <li>Hello, from a client asking to join: no body.</li>
+ * <li>Welcome, the answer to a hello: the player number assigned, or -1 if the game is full.</li>
+ * <li>Input, from a client every step: a sequence number, the action mask of its player and the
+ * tick of the newest state it received.</li>
+ * <li>State, from the server every step: the tick, the tick of the baseline state it is encoded
+ * against or -1 for none, and the state encoded by the DeltaStateCodec.</li>
+ * <li>Bye, from a client leaving: no body.</li>
+ * </ul>
+ * 
+ * @author Jesse Tilro
+ */
+public final class NetProtocol {
+  public static final short MAGIC = 0x5343;
+  public static final int MAX_PACKET = 65507;
+  public static final int HEADER = 3;
+
+  public static final byte HELLO = 1;
+  public static final byte WELCOME = 2;
+  public static final byte INPUT = 3;
+  public static final byte STATE = 4;
+  public static final byte BYE = 5;
+
+  /**
+   * Private constructor, since this class only offers static utility methods.
+   */
+  private NetProtocol() {
+  }
+
+  /**
+   * Start a new packet in a buffer, clearing it and writing the header.
+   * 
+   * @param buffer
+   *          The buffer.
+   * 
+   * @param type
+   *          The packet type.
+   */
+  public static void begin(ByteBuffer buffer, byte type) {
+    buffer.clear();
+    buffer.putShort(MAGIC);
+    buffer.put(type);
+  }
+
+  /**
+   * Read the header of a received packet.
+   * 
+   * @param buffer
+   *          The buffer holding the packet, positioned at its start.
+   * 
+   * @return The packet type, or 0 if the buffer does not hold a packet of this protocol.
+   */
+  public static byte readType(ByteBuffer buffer) {
+    if (buffer.remaining() < HEADER || buffer.getShort() != MAGIC) {
+      return 0;
+    }
+    return buffer.get();
+  }
+
+}
@@ -0,0 +1,124 @@
+package nl.tudelft.scrumbledore.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
+
+/**
+ * Level Modifier recording the actions of every player and the delta of each step of a Game, so the
+ * session can be fed back into the simulation by an InputReplayer. It has to be the first modifier
+ * to run, before any of the actions are processed.
+ * 
+ * @author Jesse Tilro
+ */
+public class InputRecorder implements LevelModifier {
+  private Game game;
+  private InputRecording recording;
+  private int[] masks;
+
+  /**
+   * Construct a new InputRecorder, capturing the current state of a given Game as the initial
+   * state of the session.
+   * 
+   * @param game
+   *          The game to record.
+   */
+  public InputRecorder(Game game) {
+    this.game = game;
+    reset();
+  }
+
+  /**
+   * Start a new recording, capturing the current state of the Game as its initial state.
+   */
+  public final synchronized void reset() {
+    int players = 1;
+    for (PlayerElement player : game.getCurrentLevel().getPlayers()) {
+      players = Math.max(players, player.getPlayerNumber() + 1);
+    }
+
+    this.masks = new int[players];
+    this.recording = new InputRecording(players, game.getCurrentLevelNumber() - 1,
+        StateChecksum.of(game));
+  }
+
+  /**
+   * Start recording a given Game by registering a new recorder in front of its modifiers. The NPCs
+   * of the game decide without a time budget from then on, so a replay makes the same decisions.
+   * 
+   * @param game
+   *          The game to record.
+   * 
+   * @return The recorder.
+   */
+  public static InputRecorder attach(Game game) {
+    game.setAIBudget(0);
+    InputRecorder recorder = new InputRecorder(game);
+    game.getModifiers().add(0, recorder);
+    return recorder;
+  }
+
+  /**
+   * Stop recording by removing this recorder from the Game's modifiers.
+   */
+  public void detach() {
+    game.getModifiers().remove(this);
+  }
+
+  /**
+   * Record the actions of the players in the given level and the delta of the step.
+   * 
+   * @param level
+   *          The level being played.
+   * 
+   * @param delta
+   *          The number of steps passed since the last execution of this method.
+   */
+  public synchronized void modify(Level level, double delta) {
+    for (int i = 0; i < masks.length; i++) {
+      masks[i] = 0;
+    }
+    for (PlayerElement player : level.getPlayers()) {
+      int number = player.getPlayerNumber();
+      if (number >= 0 && number < masks.length) {
+        masks[number] = InputRecording.toMask(player);
+      }
+    }
+    recording.addFrame(game.getCurrentLevelNumber() - 1, delta, masks);
+  }
+
+  /**
+   * Get the recording made so far.
+   * 
+   * @return The recording.
+   */
+  public synchronized InputRecording getRecording() {
+    return recording;
+  }
+
+  /**
+   * Write the recording to a new file in the replays directory of the application data.
+   */
+  public synchronized void save() {
+    File replaysDir = new File(Constants.APPDATA_DIR + Constants.REPLAYS_DIR);
+
+    try {
+      if (!replaysDir.exists() && !replaysDir.mkdirs()) {
+        throw new IOException();
+      }
+
+      SimpleDateFormat simpleFormat = new SimpleDateFormat("yyyy-MM.dd-hh-mm-ss");
+      String desiredFileName = "Session-" + simpleFormat.format(new Date()) + ".replay";
+      recording.write(new File(replaysDir, desiredFileName));
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+}
@@ -0,0 +1,283 @@
+package nl.tudelft.scrumbledore.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+
+/**
+ * A recorded session of player input. For every step of the game it holds the index of the level
+ * being played, the delta the step was performed with and, per player number, the set of actions
+ * the player had at the start of that step. Action sets are stored as bit masks indexed by the
+ * ordinal of the LevelElementAction. Recordings of the first version, which has no deltas, are
+ * read as if every step was performed with the fixed delta.
+ * 
+ * @author Jesse Tilro
+ */
+public class InputRecording {
+  private static final int MAGIC = 0x53435250;
+  private static final short VERSION = 2;
+  private static final short VERSION_FIXED_DELTA = 1;
+  private static final LevelElementAction[] ACTIONS = LevelElementAction.values();
+
+  private int players;
+  private int levelIndex;
+  private long initialChecksum;
+  private ArrayList<int[]> frames;
+  private double[] deltas;
+
+  /**
+   * Construct a new, empty InputRecording.
+   * 
+   * @param players
+   *          The number of player numbers that are recorded.
+   * 
+   * @param levelIndex
+   *          The index of the level the session starts in.
+   * 
+   * @param initialChecksum
+   *          The checksum of the state of the game at the start of the session.
+   */
+  public InputRecording(int players, int levelIndex, long initialChecksum) {
+    this.players = players;
+    this.levelIndex = levelIndex;
+    this.initialChecksum = initialChecksum;
+    this.frames = new ArrayList<int[]>();
+    this.deltas = new double[16];
+  }
+
+  /**
+   * Get the number of player numbers that are recorded.
+   * 
+   * @return The number of players.
+   */
+  public int getPlayers() {
+    return players;
+  }
+
+  /**
+   * Get the index of the level the session starts in.
+   * 
+   * @return The level index.
+   */
+  public int getLevelIndex() {
+    return levelIndex;
+  }
+
+  /**
+   * Get the checksum of the state of the game at the start of the session.
+   * 
+   * @return The initial checksum.
+   */
+  public long getInitialChecksum() {
+    return initialChecksum;
+  }
+
+  /**
+   * Get the number of recorded steps.
+   * 
+   * @return The number of frames.
+   */
+  public int size() {
+    return frames.size();
+  }
+
+  /**
+   * Append the input of a single step performed with the fixed delta to the recording.
+   * 
+   * @param level
+   *          The index of the level played during the step.
+   * 
+   * @param masks
+   *          The action masks indexed by player number.
+   */
+  public void addFrame(int level, int[] masks) {
+    addFrame(level, InputReplayer.FIXED_DELTA, masks);
+  }
+
+  /**
+   * Append the input of a single step to the recording.
+   * 
+   * @param level
+   *          The index of the level played during the step.
+   * 
+   * @param delta
+   *          The delta the step was performed with.
+   * 
+   * @param masks
+   *          The action masks indexed by player number.
+   */
+  public void addFrame(int level, double delta, int[] masks) {
+    assert masks.length == players;
+
+    int[] frame = new int[players + 1];
+    frame[0] = level;
+    System.arraycopy(masks, 0, frame, 1, players);
+    if (frames.size() == deltas.length) {
+      deltas = Arrays.copyOf(deltas, deltas.length * 2);
+    }
+    deltas[frames.size()] = delta;
+    frames.add(frame);
+  }
+
+  /**
+   * Get the delta a recorded step was performed with.
+   * 
+   * @param frame
+   *          The index of the step.
+   * 
+   * @return The delta.
+   */
+  public double getDelta(int frame) {
+    if (frame < 0 || frame >= frames.size()) {
+      throw new IndexOutOfBoundsException("No frame " + frame + ".");
+    }
+    return deltas[frame];
+  }
+
+  /**
+   * Get the index of the level played during a recorded step.
+   * 
+   * @param frame
+   *          The index of the step.
+   * 
+   * @return The level index.
+   */
+  public int getLevel(int frame) {
+    return frames.get(frame)[0];
+  }
+
+  /**
+   * Get the action mask of a player during a recorded step.
+   * 
+   * @param frame
+   *          The index of the step.
+   * 
+   * @param playerNumber
+   *          The number of the player.
+   * 
+   * @return The action mask.
+   */
+  public int getMask(int frame, int playerNumber) {
+    return frames.get(frame)[playerNumber + 1];
+  }
+
+  /**
+   * Encode the actions of an element into a bit mask.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @return The action mask.
+   */
+  public static int toMask(DynamicElement element) {
+    int mask = 0;
+    for (LevelElementAction action : element.getActions()) {
+      mask |= 1 << action.ordinal();
+    }
+    return mask;
+  }
+
+  /**
+   * Replace the actions of an element by those encoded in a bit mask.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param mask
+   *          The action mask.
+   */
+  public static void applyMask(DynamicElement element, int mask) {
+    element.clearActions();
+    for (LevelElementAction action : ACTIONS) {
+      if ((mask & (1 << action.ordinal())) != 0) {
+        element.addAction(action);
+      }
+    }
+  }
+
+  /**
+   * Write the recording to a file.
+   * 
+   * @param file
+   *          The file to write to.
+   * 
+   * @throws IOException
+   *           When the file can not be written.
+   */
+  public void write(File file) throws IOException {
+    DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)));
+    try {
+      out.writeInt(MAGIC);
+      out.writeShort(VERSION);
+      out.writeByte(players);
+      out.writeShort(levelIndex);
+      out.writeLong(initialChecksum);
+      out.writeInt(frames.size());
+      for (int i = 0; i < frames.size(); i++) {
+        int[] frame = frames.get(i);
+        out.writeShort(frame[0]);
+        out.writeDouble(deltas[i]);
+        for (int j = 1; j < frame.length; j++) {
+          out.writeByte(frame[j]);
+        }
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Read a recording from a file.
+   * 
+   * @param file
+   *          The file to read from.
+   * 
+   * @return The recording.
+   * 
+   * @throws IOException
+   *           When the file can not be read or is not a recording.
+   */
+  public static InputRecording read(File file) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+    try {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a supported input recording: " + file);
+      }
+      short version = in.readShort();
+      if (version != VERSION && version != VERSION_FIXED_DELTA) {
+        throw new IOException("Not a supported input recording: " + file);
+      }
+      int players = in.readUnsignedByte();
+      int levelIndex = in.readUnsignedShort();
+      InputRecording recording = new InputRecording(players, levelIndex, in.readLong());
+
+      int size = in.readInt();
+      int[] masks = new int[players];
+      for (int i = 0; i < size; i++) {
+        int level = in.readUnsignedShort();
+        double delta = InputReplayer.FIXED_DELTA;
+        if (version != VERSION_FIXED_DELTA) {
+          delta = in.readDouble();
+        }
+        for (int j = 0; j < players; j++) {
+          masks[j] = in.readUnsignedByte();
+        }
+        recording.addFrame(level, delta, masks);
+      }
+      return recording;
+    } finally {
+      in.close();
+    }
+  }
+
+}
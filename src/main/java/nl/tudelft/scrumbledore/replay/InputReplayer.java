@@ -0,0 +1,81 @@
+package nl.tudelft.scrumbledore.replay;
+
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Feeds a recorded session of player input back into a Game. Instead of waiting for a timer, every
+ * recorded step is performed immediately with the delta it was recorded with, so a session replays
+ * as fast as the simulation allows and ends in the state the recorded game ended in.
+ * 
+ * @author Jesse Tilro
+ */
+public class InputReplayer {
+  public static final double FIXED_DELTA = 1.0;
+
+  private InputRecording recording;
+
+  /**
+   * Construct a new InputReplayer.
+   * 
+   * @param recording
+   *          The recording to replay.
+   */
+  public InputReplayer(InputRecording recording) {
+    this.recording = recording;
+  }
+
+  /**
+   * Replay the recording on a given Game, performing every step with its recorded delta.
+   * 
+   * @param game
+   *          A newly created game, in the state the recording was started in.
+   * 
+   * @return The checksum of the state of the game after the last recorded step.
+   */
+  public long replay(Game game) {
+    return replay(game, 0);
+  }
+
+  /**
+   * Replay the recording on a given Game. The NPCs of the game decide without a time budget, as
+   * they did while recording.
+   * 
+   * @param game
+   *          A newly created game, in the state the recording was started in.
+   * 
+   * @param delta
+   *          The delta to perform each step with, or zero or less to use the recorded deltas.
+   * 
+   * @return The checksum of the state of the game after the last recorded step.
+   */
+  public long replay(Game game, double delta) {
+    game.setAIBudget(0);
+    game.setCurrentLevelIndex(recording.getLevelIndex());
+    if (StateChecksum.of(game) != recording.getInitialChecksum()) {
+      throw new IllegalStateException("The game is not in the state the recording started in.");
+    }
+
+    for (int frame = 0; frame < recording.size(); frame++) {
+      game.setCurrentLevelIndex(recording.getLevel(frame));
+
+      Level level = game.getCurrentLevel();
+      for (PlayerElement player : level.getPlayers()) {
+        int number = player.getPlayerNumber();
+        if (number >= 0 && number < recording.getPlayers()) {
+          InputRecording.applyMask(player, recording.getMask(frame, number));
+        }
+      }
+
+      if (delta > 0) {
+        game.step(delta);
+      } else {
+        game.step(recording.getDelta(frame));
+      }
+    }
+
+    return StateChecksum.of(game);
+  }
+
+}
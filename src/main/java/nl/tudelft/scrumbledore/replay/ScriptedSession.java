@@ -0,0 +1,101 @@
+package nl.tudelft.scrumbledore.replay;
+
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Plays a Game with a fixed input script instead of a keyboard, simulating presses and releases
+ * the way the key listeners do, while recording the session. Used to obtain a reproducible session
+ * for benchmarks and tests when no recorded replay file is at hand.
+ * 
+ * @author Jesse Tilro
+ */
+public final class ScriptedSession {
+  private static final int MOVE_PERIOD = 40;
+  private static final int JUMP_PERIOD = 50;
+  private static final int SHOOT_PERIOD = 30;
+
+  /**
+   * Private constructor, since this class only offers static utility methods.
+   */
+  private ScriptedSession() {
+  }
+
+  /**
+   * Play and record a given number of steps of a Game with the fixed delta.
+   * 
+   * @param game
+   *          A newly created game.
+   * 
+   * @param steps
+   *          The number of steps to play.
+   * 
+   * @return The recording of the session.
+   */
+  public static InputRecording record(Game game, int steps) {
+    InputRecorder recorder = InputRecorder.attach(game);
+    for (int step = 0; step < steps; step++) {
+      play(game, step);
+    }
+    recorder.detach();
+    return recorder.getRecording();
+  }
+
+  /**
+   * Play a single step of the script with the fixed delta.
+   * 
+   * @param game
+   *          The game.
+   * 
+   * @param step
+   *          The step in the script.
+   */
+  public static void play(Game game, int step) {
+    for (PlayerElement player : game.getCurrentLevel().getPlayers()) {
+      press(player, step + player.getPlayerNumber() * 7);
+    }
+    game.step(InputReplayer.FIXED_DELTA);
+  }
+
+  /**
+   * Apply the scripted key presses and releases for a given step to a player.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @param step
+   *          The step in the script.
+   */
+  private static void press(PlayerElement player, int step) {
+    if (step % MOVE_PERIOD == 0) {
+      switch ((step / MOVE_PERIOD) % 4) {
+      case 0:
+        player.addAction(LevelElementAction.MoveRight);
+        break;
+      case 2:
+        player.addAction(LevelElementAction.MoveLeft);
+        break;
+      default:
+        player.removeAction(LevelElementAction.MoveRight);
+        player.removeAction(LevelElementAction.MoveLeft);
+        player.addAction(LevelElementAction.MoveStop);
+        break;
+      }
+    }
+
+    if (step % JUMP_PERIOD == 0) {
+      player.addAction(LevelElementAction.Jump);
+    } else if (step % JUMP_PERIOD == 5) {
+      player.removeAction(LevelElementAction.Jump);
+    }
+
+    if (step % SHOOT_PERIOD == 0) {
+      player.addAction(LevelElementAction.Shoot);
+    } else if (step % SHOOT_PERIOD == 2) {
+      player.removeAction(LevelElementAction.Shoot);
+      player.addAction(LevelElementAction.ShootStop);
+    }
+  }
+
+}
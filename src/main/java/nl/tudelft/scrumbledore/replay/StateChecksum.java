@@ -0,0 +1,143 @@
+package nl.tudelft.scrumbledore.replay;
+
+import java.util.ArrayList;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffects;
+
+/**
+ * Computes a checksum over the simulated state of a Game, so two runs of the simulation can be
+ * compared without keeping a copy of the entire state around.
+ * 
+ * @author Jesse Tilro
+ */
+public final class StateChecksum {
+  private static final long OFFSET = 0xcbf29ce484222325L;
+  private static final long PRIME = 0x100000001b3L;
+
+  /**
+   * Private constructor, since this class only offers static utility methods.
+   */
+  private StateChecksum() {
+  }
+
+  /**
+   * Compute the checksum of the state of a given Game, being its current level, the index of that
+   * level and its score.
+   * 
+   * @param game
+   *          The game.
+   * 
+   * @return The checksum.
+   */
+  public static long of(Game game) {
+    long hash = of(game.getCurrentLevel());
+    hash = mix(hash, game.getCurrentLevelNumber());
+    hash = mix(hash, game.getScoreCounter().getScore());
+    return hash;
+  }
+
+  /**
+   * Compute the checksum of the state of the dynamic elements of a given Level, including the
+   * status effects of its players.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @return The checksum.
+   */
+  public static long of(Level level) {
+    long hash = OFFSET;
+    StatusEffects effects = level.getEffects();
+    for (PlayerElement player : level.getPlayers()) {
+      hash = mix(hash, player.getPlayerNumber());
+      hash = mix(hash, player.isAlive() ? 1 : 0);
+      hash = mixDynamic(hash, player);
+      hash = mix(hash, effects.getFlags(player.getPlayerNumber()));
+      for (StatusEffect effect : StatusEffect.values()) {
+        hash = mix(hash,
+            Double.doubleToLongBits(effects.getRemaining(player.getPlayerNumber(), effect)));
+      }
+    }
+    hash = mixAll(hash, level.getNPCs());
+    hash = mixAll(hash, level.getFruits());
+    hash = mixAll(hash, level.getBubbles());
+    hash = mixAll(hash, level.getEnemyBubbles());
+    hash = mixAll(hash, level.getPowerups());
+    return hash;
+  }
+
+  /**
+   * Mix the count and state of a list of elements into a checksum.
+   * 
+   * @param hash
+   *          The checksum so far.
+   * 
+   * @param elements
+   *          The elements.
+   * 
+   * @return The updated checksum.
+   */
+  private static long mixAll(long hash, ArrayList<? extends DynamicElement> elements) {
+    long result = mix(hash, elements.size());
+    for (DynamicElement element : elements) {
+      result = mixDynamic(result, element);
+    }
+    return result;
+  }
+
+  /**
+   * Mix the position and speed of an element into a checksum.
+   * 
+   * @param hash
+   *          The checksum so far.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @return The updated checksum.
+   */
+  private static long mixDynamic(long hash, DynamicElement element) {
+    long result = mixPosition(hash, element);
+    result = mix(result, Double.doubleToLongBits(element.hSpeed()));
+    result = mix(result, Double.doubleToLongBits(element.vSpeed()));
+    return result;
+  }
+
+  /**
+   * Mix the position of an element into a checksum.
+   * 
+   * @param hash
+   *          The checksum so far.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @return The updated checksum.
+   */
+  private static long mixPosition(long hash, LevelElement element) {
+    long result = mix(hash, Double.doubleToLongBits(element.posX()));
+    result = mix(result, Double.doubleToLongBits(element.posY()));
+    return result;
+  }
+
+  /**
+   * Mix a value into a checksum.
+   * 
+   * @param hash
+   *          The checksum so far.
+   * 
+   * @param value
+   *          The value.
+   * 
+   * @return The updated checksum.
+   */
+  private static long mix(long hash, long value) {
+    return (hash ^ value) * PRIME;
+  }
+
+}
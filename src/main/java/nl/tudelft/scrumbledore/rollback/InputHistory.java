@@ -0,0 +1,143 @@
+package nl.tudelft.scrumbledore.rollback;
+
+import java.util.Arrays;
+
+/**
+ * The input history of a single player in a rollback session. For a window of ticks it holds the
+ * confirmed input of the player, if it has arrived, and the input that was actually applied when
+ * the tick was simulated. A tick without confirmed input is predicted to repeat the last input
+ * that was confirmed without gaps. Inputs are stored as action masks, like in an InputRecording,
+ * in a ring of arrays indexed by tick.
+ * 
+ * @author Jesse Tilro
+ */
+public class InputHistory {
+  private final int mask;
+  private final int[] confirmed;
+  private final int[] confirmedTicks;
+  private final int[] applied;
+  private final int[] appliedTicks;
+  private int confirmedTick;
+
+  /**
+   * Construct a new, empty InputHistory.
+   * 
+   * @param capacity
+   *          The number of ticks to keep, rounded up to a power of two.
+   */
+  public InputHistory(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    this.mask = size - 1;
+    this.confirmed = new int[size];
+    this.confirmedTicks = new int[size];
+    this.applied = new int[size];
+    this.appliedTicks = new int[size];
+    Arrays.fill(confirmedTicks, -1);
+    Arrays.fill(appliedTicks, -1);
+    this.confirmedTick = -1;
+  }
+
+  /**
+   * Get the number of ticks kept.
+   * 
+   * @return The capacity.
+   */
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Confirm the input of the player for a tick. Input that was already confirmed for that tick is
+   * left as it is.
+   * 
+   * @param tick
+   *          The tick.
+   * 
+   * @param input
+   *          The action mask.
+   * 
+   * @return Whether the input was not confirmed before.
+   */
+  public boolean confirm(int tick, int input) {
+    int slot = tick & mask;
+    if (confirmedTicks[slot] == tick) {
+      return false;
+    }
+    confirmed[slot] = input;
+    confirmedTicks[slot] = tick;
+    while (confirmedTicks[(confirmedTick + 1) & mask] == confirmedTick + 1) {
+      confirmedTick++;
+    }
+    return true;
+  }
+
+  /**
+   * Check whether the input of the player for a tick has been confirmed.
+   * 
+   * @param tick
+   *          The tick.
+   * 
+   * @return Whether the input is confirmed.
+   */
+  public boolean isConfirmed(int tick) {
+    return tick >= 0 && confirmedTicks[tick & mask] == tick;
+  }
+
+  /**
+   * Get the last tick up to which all input of the player has been confirmed.
+   * 
+   * @return The tick, or -1 if no input has been confirmed yet.
+   */
+  public int getConfirmedTick() {
+    return confirmedTick;
+  }
+
+  /**
+   * Get the input of the player for a tick, being the confirmed input if it has arrived and the
+   * predicted input otherwise.
+   * 
+   * @param tick
+   *          The tick.
+   * 
+   * @return The action mask.
+   */
+  public int get(int tick) {
+    if (isConfirmed(tick)) {
+      return confirmed[tick & mask];
+    }
+    if (confirmedTick >= 0 && confirmedTick < tick) {
+      return confirmed[confirmedTick & mask];
+    }
+    return 0;
+  }
+
+  /**
+   * Record the input that was applied when simulating a tick.
+   * 
+   * @param tick
+   *          The tick.
+   * 
+   * @param input
+   *          The action mask.
+   */
+  public void apply(int tick, int input) {
+    applied[tick & mask] = input;
+    appliedTicks[tick & mask] = tick;
+  }
+
+  /**
+   * Check whether a tick was simulated with a different input than a given one.
+   * 
+   * @param tick
+   *          The tick.
+   * 
+   * @param input
+   *          The action mask.
+   * 
+   * @return Whether the tick was simulated, with another input.
+   */
+  public boolean isMispredicted(int tick, int input) {
+    return appliedTicks[tick & mask] == tick && applied[tick & mask] != input;
+  }
+
+}
@@ -0,0 +1,405 @@
+package nl.tudelft.scrumbledore.rollback;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.SnapshotCodec;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.StatefulLevelModifier;
+import nl.tudelft.scrumbledore.replay.InputRecording;
+import nl.tudelft.scrumbledore.replay.InputReplayer;
+import nl.tudelft.scrumbledore.replay.StateChecksum;
+
+/**
+ * Rollback engine running a Game ahead of the input of remote players. Every tick is simulated
+ * right away with the input known so far, predicting that players without confirmed input keep
+ * doing what they did last. When confirmed input arrives for a tick that was simulated with
+ * another input, the game is rolled back to the snapshot taken at the start of that tick and the
+ * ticks since are simulated again, without rendering, before the next tick is taken.
+ * 
+ * <p>
+ * Snapshots of the game, including the state of any StatefulLevelModifier, are kept in a ring of
+ * reusable buffers covering the rollback window, next to the checksum of the state after every
+ * tick. Checksums reported by a peer are compared once the tick they belong to is confirmed for
+ * all players, so a desync is detected at the first tick where both simulations differ. The NPCs
+ * decide without a time budget, so that every simulation of a tick makes the same decisions.
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class RollbackSession {
+  private static final int SNAPSHOT_CAPACITY = 1 << 12;
+
+  private final Game game;
+  private final int players;
+  private final int window;
+  private final int mask;
+  private final InputHistory[] inputs;
+  private final ByteBuffer[] snapshots;
+  private final long[] checksums;
+  private final long[] remoteChecksums;
+  private final int[] remoteTicks;
+  private int tick;
+  private int pending;
+  private long rollbacks;
+  private long resimulated;
+  private int maxRollback;
+  private long lastRollbackNanos;
+  private long late;
+  private long desyncs;
+  private int desyncTick;
+
+  /**
+   * Construct a new RollbackSession with the window configured in the Constants.
+   * 
+   * @param game
+   *          The game, in the state both peers start in.
+   * 
+   * @param players
+   *          The number of players.
+   */
+  public RollbackSession(Game game, int players) {
+    this(game, players, Constants.ROLLBACK_WINDOW);
+  }
+
+  /**
+   * Construct a new RollbackSession.
+   * 
+   * @param game
+   *          The game, in the state both peers start in.
+   * 
+   * @param players
+   *          The number of players.
+   * 
+   * @param window
+   *          The number of ticks the game can be rolled back.
+   */
+  public RollbackSession(Game game, int players, int window) {
+    if (players < 1 || window < 1) {
+      throw new IllegalArgumentException("The players and the window must be positive.");
+    }
+    this.game = game;
+    this.players = players;
+    this.window = window;
+    this.inputs = new InputHistory[players];
+    for (int i = 0; i < players; i++) {
+      inputs[i] = new InputHistory(2 * window + 1);
+    }
+    int capacity = inputs[0].getCapacity();
+    this.mask = capacity - 1;
+    this.snapshots = new ByteBuffer[capacity];
+    for (int i = 0; i < capacity; i++) {
+      snapshots[i] = ByteBuffer.allocateDirect(SNAPSHOT_CAPACITY);
+    }
+    this.checksums = new long[capacity];
+    this.remoteChecksums = new long[capacity];
+    this.remoteTicks = new int[capacity];
+    Arrays.fill(remoteTicks, -1);
+    this.pending = -1;
+    this.desyncTick = -1;
+
+    game.setAIBudget(0);
+  }
+
+  /**
+   * Add the confirmed input of a player for a tick, being either the local input for the next tick
+   * or remote input that has arrived. Input for a tick that was simulated with another prediction
+   * makes the next call to {@link #advance()} roll back to that tick.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @param at
+   *          The tick the input is for.
+   * 
+   * @param input
+   *          The action mask.
+   * 
+   * @return Whether the input was accepted, false if it is outside the window.
+   */
+  public boolean addInput(int player, int at, int input) {
+    if (player < 0 || player >= players) {
+      throw new IllegalArgumentException("Unknown player number " + player + ".");
+    }
+    if (at < 0 || at < tick - window || at >= tick + window) {
+      late++;
+      return false;
+    }
+    InputHistory history = inputs[player];
+    if (history.confirm(at, input) && history.isMispredicted(at, input)
+        && (pending < 0 || at < pending)) {
+      pending = at;
+    }
+    return true;
+  }
+
+  /**
+   * Report the checksum a peer computed for the state after a tick. It is compared to the local
+   * checksum as soon as the tick is confirmed for all players.
+   * 
+   * @param at
+   *          The tick.
+   * 
+   * @param checksum
+   *          The checksum of the peer.
+   */
+  public void addChecksum(int at, long checksum) {
+    if (at < 0 || at < tick - window || at >= tick + window) {
+      late++;
+      return;
+    }
+    remoteTicks[at & mask] = at;
+    remoteChecksums[at & mask] = checksum;
+  }
+
+  /**
+   * Simulate the next tick, first rolling back and simulating again the ticks that were predicted
+   * wrongly, and compare the checksums of the ticks that have been confirmed since.
+   */
+  public void advance() {
+    if (pending >= 0) {
+      rollback();
+    }
+    simulate();
+    verify();
+  }
+
+  /**
+   * Restore the snapshot taken at the start of the first mispredicted tick and simulate the ticks
+   * since then again.
+   */
+  private void rollback() {
+    long start = System.nanoTime();
+    int target = tick;
+    ByteBuffer snapshot = snapshots[pending & mask];
+    snapshot.rewind();
+    SnapshotCodec.restore(game, snapshot);
+    for (LevelModifier modifier : game.getModifiers()) {
+      if (modifier instanceof StatefulLevelModifier) {
+        ((StatefulLevelModifier) modifier).restore(snapshot);
+      }
+    }
+    int ticks = target - pending;
+    tick = pending;
+    pending = -1;
+
+    while (tick < target) {
+      simulate();
+    }
+    rollbacks++;
+    lastRollbackNanos = System.nanoTime() - start;
+    resimulated += ticks;
+    maxRollback = Math.max(maxRollback, ticks);
+  }
+
+  /**
+   * Take a snapshot of the game, apply the input of every player for the current tick and step
+   * the game once.
+   */
+  private void simulate() {
+    save(tick & mask);
+    for (PlayerElement player : game.getCurrentLevel().getPlayers()) {
+      int number = player.getPlayerNumber();
+      if (number >= 0 && number < players) {
+        int input = inputs[number].get(tick);
+        inputs[number].apply(tick, input);
+        InputRecording.applyMask(player, input);
+      }
+    }
+    game.step(InputReplayer.FIXED_DELTA);
+    checksums[tick & mask] = StateChecksum.of(game);
+    tick++;
+  }
+
+  /**
+   * Take a snapshot of the game and the state of its modifiers into a slot of the ring, growing
+   * the buffer of the slot when the snapshot does not fit.
+   * 
+   * @param slot
+   *          The slot.
+   */
+  private void save(int slot) {
+    while (true) {
+      ByteBuffer buffer = snapshots[slot];
+      buffer.clear();
+      try {
+        SnapshotCodec.write(game, buffer);
+        for (LevelModifier modifier : game.getModifiers()) {
+          if (modifier instanceof StatefulLevelModifier) {
+            ((StatefulLevelModifier) modifier).save(buffer);
+          }
+        }
+        buffer.flip();
+        return;
+      } catch (BufferOverflowException e) {
+        snapshots[slot] = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+      }
+    }
+  }
+
+  /**
+   * Compare the checksums reported by the peer for all confirmed ticks, dropping the ones that
+   * can no longer be compared.
+   */
+  private void verify() {
+    int confirmed = getConfirmedTick();
+    for (int slot = 0; slot < remoteTicks.length; slot++) {
+      int at = remoteTicks[slot];
+      if (at < 0 || at > confirmed) {
+        continue;
+      }
+      remoteTicks[slot] = -1;
+      if (at < tick - window) {
+        late++;
+      } else if (remoteChecksums[slot] != checksums[slot]) {
+        desyncs++;
+        if (desyncTick < 0 || at < desyncTick) {
+          desyncTick = at;
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the last tick that has been simulated with confirmed input of all players.
+   * 
+   * @return The tick, or -1 if there is none.
+   */
+  public int getConfirmedTick() {
+    int confirmed = tick - 1;
+    for (InputHistory history : inputs) {
+      confirmed = Math.min(confirmed, history.getConfirmedTick());
+    }
+    return confirmed;
+  }
+
+  /**
+   * Get the checksum of the state of the game after a tick.
+   * 
+   * @param at
+   *          The tick, within the window of simulated ticks.
+   * 
+   * @return The checksum.
+   */
+  public long getChecksum(int at) {
+    if (at < 0 || at < tick - window || at >= tick) {
+      throw new IllegalArgumentException("Tick " + at + " is outside the window.");
+    }
+    return checksums[at & mask];
+  }
+
+  /**
+   * Get the game.
+   * 
+   * @return The game.
+   */
+  public Game getGame() {
+    return game;
+  }
+
+  /**
+   * Get the number of players.
+   * 
+   * @return The number of players.
+   */
+  public int getPlayers() {
+    return players;
+  }
+
+  /**
+   * Get the number of ticks the game can be rolled back.
+   * 
+   * @return The window.
+   */
+  public int getWindow() {
+    return window;
+  }
+
+  /**
+   * Get the next tick to be simulated.
+   * 
+   * @return The tick.
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Get the input history of a player.
+   * 
+   * @param player
+   *          The player number.
+   * 
+   * @return The input history.
+   */
+  public InputHistory getInputs(int player) {
+    return inputs[player];
+  }
+
+  /**
+   * Get the number of rollbacks performed.
+   * 
+   * @return The number of rollbacks.
+   */
+  public long getRollbacks() {
+    return rollbacks;
+  }
+
+  /**
+   * Get the total number of ticks simulated again by rollbacks.
+   * 
+   * @return The number of ticks.
+   */
+  public long getResimulated() {
+    return resimulated;
+  }
+
+  /**
+   * Get the largest number of ticks simulated again by a single rollback.
+   * 
+   * @return The number of ticks.
+   */
+  public int getMaxRollback() {
+    return maxRollback;
+  }
+
+  /**
+   * Get the time the last rollback took, restoring the snapshot included.
+   * 
+   * @return The time in nanoseconds.
+   */
+  public long getLastRollbackNanos() {
+    return lastRollbackNanos;
+  }
+
+  /**
+   * Get the number of inputs and checksums that arrived outside the window.
+   * 
+   * @return The number of late arrivals.
+   */
+  public long getLate() {
+    return late;
+  }
+
+  /**
+   * Get the number of ticks for which the checksum of the peer differed.
+   * 
+   * @return The number of desyncs.
+   */
+  public long getDesyncs() {
+    return desyncs;
+  }
+
+  /**
+   * Get the first tick for which the checksum of the peer differed.
+   * 
+   * @return The tick, or -1 if the peers are in sync.
+   */
+  public int getDesyncTick() {
+    return desyncTick;
+  }
+
+}
@@ -0,0 +1,322 @@
+package nl.tudelft.scrumbledore.score;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the best scores, kept as an indexable skip list. Every link of the list
+ * records how many entries it skips, so besides adding an entry, looking up the entry at a given
+ * position and the rank a score would get take O(log n) time, and the top K entries take O(log n +
+ * K). The list is guarded by a read-write lock, so any number of threads can query it at the same
+ * time while games add their scores. Beyond its capacity the lowest entries are dropped.
+ * 
+ * @author Jesse Tilro
+ */
+public class Leaderboard {
+  private static final int MAX_LEVEL = 24;
+  private static final int LEVEL_FACTOR = 4;
+
+  private final Node head;
+  private final int capacity;
+  private final Random random;
+  private final ReentrantReadWriteLock lock;
+  private int level;
+  private int size;
+
+  /**
+   * Constructs a new, empty Leaderboard.
+   * 
+   * @param capacity
+   *          The number of entries to keep.
+   */
+  public Leaderboard(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be positive.");
+    }
+    this.head = new Node(null, MAX_LEVEL);
+    this.capacity = capacity;
+    this.random = new Random(capacity);
+    this.lock = new ReentrantReadWriteLock();
+    this.level = 1;
+  }
+
+  /**
+   * A node of the skip list, holding an entry and per level the next node and the number of
+   * entries the link to it spans.
+   */
+  private static class Node {
+    private final ScoreEntry entry;
+    private final Node[] next;
+    private final int[] span;
+
+    /**
+     * Constructs a new Node.
+     * 
+     * @param entry
+     *          The entry, null for the head.
+     * 
+     * @param levels
+     *          The number of levels the node takes part in.
+     */
+    Node(ScoreEntry entry, int levels) {
+      this.entry = entry;
+      this.next = new Node[levels];
+      this.span = new int[levels];
+    }
+  }
+
+  /**
+   * Add an entry, dropping the lowest entry when the capacity is exceeded.
+   * 
+   * @param entry
+   *          The entry.
+   * 
+   * @return The rank of the entry, starting at 1, or 0 if it was too low to be kept.
+   */
+  public int add(ScoreEntry entry) {
+    lock.writeLock().lock();
+    try {
+      int rank = insert(entry);
+      if (size > capacity) {
+        ScoreEntry lowest = nodeAt(size).entry;
+        delete(lowest);
+        if (lowest == entry) {
+          return 0;
+        }
+      }
+      return rank;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Insert an entry into the skip list.
+   * 
+   * @param entry
+   *          The entry.
+   * 
+   * @return The rank of the entry, starting at 1.
+   */
+  private int insert(ScoreEntry entry) {
+    Node[] update = new Node[MAX_LEVEL];
+    int[] rank = new int[MAX_LEVEL];
+    Node node = head;
+    for (int i = level - 1; i >= 0; i--) {
+      rank[i] = i == level - 1 ? 0 : rank[i + 1];
+      while (node.next[i] != null && node.next[i].entry.compareTo(entry) < 0) {
+        rank[i] += node.span[i];
+        node = node.next[i];
+      }
+      update[i] = node;
+    }
+
+    int levels = randomLevel();
+    if (levels > level) {
+      for (int i = level; i < levels; i++) {
+        rank[i] = 0;
+        update[i] = head;
+        head.span[i] = size;
+      }
+      level = levels;
+    }
+
+    Node inserted = new Node(entry, levels);
+    for (int i = 0; i < levels; i++) {
+      inserted.next[i] = update[i].next[i];
+      update[i].next[i] = inserted;
+      inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+      update[i].span[i] = rank[0] - rank[i] + 1;
+    }
+    for (int i = levels; i < level; i++) {
+      update[i].span[i]++;
+    }
+    size++;
+    return rank[0] + 1;
+  }
+
+  /**
+   * Remove an entry from the skip list.
+   * 
+   * @param entry
+   *          The entry.
+   */
+  private void delete(ScoreEntry entry) {
+    Node[] update = new Node[MAX_LEVEL];
+    Node node = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (node.next[i] != null && node.next[i].entry.compareTo(entry) < 0) {
+        node = node.next[i];
+      }
+      update[i] = node;
+    }
+    Node removed = node.next[0];
+    if (removed == null || removed.entry.compareTo(entry) != 0) {
+      return;
+    }
+
+    for (int i = 0; i < level; i++) {
+      if (update[i].next[i] == removed) {
+        update[i].span[i] += removed.span[i] - 1;
+        update[i].next[i] = removed.next[i];
+      } else {
+        update[i].span[i]--;
+      }
+    }
+    while (level > 1 && head.next[level - 1] == null) {
+      level--;
+    }
+    size--;
+  }
+
+  /**
+   * Pick the number of levels of a new node, every next level a quarter as likely as the one
+   * before.
+   * 
+   * @return The number of levels.
+   */
+  private int randomLevel() {
+    int levels = 1;
+    while (levels < MAX_LEVEL && random.nextInt(LEVEL_FACTOR) == 0) {
+      levels++;
+    }
+    return levels;
+  }
+
+  /**
+   * Find the node at a rank by following the spans of the links.
+   * 
+   * @param rank
+   *          The rank, starting at 1.
+   * 
+   * @return The node, or null if there is no such rank.
+   */
+  private Node nodeAt(int rank) {
+    Node node = head;
+    int traversed = 0;
+    for (int i = level - 1; i >= 0; i--) {
+      while (node.next[i] != null && traversed + node.span[i] <= rank) {
+        traversed += node.span[i];
+        node = node.next[i];
+      }
+      if (traversed == rank) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the entry at a rank.
+   * 
+   * @param rank
+   *          The rank, starting at 1.
+   * 
+   * @return The entry, or null if there are fewer entries.
+   */
+  public ScoreEntry get(int rank) {
+    if (rank < 1) {
+      return null;
+    }
+    lock.readLock().lock();
+    try {
+      Node node = nodeAt(rank);
+      if (node == null) {
+        return null;
+      }
+      return node.entry;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get the rank a score would get, being one more than the number of entries with a higher score.
+   * 
+   * @param score
+   *          The score.
+   * 
+   * @return The rank, starting at 1.
+   */
+  public int rankOf(int score) {
+    lock.readLock().lock();
+    try {
+      Node node = head;
+      int traversed = 0;
+      for (int i = level - 1; i >= 0; i--) {
+        while (node.next[i] != null && node.next[i].entry.getScore() > score) {
+          traversed += node.span[i];
+          node = node.next[i];
+        }
+      }
+      return traversed + 1;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get the best entries.
+   * 
+   * @param count
+   *          The number of entries.
+   * 
+   * @return At most the given number of entries, from the highest score down.
+   */
+  public ArrayList<ScoreEntry> top(int count) {
+    lock.readLock().lock();
+    try {
+      ArrayList<ScoreEntry> result = new ArrayList<ScoreEntry>(Math.min(count, size));
+      Node node = head.next[0];
+      while (node != null && result.size() < count) {
+        result.add(node.entry);
+        node = node.next[0];
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get the highest score.
+   * 
+   * @return The highest score, or zero if there are no entries.
+   */
+  public int getHighScore() {
+    lock.readLock().lock();
+    try {
+      if (head.next[0] == null) {
+        return 0;
+      }
+      return Math.max(0, head.next[0].entry.getScore());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get the number of entries.
+   * 
+   * @return The number of entries.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get the number of entries kept.
+   * 
+   * @return The capacity.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+}
@@ -0,0 +1,113 @@
+package nl.tudelft.scrumbledore.score;
+
+/**
+ * An immutable entry of the leaderboard: the final score of a finished game, with the name of the
+ * player and a sequence number telling which of two equal scores was set first. Entries are
+ * ordered from the highest score down, equal scores in the order they were set.
+ * 
+ * @author Jesse Tilro
+ */
+public final class ScoreEntry implements Comparable<ScoreEntry> {
+  private final String name;
+  private final int score;
+  private final long sequence;
+  private final long time;
+
+  /**
+   * Constructs a new ScoreEntry.
+   * 
+   * @param name
+   *          The name of the player.
+   * 
+   * @param score
+   *          The score.
+   * 
+   * @param sequence
+   *          The sequence number, unique within a store.
+   * 
+   * @param time
+   *          The time the score was set, in milliseconds since the epoch.
+   */
+  public ScoreEntry(String name, int score, long sequence, long time) {
+    this.name = name;
+    this.score = score;
+    this.sequence = sequence;
+    this.time = time;
+  }
+
+  /**
+   * Get the name of the player.
+   * 
+   * @return The name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the score.
+   * 
+   * @return The score.
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Get the sequence number.
+   * 
+   * @return The sequence number.
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Get the time the score was set.
+   * 
+   * @return The time in milliseconds since the epoch.
+   */
+  public long getTime() {
+    return time;
+  }
+
+  /**
+   * Compare this entry to another, the higher score coming first and equal scores in the order
+   * they were set.
+   * 
+   * @param other
+   *          The other entry.
+   * 
+   * @return A negative number if this entry comes first, a positive one if the other does.
+   */
+  public int compareTo(ScoreEntry other) {
+    if (score != other.score) {
+      return score > other.score ? -1 : 1;
+    }
+    if (sequence != other.sequence) {
+      return sequence < other.sequence ? -1 : 1;
+    }
+    return 0;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof ScoreEntry) {
+      ScoreEntry that = (ScoreEntry) other;
+      return score == that.score && sequence == that.sequence && time == that.time
+          && name.equals(that.name);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) (sequence ^ (sequence >>> 32)) * 31 + score;
+  }
+
+  @Override
+  public String toString() {
+    return name + ": " + score;
+  }
+
+}
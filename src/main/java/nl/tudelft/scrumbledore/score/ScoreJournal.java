@@ -0,0 +1,408 @@
+package nl.tudelft.scrumbledore.score;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of score entries on disk. Every entry is a fixed-size record ending in a
+ * CRC32 checksum of the rest of the record, so a record torn by a crash is recognised when the
+ * journal is read back and cut off. Records are collected in a direct buffer and only written and
+ * forced to disk once a batch is full or a sync is requested, so a burst of scores costs a single
+ * fsync. Compaction rewrites the journal with only the entries still on the leaderboard, replacing
+ * the old file in one move.
+ * 
+ * <p>
+ * The journal starts with a header of {@link #HEADER_SIZE} bytes: magic number (int), version
+ * (short) and reserved (short). Every record is {@link #RECORD_SIZE} bytes long and laid out as:
+ * sequence (long), time (long), score (int), name length (byte), name in UTF-8 (15 bytes, zero
+ * padded) and checksum (int).
+ * </p>
+ * 
+ * @author Jesse Tilro
+ */
+public class ScoreJournal {
+  public static final int MAGIC = 0x5343534A;
+  public static final short VERSION = 1;
+  public static final int HEADER_SIZE = 8;
+  public static final int RECORD_SIZE = 40;
+  public static final int NAME_BYTES = 15;
+
+  private static final int CHECKED_SIZE = RECORD_SIZE - 4;
+  private static final int READ_RECORDS = 256;
+
+  private final File file;
+  private final int batch;
+  private final ByteBuffer buffer;
+  private final CRC32 crc;
+  private FileChannel channel;
+  private long records;
+  private long syncs;
+  private long corrupt;
+  private long compactions;
+
+  /**
+   * Constructs a new ScoreJournal appending to a given file, which is created when it does not
+   * exist yet.
+   * 
+   * @param file
+   *          The journal file.
+   * 
+   * @param batch
+   *          The number of records written and forced to disk at once.
+   * 
+   * @throws IOException
+   *           When the journal can not be opened or is not a score journal.
+   */
+  public ScoreJournal(File file, int batch) throws IOException {
+    this.file = file;
+    this.batch = Math.max(1, batch);
+    this.buffer = ByteBuffer.allocateDirect(this.batch * RECORD_SIZE);
+    this.crc = new CRC32();
+    open();
+  }
+
+  /**
+   * Open the journal file for appending, writing the header when the file is new.
+   * 
+   * @throws IOException
+   *           When the file can not be opened or has another header.
+   */
+  private void open() throws IOException {
+    channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    if (channel.size() < HEADER_SIZE) {
+      channel.truncate(0);
+      ByteBuffer header = header();
+      while (header.hasRemaining()) {
+        channel.write(header, HEADER_SIZE - header.remaining());
+      }
+      channel.force(true);
+      return;
+    }
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    int count = 0;
+    while (header.hasRemaining() && count >= 0) {
+      count = channel.read(header, header.position());
+    }
+    header.flip();
+    if (header.getInt() != MAGIC || header.getShort() != VERSION) {
+      channel.close();
+      throw new IOException(file + " is not a score journal.");
+    }
+  }
+
+  /**
+   * Make the header of a journal.
+   * 
+   * @return The header, ready to be written.
+   */
+  private static ByteBuffer header() {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putShort(VERSION);
+    header.putShort((short) 0);
+    header.flip();
+    return header;
+  }
+
+  /**
+   * Read all intact records of the journal. A record with a wrong checksum, and everything after
+   * it, is counted as corrupt and cut off, so new records are appended right after the last intact
+   * one.
+   * 
+   * @return The entries in the order they were appended.
+   * 
+   * @throws IOException
+   *           When the journal can not be read.
+   */
+  public synchronized ArrayList<ScoreEntry> read() throws IOException {
+    sync();
+    ArrayList<ScoreEntry> entries = new ArrayList<ScoreEntry>();
+    ByteBuffer in = ByteBuffer.allocateDirect(READ_RECORDS * RECORD_SIZE);
+    long position = HEADER_SIZE;
+    long end = channel.size();
+    boolean intact = true;
+    while (intact && position + RECORD_SIZE <= end) {
+      in.clear();
+      int read = 0;
+      while (in.hasRemaining() && position + read < end) {
+        int count = channel.read(in, position + read);
+        if (count < 0) {
+          break;
+        }
+        read += count;
+      }
+      in.flip();
+      while (in.remaining() >= RECORD_SIZE) {
+        ScoreEntry entry = decode(in);
+        if (entry == null) {
+          intact = false;
+          break;
+        }
+        entries.add(entry);
+        position += RECORD_SIZE;
+      }
+    }
+
+    if (position < end) {
+      corrupt += (end - position + RECORD_SIZE - 1) / RECORD_SIZE;
+      channel.truncate(position);
+      channel.force(true);
+    }
+    records = entries.size();
+    return entries;
+  }
+
+  /**
+   * Decode the record at the position of a buffer, moving the position past it.
+   * 
+   * @param in
+   *          The buffer.
+   * 
+   * @return The entry, or null if the checksum of the record is wrong.
+   */
+  private ScoreEntry decode(ByteBuffer in) {
+    int start = in.position();
+    ByteBuffer checked = in.duplicate();
+    checked.limit(start + CHECKED_SIZE);
+    crc.reset();
+    crc.update(checked);
+
+    long sequence = in.getLong();
+    long time = in.getLong();
+    int score = in.getInt();
+    int length = Math.min(in.get() & 0xFF, NAME_BYTES);
+    byte[] name = new byte[NAME_BYTES];
+    in.get(name);
+    int checksum = in.getInt();
+    if (checksum != (int) crc.getValue()) {
+      return null;
+    }
+    return new ScoreEntry(new String(name, 0, length, StandardCharsets.UTF_8), score, sequence,
+        time);
+  }
+
+  /**
+   * Append an entry to the journal. It is written to disk together with the rest of its batch.
+   * 
+   * @param entry
+   *          The entry.
+   * 
+   * @throws IOException
+   *           When a full batch can not be written.
+   */
+  public synchronized void append(ScoreEntry entry) throws IOException {
+    encode(entry, buffer);
+    records++;
+    if (!buffer.hasRemaining()) {
+      sync();
+    }
+  }
+
+  /**
+   * Encode an entry as a record at the position of a buffer.
+   * 
+   * @param entry
+   *          The entry.
+   * 
+   * @param out
+   *          The buffer.
+   */
+  private void encode(ScoreEntry entry, ByteBuffer out) {
+    byte[] name = truncate(entry.getName());
+    int start = out.position();
+    out.putLong(entry.getSequence());
+    out.putLong(entry.getTime());
+    out.putInt(entry.getScore());
+    out.put((byte) name.length);
+    out.put(name);
+    for (int i = name.length; i < NAME_BYTES; i++) {
+      out.put((byte) 0);
+    }
+
+    ByteBuffer checked = out.duplicate();
+    checked.position(start);
+    checked.limit(start + CHECKED_SIZE);
+    crc.reset();
+    crc.update(checked);
+    out.putInt((int) crc.getValue());
+  }
+
+  /**
+   * Encode a name in UTF-8, leaving out the characters that do not fit in a record.
+   * 
+   * @param name
+   *          The name.
+   * 
+   * @return The encoded name of at most {@link #NAME_BYTES} bytes.
+   */
+  private static byte[] truncate(String name) {
+    String result = name;
+    byte[] bytes = result.getBytes(StandardCharsets.UTF_8);
+    while (bytes.length > NAME_BYTES) {
+      result = result.substring(0, result.length() - 1);
+      bytes = result.getBytes(StandardCharsets.UTF_8);
+    }
+    return bytes;
+  }
+
+  /**
+   * Write the buffered records to the end of the journal and force them to disk.
+   * 
+   * @throws IOException
+   *           When the records can not be written.
+   */
+  public synchronized void sync() throws IOException {
+    if (buffer.position() == 0) {
+      return;
+    }
+    buffer.flip();
+    long position = channel.size();
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+    buffer.clear();
+    channel.force(false);
+    syncs++;
+  }
+
+  /**
+   * Replace the journal by one holding only the given entries. The new journal is written next to
+   * the old one and moved over it, so a crash leaves either of them intact.
+   * 
+   * @param entries
+   *          The entries to keep.
+   * 
+   * @throws IOException
+   *           When the new journal can not be written.
+   */
+  public synchronized void compact(List<ScoreEntry> entries) throws IOException {
+    sync();
+    File temp = new File(file.getPath() + ".tmp");
+    FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      ByteBuffer header = header();
+      while (header.hasRemaining()) {
+        out.write(header);
+      }
+      for (ScoreEntry entry : entries) {
+        encode(entry, buffer);
+        if (!buffer.hasRemaining()) {
+          writeAll(out);
+        }
+      }
+      writeAll(out);
+      out.force(true);
+    } finally {
+      out.close();
+    }
+
+    channel.close();
+    try {
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+    open();
+    records = entries.size();
+    compactions++;
+  }
+
+  /**
+   * Write the buffered records to a channel at its position.
+   * 
+   * @param out
+   *          The channel.
+   * 
+   * @throws IOException
+   *           When the records can not be written.
+   */
+  private void writeAll(FileChannel out) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Write the buffered records and release the journal file.
+   * 
+   * @throws IOException
+   *           When the records can not be written.
+   */
+  public synchronized void close() throws IOException {
+    if (channel.isOpen()) {
+      sync();
+      channel.close();
+    }
+  }
+
+  /**
+   * Get the number of records in the journal, the buffered ones included.
+   * 
+   * @return The number of records.
+   */
+  public synchronized long getRecords() {
+    return records;
+  }
+
+  /**
+   * Get the number of records waiting in the buffer to be written.
+   * 
+   * @return The number of pending records.
+   */
+  public synchronized int getPending() {
+    return buffer.position() / RECORD_SIZE;
+  }
+
+  /**
+   * Get the number of times records were forced to disk.
+   * 
+   * @return The number of syncs.
+   */
+  public synchronized long getSyncs() {
+    return syncs;
+  }
+
+  /**
+   * Get the number of corrupt records cut off when reading the journal.
+   * 
+   * @return The number of corrupt records.
+   */
+  public synchronized long getCorrupt() {
+    return corrupt;
+  }
+
+  /**
+   * Get the number of times the journal was compacted.
+   * 
+   * @return The number of compactions.
+   */
+  public synchronized long getCompactions() {
+    return compactions;
+  }
+
+  /**
+   * Get the journal file.
+   * 
+   * @return The file.
+   */
+  public File getFile() {
+    return file;
+  }
+
+}
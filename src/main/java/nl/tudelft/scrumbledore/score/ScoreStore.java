@@ -0,0 +1,257 @@
+package nl.tudelft.scrumbledore.score;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import nl.tudelft.scrumbledore.Constants;
+
+/**
+ * Durable store of the best scores, shared by any number of games. Submitting a score only adds it
+ * to the in-memory Leaderboard and a lock-free queue, so it is safe to do from the simulation
+ * thread of every game. A background thread drains the queue into the ScoreJournal at a fixed
+ * interval, forcing each batch to disk at once, and compacts the journal once it holds more than
+ * twice as many records as the leaderboard keeps. Opening a store reads the journal back, so the
+ * leaderboard survives the process. A score submitted while the journal is compacted may end up in
+ * the journal twice, which is why entries are told apart by their sequence number when reading.
+ * 
+ * @author Jesse Tilro
+ */
+public class ScoreStore implements Runnable {
+  private static volatile ScoreStore instance;
+
+  private final Leaderboard leaderboard;
+  private final ScoreJournal journal;
+  private final ConcurrentLinkedQueue<ScoreEntry> queue;
+  private final AtomicLong sequence;
+  private final long interval;
+  private final Object wake;
+  private volatile boolean running;
+  private Thread thread;
+
+  /**
+   * Constructs a new ScoreStore, reading back the entries already in its journal.
+   * 
+   * @param file
+   *          The journal file.
+   * 
+   * @param capacity
+   *          The number of entries kept on the leaderboard.
+   * 
+   * @param batch
+   *          The number of records forced to disk at once.
+   * 
+   * @param interval
+   *          The number of milliseconds between two flushes of the background thread.
+   * 
+   * @throws IOException
+   *           When the journal can not be opened or read.
+   */
+  public ScoreStore(File file, int capacity, int batch, long interval) throws IOException {
+    this.leaderboard = new Leaderboard(capacity);
+    this.journal = new ScoreJournal(file, batch);
+    this.queue = new ConcurrentLinkedQueue<ScoreEntry>();
+    this.interval = interval;
+    this.wake = new Object();
+
+    long next = 0;
+    HashSet<Long> seen = new HashSet<Long>();
+    for (ScoreEntry entry : journal.read()) {
+      if (seen.add(entry.getSequence())) {
+        leaderboard.add(entry);
+      }
+      next = Math.max(next, entry.getSequence() + 1);
+    }
+    this.sequence = new AtomicLong(next);
+  }
+
+  /**
+   * Get the score store of the application, kept in the application data directory and flushed in
+   * the background, opening it the first time.
+   * 
+   * @return The single ScoreStore instance, or null if its journal can not be opened.
+   */
+  public static ScoreStore getInstance() {
+    if (instance == null) {
+      synchronized (ScoreStore.class) {
+        if (instance == null) {
+          instance = open();
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Open the score store of the application and start flushing it in the background until the
+   * process exits.
+   * 
+   * @return The store, or null if its journal can not be opened.
+   */
+  private static ScoreStore open() {
+    File dir = new File(Constants.APPDATA_DIR);
+    try {
+      if (!dir.exists() && !dir.mkdirs()) {
+        throw new IOException("Could not create " + dir + ".");
+      }
+      final ScoreStore store = new ScoreStore(new File(dir, Constants.SCORES_FILE),
+          Constants.SCORE_CAPACITY, Constants.SCORE_BATCH, Constants.SCORE_FLUSH_INTERVAL);
+      store.start();
+      Runtime.getRuntime().addShutdownHook(new Thread() {
+        public void run() {
+          store.close();
+        }
+      });
+      return store;
+    } catch (IOException e) {
+      e.printStackTrace();
+      return null;
+    }
+  }
+
+  /**
+   * Submit the final score of a game. The score is on the leaderboard right away, and is written to
+   * the journal by the next flush.
+   * 
+   * @param name
+   *          The name of the player.
+   * 
+   * @param score
+   *          The score.
+   * 
+   * @return The entry made for the score.
+   */
+  public ScoreEntry submit(String name, int score) {
+    ScoreEntry entry = new ScoreEntry(name, score, sequence.getAndIncrement(),
+        System.currentTimeMillis());
+    leaderboard.add(entry);
+    queue.offer(entry);
+    return entry;
+  }
+
+  /**
+   * Write all submitted scores to the journal and force them to disk, compacting the journal when
+   * it has grown too large.
+   * 
+   * @throws IOException
+   *           When the journal can not be written.
+   */
+  public synchronized void flush() throws IOException {
+    ScoreEntry entry = queue.poll();
+    while (entry != null) {
+      journal.append(entry);
+      entry = queue.poll();
+    }
+    journal.sync();
+
+    if (journal.getRecords() > 2L * leaderboard.getCapacity()) {
+      journal.compact(leaderboard.top(leaderboard.getCapacity()));
+    }
+  }
+
+  /**
+   * Start flushing the submitted scores on a background thread.
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    thread = new Thread(this, "score-store");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Flush the submitted scores at the interval until the store is closed. Closing the store wakes
+   * the thread instead of interrupting it, since an interrupt during a write closes the journal.
+   */
+  public void run() {
+    while (running) {
+      synchronized (wake) {
+        try {
+          if (running) {
+            wake.wait(interval);
+          }
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+      if (!running) {
+        break;
+      }
+      try {
+        flush();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Stop the background thread, letting it finish a flush in progress, then write the remaining
+   * scores and release the journal.
+   */
+  public void close() {
+    Thread stopped = null;
+    synchronized (this) {
+      running = false;
+      stopped = thread;
+      thread = null;
+    }
+    if (stopped != null) {
+      synchronized (wake) {
+        wake.notifyAll();
+      }
+      try {
+        stopped.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    try {
+      flush();
+      journal.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Get the highest score ever submitted that is still on the leaderboard.
+   * 
+   * @return The high score, or zero if there are no scores.
+   */
+  public int getHighScore() {
+    return leaderboard.getHighScore();
+  }
+
+  /**
+   * Get the leaderboard.
+   * 
+   * @return The leaderboard.
+   */
+  public Leaderboard getLeaderboard() {
+    return leaderboard;
+  }
+
+  /**
+   * Get the journal.
+   * 
+   * @return The journal.
+   */
+  public ScoreJournal getJournal() {
+    return journal;
+  }
+
+  /**
+   * Check whether the submitted scores are flushed in the background.
+   * 
+   * @return Whether the background thread is running.
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+}
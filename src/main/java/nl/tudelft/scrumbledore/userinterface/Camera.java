@@ -0,0 +1,151 @@
+package nl.tudelft.scrumbledore.userinterface;
+
+import java.util.List;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+
+/**
+ * The viewport through which a Level is displayed. The camera follows the players through levels
+ * larger than the screen, and tells which elements are visible, so only those have to be drawn.
+ * 
+ * @author Jesse Tilro
+ */
+public class Camera {
+  private final double width;
+  private final double height;
+  private double posX;
+  private double posY;
+
+  /**
+   * Construct a new Camera looking at the top left corner of a level.
+   * 
+   * @param width
+   *          The width of the viewport.
+   * 
+   * @param height
+   *          The height of the viewport.
+   */
+  public Camera(double width, double height) {
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Center the viewport on the average position of given elements, without looking beyond the
+   * boundaries of the level.
+   * 
+   * @param targets
+   *          The elements to follow.
+   * 
+   * @param levelWidth
+   *          The width of the level.
+   * 
+   * @param levelHeight
+   *          The height of the level.
+   * 
+   * @return Whether the viewport has moved.
+   */
+  public boolean follow(List<? extends LevelElement> targets, double levelWidth,
+      double levelHeight) {
+    if (targets.isEmpty()) {
+      return false;
+    }
+
+    double centerX = 0;
+    double centerY = 0;
+    for (LevelElement target : targets) {
+      centerX += target.posX();
+      centerY += target.posY();
+    }
+    centerX /= targets.size();
+    centerY /= targets.size();
+
+    return moveTo(clamp(centerX - width / 2, levelWidth - width),
+        clamp(centerY - height / 2, levelHeight - height));
+  }
+
+  /**
+   * Move the top left corner of the viewport to a given position.
+   * 
+   * @param posX
+   *          The horizontal position.
+   * 
+   * @param posY
+   *          The vertical position.
+   * 
+   * @return Whether the viewport has moved.
+   */
+  public boolean moveTo(double posX, double posY) {
+    boolean moved = this.posX != posX || this.posY != posY;
+    this.posX = posX;
+    this.posY = posY;
+    return moved;
+  }
+
+  /**
+   * Determine whether any part of an element, extended by a margin, is inside the viewport.
+   * 
+   * @param element
+   *          The element.
+   * 
+   * @param margin
+   *          The margin around the element, for sprites larger than the element itself.
+   * 
+   * @return Whether the element is visible.
+   */
+  public boolean isVisible(LevelElement element, double margin) {
+    return element.getRight() + margin >= getLeft() && element.getLeft() - margin <= getRight()
+        && element.getBottom() + margin >= getTop() && element.getTop() - margin <= getBottom();
+  }
+
+  /**
+   * Get the left side of the viewport.
+   * 
+   * @return The horizontal position of the left side.
+   */
+  public double getLeft() {
+    return posX;
+  }
+
+  /**
+   * Get the right side of the viewport.
+   * 
+   * @return The horizontal position of the right side.
+   */
+  public double getRight() {
+    return posX + width;
+  }
+
+  /**
+   * Get the top side of the viewport.
+   * 
+   * @return The vertical position of the top side.
+   */
+  public double getTop() {
+    return posY;
+  }
+
+  /**
+   * Get the bottom side of the viewport.
+   * 
+   * @return The vertical position of the bottom side.
+   */
+  public double getBottom() {
+    return posY + height;
+  }
+
+  /**
+   * Clamp a position of the viewport between 0 and a maximum, or to 0 if the maximum is negative.
+   * 
+   * @param position
+   *          The position.
+   * 
+   * @param max
+   *          The maximum position.
+   * 
+   * @return The clamped position.
+   */
+  private static double clamp(double position, double max) {
+    return Math.max(0, Math.min(max, position));
+  }
+
+}
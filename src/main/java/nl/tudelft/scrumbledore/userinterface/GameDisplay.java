@@ -1,6 +1,11 @@
 package nl.tudelft.scrumbledore.userinterface;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import javafx.animation.AnimationTimer;
 import javafx.event.ActionEvent;
@@ -12,7 +17,6 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
@@ -21,15 +25,29 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import nl.tudelft.scrumbledore.Constants;
-import nl.tudelft.scrumbledore.Logger;
 import nl.tudelft.scrumbledore.StepTimer;
+import nl.tudelft.scrumbledore.event.GameEvent;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventDispatcher;
+import nl.tudelft.scrumbledore.event.GameEventListener;
+import nl.tudelft.scrumbledore.event.GameEventLogger;
+import nl.tudelft.scrumbledore.event.GameEventQueue;
+import nl.tudelft.scrumbledore.event.GameEventStream;
+import nl.tudelft.scrumbledore.event.GameEventType;
 import nl.tudelft.scrumbledore.game.Game;
 import nl.tudelft.scrumbledore.game.GameFactory;
+import nl.tudelft.scrumbledore.jfr.FrameEvent;
 import nl.tudelft.scrumbledore.level.Level;
 import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.level.element.LevelElement;
 import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffects;
+import nl.tudelft.scrumbledore.net.GameClient;
+import nl.tudelft.scrumbledore.replay.InputRecorder;
+import nl.tudelft.scrumbledore.score.ScoreStore;
 import nl.tudelft.scrumbledore.sprite.Sprite;
+import nl.tudelft.scrumbledore.sprite.SpriteStore;
 
 /**
  * Class responsible for displaying, running, updating, and interacting with the game for one or two
@@ -58,9 +76,35 @@ public final class GameDisplay {
   private static String advanceLabel;
   private static Long chiliTracker;
   private static Long tacoTracker;
+  private static InputRecorder recorder;
+  private static GameClient client;
+  private static Camera camera;
+  private static GameEventBus eventBus;
+  private static GameEventQueue hudEvents;
+  private static GameEventQueue logEvents;
+  private static GameEventDispatcher logDispatcher;
+  private static int drawnSprites;
+  private static boolean overlay;
+
+  private static GameEventListener hudListener = new GameEventListener() {
+    public void handle(GameEvent event) {
+      if (event.getType() == GameEventType.PowerupPicked) {
+        if (event.getValue() == StatusEffect.Chili.ordinal()) {
+          chiliTracker = 4750000000L;
+        } else {
+          tacoTracker = 2750000000L;
+        }
+      } else if (event.getType() == GameEventType.LevelCleared && endStepsSnapShot == 0) {
+        advanceLabel = Constants.ADVANCINGLABEL;
+        renderAdvanceLabel();
+        endStepsSnapShot = currentGame.getSteps();
+      }
+    }
+  };
 
   private static AnimationTimer animationTimer = new AnimationTimer() {
     public void handle(long currentNanoTime) {
+      hudEvents.drain(hudListener);
       playerStatus();
       levelStatus();
       renderDynamic();
@@ -100,6 +144,43 @@ public final class GameDisplay {
     tacoTracker = 0L;
     currentStage = passedStage;
     currentGame = factory.makeGame();
+    currentGame.setLevelPreparer(ImageCache.getInstance());
+    currentGame.getScoreCounter().setStore(ScoreStore.getInstance(),
+        System.getProperty("user.name"));
+    currentGame.setAIBudget(Constants.AI_BUDGET_MICROS);
+    startRecording();
+    subscribeEvents();
+
+    launchGame();
+  }
+
+  /**
+   * Joins a game run by a server, displaying the state received from the server in a local game
+   * made by a given game factory.
+   * 
+   * @param factory
+   *          The game factory used for creating the local game, matching the game on the server.
+   * 
+   * @param passedStage
+   *          The stage to draw to.
+   * 
+   * @param server
+   *          The address of the server.
+   */
+  public static void joinGame(GameFactory factory, Stage passedStage, SocketAddress server) {
+    chiliTracker = 0L;
+    tacoTracker = 0L;
+    currentStage = passedStage;
+    currentGame = factory.makeGame();
+    currentGame.setLevelPreparer(ImageCache.getInstance());
+    try {
+      client = GameClient.attach(currentGame, server);
+    } catch (IOException e) {
+      e.printStackTrace();
+      MainMenu.mainMenuHandle(passedStage);
+      return;
+    }
+    subscribeEvents();
 
     launchGame();
   }
@@ -127,6 +208,7 @@ public final class GameDisplay {
     listeners.init();
 
     removeSpacebarFunctionality();
+    mapOverlayKey();
 
     currentStage.show();
   }
@@ -244,12 +326,101 @@ public final class GameDisplay {
     passedButton.setOnAction(new EventHandler<ActionEvent>() {
 
       public void handle(ActionEvent arg0) {
+        currentGame.getScoreCounter().submitScore();
+        unsubscribeEvents();
+        stopRecording();
+        saveLatency();
+        disconnect();
         MainMenu.mainMenuHandle(currentStage);
       }
 
     });
   }
 
+  /**
+   * Subscribes the user interface and the logger to the gameplay events of the current game. The
+   * logger drains its events on a thread of its own, the user interface on every frame.
+   */
+  private static void subscribeEvents() {
+    unsubscribeEvents();
+    eventBus = currentGame.getEventBus();
+    hudEvents = eventBus.subscribe();
+    logEvents = eventBus.subscribe();
+    logDispatcher = new GameEventDispatcher(logEvents, new GameEventLogger());
+    logDispatcher.start();
+  }
+
+  /**
+   * Stops the logger, after it has handled the remaining events, and flushes the event stream.
+   */
+  private static void unsubscribeEvents() {
+    if (logDispatcher != null) {
+      logDispatcher.stop();
+      logDispatcher = null;
+      eventBus.unsubscribe(hudEvents);
+      eventBus.unsubscribe(logEvents);
+    }
+    if (Constants.isLoggingWantEvents()) {
+      GameEventStream.getInstance().flush();
+    }
+  }
+
+  /**
+   * Starts recording the player input of the current game, if the user wishes to.
+   */
+  private static void startRecording() {
+    if (Constants.isLoggingWantReplay()) {
+      recorder = InputRecorder.attach(currentGame);
+    }
+  }
+
+  /**
+   * Stops recording the player input and saves the recorded session, if it was being recorded.
+   */
+  private static void stopRecording() {
+    if (recorder != null) {
+      recorder.save();
+      recorder = null;
+    }
+  }
+
+  /**
+   * Saves the input latency measured in the current game as comma separated values, if the user
+   * wishes to.
+   */
+  private static void saveLatency() {
+    if (!Constants.isLoggingWantLatency()) {
+      return;
+    }
+    File latencyDir = new File(Constants.APPDATA_DIR + Constants.LATENCY_DIR);
+
+    try {
+      if (!latencyDir.exists() && !latencyDir.mkdirs()) {
+        throw new IOException();
+      }
+
+      SimpleDateFormat simpleFormat = new SimpleDateFormat("yyyy-MM.dd-hh-mm-ss");
+      String desiredFileName = "Session-" + simpleFormat.format(new Date()) + ".csv";
+      currentGame.getInputLatency().write(new File(latencyDir, desiredFileName));
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Leaves the game on the server, if the current game is a client of one.
+   */
+  private static void disconnect() {
+    if (client != null) {
+      try {
+        client.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+      client = null;
+    }
+  }
+
   /**
    * Checks the status of the player(s) in terms of life.
    */
@@ -264,54 +435,40 @@ public final class GameDisplay {
     if (!playersLeft) {
       chiliTracker = 0L;
       tacoTracker = 0L;
+      endStepsSnapShot = 0;
+      if (recorder != null) {
+        recorder.save();
+      }
       currentGame.restart();
+      if (recorder != null) {
+        recorder.reset();
+      }
       renderStatic();
     }
   }
 
   /**
-   * Triggers the label change when picking up the Chili speed boost.
-   */
-  public static void triggerChiliLabel() {
-    chiliTracker = 4750000000L;
-  }
-
-  /**
-   * Triggers the label change when picking up the Taco invincibility power-up.
-   */
-  public static void triggerTacoLabel() {
-    tacoTracker = 2750000000L;
-  }
-
-  /**
-   * Checks the status of the level, and determines if the player should advance to the next level.
-   * Upon restarting, notifies the player of time to pick up fruit.
+   * Checks the status of the level, and advances the player to the next level some time after the
+   * level has been cleared. The countdown is started by the LevelCleared event of the game.
    */
   private static void levelStatus() {
-    Level currentLevel = currentGame.getCurrentLevel();
-    if (currentLevel.getNPCs().isEmpty() && currentLevel.getEnemyBubbles().isEmpty()) {
-      if (endStepsSnapShot == 0) {
-        advanceLabel = Constants.ADVANCINGLABEL;
-        staticContext.setFill(Color.WHITE);
-        staticContext.fillText(advanceLabel, (Constants.LEVELX / 2) - 110,
-            (Constants.LEVELY / 2) - 130);
-        endStepsSnapShot = currentGame.getSteps();
-      }
-
-      if (endStepsSnapShot + Constants.REFRESH_RATE * 4 < currentGame.getSteps()) {
-        if (currentGame.remainingLevels() == 0) {
-          Logger.getInstance().log("Player completed the game successfully.");
-
-          animationTimer.stop();
-
-          winDialog();
-        } else {
-          Logger.getInstance().log("Player advanced to the next level.");
-          currentGame.goToNextLevel();
-          GameDisplay.renderStatic();
-        }
-
-        endStepsSnapShot = 0;
+    if (endStepsSnapShot != 0
+        && endStepsSnapShot + Constants.REFRESH_RATE * 4 < currentGame.getSteps()) {
+      endStepsSnapShot = 0;
+      if (currentGame.remainingLevels() == 0) {
+        currentGame.getScoreCounter().submitScore();
+        eventBus.publish(GameEventType.GameCompleted, -1, -1, 0, 0,
+            currentGame.getScoreCounter().getScore());
+        unsubscribeEvents();
+
+        animationTimer.stop();
+
+        winDialog();
+      } else {
+        eventBus.publish(GameEventType.LevelAdvanced, -1, -1, 0, 0,
+            currentGame.getCurrentLevelNumber() + 1);
+        currentGame.goToNextLevel();
+        GameDisplay.renderStatic();
       }
     }
   }
@@ -356,34 +513,128 @@ public final class GameDisplay {
     dynamicCanvas = new Canvas(Constants.LEVELX, Constants.LEVELY);
     dynamicContext = dynamicCanvas.getGraphicsContext2D();
 
+    camera = new Camera(Constants.LEVELX, Constants.LEVELY);
+
     renderGroup = new Group();
     renderGroup.getChildren().addAll(staticCanvas, dynamicCanvas);
   }
 
   /**
-   * Renders the static elements of the level, such as the platforms.
+   * Renders the static elements of the level within the viewport, such as the platforms.
    */
   private static void renderStatic() {
+    Level level = currentGame.getCurrentLevel();
+    camera.follow(level.getPlayers(), level.getWidth(), level.getHeight());
     staticContext.clearRect(0, 0, Constants.GUIX, Constants.GUIY);
 
-    renderLevelElements(currentGame.getCurrentLevel().getStaticElements(), staticContext);
+    double margin = Constants.BLOCKSIZE;
+    renderLevelElements(level.getPlatformGrid().query(camera.getLeft() - margin,
+        camera.getTop() - margin, camera.getRight() + margin, camera.getBottom() + margin),
+        staticContext);
+
+    if (endStepsSnapShot != 0) {
+      renderAdvanceLabel();
+    }
   }
 
   /**
-   * Renders the dynamic elements of the level, such as the player and enemies.
+   * Renders the dynamic elements of the level within the viewport, such as the player and enemies.
+   * When the viewport follows the players to another part of the level, the static elements are
+   * rendered again as well. The frame is reported as a Flight Recorder event when that is enabled,
+   * and stamped as the frame rendering the effect of the key presses applied since the last one.
    */
   private static void renderDynamic() {
+    FrameEvent frame = new FrameEvent();
+    frame.begin();
+    drawnSprites = 0;
+
+    Level level = currentGame.getCurrentLevel();
+    boolean redraw = camera.follow(level.getPlayers(), level.getWidth(), level.getHeight());
+    if (redraw) {
+      renderStatic();
+    }
     dynamicContext.clearRect(0, 0, Constants.GUIX, Constants.GUIY);
 
-    renderLevelElements(currentGame.getCurrentLevel().getDynamicElements(), dynamicContext);
+    ArrayList<LevelElement> visible = new ArrayList<LevelElement>();
+    for (LevelElement element : level.getDynamicElements()) {
+      if (camera.isVisible(element, Constants.BLOCKSIZE)) {
+        visible.add(element);
+      }
+    }
+    renderEffects(level, dynamicContext);
+    renderLevelElements(visible, dynamicContext);
 
     scoreLabel.setText(currentGame.getScore());
     highScoreLabel.setText(currentGame.getHighScore());
     levelLabel.setText(Integer.toString(currentGame.getCurrentLevelNumber()));
+
+    if (overlay) {
+      renderOverlay();
+    }
+    currentGame.getInputLatency().rendered(System.nanoTime());
+
+    if (frame.shouldCommit()) {
+      frame.setSprites(drawnSprites);
+      frame.setRedraw(redraw);
+      frame.commit();
+    }
+  }
+
+  /**
+   * Render the sprites of the status effects active on the living players of a given level behind
+   * those players.
+   * 
+   * @param level
+   *          The level.
+   * 
+   * @param context
+   *          The Graphics Context in which the effects should be drawn.
+   */
+  private static void renderEffects(Level level, GraphicsContext context) {
+    StatusEffects effects = level.getEffects();
+    SpriteStore store = SpriteStore.getInstance();
+    for (PlayerElement player : level.getPlayers()) {
+      int flags = effects.getFlags(player.getPlayerNumber());
+      if (flags == 0 || !player.isAlive() || !camera.isVisible(player, Constants.BLOCKSIZE)) {
+        continue;
+      }
+      for (StatusEffect effect : StatusEffect.values()) {
+        if ((flags & effect.getFlag()) != 0) {
+          Sprite sprite = store.getAnimated(effect.getSprite()).getFrame(currentGame.getSteps());
+          Vector drawPos = sprite.getDrawPosition(player.getPosition());
+          drawPos.sum(Vector.scale(new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE), .5));
+          drawnSprites++;
+          context.drawImage(ImageCache.getInstance().get(sprite.getPath()),
+              drawPos.getX() - camera.getLeft(), drawPos.getY() - camera.getTop());
+        }
+      }
+    }
+  }
+
+  /**
+   * Renders the profiling overlay in the top left corner of the viewport, showing the measured
+   * input latency.
+   */
+  private static void renderOverlay() {
+    dynamicContext.setFill(Color.WHITE);
+    String[] lines = currentGame.getInputLatency().summary().split("\n");
+    for (int i = 0; i < lines.length; i++) {
+      dynamicContext.fillText(lines[i], 10, 20 + 15 * i);
+    }
+  }
+
+  /**
+   * Renders the label announcing the next level in the middle of the viewport.
+   */
+  private static void renderAdvanceLabel() {
+    staticContext.setFill(Color.WHITE);
+    staticContext.fillText(advanceLabel, (Constants.LEVELX / 2) - 110,
+        (Constants.LEVELY / 2) - 130);
   }
 
   /**
-   * Render a given list of level elements to a given context of the Game Display.
+   * Render a given list of level elements to a given context of the Game Display, relative to the
+   * viewport.
    * 
    * @param elements
    *          The Level Elements to be rendered.
@@ -391,12 +642,15 @@ public final class GameDisplay {
    * @param context
    *          The Graphics Context in which the elements should be drawn.
    */
-  private static void renderLevelElements(List<LevelElement> elements, GraphicsContext context) {
+  private static void renderLevelElements(List<? extends LevelElement> elements,
+      GraphicsContext context) {
     for (LevelElement element : elements) {
       for (Sprite sprite : element.getSprites(currentGame.getSteps())) {
+        drawnSprites++;
         Vector drawPos = sprite.getDrawPosition(element.getPosition());
         drawPos.sum(Vector.scale(new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE), .5));
-        context.drawImage(new Image(sprite.getPath()), drawPos.getX(), drawPos.getY());
+        context.drawImage(ImageCache.getInstance().get(sprite.getPath()),
+            drawPos.getX() - camera.getLeft(), drawPos.getY() - camera.getTop());
       }
     }
   }
@@ -415,4 +669,17 @@ public final class GameDisplay {
     });
   }
 
+  /**
+   * Lets the F3 key show and hide the profiling overlay.
+   */
+  private static void mapOverlayKey() {
+    currentScene.addEventHandler(KeyEvent.KEY_PRESSED, new EventHandler<KeyEvent>() {
+      public void handle(KeyEvent t) {
+        if (t.getCode() == KeyCode.F3) {
+          overlay = !overlay;
+        }
+      }
+    });
+  }
+
 }
@@ -0,0 +1,82 @@
+package nl.tudelft.scrumbledore.userinterface;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import javafx.scene.image.Image;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.LevelPreparer;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
+import nl.tudelft.scrumbledore.sprite.Sprite;
+
+/**
+ * Keeps the images of sprites in memory once they have been loaded, so they are not read again on
+ * every frame. As a LevelPreparer, it loads the images of a level's elements in the background
+ * before the level is played.
+ * 
+ * @author Jesse Tilro
+ */
+public final class ImageCache implements LevelPreparer {
+  private static volatile ImageCache instance;
+
+  private final ConcurrentHashMap<String, Image> images;
+
+  /**
+   * Construct a new, empty ImageCache.
+   */
+  private ImageCache() {
+    this.images = new ConcurrentHashMap<String, Image>();
+  }
+
+  /**
+   * Creates a new ImageCache instance if it has not yet been instantiated.
+   * 
+   * @return The single ImageCache instance.
+   */
+  public static ImageCache getInstance() {
+    if (instance == null) {
+      synchronized (ImageCache.class) {
+        if (instance == null) {
+          instance = new ImageCache();
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Get the image at a given path, loading it if it has not been loaded before.
+   * 
+   * @param path
+   *          The path of the image.
+   * 
+   * @return The image.
+   */
+  public Image get(String path) {
+    Image image = images.get(path);
+    if (image == null) {
+      image = new Image(path);
+      Image existing = images.putIfAbsent(path, image);
+      if (existing != null) {
+        image = existing;
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Load the images of the sprites of all elements in a given level.
+   * 
+   * @param level
+   *          The level to prepare.
+   */
+  public void prepare(Level level) {
+    ArrayList<LevelElement> elements = level.getStaticElements();
+    elements.addAll(level.getDynamicElements());
+    for (LevelElement element : elements) {
+      for (Sprite sprite : element.getSprites(0)) {
+        get(sprite.getPath());
+      }
+    }
+  }
+
+}
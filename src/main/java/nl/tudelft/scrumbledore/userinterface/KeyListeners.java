@@ -1,17 +1,20 @@
 package nl.tudelft.scrumbledore.userinterface;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import nl.tudelft.scrumbledore.keybinding.KeybindingContainer;
+import nl.tudelft.scrumbledore.latency.InputLatency;
 import nl.tudelft.scrumbledore.level.element.LevelElementAction;
 import nl.tudelft.scrumbledore.level.element.PlayerElement;
 import nl.tudelft.scrumbledore.game.Game;
 
 /**
- * Handles all the key event listeners of the gui.
+ * Handles all the key event listeners of the gui. The first press of a bound key, not the
+ * repeated presses while it is held, is stamped in the input latency measurement of the game.
  * 
  * @author David Alderliesten
  * @author Jeroen Meijer
@@ -20,6 +23,7 @@ public class KeyListeners {
   private Game game;
   private Scene scene;
   private KeybindingContainer keybindings;
+  private HashSet<KeyCode> held;
 
   /**
    * Prepares the EventListeners.
@@ -34,6 +38,7 @@ public class KeyListeners {
     this.game = game;
     this.scene = scene;
     this.keybindings = KeybindingContainer.getInstance();
+    this.held = new HashSet<KeyCode>();
   }
 
   /**
@@ -61,10 +66,21 @@ public class KeyListeners {
     scene.setOnKeyPressed(new EventHandler<KeyEvent>() {
 
       public void handle(KeyEvent keyPressed) {
+        long now = System.nanoTime();
         KeyCode keyCode = keyPressed.getCode();
+        boolean first = held.add(keyCode);
+        InputLatency latency = game.getInputLatency();
         ArrayList<PlayerElement> players = game.getCurrentLevel().getPlayers();
         for (PlayerElement player : players) {
-          player.addAction(keybindings.getKeybinding(player.getPlayerNumber()).getAction(keyCode));
+          if (!keybindings.hasKeybinding(player.getPlayerNumber())) {
+            continue;
+          }
+          LevelElementAction action = keybindings.getKeybinding(player.getPlayerNumber())
+              .getAction(keyCode);
+          player.addAction(action);
+          if (first && action != null) {
+            latency.pressed(player.getPlayerNumber(), now);
+          }
         }
       }
     });
@@ -78,9 +94,13 @@ public class KeyListeners {
 
       public void handle(KeyEvent keyReleased) {
         KeyCode keyCode = keyReleased.getCode();
-        
+        held.remove(keyCode);
+
         ArrayList<PlayerElement> players = game.getCurrentLevel().getPlayers();
         for (PlayerElement player : players) { 
+          if (!keybindings.hasKeybinding(player.getPlayerNumber())) {
+            continue;
+          }
           player.addAction(LevelElementAction.invertAction(
               keybindings.getKeybinding(player.getPlayerNumber()).getAction(keyCode)));
           player.removeAction((keybindings.getKeybinding(
@@ -49,6 +49,9 @@ public final class LoggingSettings {
     generateShooting();
     generatePoints();
     generateEnemy();
+    generateEvents();
+    generateReplay();
+    generateLatency();
   }
 
   /**
@@ -255,4 +258,106 @@ public final class LoggingSettings {
     currentBox.getChildren().addAll(enemyBox);
   }
 
+  /**
+   * Generate the options for recording the binary gameplay event stream.
+   */
+  private static void generateEvents() {
+    HBox eventsBox = new HBox(Constants.SETTINGS_PADDING);
+    Label queryEvents = new Label(Constants.LOGGING_EVENTS);
+    final ToggleGroup eventsGroup = new ToggleGroup();
+    final RadioButton eventsTrue = new RadioButton(Constants.SETTINGS_YES);
+    eventsTrue.setToggleGroup(eventsGroup);
+    final RadioButton eventsFalse = new RadioButton(Constants.SETTINGS_NO);
+    eventsFalse.setToggleGroup(eventsGroup);
+
+    if (Constants.isLoggingWantEvents()) {
+      eventsTrue.setSelected(true);
+      eventsFalse.setSelected(false);
+    } else {
+      eventsFalse.setSelected(true);
+      eventsTrue.setSelected(false);
+    }
+    eventsGroup.selectedToggleProperty().addListener(new ChangeListener<Object>() {
+      public void changed(ObservableValue<? extends Object> param, Object oldButton,
+          Object newButton) {
+        if (newButton == eventsTrue) {
+          Constants.setLoggingWantEvents(true);
+        } else if (newButton == eventsFalse) {
+          Constants.setLoggingWantEvents(false);
+        }
+      }
+    });
+
+    eventsBox.getChildren().addAll(queryEvents, eventsTrue, eventsFalse);
+    currentBox.getChildren().addAll(eventsBox);
+  }
+
+  /**
+   * Generate the options for recording player input for replays.
+   */
+  private static void generateReplay() {
+    HBox replayBox = new HBox(Constants.SETTINGS_PADDING);
+    Label queryReplay = new Label(Constants.LOGGING_REPLAY);
+    final ToggleGroup replayGroup = new ToggleGroup();
+    final RadioButton replayTrue = new RadioButton(Constants.SETTINGS_YES);
+    replayTrue.setToggleGroup(replayGroup);
+    final RadioButton replayFalse = new RadioButton(Constants.SETTINGS_NO);
+    replayFalse.setToggleGroup(replayGroup);
+
+    if (Constants.isLoggingWantReplay()) {
+      replayTrue.setSelected(true);
+      replayFalse.setSelected(false);
+    } else {
+      replayFalse.setSelected(true);
+      replayTrue.setSelected(false);
+    }
+    replayGroup.selectedToggleProperty().addListener(new ChangeListener<Object>() {
+      public void changed(ObservableValue<? extends Object> param, Object oldButton,
+          Object newButton) {
+        if (newButton == replayTrue) {
+          Constants.setLoggingWantReplay(true);
+        } else if (newButton == replayFalse) {
+          Constants.setLoggingWantReplay(false);
+        }
+      }
+    });
+
+    replayBox.getChildren().addAll(queryReplay, replayTrue, replayFalse);
+    currentBox.getChildren().addAll(replayBox);
+  }
+
+  /**
+   * Generate the options for saving the measured input latency.
+   */
+  private static void generateLatency() {
+    HBox latencyBox = new HBox(Constants.SETTINGS_PADDING);
+    Label queryLatency = new Label(Constants.LOGGING_LATENCY);
+    final ToggleGroup latencyGroup = new ToggleGroup();
+    final RadioButton latencyTrue = new RadioButton(Constants.SETTINGS_YES);
+    latencyTrue.setToggleGroup(latencyGroup);
+    final RadioButton latencyFalse = new RadioButton(Constants.SETTINGS_NO);
+    latencyFalse.setToggleGroup(latencyGroup);
+
+    if (Constants.isLoggingWantLatency()) {
+      latencyTrue.setSelected(true);
+      latencyFalse.setSelected(false);
+    } else {
+      latencyFalse.setSelected(true);
+      latencyTrue.setSelected(false);
+    }
+    latencyGroup.selectedToggleProperty().addListener(new ChangeListener<Object>() {
+      public void changed(ObservableValue<? extends Object> param, Object oldButton,
+          Object newButton) {
+        if (newButton == latencyTrue) {
+          Constants.setLoggingWantLatency(true);
+        } else if (newButton == latencyFalse) {
+          Constants.setLoggingWantLatency(false);
+        }
+      }
+    });
+
+    latencyBox.getChildren().addAll(queryLatency, latencyTrue, latencyFalse);
+    currentBox.getChildren().addAll(latencyBox);
+  }
+
 }
@@ -1,5 +1,6 @@
 package nl.tudelft.scrumbledore.userinterface;
 
+import java.net.InetSocketAddress;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
@@ -87,14 +88,17 @@ public final class MainMenu {
     Button multiplayerGameButton = new Button(Constants.MULTIPLAYERGAME_BUTTON);
     multiplayerChoice(multiplayerGameButton);
 
+    Button joinGameButton = new Button(Constants.JOINGAME_BUTTON);
+    joinChoice(joinGameButton);
+
     Button settingsButton = new Button(Constants.SETTINGS_BUTTON);
     settingsChoice(settingsButton);
 
     Button exitButton = new Button(Constants.EXIT_BUTTON);
     exitButtonChoice(exitButton);
 
-    contentBox.getChildren().addAll(singleplayerGameButton, multiplayerGameButton, settingsButton,
-        exitButton);
+    contentBox.getChildren().addAll(singleplayerGameButton, multiplayerGameButton, joinGameButton,
+        settingsButton, exitButton);
   }
 
   /**
@@ -131,6 +135,24 @@ public final class MainMenu {
     });
   }
 
+  /**
+   * Handling the actions needed for joining a multiplayer game on a server.
+   * 
+   * @param passedButton
+   *          The button that has been passed that requires joining a server assigning.
+   */
+  private static void joinChoice(Button passedButton) {
+    passedButton.setOnAction(new EventHandler<ActionEvent>() {
+
+      public void handle(ActionEvent arg0) {
+        MultiPlayerGameFactory factory = new MultiPlayerGameFactory();
+        GameDisplay.joinGame(factory, gameStage,
+            new InetSocketAddress(Constants.NET_HOST, Constants.NET_PORT));
+      }
+
+    });
+  }
+
   /**
    * Handling the actions needed for the settings choice.
    * 
@@ -72,4 +72,37 @@ public class ConstantsTest {
     assertTrue(Constants.isLoggingWantEnemy());
   }
 
+  /**
+   * Test the getter/setter methods of the loggingWantEvents field.
+   */
+  @Test
+  public final void testLoggingWantEvents() {
+    assertFalse(Constants.isLoggingWantEvents());
+    Constants.setLoggingWantEvents(true);
+    assertTrue(Constants.isLoggingWantEvents());
+    Constants.setLoggingWantEvents(false);
+  }
+
+  /**
+   * Test the getter/setter methods of the loggingWantReplay field.
+   */
+  @Test
+  public final void testLoggingWantReplay() {
+    assertFalse(Constants.isLoggingWantReplay());
+    Constants.setLoggingWantReplay(true);
+    assertTrue(Constants.isLoggingWantReplay());
+    Constants.setLoggingWantReplay(false);
+  }
+
+  /**
+   * Test the getter/setter methods of the loggingWantLatency field.
+   */
+  @Test
+  public final void testLoggingWantLatency() {
+    assertFalse(Constants.isLoggingWantLatency());
+    Constants.setLoggingWantLatency(true);
+    assertTrue(Constants.isLoggingWantLatency());
+    Constants.setLoggingWantLatency(false);
+  }
+
 }
@@ -0,0 +1,185 @@
+package nl.tudelft.scrumbledore.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.LevelTemplate;
+import nl.tudelft.scrumbledore.level.StressLevelGenerator;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.Player;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Test suite for the BotController class.
+ * 
+ * @author Jesse Tilro
+ */
+public class BotControllerTest {
+  private Level level;
+  private Player player;
+  private BotController controller;
+
+  /**
+   * Create a level with a single player and a controller.
+   */
+  @Before
+  public void setUp() {
+    level = makeLevel();
+    player = (Player) level.getPlayers().get(0);
+    controller = new BotController();
+  }
+
+  /**
+   * Create a level with a single player.
+   * 
+   * @return The level.
+   */
+  private static Level makeLevel() {
+    Level result = new Level();
+    result.addElement(new Player(new Vector(64, 64),
+        new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE)));
+    return result;
+  }
+
+  /**
+   * Turn the rows of a map into a template, like the LevelParser does.
+   * 
+   * @param rows
+   *          The rows of the map.
+   * 
+   * @return The template.
+   */
+  private static LevelTemplate toTemplate(String[] rows) {
+    StringBuilder kinds = new StringBuilder();
+    ArrayList<Integer> cols = new ArrayList<Integer>();
+    ArrayList<Integer> lines = new ArrayList<Integer>();
+    for (int row = 0; row < rows.length; row++) {
+      for (int col = 0; col < rows[row].length(); col++) {
+        if (rows[row].charAt(col) != ' ') {
+          kinds.append(rows[row].charAt(col));
+          cols.add(col);
+          lines.add(row);
+        }
+      }
+    }
+    int[] colArray = new int[cols.size()];
+    int[] rowArray = new int[lines.size()];
+    for (int i = 0; i < colArray.length; i++) {
+      colArray[i] = cols.get(i);
+      rowArray[i] = lines.get(i);
+    }
+    return new LevelTemplate(kinds.toString().toCharArray(), colArray, rowArray);
+  }
+
+  /**
+   * Keys held down should be pressed once, and released the way the key listeners release them.
+   */
+  @Test
+  public void testPressRelease() {
+    controller.assign(0, new ScriptedPolicy(1, BotController.MOVE_RIGHT | BotController.SHOOT,
+        0));
+
+    controller.modify(level, 1);
+    assertTrue(player.hasAction(LevelElementAction.MoveRight));
+    assertTrue(player.hasAction(LevelElementAction.Shoot));
+    assertEquals(BotController.MOVE_RIGHT | BotController.SHOOT, controller.getHeld(0));
+    assertEquals(2, controller.getPresses());
+
+    controller.modify(level, 1);
+    assertFalse(player.hasAction(LevelElementAction.MoveRight));
+    assertFalse(player.hasAction(LevelElementAction.Shoot));
+    assertTrue(player.hasAction(LevelElementAction.MoveStop));
+    assertTrue(player.hasAction(LevelElementAction.ShootStop));
+    assertEquals(0, controller.getHeld(0));
+    assertEquals(2, controller.getTick());
+  }
+
+  /**
+   * Players without a policy should be left alone.
+   */
+  @Test
+  public void testUnassigned() {
+    controller.assign(3, new ScriptedPolicy(1, BotController.JUMP));
+    controller.modify(level, 1);
+
+    assertTrue(player.getActions().isEmpty());
+    assertNull(controller.getPolicy(0));
+    assertEquals(0, controller.getPresses());
+  }
+
+  /**
+   * Dead players should not press any keys.
+   */
+  @Test
+  public void testDeadPlayer() {
+    controller.assign(0, new ScriptedPolicy(1, BotController.JUMP));
+    player.setAlive(false);
+    controller.modify(level, 1);
+
+    assertFalse(player.hasAction(LevelElementAction.Jump));
+    assertEquals(0, controller.getHeld(0));
+  }
+
+  /**
+   * Keys should be pressed again for the new players of another level.
+   */
+  @Test
+  public void testLevelChange() {
+    controller.assign(0, new ScriptedPolicy(1, BotController.MOVE_LEFT));
+    controller.modify(level, 1);
+
+    Level next = makeLevel();
+    controller.modify(next, 1);
+    assertTrue(next.getPlayers().get(0).hasAction(LevelElementAction.MoveLeft));
+    assertEquals(2, controller.getPresses());
+  }
+
+  /**
+   * Attaching should let the policy play every player and register the controller.
+   */
+  @Test
+  public void testAttach() {
+    Game game = new MultiPlayerGameFactory().makeGame();
+    BotPolicy policy = new SeekEnemyPolicy();
+    BotController attached = BotController.attach(game, policy);
+
+    assertTrue(game.getModifiers().contains(attached));
+    for (PlayerElement element : game.getCurrentLevel().getPlayers()) {
+      assertSame(policy, attached.getPolicy(element.getPlayerNumber()));
+    }
+  }
+
+  /**
+   * A generated level with more players than the keyboard supports should be played by bots.
+   */
+  @Test
+  public void testManyPlayers() {
+    String[] rows = new StressLevelGenerator(30, 30, .5, 7).generate(16, 8, 0, 0).split("\n");
+    ArrayList<Level> levels = new ArrayList<Level>();
+    levels.add(toTemplate(rows).instantiate());
+    Game game = new MultiPlayerGameFactory().makeGame(levels);
+    BotController attached = BotController.attach(game, new RandomPolicy(1, 10));
+
+    for (int i = 0; i < 200; i++) {
+      game.step(1);
+    }
+    assertEquals(16, game.getCurrentLevel().getPlayers().size());
+    assertTrue(Constants.NUMBER_OF_PLAYERS < 16);
+    assertSame(attached.getPolicy(0), attached.getPolicy(15));
+    assertTrue(attached.getPresses() > 16);
+  }
+
+}
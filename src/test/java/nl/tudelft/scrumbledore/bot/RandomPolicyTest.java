@@ -0,0 +1,66 @@
+package nl.tudelft.scrumbledore.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Player;
+
+/**
+ * Test suite for the RandomPolicy class.
+ * 
+ * @author Jesse Tilro
+ */
+public class RandomPolicyTest {
+  private static final int STEPS = 200;
+
+  /**
+   * Policies with the same seed should make the same decisions.
+   */
+  @Test
+  public void testSeed() {
+    RandomPolicy first = new RandomPolicy(5, 3);
+    RandomPolicy second = new RandomPolicy(5, 3);
+    Level level = new Level();
+    Player player = new Player(new Vector(0, 0), new Vector(32, 32));
+
+    for (int tick = 0; tick < STEPS; tick++) {
+      assertEquals(first.decide(level, player, tick), second.decide(level, player, tick));
+    }
+  }
+
+  /**
+   * Keys should only change at the start of a period, except for the shoot key which is released
+   * right after it was pressed.
+   */
+  @Test
+  public void testPeriod() {
+    RandomPolicy policy = new RandomPolicy(9, 4);
+    Level level = new Level();
+    Player player = new Player(new Vector(0, 0), new Vector(32, 32));
+    boolean shot = false;
+
+    int keys = 0;
+    for (int tick = 0; tick < STEPS; tick++) {
+      int next = policy.decide(level, player, tick);
+      if (tick % 4 != 0) {
+        assertEquals(keys & ~BotController.SHOOT, next);
+      }
+      shot |= (next & BotController.SHOOT) != 0;
+      keys = next;
+    }
+    assertTrue(shot);
+  }
+
+  /**
+   * A period of zero steps should be rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPeriod() {
+    new RandomPolicy(1, 0);
+  }
+
+}
@@ -0,0 +1,47 @@
+package nl.tudelft.scrumbledore.bot;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Player;
+
+/**
+ * Test suite for the ScriptedPolicy class.
+ * 
+ * @author Jesse Tilro
+ */
+public class ScriptedPolicyTest {
+
+  /**
+   * Every entry should be held for the period, starting over at the end, and every player should
+   * start at another entry.
+   */
+  @Test
+  public void testScript() {
+    ScriptedPolicy policy = new ScriptedPolicy(2, BotController.MOVE_LEFT,
+        BotController.MOVE_RIGHT, BotController.JUMP);
+    Level level = new Level();
+    Player first = new Player(new Vector(0, 0), new Vector(32, 32));
+    Player second = new Player(new Vector(0, 0), new Vector(32, 32));
+    second.setPlayerNumber(1);
+
+    assertEquals(BotController.MOVE_LEFT, policy.decide(level, first, 0));
+    assertEquals(BotController.MOVE_LEFT, policy.decide(level, first, 1));
+    assertEquals(BotController.MOVE_RIGHT, policy.decide(level, first, 2));
+    assertEquals(BotController.JUMP, policy.decide(level, first, 5));
+    assertEquals(BotController.MOVE_LEFT, policy.decide(level, first, 6));
+    assertEquals(BotController.MOVE_RIGHT, policy.decide(level, second, 0));
+  }
+
+  /**
+   * An empty script should be rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmpty() {
+    new ScriptedPolicy(1);
+  }
+
+}
@@ -0,0 +1,93 @@
+package nl.tudelft.scrumbledore.bot;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Player;
+
+/**
+ * Test suite for the SeekEnemyPolicy class.
+ * 
+ * @author Jesse Tilro
+ */
+public class SeekEnemyPolicyTest {
+  private static final double BLOCK = Constants.BLOCKSIZE;
+
+  private Level level;
+  private Player player;
+  private SeekEnemyPolicy policy;
+
+  /**
+   * Create a level with a player.
+   */
+  @Before
+  public void setUp() {
+    level = new Level();
+    player = new Player(new Vector(5 * BLOCK, 5 * BLOCK), new Vector(BLOCK, BLOCK));
+    level.addElement(player);
+    policy = new SeekEnemyPolicy();
+  }
+
+  /**
+   * Add an NPC to the level.
+   * 
+   * @param col
+   *          The column of the NPC.
+   * 
+   * @param row
+   *          The row of the NPC.
+   */
+  private void addNPC(double col, double row) {
+    level.addElement(new NPC(new Vector(col * BLOCK, row * BLOCK), new Vector(BLOCK, BLOCK)));
+  }
+
+  /**
+   * Without NPCs the bot should stand still.
+   */
+  @Test
+  public void testNoEnemies() {
+    assertEquals(0, policy.decide(level, player, 0));
+  }
+
+  /**
+   * The bot should walk towards the nearest NPC.
+   */
+  @Test
+  public void testWalkTowards() {
+    addNPC(30, 5);
+    addNPC(1, 6);
+    assertEquals(BotController.MOVE_LEFT, policy.decide(level, player, 0));
+  }
+
+  /**
+   * The bot should jump when the nearest NPC is above it.
+   */
+  @Test
+  public void testJump() {
+    addNPC(8, 1);
+    assertEquals(BotController.MOVE_RIGHT | BotController.JUMP, policy.decide(level, player, 0));
+  }
+
+  /**
+   * The bot should turn towards an NPC close by on the same row, and once facing it tap the shoot
+   * key.
+   */
+  @Test
+  public void testShoot() {
+    addNPC(6.5, 5);
+    player.setLastMove(LevelElementAction.MoveLeft);
+    assertEquals(BotController.MOVE_RIGHT, policy.decide(level, player, 0));
+
+    player.setLastMove(LevelElementAction.MoveRight);
+    assertEquals(BotController.SHOOT, policy.decide(level, player, 0));
+    assertEquals(0, policy.decide(level, player, 1));
+  }
+
+}
@@ -0,0 +1,86 @@
+package nl.tudelft.scrumbledore.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+
+/**
+ * Test suite for the GameEventBus class.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventBusTest {
+  private GameEventBus bus;
+
+  /**
+   * Set up a bus without subscribers.
+   */
+  @Before
+  public void setUp() {
+    bus = new GameEventBus();
+  }
+
+  /**
+   * Publishing without subscribers should do nothing.
+   */
+  @Test
+  public void testPublishWithoutSubscribers() {
+    bus.publish(GameEventType.PlayerJumped, 0, -1, 0, 0, 0);
+    assertEquals(0, bus.getSubscribers());
+  }
+
+  /**
+   * Every subscriber should receive every event.
+   */
+  @Test
+  public void testFanOut() {
+    GameEventQueue first = bus.subscribe();
+    GameEventQueue second = bus.subscribe(8);
+
+    bus.publish(GameEventType.FruitPicked, 0, 1, 0, 0, 100);
+
+    assertEquals(2, bus.getSubscribers());
+    assertEquals(GameEventType.FruitPicked, first.poll().getType());
+    assertEquals(GameEventType.FruitPicked, second.poll().getType());
+  }
+
+  /**
+   * Events should be attributed to the current tick and the position of the given element.
+   */
+  @Test
+  public void testTickAndPosition() {
+    GameEventQueue queue = bus.subscribe();
+    bus.setTick(42);
+    bus.publish(GameEventType.FruitPicked, 0, 0,
+        new Fruit(new Vector(16, 48), new Vector(32, 32)), 100);
+
+    GameEvent event = queue.poll();
+    assertEquals(42, bus.getTick());
+    assertEquals(42, event.getTick());
+    assertEquals(16, event.posX(), Constants.DOUBLE_PRECISION);
+    assertEquals(48, event.posY(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * An unsubscribed queue should no longer receive events.
+   */
+  @Test
+  public void testUnsubscribe() {
+    GameEventQueue first = bus.subscribe();
+    GameEventQueue second = bus.subscribe();
+    bus.unsubscribe(first);
+
+    bus.publish(GameEventType.PlayerDied, 0, 0, 0, 0, 0);
+
+    assertEquals(1, bus.getSubscribers());
+    assertNull(first.poll());
+    assertEquals(GameEventType.PlayerDied, second.poll().getType());
+  }
+
+}
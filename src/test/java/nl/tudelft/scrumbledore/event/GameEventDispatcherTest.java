@@ -0,0 +1,61 @@
+package nl.tudelft.scrumbledore.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the GameEventDispatcher class.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventDispatcherTest {
+
+  /**
+   * The dispatcher should hand events to its listener on a thread of its own, and deliver the
+   * remaining events when it is stopped.
+   */
+  @Test
+  public void testDispatch() {
+    GameEventQueue queue = new GameEventQueue(16);
+    final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+    GameEventDispatcher dispatcher = new GameEventDispatcher(queue, new GameEventListener() {
+      public void handle(GameEvent event) {
+        threads.add(Thread.currentThread());
+      }
+    }, 1000);
+
+    dispatcher.start();
+    assertTrue(dispatcher.isRunning());
+    queue.offer(0, GameEventType.LevelAdvanced, -1, -1, 0, 0, 2);
+    queue.offer(0, GameEventType.GameCompleted, -1, -1, 0, 0, 100);
+    dispatcher.stop();
+
+    assertFalse(dispatcher.isRunning());
+    assertEquals(2, threads.size());
+    assertNotSame(Thread.currentThread(), threads.get(0));
+    assertEquals(0, queue.size());
+  }
+
+  /**
+   * Stopping a dispatcher that was never started should do nothing.
+   */
+  @Test
+  public void testStopWithoutStart() {
+    GameEventDispatcher dispatcher = new GameEventDispatcher(new GameEventQueue(2),
+        new GameEventListener() {
+          public void handle(GameEvent event) {
+          }
+        });
+    dispatcher.stop();
+    assertFalse(dispatcher.isRunning());
+  }
+
+}
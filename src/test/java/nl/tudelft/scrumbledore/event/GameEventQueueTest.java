@@ -0,0 +1,148 @@
+package nl.tudelft.scrumbledore.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+
+/**
+ * Test suite for the GameEventQueue class.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventQueueTest {
+
+  /**
+   * The capacity should be rounded up to a power of two.
+   */
+  @Test
+  public void testCapacity() {
+    assertEquals(8, new GameEventQueue(5).getCapacity());
+    assertEquals(8, new GameEventQueue(8).getCapacity());
+    assertEquals(2, new GameEventQueue(1).getCapacity());
+  }
+
+  /**
+   * An offered event should be polled with all of its fields.
+   */
+  @Test
+  public void testOfferPoll() {
+    GameEventQueue queue = new GameEventQueue(4);
+    assertTrue(queue.offer(7, GameEventType.FruitPicked, 1, 2, 3.5, 4.5, 100));
+
+    GameEvent event = queue.poll();
+    assertEquals(7, event.getTick());
+    assertEquals(GameEventType.FruitPicked, event.getType());
+    assertEquals(1, event.getActor());
+    assertEquals(2, event.getTarget());
+    assertEquals(3.5, event.posX(), Constants.DOUBLE_PRECISION);
+    assertEquals(4.5, event.posY(), Constants.DOUBLE_PRECISION);
+    assertEquals(100, event.getValue());
+    assertNull(queue.poll());
+  }
+
+  /**
+   * Events should be drained in the order they were offered, also after wrapping around.
+   */
+  @Test
+  public void testDrainInOrder() {
+    GameEventQueue queue = new GameEventQueue(4);
+    final ArrayList<Integer> values = new ArrayList<Integer>();
+    GameEventListener listener = new GameEventListener() {
+      public void handle(GameEvent event) {
+        values.add(event.getValue());
+      }
+    };
+
+    for (int i = 0; i < 10; i++) {
+      queue.offer(0, GameEventType.PointsGained, -1, -1, 0, 0, i);
+      if (i % 3 == 2) {
+        queue.drain(listener);
+      }
+    }
+    assertEquals(1, queue.drain(listener));
+
+    assertEquals(10, values.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, (int) values.get(i));
+    }
+  }
+
+  /**
+   * Events offered to a full queue should be dropped and counted.
+   */
+  @Test
+  public void testFull() {
+    GameEventQueue queue = new GameEventQueue(2);
+    assertTrue(queue.offer(0, GameEventType.PlayerShot, 0, -1, 0, 0, 1));
+    assertTrue(queue.offer(0, GameEventType.PlayerShot, 0, -1, 0, 0, 2));
+    assertFalse(queue.offer(0, GameEventType.PlayerShot, 0, -1, 0, 0, 3));
+
+    assertEquals(2, queue.size());
+    assertEquals(1, queue.getDropped());
+    assertEquals(1, queue.poll().getValue());
+    assertTrue(queue.offer(0, GameEventType.PlayerShot, 0, -1, 0, 0, 4));
+  }
+
+  /**
+   * Events offered concurrently by several producers should all arrive, each producer's events in
+   * the order it offered them.
+   * 
+   * @throws InterruptedException
+   *           When the test is interrupted.
+   */
+  @Test
+  public void testConcurrentProducers() throws InterruptedException {
+    final int producers = 4;
+    final int perProducer = 5000;
+    final GameEventQueue queue = new GameEventQueue(256);
+    final int[] next = new int[producers];
+    final int[] received = new int[1];
+    final boolean[] ordered = { true };
+    GameEventListener listener = new GameEventListener() {
+      public void handle(GameEvent event) {
+        if (event.getValue() != next[event.getActor()]) {
+          ordered[0] = false;
+        }
+        next[event.getActor()]++;
+        received[0]++;
+      }
+    };
+
+    Thread[] threads = new Thread[producers];
+    for (int p = 0; p < producers; p++) {
+      final int actor = p;
+      threads[p] = new Thread() {
+        public void run() {
+          int i = 0;
+          while (i < perProducer) {
+            if (queue.offer(0, GameEventType.PlayerJumped, actor, -1, 0, 0, i)) {
+              i++;
+            } else {
+              Thread.yield();
+            }
+          }
+        }
+      };
+      threads[p].start();
+    }
+
+    long deadline = System.currentTimeMillis() + 10000;
+    while (received[0] < producers * perProducer && System.currentTimeMillis() < deadline) {
+      queue.drain(listener);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(producers * perProducer, received[0]);
+    assertTrue(ordered[0]);
+  }
+
+}
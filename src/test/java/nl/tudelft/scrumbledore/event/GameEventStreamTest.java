@@ -0,0 +1,141 @@
+package nl.tudelft.scrumbledore.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+
+/**
+ * Test suite for the GameEventStream and GameEventReader classes.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventStreamTest {
+  private File file;
+  private GameEventStream stream;
+
+  /**
+   * Create a stream writing to a temporary file.
+   * 
+   * @throws IOException
+   *           When the temporary file can not be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("scrumbledore", ".events");
+    stream = new GameEventStream(file, 2);
+  }
+
+  /**
+   * Remove the temporary file.
+   */
+  @After
+  public void tearDown() {
+    stream.close();
+    assertTrue(file.delete());
+  }
+
+  /**
+   * Records should be buffered until the buffer is full or the stream is flushed.
+   */
+  @Test
+  public void testBuffering() {
+    stream.record(GameEventType.PlayerJumped, 0, -1, 32, 64, 0);
+    assertEquals(1, stream.pending());
+    assertEquals(0, file.length());
+
+    stream.record(GameEventType.PlayerJumped, 0, -1, 32, 64, 0);
+    stream.record(GameEventType.PlayerJumped, 0, -1, 32, 64, 0);
+    assertEquals(1, stream.pending());
+    assertEquals(2 * GameEventStream.RECORD_SIZE, file.length());
+
+    stream.flush();
+    assertEquals(0, stream.pending());
+    assertEquals(3 * GameEventStream.RECORD_SIZE, file.length());
+  }
+
+  /**
+   * Records written by the stream should be decoded to the same values by the reader.
+   * 
+   * @throws IOException
+   *           When the event file can not be read.
+   */
+  @Test
+  public void testRoundTrip() throws IOException {
+    Fruit fruit = new Fruit(new Vector(96, 128), new Vector(32, 32));
+    stream.setTick(42);
+    stream.record(GameEventType.FruitPicked, 1, 3, fruit, 100);
+    stream.setTick(43);
+    stream.record(GameEventType.HighScoreChanged, -1, -1, 0, 0, 1200);
+    stream.close();
+
+    GameEventReader reader = new GameEventReader(file);
+    ArrayList<GameEvent> events = reader.readAll();
+    assertEquals(2, events.size());
+
+    GameEvent first = events.get(0);
+    assertEquals(42, first.getTick());
+    assertEquals(GameEventType.FruitPicked, first.getType());
+    assertEquals(1, first.getActor());
+    assertEquals(3, first.getTarget());
+    assertEquals(96, first.posX(), Constants.DOUBLE_PRECISION);
+    assertEquals(128, first.posY(), Constants.DOUBLE_PRECISION);
+    assertEquals(100, first.getValue());
+
+    GameEvent second = events.get(1);
+    assertEquals(43, second.getTick());
+    assertEquals(GameEventType.HighScoreChanged, second.getType());
+    assertEquals(-1, second.getActor());
+    assertEquals(1200, second.getValue());
+  }
+
+  /**
+   * Reopening a stream on an existing file should append to it instead of overwriting it.
+   * 
+   * @throws IOException
+   *           When the event file can not be read.
+   */
+  @Test
+  public void testAppend() throws IOException {
+    stream.record(GameEventType.PlayerShot, 0, -1, 0, 0, 1);
+    stream.close();
+
+    GameEventStream other = new GameEventStream(file, 2);
+    other.record(GameEventType.PlayerShot, 1, -1, 0, 0, -1);
+    other.close();
+
+    GameEventReader reader = new GameEventReader(file);
+    assertEquals(0, reader.next().getActor());
+    assertEquals(1, reader.next().getActor());
+    assertFalse(reader.hasNext());
+  }
+
+  /**
+   * Decoded records should be turned into a line of text containing the event's description.
+   * 
+   * @throws IOException
+   *           When the event file can not be read.
+   */
+  @Test
+  public void testReadLines() throws IOException {
+    stream.setTick(7);
+    stream.record(GameEventType.EnemyEncapsulated, 2, 0, 64, 32, 0);
+    stream.close();
+
+    ArrayList<String> lines = new GameEventReader(file).readLines();
+    assertEquals(1, lines.size());
+    assertTrue(lines.get(0).startsWith("[step 7] An enemy was encapsulated by a bubble."));
+  }
+
+}
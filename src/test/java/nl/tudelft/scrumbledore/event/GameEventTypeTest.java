@@ -0,0 +1,34 @@
+package nl.tudelft.scrumbledore.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the GameEventType enumeration.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameEventTypeTest {
+
+  /**
+   * Every type should be found back using its own code.
+   */
+  @Test
+  public void testFromCode() {
+    for (GameEventType type : GameEventType.values()) {
+      assertEquals(type, GameEventType.fromCode(type.getCode()));
+    }
+  }
+
+  /**
+   * Unknown codes should not resolve to a type.
+   */
+  @Test
+  public void testFromUnknownCode() {
+    assertNull(GameEventType.fromCode(-1));
+    assertNull(GameEventType.fromCode(GameEventType.values().length));
+  }
+
+}
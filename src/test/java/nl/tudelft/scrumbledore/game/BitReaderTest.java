@@ -0,0 +1,58 @@
+package nl.tudelft.scrumbledore.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the BitReader class.
+ * 
+ * @author Jesse Tilro
+ */
+public class BitReaderTest {
+
+  /**
+   * Bits should be read most significant first, across byte boundaries.
+   */
+  @Test
+  public void testRead() {
+    BitReader reader = new BitReader();
+    reader.reset(ByteBuffer.wrap(new byte[] { (byte) 0xBA, (byte) 0xBC, (byte) 0x40 }));
+
+    assertEquals(5, reader.read(3));
+    assertTrue(reader.readBit());
+    assertEquals(0xABC, reader.read(12));
+    assertEquals(1, reader.read(2));
+    assertFalse(reader.readBit());
+  }
+
+  /**
+   * The variable width encoding should be decoded by its two bit prefix.
+   */
+  @Test
+  public void testReadUnsigned() {
+    BitReader reader = new BitReader();
+    reader.reset(ByteBuffer.wrap(new byte[] { (byte) 0x1D, (byte) 0x13 }));
+
+    assertEquals(7, reader.readUnsigned());
+    assertEquals(0x13, reader.readUnsigned());
+  }
+
+  /**
+   * Interleaved signed numbers should be decoded to their sign.
+   */
+  @Test
+  public void testReadSigned() {
+    BitReader reader = new BitReader();
+    reader.reset(ByteBuffer.wrap(new byte[] { (byte) 0x00, (byte) 0x41, (byte) 0x40 }));
+
+    assertEquals(0, reader.readSigned());
+    assertEquals(2, reader.readSigned());
+    assertEquals(-3, reader.readSigned());
+  }
+
+}
@@ -0,0 +1,98 @@
+package nl.tudelft.scrumbledore.game;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the BitWriter class.
+ * 
+ * @author Jesse Tilro
+ */
+public class BitWriterTest {
+  private ByteBuffer buffer;
+  private BitWriter writer;
+
+  /**
+   * Create a writer over an empty buffer.
+   */
+  @Before
+  public void setUp() {
+    buffer = ByteBuffer.allocate(64);
+    writer = new BitWriter();
+    writer.reset(buffer);
+  }
+
+  /**
+   * Bits should be written most significant first, padding the last byte with zeros.
+   */
+  @Test
+  public void testWrite() {
+    writer.write(5, 3);
+    writer.writeBit(true);
+    writer.write(0xABC, 12);
+    writer.write(1, 2);
+    writer.flush();
+
+    assertEquals(3, buffer.position());
+    assertEquals((byte) 0xBA, buffer.get(0));
+    assertEquals((byte) 0xBC, buffer.get(1));
+    assertEquals((byte) 0x40, buffer.get(2));
+    assertEquals(18, writer.getBitsWritten());
+  }
+
+  /**
+   * Small numbers should take fewer bits than large ones.
+   */
+  @Test
+  public void testUnsignedWidths() {
+    writer.writeUnsigned(15);
+    assertEquals(6, writer.getBitsWritten());
+    writer.writeUnsigned(255);
+    assertEquals(16, writer.getBitsWritten());
+    writer.writeUnsigned(65535);
+    assertEquals(34, writer.getBitsWritten());
+    writer.writeUnsigned(-1);
+    assertEquals(68, writer.getBitsWritten());
+  }
+
+  /**
+   * Signed numbers close to zero should take few bits, whatever their sign.
+   */
+  @Test
+  public void testSignedWidths() {
+    writer.writeSigned(-8);
+    assertEquals(6, writer.getBitsWritten());
+    writer.writeSigned(7);
+    assertEquals(12, writer.getBitsWritten());
+  }
+
+  /**
+   * Everything written should be read back by a BitReader.
+   */
+  @Test
+  public void testRoundTrip() {
+    int[] values = { 0, 1, -1, 15, -16, 300, -300, 70000, Integer.MIN_VALUE, Integer.MAX_VALUE };
+    for (int value : values) {
+      writer.writeSigned(value);
+      writer.writeUnsigned(value);
+      writer.writeBit(value > 0);
+      writer.write(value, 7);
+    }
+    writer.flush();
+    buffer.flip();
+
+    BitReader reader = new BitReader();
+    reader.reset(buffer);
+    for (int value : values) {
+      assertEquals(value, reader.readSigned());
+      assertEquals(value, reader.readUnsigned());
+      assertEquals(value > 0, reader.readBit());
+      assertEquals(value & 0x7F, reader.read(7));
+    }
+  }
+
+}
@@ -0,0 +1,119 @@
+package nl.tudelft.scrumbledore.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.replay.ScriptedSession;
+
+/**
+ * Test suite for the DeltaStateCodec class.
+ * 
+ * @author Jesse Tilro
+ */
+public class DeltaStateCodecTest {
+  private Game game;
+  private ByteBuffer buffer;
+  private BitWriter writer;
+  private BitReader reader;
+
+  /**
+   * Create a game that has been played for a while.
+   */
+  @Before
+  public void setUp() {
+    game = new MultiPlayerGameFactory().makeGame();
+    ScriptedSession.record(game, 100);
+    buffer = ByteBuffer.allocate(SnapshotCodec.DEFAULT_CAPACITY);
+    writer = new BitWriter();
+    reader = new BitReader();
+  }
+
+  /**
+   * Encode a state against a baseline and decode it again.
+   * 
+   * @param state
+   *          The state.
+   * 
+   * @param baseline
+   *          The baseline, or null for none.
+   * 
+   * @return The decoded state.
+   */
+  private WorldState roundTrip(WorldState state, WorldState baseline) {
+    buffer.clear();
+    writer.reset(buffer);
+    DeltaStateCodec.encode(state, baseline, writer);
+    writer.flush();
+    buffer.flip();
+    reader.reset(buffer);
+    WorldState result = new WorldState();
+    DeltaStateCodec.decode(baseline, reader, result);
+    return result;
+  }
+
+  /**
+   * A state encoded without baseline should be decoded to the same state.
+   */
+  @Test
+  public void testFull() {
+    WorldState state = new WorldState();
+    state.capture(game);
+
+    assertEquals(state, roundTrip(state, null));
+  }
+
+  /**
+   * A state encoded against an earlier state should be decoded to the same state, also when
+   * elements have been added or removed since.
+   */
+  @Test
+  public void testDelta() {
+    WorldState baseline = new WorldState();
+    for (int i = 0; i < 20; i++) {
+      baseline.capture(game);
+      ScriptedSession.play(game, 100 + i * 7);
+      WorldState state = new WorldState();
+      state.capture(game);
+
+      assertEquals(state, roundTrip(state, baseline));
+    }
+  }
+
+  /**
+   * A state encoded against itself should only take a few bits per element.
+   */
+  @Test
+  public void testUnchanged() {
+    WorldState state = new WorldState();
+    state.capture(game);
+    WorldState baseline = new WorldState();
+    baseline.copy(state);
+    roundTrip(state, baseline);
+
+    int elements = game.getCurrentLevel().getDynamicElements().size();
+    assertTrue(buffer.limit() * 8 <= 6 * WorldState.HEADER + 6 * WorldState.KINDS + elements + 7);
+  }
+
+  /**
+   * The delta against the previous step should be far smaller than a full snapshot.
+   */
+  @Test
+  public void testSmallerThanSnapshot() {
+    WorldState baseline = new WorldState();
+    baseline.capture(game);
+    ScriptedSession.play(game, 100);
+    WorldState state = new WorldState();
+    state.capture(game);
+    roundTrip(state, baseline);
+    int delta = buffer.limit();
+
+    ByteBuffer snapshot = new SnapshotCodec().snapshot(game);
+    assertTrue(delta * 10 <= snapshot.remaining());
+  }
+
+}
@@ -1,11 +1,19 @@
 package nl.tudelft.scrumbledore.game;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import org.junit.Test;
 
+import nl.tudelft.scrumbledore.level.ChunkedWorld;
+import nl.tudelft.scrumbledore.level.ChunkedWorldTest;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.modifier.ChunkStreamer;
 import nl.tudelft.scrumbledore.level.modifier.CollisionsLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.GravityLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.KineticsLevelModifier;
@@ -13,6 +21,8 @@ import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.NPCLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.PlayerActionsLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.BubbleActionsLevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.SleepLevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.StatusEffectLevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.WarpLevelModifier;
 
 /**
@@ -31,7 +41,7 @@ public class GameFactoryTest {
     Game game = sFactory.makeGame();
     ArrayList<LevelModifier> modifiers = game.getModifiers();
 
-    assertEquals(7, modifiers.size());
+    assertEquals(9, modifiers.size());
     assertEquals(1, countLevelModifiers(PlayerActionsLevelModifier.class, modifiers));
     assertEquals(1, countLevelModifiers(GravityLevelModifier.class, modifiers));
     assertEquals(1, countLevelModifiers(NPCLevelModifier.class, modifiers));
@@ -39,6 +49,8 @@ public class GameFactoryTest {
     assertEquals(1, countLevelModifiers(CollisionsLevelModifier.class, modifiers));
     assertEquals(1, countLevelModifiers(KineticsLevelModifier.class, modifiers));
     assertEquals(1, countLevelModifiers(WarpLevelModifier.class, modifiers));
+    assertEquals(1, countLevelModifiers(SleepLevelModifier.class, modifiers));
+    assertEquals(1, countLevelModifiers(StatusEffectLevelModifier.class, modifiers));
   }
 
   /**
@@ -50,7 +62,7 @@ public class GameFactoryTest {
     Game game = mFactory.makeGame();
     ArrayList<LevelModifier> modifiers = game.getModifiers();
 
-    assertEquals(7, modifiers.size());
+    assertEquals(9, modifiers.size());
     assertEquals(1, countLevelModifiers(PlayerActionsLevelModifier.class, modifiers));
     assertEquals(1, countLevelModifiers(GravityLevelModifier.class, modifiers));
     assertEquals(1, countLevelModifiers(NPCLevelModifier.class, modifiers));
@@ -58,6 +70,22 @@ public class GameFactoryTest {
     assertEquals(1, countLevelModifiers(CollisionsLevelModifier.class, modifiers));
     assertEquals(1, countLevelModifiers(KineticsLevelModifier.class, modifiers));
     assertEquals(1, countLevelModifiers(WarpLevelModifier.class, modifiers));
+    assertEquals(1, countLevelModifiers(SleepLevelModifier.class, modifiers));
+    assertEquals(1, countLevelModifiers(StatusEffectLevelModifier.class, modifiers));
+  }
+
+  /**
+   * A game made from given levels should consist of those levels and have all Level Modifiers.
+   */
+  @Test
+  public final void testMakeGameWithLevels() {
+    ArrayList<Level> levels = new ArrayList<Level>();
+    levels.add(new Level());
+    Game game = new MultiPlayerGameFactory().makeGame(levels);
+
+    assertTrue(game instanceof MultiPlayerGame);
+    assertSame(levels.get(0), game.getCurrentLevel());
+    assertEquals(9, game.getModifiers().size());
   }
 
   /**
@@ -80,4 +108,29 @@ public class GameFactoryTest {
 
     return count;
   }
+
+  /**
+   * A game of a chunked world should stream its chunks in front of the other modifiers.
+   * 
+   * @throws IOException
+   *           When the temporary world file can not be used.
+   */
+  @Test
+  public final void testMakeChunkedGame() throws IOException {
+    File file = File.createTempFile("world", ".chunks");
+    file.deleteOnExit();
+    ChunkedWorld.write(ChunkedWorldTest.makeTemplate(), 16, file);
+    Game game = new SinglePlayerGameFactory().makeGame(ChunkedWorld.open(file));
+    ArrayList<LevelModifier> modifiers = game.getModifiers();
+
+    assertEquals(10, modifiers.size());
+    assertTrue(modifiers.get(0) instanceof ChunkStreamer);
+    assertEquals(1, countLevelModifiers(PlayerActionsLevelModifier.class, modifiers));
+    assertTrue(game.getCurrentLevel().getPlatforms().isEmpty());
+
+    game.step(1);
+    assertEquals(4, ((ChunkStreamer) modifiers.get(0)).getActiveChunks());
+    assertEquals(16, game.getCurrentLevel().getPlatforms().size());
+  }
+
 }
@@ -1,15 +1,20 @@
 package nl.tudelft.scrumbledore.game;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import java.util.ArrayList;
 import org.junit.Before;
 import org.junit.Test;
 import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventQueue;
+import nl.tudelft.scrumbledore.event.GameEventType;
 import nl.tudelft.scrumbledore.level.Level;
 import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
 import nl.tudelft.scrumbledore.level.modifier.NPCLevelModifier;
 
 /**
@@ -55,8 +60,9 @@ public abstract class GameTest {
    */
   @Test
   public void testConstructor() {
-    assertEquals(levels, game.getLevels());
+    assertEquals(levels.size(), game.getLevelSequence().size());
     assertEquals(levels.get(0), game.getCurrentLevel());
+    assertEquals(1, game.getCurrentLevelNumber());
   }
 
   /**
@@ -86,6 +92,17 @@ public abstract class GameTest {
     assertEquals(levels.get(0), game.getCurrentLevel());
     game.goToNextLevel();
     assertEquals(levels.get(1), game.getCurrentLevel());
+    assertEquals(2, game.getCurrentLevelNumber());
+  }
+
+  /**
+   * Setting the current level by its index should make that level the current one.
+   */
+  @Test
+  public void testSetCurrentLevelIndex() {
+    game.setCurrentLevelIndex(1);
+    assertEquals(levels.get(1), game.getCurrentLevel());
+    assertEquals(0, game.remainingLevels());
   }
 
   /**
@@ -134,7 +151,8 @@ public abstract class GameTest {
     game.restart();
     // Since on restart the game loads levels from the file system instead of our fixtures, we use
     // an assertion relative to the Game's own levels instead of our fixtures.
-    assertEquals(game.getLevels().get(0), game.getCurrentLevel());
+    assertEquals(game.getLevelSequence().get(0), game.getCurrentLevel());
+    assertEquals(1, game.getCurrentLevelNumber());
   }
 
   /**
@@ -148,4 +166,34 @@ public abstract class GameTest {
     assertEquals(9, game.getFullSteps());
   }
 
+  /**
+   * Points published during a step should be added to the score before the step ends.
+   */
+  @Test
+  public void testStepAppliesScoreEvents() {
+    final GameEventBus bus = game.getEventBus();
+    game.registerLevelModifier(new LevelModifier() {
+      public void modify(Level level, double delta) {
+        bus.publish(GameEventType.FruitPicked, 0, 0, 0, 0, 100);
+      }
+    });
+
+    game.step(1);
+    assertEquals(100, game.getScoreCounter().getScore());
+  }
+
+  /**
+   * A level without enemies should be announced as cleared once.
+   */
+  @Test
+  public void testLevelCleared() {
+    GameEventQueue queue = game.getEventBus().subscribe();
+
+    game.step(1);
+    game.step(1);
+
+    assertEquals(GameEventType.LevelCleared, queue.poll().getType());
+    assertNull(queue.poll());
+  }
+
 }
@@ -1,9 +1,18 @@
 package nl.tudelft.scrumbledore.game;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
 
 import org.junit.Test;
 
+import nl.tudelft.scrumbledore.event.GameEvent;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventQueue;
+import nl.tudelft.scrumbledore.event.GameEventType;
+import nl.tudelft.scrumbledore.score.ScoreStore;
 
 /**
  * Test suite for the scoreCounter class.
@@ -108,4 +117,66 @@ public class ScoreCounterTest {
     assertEquals(0, sc.getScore());
   }
 
+  /**
+   * Picked fruit should be awarded the points carried by the event, other events should not.
+   */
+  @Test
+  public void testHandle() {
+    ScoreCounter sc = new ScoreCounter();
+    sc.handle(new GameEvent(0, GameEventType.FruitPicked, 0, 0, 0, 0, 100));
+    sc.handle(new GameEvent(0, GameEventType.PlayerShot, 0, -1, 0, 0, 1));
+
+    assertEquals(100, sc.getScore());
+  }
+
+  /**
+   * Changes of the score and the high score should be published on the event bus.
+   */
+  @Test
+  public void testPublish() {
+    GameEventBus bus = new GameEventBus();
+    GameEventQueue queue = bus.subscribe();
+    ScoreCounter sc = new ScoreCounter();
+    sc.setEventBus(bus);
+
+    sc.updateScore(42);
+
+    GameEvent points = queue.poll();
+    assertEquals(GameEventType.PointsGained, points.getType());
+    assertEquals(42, points.getValue());
+    GameEvent high = queue.poll();
+    assertEquals(GameEventType.HighScoreChanged, high.getType());
+    assertEquals(42, high.getValue());
+  }
+
+  /**
+   * The high score should start at the best score in the store, and finished games should be
+   * submitted to it once.
+   * 
+   * @throws IOException
+   *           When the temporary store can not be created.
+   */
+  @Test
+  public void testStore() throws IOException {
+    File file = File.createTempFile("scrumbledore", ".journal");
+    ScoreStore store = new ScoreStore(file, 10, 4, 10L);
+    try {
+      store.submit("niels", 500);
+      ScoreCounter sc = new ScoreCounter();
+      sc.setStore(store, "jesse");
+      assertEquals(500, sc.getHighScore());
+
+      sc.updateScore(42);
+      sc.submitScore();
+      sc.resetScore();
+      sc.resetScore();
+      assertEquals(2, store.getLeaderboard().size());
+      assertEquals("jesse", store.getLeaderboard().get(2).getName());
+      assertEquals(42, store.getLeaderboard().get(2).getScore());
+    } finally {
+      store.close();
+      assertTrue(file.delete());
+    }
+  }
+
 }
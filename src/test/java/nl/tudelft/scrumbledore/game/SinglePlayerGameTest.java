@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import org.junit.Test;
 
 import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.LevelSequence;
 
 /**
  * Test Suite for the SinglePlayerGame class.
@@ -27,7 +28,7 @@ public class SinglePlayerGameTest extends GameTest {
   @Test
   public void testMakeLevels() {
     Game game = new SinglePlayerGame();
-    ArrayList<Level> levels = game.makeLevels();
+    LevelSequence levels = game.makeLevels();
     assertEquals(1, levels.get(0).getPlayers().size());
   }
 
@@ -0,0 +1,215 @@
+package nl.tudelft.scrumbledore.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Bubble;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.powerup.ChiliChickenPickUp;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
+import nl.tudelft.scrumbledore.replay.InputRecording;
+import nl.tudelft.scrumbledore.replay.InputReplayer;
+import nl.tudelft.scrumbledore.replay.ScriptedSession;
+import nl.tudelft.scrumbledore.replay.StateChecksum;
+
+/**
+ * Test suite for the SnapshotCodec class.
+ * 
+ * @author Jesse Tilro
+ */
+public class SnapshotCodecTest {
+  private Game game;
+  private SnapshotCodec codec;
+
+  /**
+   * Create a game that has been played for a while.
+   */
+  @Before
+  public void setUp() {
+    game = new MultiPlayerGameFactory().makeGame();
+    ScriptedSession.record(game, 200);
+    codec = new SnapshotCodec();
+  }
+
+  /**
+   * Take a snapshot of the game and copy it, so the codec's buffer can be reused.
+   * 
+   * @return A copy of the snapshot.
+   */
+  private ByteBuffer copy() {
+    ByteBuffer snapshot = codec.snapshot(game);
+    ByteBuffer copy = ByteBuffer.allocate(snapshot.remaining());
+    copy.put(snapshot);
+    copy.flip();
+    return copy;
+  }
+
+  /**
+   * Restoring a snapshot should bring back the state of the level and the counters.
+   */
+  @Test
+  public void testRestore() {
+    long checksum = StateChecksum.of(game);
+    double steps = game.getSteps();
+    int score = game.getScoreCounter().getScore();
+    ByteBuffer snapshot = copy();
+
+    ScriptedSession.record(game, 300);
+    game.getScoreCounter().updateScore(1000);
+    SnapshotCodec.restore(game, snapshot);
+
+    assertEquals(checksum, StateChecksum.of(game));
+    assertEquals(steps, game.getSteps(), 0);
+    assertEquals(score, game.getScoreCounter().getScore());
+  }
+
+  /**
+   * The simulation should continue from a restored snapshot exactly as it did from the original
+   * state.
+   */
+  @Test
+  public void testContinueAfterRestore() {
+    ByteBuffer snapshot = copy();
+    InputRecording recording = ScriptedSession.record(game, 300);
+    long expected = StateChecksum.of(game);
+
+    SnapshotCodec.restore(game, snapshot);
+    assertEquals(expected, new InputReplayer(recording).replay(game));
+  }
+
+  /**
+   * Restoring should overwrite the element instances already in the level.
+   */
+  @Test
+  public void testReusesInstances() {
+    Level level = game.getCurrentLevel();
+    PlayerElement player = level.getPlayers().get(0);
+    double posX = player.posX();
+    ByteBuffer snapshot = copy();
+
+    player.getPosition().setX(posX + 64);
+    SnapshotCodec.restore(game, snapshot);
+
+    assertSame(player, level.getPlayers().get(0));
+    assertEquals(posX, player.posX(), 0);
+  }
+
+  /**
+   * Restoring should recreate elements that were removed and remove elements that were added.
+   */
+  @Test
+  public void testRestoresListSizes() {
+    Level level = game.getCurrentLevel();
+    int npcs = level.getNPCs().size();
+    int bubbles = level.getBubbles().size();
+    ByteBuffer snapshot = copy();
+
+    level.getNPCs().clear();
+    level.getBubbles().add(new Bubble(new Vector(0, 0), new Vector(32, 32)));
+    SnapshotCodec.restore(game, snapshot);
+
+    assertEquals(npcs, level.getNPCs().size());
+    assertEquals(bubbles, level.getBubbles().size());
+  }
+
+  /**
+   * Encapsulated enemies should be restored as the same instances as the bubbles holding them.
+   */
+  @Test
+  public void testRestoresEnemyBubbles() {
+    Level level = game.getCurrentLevel();
+    Bubble bubble = new Bubble(new Vector(0, 0), new Vector(32, 32));
+    bubble.setHasNPC(true);
+    level.getBubbles().add(bubble);
+    level.getEnemyBubbles().add(bubble);
+    int enemies = level.getEnemyBubbles().size();
+    ByteBuffer snapshot = copy();
+
+    level.getEnemyBubbles().clear();
+    SnapshotCodec.restore(game, snapshot);
+
+    assertEquals(enemies, level.getEnemyBubbles().size());
+    assertSame(level.getBubbles().get(level.getBubbles().size() - 1),
+        level.getEnemyBubbles().get(enemies - 1));
+  }
+
+  /**
+   * Active status effects should be restored with their remaining steps, on the same player.
+   */
+  @Test
+  public void testRestoresPowerup() {
+    Level level = game.getCurrentLevel();
+    PlayerElement player = level.getPlayers().get(0);
+    level.getEffects().apply(player.getPlayerNumber(), StatusEffect.Chili);
+    level.getEffects().tick(10);
+    double remaining = level.getEffects().getRemaining(player.getPlayerNumber(), StatusEffect.Chili);
+    ByteBuffer snapshot = copy();
+
+    level.getEffects().clear();
+    level.getEffects().apply(player.getPlayerNumber(), StatusEffect.Taco);
+    SnapshotCodec.restore(game, snapshot);
+
+    assertSame(player, level.getPlayers().get(0));
+    assertEquals(remaining,
+        level.getEffects().getRemaining(player.getPlayerNumber(), StatusEffect.Chili),
+        Constants.DOUBLE_PRECISION);
+    assertFalse(level.getEffects().has(player.getPlayerNumber(), StatusEffect.Taco));
+  }
+
+  /**
+   * Power-up pick-ups, which have no list of actions, should be restored as well.
+   */
+  @Test
+  public void testRestoresPickUp() {
+    Level level = game.getCurrentLevel();
+    level.getPowerups().add(new ChiliChickenPickUp(new Vector(64, 64), new Vector(32, 32)));
+    int powerups = level.getPowerups().size();
+    ByteBuffer snapshot = copy();
+
+    level.getPowerups().clear();
+    SnapshotCodec.restore(game, snapshot);
+
+    assertEquals(powerups, level.getPowerups().size());
+    assertEquals(64, level.getPowerups().get(powerups - 1).posX(), 0);
+  }
+
+  /**
+   * Snapshots of an unknown version should be refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedVersion() {
+    ByteBuffer snapshot = copy();
+    snapshot.putShort(4, (short) (SnapshotCodec.VERSION + 1));
+    SnapshotCodec.restore(game, snapshot);
+  }
+
+  /**
+   * Buffers not containing a snapshot should be refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoSnapshot() {
+    SnapshotCodec.restore(game, ByteBuffer.allocate(64));
+  }
+
+  /**
+   * A codec with a small buffer should grow it to fit the snapshot.
+   */
+  @Test
+  public void testGrowBuffer() {
+    long checksum = StateChecksum.of(game);
+    ByteBuffer snapshot = new SnapshotCodec(16).snapshot(game);
+    SnapshotCodec.restore(game, snapshot);
+    assertEquals(checksum, StateChecksum.of(game));
+  }
+
+}
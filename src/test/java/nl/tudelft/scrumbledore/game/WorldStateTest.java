@@ -0,0 +1,106 @@
+package nl.tudelft.scrumbledore.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Bubble;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
+import nl.tudelft.scrumbledore.replay.ScriptedSession;
+
+/**
+ * Test suite for the WorldState class.
+ * 
+ * @author Jesse Tilro
+ */
+public class WorldStateTest {
+  private Game game;
+
+  /**
+   * Create a game that has been played for a while.
+   */
+  @Before
+  public void setUp() {
+    game = new MultiPlayerGameFactory().makeGame();
+    ScriptedSession.record(game, 200);
+  }
+
+  /**
+   * Applying a captured state should bring back the level and counters, up to the fixed point
+   * precision.
+   */
+  @Test
+  public void testApply() {
+    game.getCurrentLevel().getEffects().apply(1, StatusEffect.Taco);
+    WorldState state = new WorldState();
+    state.capture(game);
+    PlayerElement player = game.getCurrentLevel().getPlayers().get(0);
+    double x = player.posX();
+    int npcs = game.getCurrentLevel().getNPCs().size();
+    int score = game.getScoreCounter().getScore();
+
+    ScriptedSession.record(game, 100);
+    game.getCurrentLevel().getNPCs().add(new NPC(new Vector(x, 0), new Vector(32, 32)));
+    game.getScoreCounter().updateScore(1000);
+    state.apply(game);
+
+    assertEquals(x, player.posX(), 1.0 / WorldState.SCALE);
+    assertEquals(npcs, game.getCurrentLevel().getNPCs().size());
+    assertEquals(score, game.getScoreCounter().getScore());
+    assertTrue(game.getCurrentLevel().getEffects().has(1, StatusEffect.Taco));
+
+    WorldState again = new WorldState();
+    again.capture(game);
+    assertEquals(state, again);
+    assertEquals(state.hashCode(), again.hashCode());
+  }
+
+  /**
+   * Bubbles holding an enemy should be restored as such.
+   */
+  @Test
+  public void testEnemyBubbles() {
+    int enemies = game.getCurrentLevel().getEnemyBubbles().size();
+    Bubble bubble = new Bubble(new Vector(64, 64), new Vector(32, 32));
+    bubble.setHasNPC(true);
+    game.getCurrentLevel().addElement(bubble);
+    game.getCurrentLevel().getEnemyBubbles().add(bubble);
+    WorldState state = new WorldState();
+    state.capture(game);
+
+    game.getCurrentLevel().getEnemyBubbles().clear();
+    bubble.setHasNPC(false);
+    state.apply(game);
+
+    assertEquals(enemies + 1, game.getCurrentLevel().getEnemyBubbles().size());
+    assertTrue(game.getCurrentLevel().getEnemyBubbles().contains(bubble));
+    assertTrue(bubble.hasNPC());
+  }
+
+  /**
+   * A copy should equal the original, and differ from it once the game has moved on.
+   */
+  @Test
+  public void testCopy() {
+    WorldState state = new WorldState();
+    state.capture(game);
+    WorldState copy = new WorldState();
+    copy.copy(state);
+
+    assertEquals(state, copy);
+    assertEquals(state.getTick(), copy.getTick());
+    assertFalse(state.equals(null));
+
+    ScriptedSession.record(game, 10);
+    copy.capture(game);
+    assertNotEquals(state, copy);
+  }
+
+}
@@ -0,0 +1,55 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Bubble;
+import nl.tudelft.scrumbledore.level.element.ElementKind;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.modifier.CollisionsLevelModifier;
+
+/**
+ * Test suite for the CollisionPairsEvent class, as committed by the CollisionsLevelModifier.
+ * 
+ * @author Jesse Tilro
+ */
+public class CollisionPairsEventTest {
+
+  /**
+   * Each handler that received candidate pairs in a step should be recorded with the kinds it
+   * handles and the number of pairs.
+   * 
+   * @throws IOException
+   *           When the recording fails.
+   */
+  @Test
+  public void testPairs() throws IOException {
+    final Level level = new Level();
+    level.addElement(new NPC(new Vector(0, 0), new Vector(32, 32)));
+    level.addElement(new Bubble(new Vector(16, 0), new Vector(32, 32)));
+    final CollisionsLevelModifier modifier = new CollisionsLevelModifier(new GameEventBus());
+
+    List<RecordedEvent> events = RecordedEvents.record(new Runnable() {
+      public void run() {
+        modifier.modify(level, 1);
+      }
+    }, "scrumbledore.CollisionPairs");
+
+    assertEquals(1, events.size());
+    RecordedEvent event = events.get(0);
+    assertEquals(ElementKind.NPC.name(), event.getString("first"));
+    assertEquals(ElementKind.Bubble.name(), event.getString("second"));
+    assertEquals(1, event.getInt("candidates"));
+    assertEquals(1, event.getInt("handled"));
+  }
+
+}
@@ -0,0 +1,79 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.level.LevelCompiler;
+import nl.tudelft.scrumbledore.level.LevelPack;
+import nl.tudelft.scrumbledore.level.LevelTemplate;
+
+/**
+ * Test suite for the LevelLoadEvent and LevelParseEvent classes.
+ * 
+ * @author Jesse Tilro
+ */
+public class LevelLoadEventTest {
+
+  /**
+   * Make a small level template with a player, an enemy and a platform.
+   * 
+   * @return The template.
+   */
+  private static LevelTemplate template() {
+    return new LevelTemplate(new char[] { 'P', 'N', '#' }, new int[] { 1, 2, 3 },
+        new int[] { 1, 1, 2 }, 5, 4);
+  }
+
+  /**
+   * Instantiating a level from its template should be recorded with its size.
+   * 
+   * @throws IOException
+   *           When the recording fails.
+   */
+  @Test
+  public void testLoad() throws IOException {
+    List<RecordedEvent> events = RecordedEvents.record(new Runnable() {
+      public void run() {
+        template().instantiate();
+      }
+    }, "scrumbledore.LevelLoad");
+
+    assertEquals(1, events.size());
+    assertEquals(3, events.get(0).getInt("elements"));
+    assertEquals(1, events.get(0).getInt("players"));
+    assertEquals(5, events.get(0).getInt("width"));
+    assertEquals(4, events.get(0).getInt("height"));
+  }
+
+  /**
+   * Decoding a level from a level pack should be recorded with its entry in the pack.
+   * 
+   * @throws IOException
+   *           When the recording fails.
+   */
+  @Test
+  public void testParse() throws IOException {
+    ArrayList<LevelTemplate> templates = new ArrayList<LevelTemplate>();
+    templates.add(template());
+    templates.add(template());
+    final LevelPack pack = new LevelPack(LevelCompiler.compile(templates));
+
+    List<RecordedEvent> events = RecordedEvents.record(new Runnable() {
+      public void run() {
+        pack.decode(1);
+      }
+    }, "scrumbledore.LevelParse");
+
+    assertEquals(1, events.size());
+    assertEquals("pack#1", events.get(0).getString("source"));
+    assertEquals(3, events.get(0).getInt("elements"));
+  }
+
+}
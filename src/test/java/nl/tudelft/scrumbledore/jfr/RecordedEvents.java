@@ -0,0 +1,121 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Helper for the Flight Recorder event tests, running an action during a recording and reading
+ * back the events it produced.
+ * 
+ * @author Jesse Tilro
+ */
+final class RecordedEvents {
+
+  /**
+   * Private constructor, since this class only offers static utility methods.
+   */
+  private RecordedEvents() {
+  }
+
+  /**
+   * Run an action while recording a given set of events.
+   * 
+   * @param action
+   *          The action.
+   * 
+   * @param names
+   *          The names of the events to enable.
+   * 
+   * @return The events of the given names recorded during the action.
+   * 
+   * @throws IOException
+   *           When the recording could not be written or read.
+   */
+  static List<RecordedEvent> record(Runnable action, String... names) throws IOException {
+    Recording recording = new Recording();
+    for (String name : names) {
+      recording.enable(name).withoutThreshold();
+    }
+    return run(recording, action, names);
+  }
+
+  /**
+   * Run an action while recording with the settings of a predefined configuration, such as
+   * "default" or "profile".
+   * 
+   * @param action
+   *          The action.
+   * 
+   * @param settings
+   *          The settings of the configuration.
+   * 
+   * @param names
+   *          The names of the events to look for.
+   * 
+   * @return The events of the given names recorded during the action.
+   * 
+   * @throws IOException
+   *           When the recording could not be written or read.
+   */
+  static List<RecordedEvent> record(Runnable action, Map<String, String> settings,
+      String... names) throws IOException {
+    Recording recording = new Recording();
+    recording.setSettings(settings);
+    return run(recording, action, names);
+  }
+
+  /**
+   * Run an action during a recording and read back the events of the given names that were
+   * committed by the current thread, leaving out those of games running in the background.
+   * 
+   * @param recording
+   *          The recording, not yet started.
+   * 
+   * @param action
+   *          The action.
+   * 
+   * @param names
+   *          The names of the events to keep.
+   * 
+   * @return The recorded events.
+   * 
+   * @throws IOException
+   *           When the recording could not be written or read.
+   */
+  private static List<RecordedEvent> run(Recording recording, Runnable action, String... names)
+      throws IOException {
+    Path file = Files.createTempFile("scrumbledore", ".jfr");
+    try {
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+
+      long thread = Thread.currentThread().getId();
+      List<RecordedEvent> result = new ArrayList<RecordedEvent>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+        if (event.getThread() == null || event.getThread().getJavaThreadId() != thread) {
+          continue;
+        }
+        for (String name : names) {
+          if (name.equals(event.getEventType().getName())) {
+            result.add(event);
+          }
+        }
+      }
+      return result;
+    } finally {
+      recording.close();
+      Files.deleteIfExists(file);
+    }
+  }
+
+}
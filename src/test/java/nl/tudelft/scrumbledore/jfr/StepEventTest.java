@@ -0,0 +1,108 @@
+package nl.tudelft.scrumbledore.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.SinglePlayerGame;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.modifier.GravityLevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.KineticsLevelModifier;
+
+/**
+ * Test suite for the StepEvent and ModifierEvent classes, as committed by Game.step.
+ * 
+ * @author Jesse Tilro
+ */
+public class StepEventTest {
+  private Game game;
+  private Runnable steps;
+
+  /**
+   * Set up a game with a level holding a fruit and an enemy, and two Level Modifiers.
+   */
+  @Before
+  public void setUp() {
+    Level level = new Level();
+    level.addElement(new Fruit(new Vector(32, 32), new Vector(32, 32)));
+    level.addElement(new NPC(new Vector(96, 32), new Vector(32, 32)));
+    ArrayList<Level> levels = new ArrayList<Level>();
+    levels.add(level);
+
+    game = new SinglePlayerGame(levels);
+    game.registerLevelModifier(new GravityLevelModifier());
+    game.registerLevelModifier(new KineticsLevelModifier());
+    steps = new Runnable() {
+      public void run() {
+        for (int i = 0; i < 3; i++) {
+          game.step(1);
+        }
+      }
+    };
+  }
+
+  /**
+   * Every step should be recorded with its tick, delta and element counts.
+   * 
+   * @throws IOException
+   *           When the recording fails.
+   */
+  @Test
+  public void testStep() throws IOException {
+    List<RecordedEvent> events = RecordedEvents.record(steps, "scrumbledore.Step");
+
+    assertEquals(3, events.size());
+    RecordedEvent last = events.get(2);
+    assertEquals(game.getFullSteps(), last.getInt("tick"));
+    assertEquals(1, last.getDouble("delta"), Constants.DOUBLE_PRECISION);
+    assertEquals(1, last.getInt("npcs"));
+    assertEquals(1, last.getInt("fruits"));
+    assertEquals(0, last.getInt("players"));
+  }
+
+  /**
+   * Every Level Modifier invocation should be recorded, in the order of registration.
+   * 
+   * @throws IOException
+   *           When the recording fails.
+   */
+  @Test
+  public void testModifiers() throws IOException {
+    List<RecordedEvent> events = RecordedEvents.record(steps, "scrumbledore.Modifier");
+
+    assertEquals(6, events.size());
+    assertEquals("GravityLevelModifier", events.get(0).getString("modifier"));
+    assertEquals("KineticsLevelModifier", events.get(1).getString("modifier"));
+    assertEquals(events.get(0).getInt("tick"), events.get(1).getInt("tick"));
+  }
+
+  /**
+   * The events should not be recorded with the settings shipped with the JDK, so they cost nothing
+   * unless asked for.
+   * 
+   * @throws Exception
+   *           When the recording fails or the configuration can not be found.
+   */
+  @Test
+  public void testDisabledByDefault() throws Exception {
+    List<RecordedEvent> events = RecordedEvents.record(steps,
+        Configuration.getConfiguration("profile").getSettings(), "scrumbledore.Step",
+        "scrumbledore.Modifier");
+    assertTrue(events.isEmpty());
+  }
+
+}
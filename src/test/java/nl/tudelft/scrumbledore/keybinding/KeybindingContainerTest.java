@@ -2,6 +2,7 @@ package nl.tudelft.scrumbledore.keybinding;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Test;
@@ -46,6 +47,17 @@ public class KeybindingContainerTest {
     }
   }
 
+  /**
+   * Only the players controlled by a keyboard should have a keybinding.
+   */
+  @Test
+  public void testHasKeybinding() {
+    assertTrue(keybindingContainer.hasKeybinding(0));
+    assertTrue(keybindingContainer.hasKeybinding(Constants.NUMBER_OF_PLAYERS - 1));
+    assertFalse(keybindingContainer.hasKeybinding(Constants.NUMBER_OF_PLAYERS));
+    assertFalse(keybindingContainer.hasKeybinding(-1));
+  }
+
   /**
    * Tests if the updateKeybinding method updates the keybinding properly.
    */
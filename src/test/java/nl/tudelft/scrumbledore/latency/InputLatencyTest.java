@@ -0,0 +1,142 @@
+package nl.tudelft.scrumbledore.latency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the InputLatency class.
+ * 
+ * @author Jesse Tilro
+ */
+public class InputLatencyTest {
+
+  /**
+   * A press should be measured from the key event to the step and to the frame after it.
+   */
+  @Test
+  public void testStages() {
+    InputLatency latency = new InputLatency();
+    latency.pressed(0, 1000000L);
+    latency.applied(0, 3000000L);
+    latency.rendered(10000000L);
+
+    assertEquals(2000, latency.getKeyToStep().getMax());
+    assertEquals(7000, latency.getStepToFrame().getMax());
+    assertEquals(9000, latency.getKeyToFrame().getMax());
+    assertEquals(1, latency.getKeyToFrame().getCount());
+  }
+
+  /**
+   * Steps and frames without a press waiting for them should not be measured.
+   */
+  @Test
+  public void testNothingWaiting() {
+    InputLatency latency = new InputLatency();
+    latency.applied(0, 1000000L);
+    latency.rendered(2000000L);
+    latency.pressed(1, 3000000L);
+    latency.rendered(4000000L);
+
+    assertEquals(0, latency.getKeyToStep().getCount());
+    assertEquals(0, latency.getKeyToFrame().getCount());
+  }
+
+  /**
+   * Presses made before the step applying them should be measured from the earliest.
+   */
+  @Test
+  public void testEarliestPress() {
+    InputLatency latency = new InputLatency();
+    latency.pressed(0, 1000000L);
+    latency.pressed(0, 2000000L);
+    latency.applied(0, 5000000L);
+    latency.applied(0, 6000000L);
+
+    assertEquals(1, latency.getKeyToStep().getCount());
+    assertEquals(4000, latency.getKeyToStep().getMax());
+  }
+
+  /**
+   * A press applied while another press of the same player waits for a frame should replace it.
+   */
+  @Test
+  public void testDropped() {
+    InputLatency latency = new InputLatency();
+    latency.pressed(0, 1000000L);
+    latency.applied(0, 2000000L);
+    latency.pressed(0, 3000000L);
+    latency.applied(0, 4000000L);
+    latency.rendered(5000000L);
+
+    assertEquals(1, latency.getDropped());
+    assertEquals(2, latency.getKeyToStep().getCount());
+    assertEquals(1, latency.getKeyToFrame().getCount());
+    assertEquals(2000, latency.getKeyToFrame().getMax());
+  }
+
+  /**
+   * Presses of several players should be measured separately, also for player numbers that were
+   * not reserved room for.
+   */
+  @Test
+  public void testPlayers() {
+    InputLatency latency = new InputLatency();
+    latency.pressed(0, 1000000L);
+    latency.pressed(5, 2000000L);
+    latency.applied(0, 3000000L);
+    latency.applied(5, 3000000L);
+    latency.rendered(4000000L);
+
+    assertEquals(2, latency.getKeyToFrame().getCount());
+    assertEquals(3000, latency.getKeyToFrame().getMax());
+    assertEquals(0, latency.getDropped());
+
+    latency.reset();
+    assertEquals(0, latency.getKeyToFrame().getCount());
+  }
+
+  /**
+   * The summary should hold a line per stage.
+   */
+  @Test
+  public void testSummary() {
+    String[] lines = new InputLatency().summary().split("\\n");
+    assertEquals(3, lines.length);
+    assertTrue(lines[2].startsWith("key to frame: "));
+  }
+
+  /**
+   * The histograms should be written to a file as comma separated values.
+   * 
+   * @throws IOException
+   *           When the temporary file can not be written.
+   */
+  @Test
+  public void testWrite() throws IOException {
+    InputLatency latency = new InputLatency();
+    latency.pressed(0, 1000000L);
+    latency.applied(0, 2000000L);
+    latency.rendered(3000000L);
+    File file = File.createTempFile("scrumbledore", ".csv");
+    try {
+      latency.write(file);
+      List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+      assertEquals(4, lines.size());
+      assertEquals("stage,from_us,to_us,count", lines.get(0));
+      assertTrue(lines.get(1).startsWith("key_to_step,"));
+      assertTrue(lines.get(2).startsWith("step_to_frame,"));
+      assertTrue(lines.get(3).startsWith("key_to_frame,"));
+    } finally {
+      assertTrue(file.delete());
+    }
+  }
+
+}
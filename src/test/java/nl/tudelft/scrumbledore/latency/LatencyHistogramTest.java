@@ -0,0 +1,106 @@
+package nl.tudelft.scrumbledore.latency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the LatencyHistogram class.
+ * 
+ * @author Jesse Tilro
+ */
+public class LatencyHistogramTest {
+
+  /**
+   * Every value should fall within the bounds of its bucket, and the buckets should follow each
+   * other without gaps.
+   */
+  @Test
+  public void testBuckets() {
+    for (long micros = 0; micros < 100000; micros += 7) {
+      int index = LatencyHistogram.index(micros);
+      assertTrue(LatencyHistogram.lowerBound(index) <= micros);
+      assertTrue(LatencyHistogram.upperBound(index) >= micros);
+    }
+    for (int index = 1; index < LatencyHistogram.index(LatencyHistogram.MAX_MICROS); index++) {
+      assertEquals(LatencyHistogram.upperBound(index - 1) + 1, LatencyHistogram.lowerBound(index));
+    }
+  }
+
+  /**
+   * Percentiles should be within 1/16th of the exact value.
+   */
+  @Test
+  public void testPercentile() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getPercentile(50));
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 10000L);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(10000, histogram.getMax());
+    assertEquals(5005, histogram.getMean(), 0.001);
+    assertEquals(5000, histogram.getPercentile(50), 5000 / 16);
+    assertEquals(9900, histogram.getPercentile(99), 9900 / 16);
+    assertEquals(10000, histogram.getPercentile(100));
+    assertEquals(10, histogram.getPercentile(0));
+  }
+
+  /**
+   * Negative latencies should count as zero and very large ones as the maximum.
+   */
+  @Test
+  public void testClamp() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5000);
+    histogram.record(Long.MAX_VALUE);
+
+    assertEquals(0, histogram.getPercentile(50));
+    assertEquals(LatencyHistogram.MAX_MICROS, histogram.getMax());
+  }
+
+  /**
+   * Adding a histogram should count its latencies, and resetting should forget them all.
+   */
+  @Test
+  public void testAddReset() {
+    LatencyHistogram first = new LatencyHistogram();
+    LatencyHistogram second = new LatencyHistogram();
+    first.record(1000000);
+    second.record(3000000);
+    first.add(second);
+
+    assertEquals(2, first.getCount());
+    assertEquals(3000, first.getMax());
+    assertEquals(2000, first.getMean(), 0.001);
+
+    first.reset();
+    assertEquals(0, first.getCount());
+    assertEquals(0, first.getMax());
+    assertEquals(0, first.getMean(), 0.001);
+  }
+
+  /**
+   * Only the non-empty buckets should be written.
+   */
+  @Test
+  public void testWrite() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(5000000L);
+    histogram.record(5000000L);
+    histogram.record(100000000L);
+    StringWriter out = new StringWriter();
+    histogram.write("stage", new PrintWriter(out, true));
+
+    String[] lines = out.toString().trim().split("\\r?\\n");
+    assertEquals(2, lines.length);
+    assertEquals("stage,4864,5119,2", lines[0]);
+    assertTrue(lines[1].endsWith(",1"));
+  }
+
+}
@@ -0,0 +1,109 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.Platform;
+
+/**
+ * Test suite for the ChunkedWorld class.
+ * 
+ * @author Jesse Tilro
+ */
+public class ChunkedWorldTest {
+  private ChunkedWorld world;
+
+  /**
+   * Create a template of 64 by 64 blocks with a platform in every corner of every 16 by 16 chunk, a
+   * player in the top left and an NPC in the bottom right.
+   * 
+   * @return The template.
+   */
+  public static LevelTemplate makeTemplate() {
+    int size = 16 * 4 + 2;
+    char[] kinds = new char[size];
+    int[] cols = new int[size];
+    int[] rows = new int[size];
+    for (int i = 0; i < 16 * 4; i++) {
+      int chunk = i / 4;
+      int corner = i % 4;
+      kinds[i] = '#';
+      cols[i] = (chunk % 4) * 16 + (corner % 2) * 15;
+      rows[i] = (chunk / 4) * 16 + (corner / 2) * 15;
+    }
+    kinds[size - 2] = 'P';
+    cols[size - 2] = 2;
+    rows[size - 2] = 2;
+    kinds[size - 1] = 'N';
+    cols[size - 1] = 60;
+    rows[size - 1] = 60;
+    return new LevelTemplate(kinds, cols, rows, 64, 64);
+  }
+
+  /**
+   * Write the test world to a temporary file and map it.
+   * 
+   * @throws IOException
+   *           When the temporary file can not be used.
+   */
+  @Before
+  public void setUp() throws IOException {
+    File file = File.createTempFile("world", ".chunks");
+    file.deleteOnExit();
+    ChunkedWorld.write(makeTemplate(), 16, file);
+    world = ChunkedWorld.open(file);
+  }
+
+  /**
+   * The world should be split into 4 by 4 chunks.
+   */
+  @Test
+  public void testDimensions() {
+    assertEquals(16, world.getChunkSize());
+    assertEquals(4, world.getCols());
+    assertEquals(4, world.getRows());
+    assertEquals(64 * Constants.BLOCKSIZE, world.getWidth(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * The level of the world should initially only contain the players.
+   */
+  @Test
+  public void testMakeLevel() {
+    Level level = world.makeLevel(1);
+    assertEquals(1, level.getPlayers().size());
+    assertEquals(0, level.getPlatforms().size());
+    assertEquals(world.getHeight(), level.getHeight(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * Loading a chunk should add its elements at their position in the world.
+   */
+  @Test
+  public void testLoadChunk() {
+    Level level = new Level();
+    world.loadChunk(3, 3, level);
+
+    assertEquals(4, level.getPlatforms().size());
+    assertEquals(1, level.getNPCs().size());
+    Platform first = level.getPlatforms().get(0);
+    assertEquals(48 * Constants.BLOCKSIZE, first.posX(), Constants.DOUBLE_PRECISION);
+    assertEquals(48 * Constants.BLOCKSIZE, first.posY(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * A buffer not containing a world should be refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadMagic() {
+    new ChunkedWorld(ByteBuffer.wrap(new byte[32]));
+  }
+
+}
@@ -0,0 +1,140 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.Player;
+
+/**
+ * Test suite for the ContactCache and ContactManifold classes.
+ * 
+ * @author Jesse Tilro
+ */
+public class ContactCacheTest {
+  private ContactCache cache;
+  private Platform platform;
+  private Fruit fruit;
+
+  /**
+   * Set up a fruit resting on a platform and an empty cache.
+   */
+  @Before
+  public void setUp() {
+    cache = new ContactCache(CollisionBackend.Discrete);
+    platform = new Platform(new Vector(0, 32), new Vector(32, 32));
+    fruit = new Fruit(new Vector(0, 0), new Vector(32, 32));
+  }
+
+  /**
+   * Querying the same pair twice should evaluate it only once.
+   */
+  @Test
+  public void testEvaluatedOnce() {
+    ContactManifold first = cache.get(fruit, platform, 1);
+    ContactManifold second = cache.get(fruit, platform, 1);
+
+    assertSame(first, second);
+    assertTrue(second.collidingFromTop());
+    assertEquals(1, cache.getEvaluations());
+    assertEquals(1, cache.size());
+  }
+
+  /**
+   * The manifold should agree with a Collision on all sides.
+   */
+  @Test
+  public void testMatchesCollision() {
+    Player player = new Player(new Vector(0, 32), new Vector(32, 32));
+    player.getSpeed().setX(20);
+    Platform wall = new Platform(new Vector(48, 32), new Vector(32, 32));
+
+    ContactManifold manifold = cache.get(player, wall, 1);
+    Collision collision = new Collision(player, wall, 1);
+
+    assertEquals(collision.colliding(), manifold.colliding());
+    assertEquals(collision.collidingFromTop(), manifold.collidingFromTop());
+    assertEquals(collision.collidingFromBottom(), manifold.collidingFromBottom());
+    assertEquals(collision.collidingFromLeft(), manifold.collidingFromLeft());
+    assertEquals(collision.collidingFromRight(), manifold.collidingFromRight());
+    assertEquals(new Vector(-1, 0), manifold.getNormal());
+  }
+
+  /**
+   * Moving an element should make the next query evaluate the pair again.
+   */
+  @Test
+  public void testInvalidatedByMove() {
+    ContactManifold manifold = cache.get(fruit, platform, 1);
+    assertTrue(manifold.collidingFromTop());
+
+    fruit.getPosition().setY(-100);
+
+    assertFalse(manifold.collidingFromTop());
+    assertFalse(cache.get(fruit, platform, 1).colliding());
+    assertEquals(2, cache.getEvaluations());
+  }
+
+  /**
+   * A different delta should make the next query evaluate the pair again.
+   */
+  @Test
+  public void testInvalidatedByDelta() {
+    cache.get(fruit, platform, 1);
+    cache.get(fruit, platform, .5);
+
+    assertEquals(2, cache.getEvaluations());
+  }
+
+  /**
+   * The penetration should be the overlap along the axis of least overlap.
+   */
+  @Test
+  public void testPenetration() {
+    fruit.getPosition().setY(4);
+
+    assertEquals(4, cache.get(fruit, platform, 1).getPenetration(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * Resetting the cache should forget all pairs.
+   */
+  @Test
+  public void testReset() {
+    cache.get(fruit, platform, 1);
+    cache.reset();
+    cache.get(fruit, platform, 1);
+
+    assertEquals(1, cache.size());
+    assertEquals(2, cache.getEvaluations());
+  }
+
+  /**
+   * The cache should keep all pairs when it grows beyond its initial capacity.
+   */
+  @Test
+  public void testGrow() {
+    ArrayList<Fruit> fruits = new ArrayList<Fruit>();
+    ArrayList<ContactManifold> manifolds = new ArrayList<ContactManifold>();
+    for (int i = 0; i < 1000; i++) {
+      Fruit other = new Fruit(new Vector(0, 0), new Vector(32, 32));
+      fruits.add(other);
+      manifolds.add(cache.get(other, platform, 1));
+    }
+
+    assertEquals(1000, cache.size());
+    for (int i = 0; i < fruits.size(); i++) {
+      assertSame(manifolds.get(i), cache.get(fruits.get(i), platform, 1));
+    }
+    assertEquals(1000, cache.getEvaluations());
+  }
+
+}
@@ -0,0 +1,62 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the FlowField class.
+ * 
+ * @author Jesse Tilro
+ */
+public class FlowFieldTest {
+
+  /**
+   * Every node should get its distance to the target and a link bringing it one step closer.
+   */
+  @Test
+  public void testCompute() {
+    NavigationGraph graph = new NavigationGraph(NavigationGraphTest.makeLevel(
+        "#      #",
+        "#      #",
+        "#  __  #",
+        "#      #",
+        "#      #",
+        "########"));
+    FlowField field = new FlowField(graph);
+    assertEquals(-1, field.getTarget());
+
+    int target = graph.nodeAtTile(3, 1);
+    field.compute(target);
+
+    assertEquals(target, field.getTarget());
+    assertEquals(0, field.getDistance(target));
+    assertEquals(-1, field.getNextEdge(target));
+    assertEquals(1, field.getDistance(graph.nodeAtTile(5, 4)));
+    assertEquals(2, field.getDistance(graph.nodeAtTile(6, 4)));
+
+    int node = graph.nodeAtTile(6, 4);
+    int edge = field.getNextEdge(node);
+    assertEquals(NavigationLink.Walk, graph.getEdgeLink(edge));
+    assertEquals(5, graph.getColumn(graph.getEdgeTarget(edge)));
+    assertEquals(1, field.getComputations());
+  }
+
+  /**
+   * Nodes from which the target can not be reached should be marked unreachable.
+   */
+  @Test
+  public void testUnreachable() {
+    NavigationGraph graph = new NavigationGraph(NavigationGraphTest.makeLevel(
+        "#  #  #",
+        "#  #  #",
+        "#######"));
+    FlowField field = new FlowField(graph);
+    field.compute(graph.nodeAtTile(1, 1));
+
+    assertEquals(FlowField.UNREACHABLE, field.getDistance(graph.nodeAtTile(5, 1)));
+    assertEquals(-1, field.getNextEdge(graph.nodeAtTile(5, 1)));
+    assertEquals(1, field.getDistance(graph.nodeAtTile(2, 1)));
+  }
+
+}
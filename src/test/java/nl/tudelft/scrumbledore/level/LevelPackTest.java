@@ -0,0 +1,175 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import nl.tudelft.scrumbledore.Constants;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the LevelPack and LevelCompiler classes.
+ * 
+ * @author Jesse Tilro
+ */
+public class LevelPackTest {
+
+  /**
+   * Describe the elements of a template independent of their order, except for players, whose
+   * order determines their player numbers.
+   * 
+   * @param template
+   *          The template.
+   * 
+   * @return A sorted list of element descriptions.
+   */
+  private List<String> describe(LevelTemplate template) {
+    List<String> elements = new ArrayList<String>();
+    List<String> players = new ArrayList<String>();
+    for (int idx = 0; idx < template.size(); idx++) {
+      String element = template.getKind(idx) + ":" + template.getCol(idx) + ":"
+          + template.getRow(idx);
+      if (template.getKind(idx) == 'P') {
+        players.add(element);
+      } else {
+        elements.add(element);
+      }
+    }
+    Collections.sort(elements);
+    elements.addAll(players);
+    return elements;
+  }
+
+  /**
+   * Describe a list of templates.
+   * 
+   * @param templates
+   *          The templates.
+   * 
+   * @return A list of descriptions, one per template.
+   */
+  private List<List<String>> describe(List<LevelTemplate> templates) {
+    List<List<String>> descriptions = new ArrayList<List<String>>();
+    for (LevelTemplate template : templates) {
+      descriptions.add(describe(template));
+    }
+    return descriptions;
+  }
+
+  /**
+   * Generate a random template on a 20 by 20 map.
+   * 
+   * @param random
+   *          The random number generator.
+   * 
+   * @return A new template.
+   */
+  private LevelTemplate randomTemplate(Random random) {
+    String kinds = "#_PNFCV";
+    int count = random.nextInt(40);
+    char[] chars = new char[count];
+    int[] cols = new int[count];
+    int[] rows = new int[count];
+    for (int i = 0; i < count; i++) {
+      chars[i] = kinds.charAt(random.nextInt(kinds.length()));
+      cols[i] = i % 20;
+      rows[i] = i / 20;
+    }
+    return new LevelTemplate(chars, cols, rows);
+  }
+
+  /**
+   * Compiling the game's levels and decoding them again should yield the same levels.
+   */
+  @Test
+  public void testRoundTrip() {
+    List<LevelTemplate> templates = new LevelParser(Constants.LEVELS_DIR).getTemplates();
+    LevelPack pack = new LevelPack(LevelCompiler.compile(templates));
+
+    assertEquals(templates.size(), pack.size());
+    assertEquals(describe(templates), describe(pack.decodeAll()));
+  }
+
+  /**
+   * Decoding in parallel should yield the levels in the same order as decoding them one by one.
+   */
+  @Test
+  public void testDecodeAllParallel() {
+    Random random = new Random(42);
+    List<LevelTemplate> templates = new ArrayList<LevelTemplate>();
+    for (int i = 0; i < 2000; i++) {
+      templates.add(randomTemplate(random));
+    }
+    LevelPack pack = new LevelPack(LevelCompiler.compile(templates));
+
+    List<List<String>> expected = describe(templates);
+    assertEquals(expected, describe(pack.decodeAll(4)));
+    assertEquals(expected, describe(pack.decodeAll()));
+  }
+
+  /**
+   * The encoded size should match the number of bytes actually written.
+   */
+  @Test
+  public void testEncodedSize() {
+    LevelTemplate template = randomTemplate(new Random(7));
+    ByteBuffer out = ByteBuffer.allocate(1024);
+    LevelCompiler.encode(template, out);
+    assertEquals(LevelCompiler.encodedSize(template), out.position());
+  }
+
+  /**
+   * A buffer not containing a level pack should be refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadMagic() {
+    new LevelPack(ByteBuffer.wrap(new byte[16]));
+  }
+
+  /**
+   * A pack of a different version should be refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadVersion() {
+    ByteBuffer pack = LevelCompiler.compile(new ArrayList<LevelTemplate>());
+    pack.putShort(4, (short) (LevelPack.VERSION + 1));
+    new LevelPack(pack);
+  }
+
+  /**
+   * A pack written to a file should be readable by memory-mapping it.
+   * 
+   * @throws IOException
+   *           When the temporary file can not be used.
+   */
+  @Test
+  public void testOpen() throws IOException {
+    List<LevelTemplate> templates = new LevelParser("src/test/resources/levels").getTemplates();
+    File file = File.createTempFile("levels", ".pack");
+    file.deleteOnExit();
+
+    LevelCompiler.write(templates, file);
+    assertEquals(describe(templates), describe(LevelPack.open(file).decodeAll()));
+  }
+
+  /**
+   * The pack shipped with the game should be up to date with the level maps.
+   * 
+   * @throws IOException
+   *           When the pack is missing.
+   */
+  @Test
+  public void testShippedPackUpToDate() throws IOException {
+    List<LevelTemplate> templates = new LevelParser(Constants.LEVELS_DIR).getTemplates();
+    LevelPack pack = LevelPack.fromClasspath("/" + Constants.LEVEL_PACK);
+    assertEquals(describe(templates), describe(pack.decodeAll()));
+  }
+
+}
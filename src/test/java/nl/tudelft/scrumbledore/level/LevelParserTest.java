@@ -116,6 +116,29 @@ public class LevelParserTest {
     assertEquals(new NPC(new Vector(B_TWO, B_TWO), SIZE), npcs.get(0));
   }
 
+  /**
+   * Maps wider and higher than the screen should produce levels of the same size as the map.
+   */
+  @Test
+  public void testReadLargeMap() {
+    LevelParser lp = new LevelParser();
+    StringBuilder map = new StringBuilder();
+    for (int row = 0; row < 50; row++) {
+      for (int col = 0; col < 300; col++) {
+        map.append(row == 49 ? '#' : ' ');
+      }
+      map.append('\n');
+    }
+
+    LevelTemplate template = lp.readTemplateFromScanner(new Scanner(map.toString()));
+    assertEquals(300, template.getWidth());
+    assertEquals(50, template.getHeight());
+
+    Level level = template.instantiate();
+    assertEquals(300, level.getPlatforms().size());
+    assertEquals(300 * Constants.BLOCKSIZE, level.getWidth(), Constants.DOUBLE_PRECISION);
+  }
+
   /**
    * Test case for getElementFromChar method in which it is checked whether the correct objects are
    * being returned.
@@ -0,0 +1,58 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the LevelTemplateCache class.
+ * 
+ * @author Jesse Tilro
+ */
+public class LevelTemplateCacheTest {
+
+  /**
+   * The cache of the game's levels should be a singleton.
+   */
+  @Test
+  public void testGetInstance() {
+    assertSame(LevelTemplateCache.getInstance(), LevelTemplateCache.getInstance());
+  }
+
+  /**
+   * The cache should hold a template for every level map in the directory.
+   */
+  @Test
+  public void testGetTemplates() {
+    LevelTemplateCache cache = new LevelTemplateCache("src/test/resources/levels");
+    assertEquals(2, cache.getTemplates().size());
+  }
+
+  /**
+   * Every call should make new levels, without sharing elements between them.
+   */
+  @Test
+  public void testMakeLevels() {
+    LevelTemplateCache cache = LevelTemplateCache.getInstance();
+    ArrayList<Level> first = cache.makeLevels(2);
+    ArrayList<Level> second = cache.makeLevels(2);
+
+    assertEquals(cache.getTemplates().size(), first.size());
+    assertNotSame(first.get(0), second.get(0));
+    assertNotSame(first.get(0).getPlayers().get(0), second.get(0).getPlayers().get(0));
+    assertEquals(first.get(0).getPlatforms().size(), second.get(0).getPlatforms().size());
+  }
+
+  /**
+   * Unsupported template list changes should be refused.
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testUnmodifiable() {
+    LevelTemplateCache.getInstance().getTemplates().clear();
+  }
+
+}
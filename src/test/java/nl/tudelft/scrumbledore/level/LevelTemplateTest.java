@@ -0,0 +1,127 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.Player;
+import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
+
+/**
+ * Test suite for the LevelTemplate class.
+ * 
+ * @author Jesse Tilro
+ */
+public class LevelTemplateTest {
+  private static final Vector SIZE = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+
+  private LevelTemplate template;
+
+  /**
+   * Create a template with a platform, two players, an NPC and a power-up.
+   */
+  @Before
+  public void setUp() {
+    template = new LevelTemplate(new char[] { '#', 'P', 'P', 'N', 'V' },
+        new int[] { 0, 1, 2, 3, 4 }, new int[] { 0, 1, 1, 2, 2 });
+  }
+
+  /**
+   * Instantiating the template should create the elements at their block positions.
+   */
+  @Test
+  public void testInstantiate() {
+    Level level = template.instantiate();
+
+    assertEquals(new Platform(new Vector(0, 0), SIZE), level.getPlatforms().get(0));
+    assertEquals(new Player(new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE), SIZE),
+        level.getPlayers().get(0));
+    assertEquals(new NPC(new Vector(3 * Constants.BLOCKSIZE, 2 * Constants.BLOCKSIZE), SIZE),
+        level.getNPCs().get(0));
+    assertTrue(level.getPowerups().get(0) instanceof TurtleTacoPickUp);
+  }
+
+  /**
+   * Players should be numbered in the order they appear in the map.
+   */
+  @Test
+  public void testPlayerNumbers() {
+    Level level = template.instantiate();
+
+    assertEquals(2, level.getPlayers().size());
+    assertEquals(0, level.getPlayers().get(0).getPlayerNumber());
+    assertEquals(1, level.getPlayers().get(1).getPlayerNumber());
+  }
+
+  /**
+   * Players beyond the given maximum should be left out.
+   */
+  @Test
+  public void testMaxPlayers() {
+    Level level = template.instantiate(1);
+
+    assertEquals(1, level.getPlayers().size());
+    assertEquals(0, level.getPlayers().get(0).getPlayerNumber());
+  }
+
+  /**
+   * Every instantiation should create new element instances, so levels do not share state.
+   */
+  @Test
+  public void testFreshInstances() {
+    Level first = template.instantiate();
+    Level second = template.instantiate();
+    first.getPlayers().get(0).getPosition().setX(100);
+
+    assertNotSame(first.getPlayers().get(0), second.getPlayers().get(0));
+    assertEquals(Constants.BLOCKSIZE, second.getPlayers().get(0).posX(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * Changing the arrays a template was constructed with should not change the template.
+   */
+  @Test
+  public void testImmutable() {
+    char[] kinds = { 'N' };
+    LevelTemplate copy = new LevelTemplate(kinds, new int[] { 0 }, new int[] { 0 });
+    kinds[0] = '#';
+
+    assertEquals('N', copy.getKind(0));
+    assertEquals(1, copy.instantiate().getNPCs().size());
+  }
+
+  /**
+   * The dimensions of the map should cover all elements.
+   */
+  @Test
+  public void testDimensions() {
+    assertEquals(5, template.getWidth());
+    assertEquals(3, template.getHeight());
+
+    LevelTemplate wide = new LevelTemplate(new char[] { '#' }, new int[] { 0 }, new int[] { 0 },
+        300, 40);
+    assertEquals(300, wide.getWidth());
+    assertEquals(40, wide.getHeight());
+  }
+
+  /**
+   * Levels should be as large as their map, but at least as large as the screen.
+   */
+  @Test
+  public void testInstantiateDimensions() {
+    Level small = template.instantiate();
+    assertEquals(Constants.LEVELX, small.getWidth(), Constants.DOUBLE_PRECISION);
+    assertEquals(Constants.LEVELY, small.getHeight(), Constants.DOUBLE_PRECISION);
+
+    Level large = new LevelTemplate(new char[0], new int[0], new int[0], 300, 40).instantiate();
+    assertEquals(300 * Constants.BLOCKSIZE, large.getWidth(), Constants.DOUBLE_PRECISION);
+    assertEquals(40 * Constants.BLOCKSIZE, large.getHeight(), Constants.DOUBLE_PRECISION);
+  }
+
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
 
+import nl.tudelft.scrumbledore.Constants;
 import nl.tudelft.scrumbledore.level.element.Bubble;
 import nl.tudelft.scrumbledore.level.element.Fruit;
 import nl.tudelft.scrumbledore.level.element.LevelElement;
@@ -121,5 +122,33 @@ public class LevelTest {
     assertEquals(1, staticElements.size());
     assertEquals(platform, staticElements.get(0));
   }
-  
+
+  /**
+   * A new Level should have the size of the screen.
+   */
+  @Test
+  public void testDefaultDimensions() {
+    Level level = new Level();
+    assertEquals(Constants.LEVELX, level.getWidth(), Constants.DOUBLE_PRECISION);
+    assertEquals(Constants.LEVELY, level.getHeight(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * The platform grid should contain the platforms, also those added after it was first built.
+   */
+  @Test
+  public void testGetPlatformGrid() {
+    Level level = new Level();
+    level.setDimensions(3200, 3200);
+    Platform near = new Platform(new Vector(32, 32), new Vector(32, 32));
+    level.addElement(near);
+    assertEquals(1, level.getPlatformGrid().size());
+
+    Platform far = new Platform(new Vector(3000, 3000), new Vector(32, 32));
+    level.addElement(far);
+    assertEquals(2, level.getPlatformGrid().size());
+    assertEquals(1, level.getPlatformGrid().query(0, 0, 640, 640).size());
+    assertEquals(near, level.getPlatformGrid().query(0, 0, 640, 640).get(0));
+  }
+
 }
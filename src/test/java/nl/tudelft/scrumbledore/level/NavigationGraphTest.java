@@ -0,0 +1,154 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.Platform;
+
+/**
+ * Test suite for the NavigationGraph class.
+ * 
+ * @author Jesse Tilro
+ */
+public class NavigationGraphTest {
+  private static final Vector SIZE = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+
+  /**
+   * Build a level from rows of blocks, where '#' is a solid platform and '_' a passable one.
+   * 
+   * @param rows
+   *          The rows of the level.
+   * 
+   * @return The level.
+   */
+  static Level makeLevel(String... rows) {
+    Level level = new Level();
+    level.setDimensions(rows[0].length() * Constants.BLOCKSIZE, rows.length * Constants.BLOCKSIZE);
+    for (int j = 0; j < rows.length; j++) {
+      for (int i = 0; i < rows[j].length(); i++) {
+        char c = rows[j].charAt(i);
+        if (c == '#' || c == '_') {
+          Platform platform = new Platform(new Vector(i * Constants.BLOCKSIZE,
+              j * Constants.BLOCKSIZE), SIZE);
+          platform.setPassable(c == '_');
+          level.addElement(platform);
+        }
+      }
+    }
+    return level;
+  }
+
+  /**
+   * Find the link from one block to another.
+   * 
+   * @param graph
+   *          The graph.
+   * 
+   * @param fromCol
+   *          The column of the origin.
+   * 
+   * @param fromRow
+   *          The row of the origin.
+   * 
+   * @param toCol
+   *          The column of the target.
+   * 
+   * @param toRow
+   *          The row of the target.
+   * 
+   * @return The kind of link, or null if there is none.
+   */
+  static NavigationLink linkBetween(NavigationGraph graph, int fromCol, int fromRow, int toCol,
+      int toRow) {
+    int from = graph.nodeAtTile(fromCol, fromRow);
+    int to = graph.nodeAtTile(toCol, toRow);
+    for (int edge = graph.getEdgeStart(from); edge < graph.getEdgeEnd(from); edge++) {
+      if (graph.getEdgeTarget(edge) == to) {
+        return graph.getEdgeLink(edge);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Every free block right above a platform should be a node, other blocks should not.
+   */
+  @Test
+  public void testNodes() {
+    NavigationGraph graph = new NavigationGraph(makeLevel(
+        "#    #",
+        "#    #",
+        "######"));
+
+    assertEquals(4, graph.getNodeCount());
+    int node = graph.nodeAtTile(2, 1);
+    assertTrue(node >= 0);
+    assertEquals(2, graph.getColumn(node));
+    assertEquals(1, graph.getRow(node));
+    assertEquals(node, graph.nodeAt(2 * Constants.BLOCKSIZE + 10, Constants.BLOCKSIZE - 10));
+    assertEquals(-1, graph.nodeAtTile(2, 0));
+    assertEquals(-1, graph.nodeAtTile(0, 1));
+    assertEquals(-1, graph.nodeAtTile(-1, 1));
+  }
+
+  /**
+   * Neighbouring blocks on the same floor should be connected by walk links in both directions.
+   */
+  @Test
+  public void testWalk() {
+    NavigationGraph graph = new NavigationGraph(makeLevel(
+        "#    #",
+        "#    #",
+        "######"));
+
+    assertEquals(NavigationLink.Walk, linkBetween(graph, 1, 1, 2, 1));
+    assertEquals(NavigationLink.Walk, linkBetween(graph, 2, 1, 1, 1));
+    assertEquals(null, linkBetween(graph, 1, 1, 3, 1));
+    assertEquals(6, graph.getEdgeCount());
+  }
+
+  /**
+   * Walking off the edge of a platform should link to where the NPC lands, and a platform within
+   * jumping distance should be linked by a jump.
+   */
+  @Test
+  public void testFallAndJump() {
+    NavigationGraph graph = new NavigationGraph(makeLevel(
+        "#      #",
+        "#      #",
+        "#  __  #",
+        "#      #",
+        "#      #",
+        "########"));
+
+    assertEquals(NavigationLink.Fall, linkBetween(graph, 3, 1, 2, 4));
+    assertEquals(NavigationLink.Fall, linkBetween(graph, 4, 1, 5, 4));
+    assertEquals(NavigationLink.Jump, linkBetween(graph, 3, 4, 3, 1));
+    assertEquals(NavigationLink.Jump, linkBetween(graph, 1, 4, 3, 1));
+    assertEquals(null, linkBetween(graph, 6, 4, 3, 1));
+  }
+
+  /**
+   * A solid platform above an NPC should block jumps, a passable one should not.
+   */
+  @Test
+  public void testSolidBlocksJump() {
+    NavigationGraph solid = new NavigationGraph(makeLevel(
+        "#    #",
+        "# ## #",
+        "#    #",
+        "######"));
+    NavigationGraph passable = new NavigationGraph(makeLevel(
+        "#    #",
+        "# __ #",
+        "#    #",
+        "######"));
+
+    assertEquals(null, linkBetween(solid, 2, 2, 2, 0));
+    assertEquals(NavigationLink.Jump, linkBetween(passable, 2, 2, 2, 0));
+  }
+
+}
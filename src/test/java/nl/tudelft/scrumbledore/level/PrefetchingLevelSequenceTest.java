@@ -0,0 +1,161 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the PrefetchingLevelSequence class.
+ * 
+ * @author Jesse Tilro
+ */
+public class PrefetchingLevelSequenceTest {
+  private static final long TIMEOUT = 5000;
+
+  private PrefetchingLevelSequence sequence;
+
+  /**
+   * Create a sequence of three levels with one, two and three platforms.
+   */
+  @Before
+  public void setUp() {
+    List<LevelTemplate> templates = new ArrayList<LevelTemplate>();
+    for (int i = 1; i <= 3; i++) {
+      char[] kinds = new char[i];
+      int[] cols = new int[i];
+      int[] rows = new int[i];
+      for (int j = 0; j < i; j++) {
+        kinds[j] = '#';
+        cols[j] = j;
+      }
+      templates.add(new LevelTemplate(kinds, cols, rows));
+    }
+    sequence = new PrefetchingLevelSequence(templates, 1);
+  }
+
+  /**
+   * Wait until the level at a given index has been prefetched.
+   * 
+   * @param index
+   *          The index of the level.
+   * 
+   * @throws InterruptedException
+   *           When interrupted while waiting.
+   */
+  private void awaitReady(int index) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (!sequence.isReady(index) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1);
+    }
+    assertTrue(sequence.isReady(index));
+  }
+
+  /**
+   * The sequence should have a level for every template.
+   */
+  @Test
+  public void testSize() {
+    assertEquals(3, sequence.size());
+  }
+
+  /**
+   * Getting the current level again should return the same instance.
+   */
+  @Test
+  public void testGetCurrent() {
+    Level level = sequence.get(0);
+    assertSame(level, sequence.get(0));
+    assertEquals(1, level.getPlatforms().size());
+  }
+
+  /**
+   * The next level should be created and prepared in the background and then handed out.
+   * 
+   * @throws InterruptedException
+   *           When interrupted while waiting.
+   */
+  @Test
+  public void testPrefetch() throws InterruptedException {
+    final List<Level> prepared = new ArrayList<Level>();
+    sequence.setPreparer(new LevelPreparer() {
+      public void prepare(Level level) {
+        synchronized (prepared) {
+          prepared.add(level);
+        }
+      }
+    });
+
+    sequence.get(0);
+    awaitReady(1);
+    Level next = sequence.get(1);
+
+    assertEquals(2, next.getPlatforms().size());
+    synchronized (prepared) {
+      assertSame(prepared.get(0), next);
+    }
+  }
+
+  /**
+   * Handing out a level that is still being prepared should not wait for the preparation.
+   * 
+   * @throws InterruptedException
+   *           When interrupted while waiting.
+   */
+  @Test
+  public void testHandoffDoesNotBlock() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    sequence.setPreparer(new LevelPreparer() {
+      public void prepare(Level level) {
+        started.countDown();
+        try {
+          release.await(TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+
+    sequence.get(0);
+    assertTrue(started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+    Level next = sequence.get(1);
+    release.countDown();
+
+    assertEquals(2, next.getPlatforms().size());
+  }
+
+  /**
+   * Skipping a level should create the requested level rather than the prefetched one.
+   */
+  @Test
+  public void testSkip() {
+    Level first = sequence.get(0);
+    Level last = sequence.get(2);
+
+    assertNotSame(first, last);
+    assertEquals(3, last.getPlatforms().size());
+  }
+
+  /**
+   * Going back to a level should create it anew, since only the current level is kept.
+   */
+  @Test
+  public void testRevisit() {
+    Level first = sequence.get(0);
+    sequence.get(1);
+    Level again = sequence.get(0);
+
+    assertNotSame(first, again);
+    assertEquals(1, again.getPlatforms().size());
+  }
+
+}
@@ -0,0 +1,87 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.Platform;
+
+/**
+ * Test suite for the SpatialGrid class.
+ * 
+ * @author Jesse Tilro
+ */
+public class SpatialGridTest {
+  private static final Vector SIZE = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+  private static final int BLOCKS = 300;
+
+  private SpatialGrid<Platform> grid;
+
+  /**
+   * Fill a grid over a level of 300 by 300 blocks with a platform on every block of the diagonal.
+   */
+  @Before
+  public void setUp() {
+    double size = BLOCKS * Constants.BLOCKSIZE;
+    grid = new SpatialGrid<Platform>(size, size, Constants.GRID_CELLSIZE);
+    for (int i = 0; i < BLOCKS; i++) {
+      grid.insert(new Platform(new Vector(i * Constants.BLOCKSIZE, i * Constants.BLOCKSIZE), SIZE));
+    }
+  }
+
+  /**
+   * The grid should count the inserted elements.
+   */
+  @Test
+  public void testSize() {
+    assertEquals(BLOCKS, grid.size());
+  }
+
+  /**
+   * A query should return exactly the elements overlapping the rectangle.
+   */
+  @Test
+  public void testQuery() {
+    double left = 100 * Constants.BLOCKSIZE;
+    double right = 119 * Constants.BLOCKSIZE;
+    ArrayList<Platform> result = grid.query(left, 0, right, BLOCKS * Constants.BLOCKSIZE);
+
+    assertEquals(20, result.size());
+    for (Platform platform : result) {
+      assertTrue(platform.getRight() >= left && platform.getLeft() <= right);
+    }
+  }
+
+  /**
+   * Elements reaching into the rectangle from a neighbouring cell should be found as well.
+   */
+  @Test
+  public void testQueryEdge() {
+    double edge = 4 * Constants.BLOCKSIZE + Constants.BLOCKSIZE / 4;
+    assertEquals(1, grid.query(edge, edge, edge, edge).size());
+  }
+
+  /**
+   * A query outside of the grid should not return anything.
+   */
+  @Test
+  public void testQueryOutside() {
+    assertEquals(0, grid.query(-1000, -1000, -500, -500).size());
+  }
+
+  /**
+   * Elements outside of the grid should still be found.
+   */
+  @Test
+  public void testInsertOutside() {
+    Platform outside = new Platform(new Vector(-200, 50), SIZE);
+    grid.insert(outside);
+    assertEquals(outside, grid.query(-250, 0, -150, 100).get(0));
+  }
+
+}
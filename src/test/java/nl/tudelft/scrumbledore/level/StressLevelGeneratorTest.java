@@ -0,0 +1,144 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the StressLevelGenerator class.
+ * 
+ * @author Jesse Tilro
+ */
+public class StressLevelGeneratorTest {
+
+  /**
+   * Count the occurrences of a character in a map.
+   * 
+   * @param map
+   *          The map.
+   * 
+   * @param ch
+   *          The character.
+   * 
+   * @return The number of occurrences.
+   */
+  private static int count(String map, char ch) {
+    int result = 0;
+    for (int i = 0; i < map.length(); i++) {
+      if (map.charAt(i) == ch) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A generated map should have the requested size, be surrounded by walls and contain exactly the
+   * requested elements.
+   */
+  @Test
+  public void testGenerate() {
+    String map = new StressLevelGenerator(40, 30, .5, 42).generate(20, 10, 5);
+    String[] lines = map.split("\n");
+
+    assertEquals(30, lines.length);
+    for (String line : lines) {
+      assertEquals(40, line.length());
+      assertEquals('#', line.charAt(0));
+      assertEquals('#', line.charAt(39));
+    }
+    assertEquals(40, count(lines[0], '#'));
+    assertEquals(40, count(lines[29], '#'));
+
+    assertEquals(1, count(map, 'P'));
+    assertEquals(20, count(map, 'N'));
+    assertEquals(10, count(map, 'F'));
+    assertEquals(3, count(map, 'C'));
+    assertEquals(2, count(map, 'V'));
+  }
+
+  /**
+   * A generated map should contain the requested number of players, numbered in the order they
+   * appear once instantiated.
+   */
+  @Test
+  public void testPlayers() {
+    String map = new StressLevelGenerator(40, 30, .5, 42).generate(12, 20, 0, 0);
+    assertEquals(12, count(map, 'P'));
+    assertEquals(20, count(map, 'N'));
+  }
+
+  /**
+   * The platform rows should be covered according to the platform density.
+   */
+  @Test
+  public void testPlatformDensity() {
+    String[] lines = new StressLevelGenerator(44, 10, .25, 7).generate(0, 0, 0).split("\n");
+    assertEquals(10, count(lines[StressLevelGenerator.PLATFORM_SPACING], '_'));
+    assertEquals(0, count(lines[1], '_'));
+
+    lines = new StressLevelGenerator(44, 10, 1, 7).generate(0, 0, 0).split("\n");
+    assertEquals(40, count(lines[StressLevelGenerator.PLATFORM_SPACING], '_'));
+  }
+
+  /**
+   * The same seed should give the same map, and another seed a different one.
+   */
+  @Test
+  public void testSeed() {
+    String map = new StressLevelGenerator(40, 30, .5, 1).generate(20, 10, 5);
+    assertEquals(map, new StressLevelGenerator(40, 30, .5, 1).generate(20, 10, 5));
+    assertFalse(map.equals(new StressLevelGenerator(40, 30, .5, 2).generate(20, 10, 5)));
+  }
+
+  /**
+   * Asking for more elements than the level has room for should be refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyElements() {
+    new StressLevelGenerator(10, 10, .5, 1).generate(1000, 0, 0);
+  }
+
+  /**
+   * Levels smaller than the minimum size should be refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooSmall() {
+    new StressLevelGenerator(4, 10, .5, 1);
+  }
+
+  /**
+   * A written map should be read by the LevelParser into a level with the generated elements.
+   * 
+   * @throws IOException
+   *           When the map can not be written.
+   */
+  @Test
+  public void testParse() throws IOException {
+    File dir = Files.createTempDirectory("stress").toFile();
+    File file = new File(dir, "level.txt");
+    try {
+      new StressLevelGenerator(40, 30, .5, 3).write(file, 20, 10, 4);
+      LevelTemplate template = new LevelParser(dir.getPath()).getTemplates().get(0);
+      Level level = template.instantiate();
+
+      assertEquals(40, template.getWidth());
+      assertEquals(30, template.getHeight());
+      assertEquals(1, level.getPlayers().size());
+      assertEquals(20, level.getNPCs().size());
+      assertEquals(10, level.getFruits().size());
+      assertEquals(4, level.getPowerups().size());
+      assertTrue(level.getPlatforms().size() > 0);
+    } finally {
+      Files.delete(file.toPath());
+      Files.delete(dir.toPath());
+    }
+  }
+
+}
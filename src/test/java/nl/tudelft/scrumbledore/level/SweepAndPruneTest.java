@@ -0,0 +1,169 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.level.element.Bubble;
+
+/**
+ * Test suite for the SweepAndPrune class.
+ * 
+ * @author Jesse Tilro
+ */
+public class SweepAndPruneTest {
+  private SweepAndPrune<Bubble> sweep;
+  private ArrayList<Bubble> bubbles;
+  private ArrayList<Bubble> first;
+  private ArrayList<Bubble> second;
+
+  /**
+   * Set up an empty broadphase and pair lists.
+   */
+  @Before
+  public void setUp() {
+    sweep = new SweepAndPrune<Bubble>();
+    bubbles = new ArrayList<Bubble>();
+    first = new ArrayList<Bubble>();
+    second = new ArrayList<Bubble>();
+  }
+
+  /**
+   * Add a bubble at a given horizontal position.
+   * 
+   * @param x
+   *          The horizontal position.
+   * 
+   * @return The bubble.
+   */
+  private Bubble add(double x) {
+    Bubble bubble = new Bubble(new Vector(x, 0), new Vector(32, 32));
+    bubbles.add(bubble);
+    return bubble;
+  }
+
+  /**
+   * Overlapping elements should be paired exactly once, and elements far apart not at all.
+   */
+  @Test
+  public void testPairsOnce() {
+    Bubble a = add(100);
+    Bubble b = add(0);
+    Bubble c = add(20);
+    add(300);
+
+    sweep.update(bubbles);
+    int pairs = sweep.findPairs(1, first, second);
+
+    assertEquals(1, pairs);
+    assertSame(b, first.get(0));
+    assertSame(c, second.get(0));
+    assertEquals(a, sweep.getOrder().get(2));
+  }
+
+  /**
+   * The order should be restored after elements move past each other.
+   */
+  @Test
+  public void testResort() {
+    Bubble a = add(0);
+    Bubble b = add(100);
+    sweep.update(bubbles);
+
+    a.getPosition().setX(200);
+    sweep.update(bubbles);
+
+    assertSame(b, sweep.getOrder().get(0));
+    assertSame(a, sweep.getOrder().get(1));
+  }
+
+  /**
+   * Removed elements should be dropped and new elements added.
+   */
+  @Test
+  public void testUpdateMembership() {
+    Bubble a = add(0);
+    add(10);
+    sweep.update(bubbles);
+
+    bubbles.remove(a);
+    Bubble c = add(-20);
+    sweep.update(bubbles);
+
+    assertEquals(2, sweep.getOrder().size());
+    assertSame(c, sweep.getOrder().get(0));
+    assertEquals(1, sweep.findPairs(1, first, second));
+  }
+
+  /**
+   * Elements that will reach each other during the step should be paired.
+   */
+  @Test
+  public void testReach() {
+    Bubble a = add(0);
+    add(50);
+    a.getSpeed().setX(20);
+    sweep.update(bubbles);
+
+    assertEquals(0, sweep.findPairs(0, first, second));
+    assertEquals(1, sweep.findPairs(1, first, second));
+  }
+
+  /**
+   * An element whose speed changed after the sweep should be paired with the elements it now
+   * reaches, with the elements sorted on their left edge.
+   */
+  @Test
+  public void testPairsOfChanged() {
+    Bubble a = add(0);
+    Bubble b = add(50);
+    add(200);
+    sweep.update(bubbles);
+    assertEquals(0, sweep.findPairs(1, first, second));
+
+    b.getSpeed().setX(-20);
+    ArrayList<Bubble> changed = new ArrayList<Bubble>();
+    changed.add(b);
+
+    assertEquals(1, sweep.findPairsOf(changed, 1, first, second));
+    assertSame(a, first.get(0));
+    assertSame(b, second.get(0));
+  }
+
+  /**
+   * An element added after the sweep should be inserted in order and paired with its neighbours.
+   */
+  @Test
+  public void testInsert() {
+    add(0);
+    Bubble b = add(100);
+    sweep.update(bubbles);
+    sweep.findPairs(1, first, second);
+
+    Bubble c = new Bubble(new Vector(80, 0), new Vector(32, 32));
+    sweep.insert(c);
+    ArrayList<Bubble> added = new ArrayList<Bubble>();
+    added.add(c);
+
+    assertSame(c, sweep.getOrder().get(1));
+    assertEquals(1, sweep.findPairsOf(added, 1, first, second));
+    assertSame(b, second.get(0));
+  }
+
+  /**
+   * A row of many elements should only yield the pairs of neighbours.
+   */
+  @Test
+  public void testRow() {
+    for (int i = 0; i < 1000; i++) {
+      add(1000 - i * 30);
+    }
+    sweep.update(bubbles);
+
+    assertEquals(999, sweep.findPairs(0, first, second));
+  }
+
+}
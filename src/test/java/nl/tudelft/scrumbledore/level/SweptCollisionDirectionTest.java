@@ -0,0 +1,107 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.Player;
+import nl.tudelft.scrumbledore.level.element.StaticElement;
+
+/**
+ * Test Suite checking that the SweptCollision class agrees with the discrete Collision class on the
+ * boundary cases of the CollisionDirectionTest.
+ * 
+ * @author Jesse Tilro
+ */
+@RunWith(Parameterized.class)
+public class SweptCollisionDirectionTest {
+
+  private boolean expectedTop;
+  private boolean expectedBottom;
+  private boolean expectedLeft;
+  private boolean expectedRight;
+
+  private SweptCollision collision;
+
+  /**
+   * Constructs a new Test Suite instance for the next test case, using parameterized values.
+   * 
+   * @param collider
+   *          The position of the collider LevelElement.
+   * @param collidee
+   *          The position of the collidee LevelElement.
+   * @param colliderSpeed
+   *          The speed component of the collider LevelElement.
+   * @param expectedTop
+   *          Expected outcome of the collision from top check.
+   * @param expectedBottom
+   *          Expected outcome of the collision from bottom check.
+   * @param expectedLeft
+   *          Expected outcome of the collision from left check.
+   * @param expectedRight
+   *          Expected outcome of the collision from right check.
+   */
+  public SweptCollisionDirectionTest(Vector collider, Vector collidee, Vector colliderSpeed,
+      boolean expectedTop, boolean expectedBottom, boolean expectedLeft, boolean expectedRight) {
+    this.expectedTop = expectedTop;
+    this.expectedBottom = expectedBottom;
+    this.expectedLeft = expectedLeft;
+    this.expectedRight = expectedRight;
+
+    DynamicElement dynamic = new Player(collider, new Vector(32, 32));
+    StaticElement platform = new Platform(collidee, new Vector(32, 32));
+    dynamic.getSpeed().setX(colliderSpeed.getX());
+    dynamic.getSpeed().setY(colliderSpeed.getY());
+
+    this.collision = new SweptCollision(dynamic, platform, 1);
+  }
+
+  /**
+   * Test the collidingFromTop method.
+   */
+  @Test
+  public void testCollidingFromTop() {
+    assertEquals(expectedTop, collision.collidingFromTop());
+  }
+
+  /**
+   * Test the collidingFromBottom method.
+   */
+  @Test
+  public void testCollidingFromBottom() {
+    assertEquals(expectedBottom, collision.collidingFromBottom());
+  }
+
+  /**
+   * Test the collidingFromLeft method.
+   */
+  @Test
+  public void testCollidingFromLeft() {
+    assertEquals(expectedLeft, collision.collidingFromLeft());
+  }
+
+  /**
+   * Test the collidingFromRight method.
+   */
+  @Test
+  public void testCollidingFromRight() {
+    assertEquals(expectedRight, collision.collidingFromRight());
+  }
+
+  /**
+   * Data for the boundary tests, shared with the discrete collision tests.
+   * 
+   * @return Collection of tuples of input values.
+   */
+  @Parameters
+  public static Collection<Object[]> data() {
+    return CollisionDirectionTest.data();
+  }
+}
@@ -0,0 +1,119 @@
+package nl.tudelft.scrumbledore.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.element.Bubble;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Platform;
+
+/**
+ * Test suite for the SweptCollision class.
+ * 
+ * @author Jesse Tilro
+ */
+public class SweptCollisionTest {
+
+  /**
+   * An element passing a thin platform within a single step should be detected hitting it from the
+   * top at the right moment, where the discrete collision misses it.
+   */
+  @Test
+  public void testNoTunneling() {
+    Platform platform = new Platform(new Vector(0, 52), new Vector(32, 8));
+    Fruit fruit = new Fruit(new Vector(0, 0), new Vector(32, 32));
+    fruit.getSpeed().setY(60);
+
+    SweptCollision swept = new SweptCollision(fruit, platform, 1);
+
+    assertFalse(new Collision(fruit, platform, 1).collidingFromTop());
+    assertTrue(swept.colliding());
+    assertTrue(swept.collidingFromTop());
+    assertEquals(32.0 / 60, swept.getTimeOfImpact(), Constants.DOUBLE_PRECISION);
+    assertEquals(new Vector(0, -1), swept.getNormal());
+  }
+
+  /**
+   * Detecting a collision should not move the collider, not even temporarily.
+   */
+  @Test
+  public void testNoMutation() {
+    Platform platform = new Platform(new Vector(48, 0), new Vector(32, 32));
+    Bubble bubble = new Bubble(new Vector(0, 0), new Vector(32, 32));
+    bubble.getSpeed().setX(Constants.BUBBLE_SPEED);
+
+    SweptCollision swept = new SweptCollision(bubble, platform, 1);
+
+    assertTrue(swept.collidingFromLeft());
+    assertEquals(new Vector(-1, 0), swept.getNormal());
+    assertEquals(new Vector(0, 0), bubble.getPosition());
+    assertEquals(new Vector(Constants.BUBBLE_SPEED, 0), bubble.getSpeed());
+  }
+
+  /**
+   * An element that is too far away or moving away should not collide.
+   */
+  @Test
+  public void testMiss() {
+    Platform platform = new Platform(new Vector(0, 100), new Vector(32, 32));
+    Fruit fruit = new Fruit(new Vector(0, 0), new Vector(32, 32));
+    fruit.getSpeed().setY(8);
+    SweptCollision tooFar = new SweptCollision(fruit, platform, 1);
+
+    fruit.getSpeed().setY(-60);
+    SweptCollision away = new SweptCollision(fruit, platform, 1);
+
+    assertFalse(tooFar.colliding());
+    assertFalse(away.colliding());
+    assertEquals(Double.POSITIVE_INFINITY, tooFar.getTimeOfImpact(), 0);
+    assertEquals(new Vector(0, 0), away.getNormal());
+  }
+
+  /**
+   * Elements that touch at the start of the step should collide at time zero.
+   */
+  @Test
+  public void testTouching() {
+    Platform platform = new Platform(new Vector(0, 32), new Vector(32, 32));
+    Fruit fruit = new Fruit(new Vector(0, 0), new Vector(32, 32));
+
+    SweptCollision swept = new SweptCollision(fruit, platform, 1);
+
+    assertTrue(swept.collidingFromTop());
+    assertEquals(0, swept.getTimeOfImpact(), 0);
+  }
+
+  /**
+   * When the collidee moves as well, the motion relative to it should be swept.
+   */
+  @Test
+  public void testRelativeMotion() {
+    NPC npc = new NPC(new Vector(64, 0), new Vector(32, 32));
+    Bubble bubble = new Bubble(new Vector(0, 0), new Vector(32, 32));
+    bubble.getSpeed().setX(8);
+    npc.getSpeed().setX(-24);
+
+    SweptCollision swept = new SweptCollision(bubble, npc, 1);
+
+    assertTrue(swept.collidingFromLeft());
+    assertEquals(1, swept.getTimeOfImpact(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * The backends should create the matching kind of collision.
+   */
+  @Test
+  public void testBackend() {
+    Platform platform = new Platform(new Vector(0, 32), new Vector(32, 32));
+    Fruit fruit = new Fruit(new Vector(0, 0), new Vector(32, 32));
+
+    assertTrue(CollisionBackend.Swept.collide(fruit, platform, 1) instanceof SweptCollision);
+    assertFalse(CollisionBackend.Discrete.collide(fruit, platform, 1) instanceof SweptCollision);
+  }
+
+}
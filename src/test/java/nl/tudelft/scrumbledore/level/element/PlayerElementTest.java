@@ -99,16 +99,4 @@ public abstract class PlayerElementTest extends LevelElementTest {
    */
   @Test
   public abstract void testGetSpritesShootingLeft();
-  
-  /**
-   * Test the getter/setter methods of the lifetime attribute of a Player object.
-   */
-  @Test
-  public abstract void testLifetime();
-  
-  /**
-   * Test the decreasing of the lifetime of a player by a given number of steps.
-   */
-  @Test
-  public abstract void testDecreaseLifetime();
 }
@@ -10,7 +10,6 @@ import java.util.ArrayList;
 import org.junit.Before;
 import org.junit.Test;
 
-import nl.tudelft.scrumbledore.Constants;
 import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.sprite.Sprite;
 
@@ -184,23 +183,4 @@ public class PlayerTest extends LevelElementTest {
     assertEquals("images" + File.separator + "sprites" + File.separator 
         + "player-green-shoot-left/player-shoot-left.png", sprites.get(0).getPath());
   }
-  
-  /**
-   * Test the getter/setter methods of the lifetime attribute of a Player object.
-   */
-  @Test
-  public void testLifetime() {
-    player.setLifetime(42d);
-    assertEquals(42d, player.getLifetime(), Constants.DOUBLE_PRECISION);
-  }
-  
-  /**
-   * Test the decreasing of the lifetime of a player by a given number of steps.
-   */
-  @Test
-  public void testDecreaseLifetime() {
-    player.setLifetime(42d);
-    player.decreaseLifetime(1d);
-    assertEquals(41d, player.getLifetime(), Constants.DOUBLE_PRECISION);
-  }
 }
@@ -0,0 +1,116 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the AIScheduler class.
+ * 
+ * @author Jesse Tilro
+ */
+public class AISchedulerTest {
+
+  /**
+   * Task recording the agents it decided for.
+   */
+  private static class RecordingTask implements AITask {
+    private final ArrayList<Integer> decided = new ArrayList<Integer>();
+    private final long sleep;
+
+    /**
+     * Constructs a new RecordingTask.
+     * 
+     * @param sleep
+     *          The number of milliseconds every decision takes.
+     */
+    RecordingTask(long sleep) {
+      this.sleep = sleep;
+    }
+
+    /**
+     * Record a decision.
+     * 
+     * @param index
+     *          The index of the agent.
+     */
+    public void decide(int index) {
+      decided.add(index);
+      if (sleep > 0) {
+        try {
+          Thread.sleep(sleep);
+        } catch (InterruptedException e) {
+          e.printStackTrace();
+        }
+      }
+    }
+  }
+
+  /**
+   * Every step a bucket worth of agents should decide, round-robin over all agents.
+   */
+  @Test
+  public void testRoundRobin() {
+    AIScheduler scheduler = new AIScheduler(4, 0);
+    RecordingTask task = new RecordingTask(0);
+
+    assertEquals(3, scheduler.run(10, task));
+    assertEquals(3, scheduler.run(10, task));
+    assertEquals(3, scheduler.run(10, task));
+    assertEquals(3, scheduler.run(10, task));
+
+    assertEquals(12, task.decided.size());
+    for (int i = 0; i < 12; i++) {
+      assertEquals(i % 10, (int) task.decided.get(i));
+    }
+    assertEquals(4, scheduler.getSteps());
+    assertEquals(12, scheduler.getDecisions());
+    assertEquals(0, scheduler.getOverruns());
+  }
+
+  /**
+   * When the agents disappear, the order should start over.
+   */
+  @Test
+  public void testFewerAgents() {
+    AIScheduler scheduler = new AIScheduler(2, 0);
+    RecordingTask task = new RecordingTask(0);
+
+    scheduler.run(10, task);
+    assertEquals(0, scheduler.run(0, task));
+    scheduler.run(3, task);
+
+    assertEquals(0, (int) task.decided.get(5));
+    assertEquals(1, (int) task.decided.get(6));
+  }
+
+  /**
+   * When the budget runs out, the remaining decisions should be deferred to the next step and the
+   * overrun should be reported.
+   */
+  @Test
+  public void testBudget() {
+    AIScheduler scheduler = new AIScheduler(1, 1000);
+    RecordingTask task = new RecordingTask(2);
+
+    assertEquals(1, scheduler.run(3, task));
+    assertEquals(1, scheduler.getOverruns());
+    assertEquals(2, scheduler.getDeferred());
+    assertTrue(scheduler.getLastNanos() > 1000000);
+
+    scheduler.run(3, task);
+    assertEquals(1, (int) task.decided.get(1));
+  }
+
+  /**
+   * The number of buckets should be positive.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBuckets() {
+    new AIScheduler(0, 100);
+  }
+
+}
@@ -0,0 +1,214 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.ChunkedWorld;
+import nl.tudelft.scrumbledore.level.ChunkedWorldTest;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Test suite for the ChunkStreamer class.
+ * 
+ * @author Jesse Tilro
+ */
+public class ChunkStreamerTest {
+  private Level level;
+  private PlayerElement player;
+  private LevelModifier modifier;
+  private ChunkStreamer streamer;
+  private ArrayList<LevelModifier> modifiers;
+
+  /**
+   * Stream a world of 4 by 4 chunks with an active radius of 0, a reduced radius of 1 and a reduced
+   * interval of 2 steps.
+   * 
+   * @throws IOException
+   *           When the temporary file can not be used.
+   */
+  @Before
+  public void setUp() throws IOException {
+    File file = File.createTempFile("world", ".chunks");
+    file.deleteOnExit();
+    ChunkedWorld.write(ChunkedWorldTest.makeTemplate(), 16, file);
+    ChunkedWorld world = ChunkedWorld.open(file);
+
+    level = world.makeLevel(1);
+    player = level.getPlayers().get(0);
+    modifier = mock(LevelModifier.class);
+    modifiers = new ArrayList<LevelModifier>();
+    streamer = new ChunkStreamer(world, modifiers, 0, 1, 2);
+    modifiers.add(streamer);
+    modifiers.add(modifier);
+  }
+
+  /**
+   * Move the player to the center of a given chunk.
+   * 
+   * @param col
+   *          The column of the chunk.
+   * 
+   * @param row
+   *          The row of the chunk.
+   */
+  private void moveTo(int col, int row) {
+    player.getPosition().setX((col * 16 + 8) * Constants.BLOCKSIZE);
+    player.getPosition().setY((row * 16 + 8) * Constants.BLOCKSIZE);
+  }
+
+  /**
+   * Put the player on the platform in the bottom left corner of chunk (1, 0), where it is on the
+   * navigation graph.
+   */
+  private void standOnPlatform() {
+    player.getPosition().setX(16 * Constants.BLOCKSIZE);
+    player.getPosition().setY(14 * Constants.BLOCKSIZE);
+    player.getSpeed().setY(0);
+  }
+
+  /**
+   * Only the chunk of the player should be loaded into the level.
+   */
+  @Test
+  public void testLoadAroundPlayer() {
+    streamer.modify(level, 1);
+
+    assertEquals(1, streamer.getActiveChunks());
+    assertTrue(streamer.isActive(0, 0));
+    assertEquals(4, level.getPlatforms().size());
+    assertEquals(1, level.getPlayers().size());
+  }
+
+  /**
+   * Chunks left behind should be parked with their elements, and brought back unchanged.
+   */
+  @Test
+  public void testParkAndRestore() {
+    streamer.modify(level, 1);
+    Platform platform = level.getPlatforms().get(0);
+
+    moveTo(2, 0);
+    streamer.modify(level, 1);
+    assertFalse(streamer.isActive(0, 0));
+    assertTrue(streamer.isActive(2, 0));
+    assertEquals(4, level.getPlatforms().size());
+    assertSame(platform, streamer.getParked(0, 0).getPlatforms().get(0));
+
+    moveTo(0, 0);
+    streamer.modify(level, 1);
+    assertTrue(streamer.isActive(0, 0));
+    assertTrue(level.getPlatforms().contains(platform));
+    assertEquals(4, level.getPlatforms().size());
+  }
+
+  /**
+   * Parked chunks near a player should only be simulated once every interval, and distant chunks
+   * not at all.
+   */
+  @Test
+  @SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+  public void testReducedRate() {
+    streamer.modify(level, 1);
+    moveTo(1, 0);
+    streamer.modify(level, 1);
+    Level first = streamer.getParked(0, 0);
+    assertNotNull(first);
+
+    moveTo(3, 0);
+    streamer.modify(level, 1);
+    streamer.modify(level, 1);
+    Level second = streamer.getParked(1, 0);
+    assertNotNull(second);
+
+    verify(modifier, times(1)).modify(eq(first), anyDouble());
+    verify(modifier, never()).modify(eq(second), anyDouble());
+    verify(modifier, never()).modify(eq(level), anyDouble());
+  }
+
+  /**
+   * Parked chunks should catch up on all steps passed since they were last simulated, rather than
+   * running in slow motion, but not on the steps they were still active.
+   */
+  @Test
+  @SuppressWarnings("PMD.JUnitTestsShouldIncludeAssert")
+  public void testReducedCatchesUp() {
+    streamer.modify(level, 1);
+    moveTo(1, 0);
+    streamer.modify(level, 1.5);
+    Level parked = streamer.getParked(0, 0);
+
+    streamer.modify(level, 1);
+    streamer.modify(level, 1);
+
+    verify(modifier, times(1)).modify(eq(parked), eq(1.5));
+    verify(modifier, times(1)).modify(eq(parked), eq(2.0));
+    verify(modifier, times(2)).modify(eq(parked), anyDouble());
+  }
+
+  /**
+   * Simulating the parked chunks should leave the navigation graph, the flow fields and the
+   * scheduler of the NPCLevelModifier of the level being played alone.
+   */
+  @Test
+  public void testNPCStateSurvivesReducedTick() {
+    NPCLevelModifier npcs = new NPCLevelModifier(new AIScheduler(1, 0));
+    modifiers.add(npcs);
+    moveTo(0, 0);
+    streamer.modify(level, 1);
+    npcs.modify(level, 1);
+    standOnPlatform();
+    streamer.modify(level, 1);
+    npcs.modify(level, 1);
+    assertNotNull(streamer.getParked(0, 0));
+    Object graph = npcs.getGraph();
+    Object field = npcs.getField(0);
+    assertNotNull(field);
+
+    for (int i = 0; i < 4; i++) {
+      standOnPlatform();
+      streamer.modify(level, 1);
+      npcs.modify(level, 1);
+    }
+
+    assertSame(graph, npcs.getGraph());
+    assertSame(field, npcs.getField(0));
+    assertEquals(6, npcs.getScheduler().getSteps());
+  }
+
+  /**
+   * The navigation graph should be built again when chunks stream platforms into the level.
+   */
+  @Test
+  public void testGraphFollowsStreamedPlatforms() {
+    NPCLevelModifier npcs = new NPCLevelModifier(new AIScheduler(1, 0));
+    moveTo(0, 0);
+    streamer.modify(level, 1);
+    npcs.modify(level, 1);
+    Object graph = npcs.getGraph();
+
+    moveTo(1, 0);
+    streamer.modify(level, 1);
+    npcs.modify(level, 1);
+    assertFalse(graph == npcs.getGraph());
+  }
+
+}
@@ -0,0 +1,81 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.level.element.ElementKind;
+
+/**
+ * Test suite for the CollisionRegistry class.
+ * 
+ * @author Jesse Tilro
+ */
+public class CollisionRegistryTest {
+  private CollisionRegistry registry;
+  private CollisionHandler handler;
+
+  /**
+   * Set up a fresh registry and a mocked handler.
+   */
+  @Before
+  public void setUp() {
+    registry = new CollisionRegistry();
+    handler = mock(CollisionHandler.class);
+  }
+
+  /**
+   * Registrations should be numbered in the order they are made and remember their kinds.
+   */
+  @Test
+  public void testRegister() {
+    assertEquals(0, registry.register(ElementKind.Player, ElementKind.Fruit, handler));
+    assertEquals(1, registry.register(ElementKind.NPC, ElementKind.Platform, handler));
+
+    assertEquals(2, registry.size());
+    assertEquals(handler, registry.getHandler(1));
+    assertEquals(ElementKind.NPC, registry.getFirst(1));
+    assertEquals(ElementKind.Platform, registry.getSecond(1));
+  }
+
+  /**
+   * A registration should be found for its kinds in either order.
+   */
+  @Test
+  public void testGetRegistrationsEitherOrder() {
+    registry.register(ElementKind.Player, ElementKind.Fruit, handler);
+
+    assertEquals(1, registry.getRegistrations(ElementKind.Player, ElementKind.Fruit).size());
+    assertEquals(1, registry.getRegistrations(ElementKind.Fruit, ElementKind.Player).size());
+    assertTrue(registry.getRegistrations(ElementKind.Player, ElementKind.NPC).isEmpty());
+  }
+
+  /**
+   * A registration for two elements of the same kind should be found once.
+   */
+  @Test
+  public void testGetRegistrationsSameKind() {
+    registry.register(ElementKind.Bubble, ElementKind.Bubble, handler);
+
+    assertEquals(1, registry.getRegistrations(ElementKind.Bubble, ElementKind.Bubble).size());
+  }
+
+  /**
+   * Several handlers for the same kinds should be returned in the order they were registered.
+   */
+  @Test
+  public void testGetRegistrationsInOrder() {
+    registry.register(ElementKind.Player, ElementKind.Platform, handler);
+    registry.register(ElementKind.Player, ElementKind.Fruit, handler);
+    registry.register(ElementKind.Platform, ElementKind.Player, handler);
+
+    assertEquals(0, (int) registry.getRegistrations(ElementKind.Platform, ElementKind.Player)
+        .get(0));
+    assertEquals(2, (int) registry.getRegistrations(ElementKind.Platform, ElementKind.Player)
+        .get(1));
+  }
+
+}
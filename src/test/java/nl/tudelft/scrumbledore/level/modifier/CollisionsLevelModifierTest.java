@@ -2,28 +2,36 @@ package nl.tudelft.scrumbledore.level.modifier;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+
 import org.junit.Before;
 import org.junit.Test;
 
 import nl.tudelft.scrumbledore.Constants;
-import nl.tudelft.scrumbledore.game.ScoreCounter;
+import nl.tudelft.scrumbledore.event.GameEvent;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventQueue;
+import nl.tudelft.scrumbledore.event.GameEventType;
+import nl.tudelft.scrumbledore.level.CollisionBackend;
 import nl.tudelft.scrumbledore.level.Level;
 import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.level.element.Bubble;
 import nl.tudelft.scrumbledore.level.element.DynamicElement;
+import nl.tudelft.scrumbledore.level.element.ElementKind;
 import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.LevelElement;
 import nl.tudelft.scrumbledore.level.element.NPC;
 import nl.tudelft.scrumbledore.level.element.Platform;
 import nl.tudelft.scrumbledore.level.element.Player;
-import nl.tudelft.scrumbledore.level.powerup.ChiliChicken;
 import nl.tudelft.scrumbledore.level.powerup.ChiliChickenPickUp;
 import nl.tudelft.scrumbledore.level.powerup.PowerupPickUp;
-import nl.tudelft.scrumbledore.level.powerup.TurtleTaco;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
 import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
 
 /**
@@ -35,7 +43,8 @@ import nl.tudelft.scrumbledore.level.powerup.TurtleTacoPickUp;
 @SuppressWarnings({ "PMD.JUnitTestsShouldIncludeAssert", "PMD.TooManyMethods",
     "PMD.TooManyStaticImports" })
 public class CollisionsLevelModifierTest {
-  private ScoreCounter sc;
+  private GameEventBus bus;
+  private GameEventQueue events;
   private CollisionsLevelModifier clm;
 
   /**
@@ -43,9 +52,10 @@ public class CollisionsLevelModifierTest {
    */
   @Before
   public void setUp() {
-    sc = mock(ScoreCounter.class);
+    bus = new GameEventBus();
+    events = bus.subscribe();
 
-    clm = new CollisionsLevelModifier(sc);
+    clm = new CollisionsLevelModifier(bus);
   }
 
   /**
@@ -77,10 +87,111 @@ public class CollisionsLevelModifierTest {
    */
   @Test
   public void testCollisionsLevelModifier() {
-    ScoreCounter sc = new ScoreCounter();
+    GameEventBus bus = new GameEventBus();
+
+    CollisionsLevelModifier clm = new CollisionsLevelModifier(bus);
+    assertEquals(bus, clm.getEventBus());
+  }
+
+  /**
+   * The discrete collision backend should be used unless another one is given.
+   */
+  @Test
+  public void testBackend() {
+    assertEquals(CollisionBackend.Discrete, clm.getBackend());
+    assertEquals(CollisionBackend.Swept,
+        new CollisionsLevelModifier(bus, CollisionBackend.Swept).getBackend());
+  }
+
+  /**
+   * Two touching bubbles should bounce apart, the left one to the left, and a bubble far away
+   * should not be affected.
+   */
+  @Test
+  public void testDetectBubbleBubble() {
+    Bubble right = new Bubble(new Vector(20, 0), new Vector(32, 32));
+    Bubble left = new Bubble(new Vector(0, 0), new Vector(32, 32));
+    Bubble far = new Bubble(new Vector(200, 0), new Vector(32, 32));
+    Level level = new Level();
+    level.addElement(right);
+    level.addElement(left);
+    level.addElement(far);
+
+    clm.modify(level, 1);
+
+    assertEquals(-Constants.BUBBLE_BOUNCE, left.hSpeed(), Constants.DOUBLE_PRECISION);
+    assertEquals(Constants.BUBBLE_BOUNCE, right.hSpeed(), Constants.DOUBLE_PRECISION);
+    assertEquals(0, far.hSpeed(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * A bubble bounced off another bubble towards a wall should bounce off the wall in the same step,
+   * rather than passing through it.
+   */
+  @Test
+  public void testBubbleBouncedIntoWall() {
+    Bubble left = new Bubble(new Vector(40, 100), new Vector(32, 32));
+    Bubble right = new Bubble(new Vector(64, 100), new Vector(32, 32));
+    Platform wall = new Platform(new Vector(100, 100), new Vector(32, 32));
+    Level level = new Level();
+    level.addElement(left);
+    level.addElement(right);
+    level.addElement(wall);
+    KineticsLevelModifier kinetics = new KineticsLevelModifier();
+
+    for (int i = 0; i < 4; i++) {
+      clm.modify(level, 1);
+      kinetics.modify(level, 1);
+      assertTrue(right.getRight() <= wall.getLeft());
+    }
+  }
+
+  /**
+   * Fruit released from a bubble should be handed to the handlers after the one releasing it in the
+   * same step.
+   */
+  @Test
+  public void testFruitCreatedMidStep() {
+    final ArrayList<LevelElement> seen = new ArrayList<LevelElement>();
+    clm.getRegistry().register(ElementKind.Fruit, ElementKind.Player, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        seen.add(first);
+        return false;
+      }
+    });
 
-    CollisionsLevelModifier clm = new CollisionsLevelModifier(sc);
-    assertEquals(sc, clm.getScore());
+    Player player = new Player(new Vector(0, 0), new Vector(32, 32));
+    Bubble bubble = new Bubble(new Vector(10, 0), new Vector(32, 32));
+    bubble.setHasNPC(true);
+    Level level = new Level();
+    level.addElement(player);
+    level.addElement(bubble);
+
+    clm.modify(level, 1);
+
+    assertEquals(1, level.getFruits().size());
+    assertEquals(1, seen.size());
+    assertSame(level.getFruits().get(0), seen.get(0));
+  }
+
+  /**
+   * A fruit falling so fast it passes a thin platform within a single step should still land on it
+   * when collisions are swept.
+   */
+  @Test
+  public void testDetectFruitPlatformSwept() {
+    Platform platform = new Platform(new Vector(0, 52), new Vector(32, 8));
+    Fruit fruit = new Fruit(new Vector(0, 0), new Vector(32, 32));
+    fruit.getSpeed().setY(60);
+
+    Level level = new Level();
+    level.addElement(fruit);
+    level.addElement(platform);
+
+    new CollisionsLevelModifier(bus, CollisionBackend.Swept).modify(level, 1);
+
+    assertEquals(0, fruit.vSpeed(), Constants.DOUBLE_PRECISION);
+    assertEquals(platform.getTop(), fruit.getBottom(), Constants.DOUBLE_PRECISION);
   }
 
   /**
@@ -388,6 +499,31 @@ public class CollisionsLevelModifierTest {
     assertEquals(0, level.getNPCs().size());
   }
 
+  /**
+   * A bubble hitting one of two equal enemies should encapsulate the enemy it hit, not the first
+   * enemy in the level equal to it.
+   */
+  @Test
+  public void testDetectBubbleEnemyEqualEnemies() {
+    Bubble bubble = new Bubble(new Vector(0, 0), new Vector(32, 32));
+    NPC resting = new NPC(new Vector(0, 40), new Vector(32, 32));
+    NPC rising = new NPC(new Vector(0, 40), new Vector(32, 32));
+    rising.getSpeed().setY(-10);
+
+    Level level = new Level();
+    level.addElement(bubble);
+    level.addElement(resting);
+    level.addElement(rising);
+
+    new CollisionsLevelModifier(bus, CollisionBackend.Swept).modify(level, 1);
+    assertEquals(1, level.getNPCs().size());
+    assertSame(resting, level.getNPCs().get(0));
+
+    GameEvent event = events.poll();
+    assertEquals(GameEventType.EnemyEncapsulated, event.getType());
+    assertEquals(1, event.getTarget());
+  }
+
   /**
    * Test the collision between a player and a fruit.
    */
@@ -403,7 +539,10 @@ public class CollisionsLevelModifierTest {
 
     clm.modify(level, 1);
     assertEquals(0, level.getFruits().size());
-    verify(sc).updateScore(100);
+
+    GameEvent event = events.poll();
+    assertEquals(GameEventType.FruitPicked, event.getType());
+    assertEquals(Constants.FRUIT_POINTS, event.getValue());
   }
 
   /**
@@ -424,7 +563,7 @@ public class CollisionsLevelModifierTest {
   }
 
   /**
-   * Test the collision between a layer and a ChiliChicken powerup.
+   * Test the collision between a player and a ChiliChicken powerup, which applies the Chili effect.
    */
   @Test
   public void testDetectPlayerPowerupChiliChicken() {
@@ -437,11 +576,12 @@ public class CollisionsLevelModifierTest {
 
     clm.modify(level, 1);
     assertEquals(level.getPowerups().size(), 0);
-    assertTrue(level.getPlayers().get(0) instanceof ChiliChicken);
+    assertTrue(level.getEffects().has(0, StatusEffect.Chili));
+    assertSame(player, level.getPlayers().get(0));
   }
 
   /**
-   * Test the collision between a layer and a TurtleTaco powerup.
+   * Test the collision between a player and a TurtleTaco powerup, which applies the Taco effect.
    */
   @Test
   public void testDetectPlayerPowerupTurtleTaco() {
@@ -454,6 +594,55 @@ public class CollisionsLevelModifierTest {
 
     clm.modify(level, 1);
     assertEquals(level.getPowerups().size(), 0);
-    assertTrue(level.getPlayers().get(0) instanceof TurtleTaco);
+    assertTrue(level.getEffects().has(0, StatusEffect.Taco));
+    assertSame(player, level.getPlayers().get(0));
   }
+
+  /**
+   * A player under the Taco effect should survive a collision with an enemy.
+   */
+  @Test
+  public void testDetectPlayerEnemyInvincible() {
+    Player player = new Player(new Vector(0, 0), new Vector(32, 32));
+    NPC npc = new NPC(new Vector(0, 32), new Vector(32, 32));
+
+    Level level = new Level();
+    level.addElement(player);
+    level.addElement(npc);
+    level.getEffects().apply(0, StatusEffect.Taco);
+
+    clm.modify(level, 1);
+    assertTrue(player.isAlive());
+  }
+
+  /**
+   * A handler registered for a new pair of kinds should be called with the candidate pairs found by
+   * the broadphase, and not with elements that are far apart.
+   */
+  @Test
+  public void testRegisteredHandler() {
+    final ArrayList<LevelElement> seen = new ArrayList<LevelElement>();
+    clm.getRegistry().register(ElementKind.Powerup, ElementKind.Bubble, new CollisionHandler() {
+      public boolean handle(Level level, LevelElement first, LevelElement second, double delta) {
+        seen.add(first);
+        seen.add(second);
+        return false;
+      }
+    });
+
+    PowerupPickUp powerup = new ChiliChickenPickUp(new Vector(0, 0), new Vector(32, 32));
+    Bubble near = new Bubble(new Vector(16, 0), new Vector(32, 32));
+    Bubble far = new Bubble(new Vector(500, 0), new Vector(32, 32));
+    Level level = new Level();
+    level.addElement(powerup);
+    level.addElement(far);
+    level.addElement(near);
+
+    clm.modify(level, 1);
+
+    assertEquals(2, seen.size());
+    assertEquals(powerup, seen.get(0));
+    assertEquals(near, seen.get(1));
+  }
+
 }
@@ -12,6 +12,7 @@ import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.level.element.DynamicElement;
 import nl.tudelft.scrumbledore.level.element.Fruit;
 import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Platform;
 import nl.tudelft.scrumbledore.level.element.Player;
 
 /**
@@ -166,4 +167,24 @@ public class GravityLevelModifierTest {
     assertEquals(0, test.getSpeed().getY(), Constants.DOUBLE_PRECISION);
   }
 
+  /**
+   * When an entire level is pulled, elements that are asleep shouldn't be affected.
+   */
+  @Test
+  public void testModifyLevelAsleep() {
+    GravityLevelModifier gravity = new GravityLevelModifier(strength, max);
+    Fruit fruit = (Fruit) test;
+    Platform platform = new Platform(new Vector(0, 32), new Vector(32, 32));
+    fruit.setSupport(platform);
+    fruit.settle(1);
+    fruit.setSupport(platform);
+    fruit.settle(1);
+    Level level = new Level();
+    level.addElement(fruit);
+
+    gravity.modify(level, 1.0d);
+
+    assertEquals(0, fruit.getSpeed().getY(), Constants.DOUBLE_PRECISION);
+  }
+
 }
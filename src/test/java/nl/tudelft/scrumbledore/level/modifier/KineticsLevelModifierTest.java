@@ -8,6 +8,7 @@ import nl.tudelft.scrumbledore.level.element.Bubble;
 import nl.tudelft.scrumbledore.level.element.DynamicElement;
 import nl.tudelft.scrumbledore.level.element.Fruit;
 import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Platform;
 import nl.tudelft.scrumbledore.level.element.Player;
 
 //import static org.junit.Assert.*;
@@ -201,4 +202,24 @@ public class KineticsLevelModifierTest {
 
     assertEquals(expectedPosition, fruit.getPosition());
   }
+
+  /**
+   * When a Level is modified, Fruits that are asleep should not be moved.
+   */
+  @Test
+  public void testModifyFruitAsleep() {
+    Fruit fruit = new Fruit(new Vector(0, 0), new Vector(0, 0));
+    Platform platform = new Platform(new Vector(0, 32), new Vector(32, 32));
+    fruit.setSupport(platform);
+    fruit.settle(1);
+    fruit.setSupport(platform);
+    fruit.settle(1);
+    fruit.getSpeed().sum(new Vector(4, 4));
+    Level level = new Level();
+    level.addElement(fruit);
+
+    kinetics.modify(level, .5);
+
+    assertEquals(new Vector(0, 0), fruit.getPosition());
+  }
 }
@@ -2,6 +2,10 @@ package nl.tudelft.scrumbledore.level.modifier;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -11,6 +15,8 @@ import nl.tudelft.scrumbledore.level.Level;
 import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.level.element.LevelElementAction;
 import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.Player;
 
 /**
  * Test Suite for NPC Level Modifier class.
@@ -81,4 +87,169 @@ public class NPCLevelModifierTest {
     assertFalse(npc.hasAction(LevelElementAction.Jump));
   }
 
+  /**
+   * Build a level with a floor, an NPC and a player standing on it.
+   * 
+   * @param npcCol
+   *          The column of the NPC.
+   * 
+   * @param player
+   *          The player.
+   * 
+   * @return The level.
+   */
+  private Level makeFloorLevel(int npcCol, Player player) {
+    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+    Level floor = new Level();
+    floor.setDimensions(10 * Constants.BLOCKSIZE, 3 * Constants.BLOCKSIZE);
+    for (int i = 0; i < 10; i++) {
+      floor.addElement(new Platform(new Vector(i * Constants.BLOCKSIZE, 2 * Constants.BLOCKSIZE),
+          size));
+    }
+    npc = new NPC(new Vector(npcCol * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    npc.clearActions();
+    floor.addElement(npc);
+    floor.addElement(player);
+    return floor;
+  }
+
+  /**
+   * An NPC standing on a platform should move towards a player it can reach, overriding its
+   * current direction.
+   */
+  @Test
+  public void testChasePlayer() {
+    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+    Player player = new Player(new Vector(8 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    Level floor = makeFloorLevel(2, player);
+    npc.addAction(LevelElementAction.MoveLeft);
+
+    modifier.modify(floor, 1.0d);
+
+    assertEquals(Constants.NPC_SPEED, npc.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+    assertTrue(npc.getActions().isEmpty());
+  }
+
+  /**
+   * The flow field towards a player should only be computed again when the player moves to another
+   * block.
+   */
+  @Test
+  public void testFieldRecomputedOnTileChange() {
+    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+    Player player = new Player(new Vector(8 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    Level floor = makeFloorLevel(2, player);
+
+    modifier.modify(floor, 1.0d);
+    player.getPosition().setX(8 * Constants.BLOCKSIZE + 5);
+    modifier.modify(floor, 1.0d);
+    assertEquals(1, modifier.getField(0).getComputations());
+
+    player.getPosition().setX(Constants.BLOCKSIZE);
+    modifier.modify(floor, 1.0d);
+    assertEquals(2, modifier.getField(0).getComputations());
+    assertEquals(-Constants.NPC_SPEED, npc.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * NPCs should stop chasing a player once it has died.
+   */
+  @Test
+  public void testDeadPlayerNotChased() {
+    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+    Player player = new Player(new Vector(8 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    Level floor = makeFloorLevel(2, player);
+    modifier.modify(floor, 1.0d);
+    assertEquals(Constants.NPC_SPEED, npc.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+
+    player.setAlive(false);
+    npc.addAction(LevelElementAction.MoveLeft);
+    modifier.modify(floor, 1.0d);
+
+    assertNull(modifier.getField(0));
+    assertEquals(-Constants.NPC_SPEED, npc.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * When an NPC leaves the level, the others should keep their cached decisions and the scheduler
+   * should carry on with the NPC it was at.
+   */
+  @Test
+  public void testDecisionsKeptOnRemoval() {
+    modifier = new NPCLevelModifier(new AIScheduler(3, 0));
+    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+    Player player = new Player(new Vector(8 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    Level floor = makeFloorLevel(2, player);
+    NPC second = new NPC(new Vector(3 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    NPC third = new NPC(new Vector(4 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    floor.addElement(second);
+    floor.addElement(third);
+    modifier.modify(floor, 1.0d);
+    modifier.modify(floor, 1.0d);
+
+    floor.getNPCs().remove(npc);
+    second.addAction(LevelElementAction.MoveLeft);
+    third.addAction(LevelElementAction.MoveLeft);
+    modifier.modify(floor, 1.0d);
+
+    assertEquals(3, modifier.getScheduler().getDecisions());
+    assertEquals(0, modifier.getScheduler().getCursor());
+    assertEquals(Constants.NPC_SPEED, second.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+    assertEquals(Constants.NPC_SPEED, third.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * A snapshot taken after an NPC left the level should hold the decisions of the NPCs still in it,
+   * so that they are kept when it is restored.
+   */
+  @Test
+  public void testSaveAfterRemoval() {
+    modifier = new NPCLevelModifier(new AIScheduler(3, 0));
+    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+    Player player = new Player(new Vector(8 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    Level floor = makeFloorLevel(2, player);
+    NPC second = new NPC(new Vector(3 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    NPC third = new NPC(new Vector(4 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    floor.addElement(second);
+    floor.addElement(third);
+    modifier.modify(floor, 1.0d);
+    modifier.modify(floor, 1.0d);
+
+    floor.getNPCs().remove(npc);
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    modifier.save(buffer);
+    buffer.flip();
+    assertEquals(1, buffer.getInt(0));
+    assertEquals(2, buffer.getInt(4));
+
+    modifier.restore(buffer);
+    second.addAction(LevelElementAction.MoveLeft);
+    modifier.modify(floor, 1.0d);
+    assertEquals(Constants.NPC_SPEED, second.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * With several buckets only part of the NPCs should make a new decision every step, while the
+   * others follow their cached decision.
+   */
+  @Test
+  public void testDecisionsSpread() {
+    modifier = new NPCLevelModifier(new AIScheduler(2, 0));
+    Vector size = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+    Player player = new Player(new Vector(8 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    Level floor = makeFloorLevel(2, player);
+    NPC other = new NPC(new Vector(3 * Constants.BLOCKSIZE, Constants.BLOCKSIZE), size);
+    floor.addElement(other);
+
+    modifier.modify(floor, 1.0d);
+    assertEquals(1, modifier.getScheduler().getDecisions());
+    assertEquals(Constants.NPC_SPEED, npc.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+    assertEquals(-Constants.NPC_SPEED, other.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+
+    modifier.modify(floor, 1.0d);
+    assertEquals(2, modifier.getScheduler().getDecisions());
+    assertEquals(Constants.NPC_SPEED, npc.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+    assertEquals(Constants.NPC_SPEED, other.getSpeed().getX(), Constants.DOUBLE_PRECISION);
+  }
+
 }
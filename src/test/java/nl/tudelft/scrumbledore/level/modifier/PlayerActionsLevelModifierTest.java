@@ -8,18 +8,22 @@ import org.junit.Before;
 import org.junit.Test;
 
 import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.event.GameEvent;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.event.GameEventQueue;
+import nl.tudelft.scrumbledore.event.GameEventType;
+import nl.tudelft.scrumbledore.latency.InputLatency;
 import nl.tudelft.scrumbledore.level.Level;
 import nl.tudelft.scrumbledore.level.Vector;
 import nl.tudelft.scrumbledore.level.element.LevelElementAction;
 import nl.tudelft.scrumbledore.level.element.Player;
-import nl.tudelft.scrumbledore.level.powerup.ChiliChicken;
-import nl.tudelft.scrumbledore.level.powerup.TurtleTaco;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
 
 /**
  * Test Suite for the Player Actions Level Modifier class.
  * 
  * @author Jesse Tilro
- *
+ * 
  */
 @SuppressWarnings("PMD.TooManyMethods")
 public class PlayerActionsLevelModifierTest {
@@ -65,26 +69,26 @@ public class PlayerActionsLevelModifierTest {
   }
 
   /**
-   * When a Level is modified, the Player is a powerup and its Player has the action to move left,
+   * When a Level is modified, the Player has the Chili effect and the action to move left,
    * then the player's speed vector x entry should be set negative.
    */
   @Test
-  public void testModifyMoveLeftChiliChicken() {
+  public void testModifyMoveLeftChili() {
     player.addAction(LevelElementAction.MoveLeft);
-    level.getPlayers().set(0, new ChiliChicken(player));
+    level.getEffects().apply(0, StatusEffect.Chili);
     modifier.modify(level, .5);
     double expectedOut = -Constants.PLAYER_SPEED * Constants.PLAYER_CHILI_MULTIPLIER;
     assertEquals(expectedOut, player.getSpeed().getX(), Constants.DOUBLE_PRECISION);
   }
 
   /**
-   * When a Level is modified, the Player is a powerup and its Player has the action to move right,
+   * When a Level is modified, the Player has the Chili effect and the action to move right,
    * then the player's speed vector x entry should be set positive.
    */
   @Test
-  public void testModifyMoveRightChiliChicken() {
+  public void testModifyMoveRightChili() {
     player.addAction(LevelElementAction.MoveRight);
-    level.getPlayers().set(0, new ChiliChicken(player));
+    level.getEffects().apply(0, StatusEffect.Chili);
     modifier.modify(level, .5);
     double expectedOut = Constants.PLAYER_SPEED * Constants.PLAYER_CHILI_MULTIPLIER;
     assertEquals(expectedOut, player.getSpeed().getX(), Constants.DOUBLE_PRECISION);
@@ -167,50 +171,53 @@ public class PlayerActionsLevelModifierTest {
   }
 
   /**
-   * When a Level is modified and the player is a powerup, then the lifetime of said powerup should
-   * decrease.
+   * When a Level is modified and the Player has a shoot action, a bubble should be spawned.
    */
   @Test
-  public void testPowerUpCountDown() {
-    level.getPlayers().set(0, new ChiliChicken(player));
-    assertEquals(player.getLifetime(), 90, Constants.DOUBLE_PRECISION);
+  public void testShoot() {
+    player.addAction(LevelElementAction.MoveLeft);
     modifier.modify(level, 0.5);
-    assertTrue(player.getLifetime() < 90);
-  }
-
-  /**
-   * When a Level is modified and the powerup countdown is smaller or equal to zero, the
-   * PlayerElement should be a player again.
-   */
-  @Test
-  public void testChiliChickenCountDownEnd() {
-    level.getPlayers().set(0, new ChiliChicken(player));
-    modifier.modify(level, 250);
+    player.addAction(LevelElementAction.Shoot);
     modifier.modify(level, 0.5);
-    assertTrue(level.getPlayers().get(0) instanceof Player);
+    assertEquals(level.getBubbles().size(), 1);
   }
 
   /**
-   * When a Level is modified and the powerup countdown is smaller or equal to zero, the
-   * PlayerElement should be a player again.
+   * Movements should be published as gameplay events rather than logged on the simulation thread.
    */
   @Test
-  public void testTurtleTacoCountDownEnd() {
-    level.getPlayers().set(0, new TurtleTaco(player));
-    modifier.modify(level, 250);
-    modifier.modify(level, 0.5);
-    assertTrue(level.getPlayers().get(0) instanceof Player);
+  public void testPublishMoves() {
+    GameEventBus bus = new GameEventBus();
+    GameEventQueue events = bus.subscribe();
+    modifier = new PlayerActionsLevelModifier(bus);
+    player.addAction(LevelElementAction.MoveLeft);
+    modifier.modify(level, 1);
+    player.removeAction(LevelElementAction.MoveLeft);
+    player.addAction(LevelElementAction.MoveStop);
+    modifier.modify(level, 1);
+
+    GameEvent moved = events.poll();
+    assertEquals(GameEventType.PlayerMoved, moved.getType());
+    assertEquals(-1, moved.getValue());
+    assertEquals(GameEventType.PlayerStopped, events.poll().getType());
+    assertEquals(0, events.size());
   }
 
   /**
-   * When a Level is modified and the Player has a shoot action, a bubble should be spawned.
+   * Pending key presses of living players should be stamped as applied, those of dead players not.
    */
   @Test
-  public void testShoot() {
-    player.addAction(LevelElementAction.MoveLeft);
-    modifier.modify(level, 0.5);
-    player.addAction(LevelElementAction.Shoot);
-    modifier.modify(level, 0.5);
-    assertEquals(level.getBubbles().size(), 1);
+  public void testLatency() {
+    InputLatency latency = new InputLatency();
+    modifier = new PlayerActionsLevelModifier(new GameEventBus(), latency);
+    latency.pressed(0, 1L);
+    modifier.modify(level, 1);
+    assertEquals(1, latency.getKeyToStep().getCount());
+
+    player.setAlive(false);
+    latency.pressed(0, 1L);
+    modifier.modify(level, 1);
+    assertEquals(1, latency.getKeyToStep().getCount());
   }
+
 }
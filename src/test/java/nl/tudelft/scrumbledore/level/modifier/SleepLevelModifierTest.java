@@ -0,0 +1,148 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.event.GameEventBus;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Fruit;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.Player;
+
+/**
+ * Test suite for the SleepLevelModifier class.
+ * 
+ * @author Jesse Tilro
+ */
+public class SleepLevelModifierTest {
+  private static final int STEPS = 5;
+
+  private Level level;
+  private Fruit fruit;
+  private Platform platform;
+  private ArrayList<LevelModifier> modifiers;
+
+  /**
+   * Set up a level with a fruit falling onto a platform, and the modifiers simulating it.
+   */
+  @Before
+  public void setUp() {
+    level = new Level();
+    platform = new Platform(new Vector(64, 96), new Vector(32, 32));
+    fruit = new Fruit(new Vector(64, 32), new Vector(32, 32));
+    level.addElement(platform);
+    level.addElement(fruit);
+
+    modifiers = new ArrayList<LevelModifier>();
+    modifiers.add(new GravityLevelModifier());
+    modifiers.add(new CollisionsLevelModifier(new GameEventBus()));
+    modifiers.add(new KineticsLevelModifier());
+    modifiers.add(new SleepLevelModifier(STEPS));
+  }
+
+  /**
+   * Simulate a number of steps.
+   * 
+   * @param steps
+   *          The number of steps.
+   */
+  private void step(int steps) {
+    for (int i = 0; i < steps; i++) {
+      for (LevelModifier modifier : modifiers) {
+        modifier.modify(level, 1);
+      }
+    }
+  }
+
+  /**
+   * The default constructor should use the constant number of resting steps.
+   */
+  @Test
+  public void testConstructor() {
+    assertEquals(Constants.SLEEP_STEPS, new SleepLevelModifier().getSteps());
+  }
+
+  /**
+   * A fruit that has landed on a platform should fall asleep after resting for the configured
+   * number of steps, and stay where it landed.
+   */
+  @Test
+  public void testFallAsleep() {
+    step(10);
+    assertFalse(fruit.isAsleep());
+    assertEquals(platform, fruit.getSupport());
+    Vector rest = new Vector(fruit.getPosition().getX(), fruit.getPosition().getY());
+
+    step(STEPS);
+
+    assertTrue(fruit.isAsleep());
+    step(10);
+    assertEquals(rest, fruit.getPosition());
+    assertEquals(0, fruit.getSpeed().getY(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * A falling fruit should never fall asleep.
+   */
+  @Test
+  public void testFallingStaysAwake() {
+    level.getPlatforms().clear();
+
+    step(2 * STEPS);
+
+    assertFalse(fruit.isAsleep());
+  }
+
+  /**
+   * Removing the platform a fruit sleeps on should wake it up, after which it falls.
+   */
+  @Test
+  public void testWakeOnSupportRemoved() {
+    step(10 + STEPS);
+    assertTrue(fruit.isAsleep());
+    double rest = fruit.getPosition().getY();
+
+    level.getPlatforms().remove(platform);
+    step(2);
+
+    assertFalse(fruit.isAsleep());
+    assertTrue(fruit.getPosition().getY() > rest);
+  }
+
+  /**
+   * A player touching a sleeping fruit should wake it up.
+   */
+  @Test
+  public void testWakeOnContact() {
+    step(10 + STEPS);
+    assertTrue(fruit.isAsleep());
+
+    Vector position = fruit.getPosition();
+    level.addElement(new Player(new Vector(position.getX(), position.getY()), new Vector(32, 32)));
+    step(1);
+
+    assertFalse(fruit.isAsleep());
+  }
+
+  /**
+   * Adding an action to a sleeping element should wake it up.
+   */
+  @Test
+  public void testWakeOnAction() {
+    step(10 + STEPS);
+    assertTrue(fruit.isAsleep());
+
+    fruit.addAction(LevelElementAction.MoveLeft);
+
+    assertFalse(fruit.isAsleep());
+  }
+
+}
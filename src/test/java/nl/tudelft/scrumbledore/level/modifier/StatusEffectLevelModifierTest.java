@@ -0,0 +1,38 @@
+package nl.tudelft.scrumbledore.level.modifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.powerup.StatusEffect;
+
+/**
+ * Test suite for the StatusEffectLevelModifier class.
+ * 
+ * @author Jesse Tilro
+ */
+public class StatusEffectLevelModifierTest {
+
+  /**
+   * When a Level is modified, the status effects of its players should count down, and end once
+   * they run out.
+   */
+  @Test
+  public void testModify() {
+    Level level = new Level();
+    level.getEffects().apply(0, StatusEffect.Chili);
+    StatusEffectLevelModifier modifier = new StatusEffectLevelModifier();
+
+    modifier.modify(level, 0.5);
+    assertEquals(StatusEffect.Chili.getDuration() - 0.5,
+        level.getEffects().getRemaining(0, StatusEffect.Chili), Constants.DOUBLE_PRECISION);
+
+    modifier.modify(level, StatusEffect.Chili.getDuration());
+    assertFalse(level.getEffects().has(0, StatusEffect.Chili));
+    assertEquals(0, level.getEffects().getFlags(0));
+  }
+
+}
@@ -98,4 +98,23 @@ public class WarpLevelModifierTest {
     assertEquals(expectedPosition, player.getPosition());
   }
 
+  /**
+   * In a Level larger than the screen, elements should be warped at the boundaries of the Level
+   * instead of those of the screen.
+   */
+  @Test
+  public void testModifyLargeLevel() {
+    Player player = new Player(new Vector(Constants.LEVELX + 1, 2000), new Vector(0, 0));
+    Level level = new Level();
+    level.setDimensions(3200, 3200);
+    level.addElement(player);
+
+    warp.modify(level, .5);
+    assertEquals(new Vector(Constants.LEVELX + 1, 2000), player.getPosition());
+
+    player.getPosition().setY(3201);
+    warp.modify(level, .5);
+    assertEquals(new Vector(Constants.LEVELX + 1, 0), player.getPosition());
+  }
+
 }
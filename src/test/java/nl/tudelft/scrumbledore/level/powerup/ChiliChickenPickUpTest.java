@@ -39,6 +39,14 @@ public class ChiliChickenPickUpTest extends PowerupPickUpTest {
     return new ChiliChickenPickUp(position, size);
   }
   
+  /**
+   * The pick-up should apply the Chili status effect.
+   */
+  @Test
+  public void testGetEffect() {
+    assertEquals(StatusEffect.Chili, cP1.getEffect());
+  }
+  
   /**
    * Test the getSprites method to verify whether the correct
    * sprite(s) is/are being returned.
@@ -0,0 +1,133 @@
+package nl.tudelft.scrumbledore.level.powerup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+
+/**
+ * Test suite for the StatusEffects class.
+ * 
+ * @author Jesse Tilro
+ */
+public class StatusEffectsTest {
+  private StatusEffects effects;
+
+  /**
+   * Set up an empty table of status effects.
+   */
+  @Before
+  public void setUp() {
+    effects = new StatusEffects();
+  }
+
+  /**
+   * A player without effects should have no flags, normal speed and no protection.
+   */
+  @Test
+  public void testNone() {
+    assertEquals(0, effects.getFlags(0));
+    assertFalse(effects.has(0, StatusEffect.Chili));
+    assertFalse(effects.isInvincible(0));
+    assertEquals(1, effects.getSpeedMultiplier(0), Constants.DOUBLE_PRECISION);
+    assertEquals(0, effects.getRemaining(5, StatusEffect.Taco), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * An applied effect should be active on that player only and last for its duration.
+   */
+  @Test
+  public void testApply() {
+    effects.apply(1, StatusEffect.Chili);
+
+    assertTrue(effects.has(1, StatusEffect.Chili));
+    assertFalse(effects.has(0, StatusEffect.Chili));
+    assertEquals(StatusEffect.Chili.getFlag(), effects.getFlags(1));
+    assertEquals(StatusEffect.Chili.getDuration(), effects.getRemaining(1, StatusEffect.Chili),
+        Constants.DOUBLE_PRECISION);
+    assertEquals(Constants.PLAYER_CHILI_MULTIPLIER, effects.getSpeedMultiplier(1),
+        Constants.DOUBLE_PRECISION);
+    assertFalse(effects.isInvincible(1));
+  }
+
+  /**
+   * The Taco effect should make the player invincible.
+   */
+  @Test
+  public void testInvincible() {
+    effects.apply(0, StatusEffect.Taco);
+    assertTrue(effects.isInvincible(0));
+    assertEquals(1, effects.getSpeedMultiplier(0), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * Applying an effect again should stack it, up to the maximum number of stacks.
+   */
+  @Test
+  public void testStack() {
+    effects.apply(0, StatusEffect.Taco);
+    effects.apply(0, StatusEffect.Taco);
+    assertEquals(2, effects.getStacks(0, StatusEffect.Taco));
+
+    for (int i = 0; i < Constants.EFFECT_MAX_STACKS; i++) {
+      effects.apply(0, StatusEffect.Taco);
+    }
+    assertEquals(Constants.EFFECT_MAX_STACKS, effects.getStacks(0, StatusEffect.Taco));
+    assertEquals(StatusEffect.Taco.getDuration() * Constants.EFFECT_MAX_STACKS,
+        effects.getRemaining(0, StatusEffect.Taco), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * Ticking should count the effects down and end the ones that run out.
+   */
+  @Test
+  public void testTick() {
+    effects.apply(0, StatusEffect.Chili);
+    effects.apply(0, StatusEffect.Taco);
+
+    assertEquals(0, effects.tick(10));
+    assertEquals(StatusEffect.Chili.getDuration() - 10,
+        effects.getRemaining(0, StatusEffect.Chili), Constants.DOUBLE_PRECISION);
+
+    assertEquals(1, effects.tick(StatusEffect.Taco.getDuration()));
+    assertFalse(effects.has(0, StatusEffect.Taco));
+    assertTrue(effects.has(0, StatusEffect.Chili));
+
+    assertEquals(1, effects.tick(StatusEffect.Chili.getDuration()));
+    assertEquals(0, effects.getFlags(0));
+  }
+
+  /**
+   * Effects should be applicable to player numbers beyond the initial capacity.
+   */
+  @Test
+  public void testGrow() {
+    effects.apply(7, StatusEffect.Chili);
+    assertTrue(effects.has(7, StatusEffect.Chili));
+    effects.tick(StatusEffect.Chili.getDuration());
+    assertFalse(effects.has(7, StatusEffect.Chili));
+  }
+
+  /**
+   * Setting the remaining steps should start or end an effect, and clearing should end them all.
+   */
+  @Test
+  public void testSetRemainingClear() {
+    effects.setRemaining(0, StatusEffect.Taco, 12);
+    assertTrue(effects.has(0, StatusEffect.Taco));
+    assertEquals(12, effects.getRemaining(0, StatusEffect.Taco), Constants.DOUBLE_PRECISION);
+
+    effects.setRemaining(0, StatusEffect.Taco, 0);
+    assertFalse(effects.has(0, StatusEffect.Taco));
+
+    effects.apply(1, StatusEffect.Chili);
+    effects.clear();
+    assertEquals(0, effects.getFlags(1));
+    assertEquals(0, effects.getRemaining(1, StatusEffect.Chili), Constants.DOUBLE_PRECISION);
+  }
+
+}
@@ -41,6 +41,14 @@ public class TurtleTacoPickUpTest extends PowerupPickUpTest {
     return new TurtleTacoPickUp(position, size);
   }
 
+  /**
+   * The pick-up should apply the Taco status effect.
+   */
+  @Test
+  public void testGetEffect() {
+    assertEquals(StatusEffect.Taco, tT1.getEffect());
+  }
+  
   /**
    * Test the getSprites method to verify whether the correct sprite(s) is/are being returned.
    */
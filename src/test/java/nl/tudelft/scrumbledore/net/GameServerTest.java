@@ -0,0 +1,352 @@
+package nl.tudelft.scrumbledore.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.game.WorldState;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.NPCLevelModifier;
+import nl.tudelft.scrumbledore.replay.InputRecording;
+
+/**
+ * Test suite for the GameServer and GameClient classes, talking over loopback.
+ * 
+ * @author Jesse Tilro
+ */
+public class GameServerTest {
+  private GameServer server;
+  private SocketAddress address;
+
+  /**
+   * Start a server for a new multiplayer game on a free port.
+   * 
+   * @throws IOException
+   *           When the server can not be started.
+   */
+  @Before
+  public void setUp() throws IOException {
+    server = new GameServer(new MultiPlayerGameFactory().makeGame(), 0);
+    address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+  }
+
+  /**
+   * Close the server.
+   * 
+   * @throws IOException
+   *           When the server can not be closed.
+   */
+  @After
+  public void tearDown() throws IOException {
+    server.close();
+  }
+
+  /**
+   * Let the server and a client handle their packets until the client has received a state with
+   * at least a given tick or until a second has passed.
+   * 
+   * @param client
+   *          The client.
+   * 
+   * @param tick
+   *          The tick to wait for, or -1 to wait for the answer to joining.
+   * 
+   * @throws IOException
+   *           When a channel fails.
+   */
+  private void pump(GameClient client, int tick) throws IOException {
+    long deadline = System.currentTimeMillis() + 1000;
+    while (System.currentTimeMillis() < deadline) {
+      server.poll(5);
+      client.poll();
+      if (tick < 0 && client.isWelcomed() || tick >= 0 && client.getTick() >= tick) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Send a packet of a given type with a number of integers from a raw channel.
+   * 
+   * @param raw
+   *          The channel, connected to the server.
+   * 
+   * @param type
+   *          The packet type.
+   * 
+   * @param values
+   *          The integers to put in the packet.
+   * 
+   * @throws IOException
+   *           When the channel fails.
+   */
+  private void send(DatagramChannel raw, byte type, int... values) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    NetProtocol.begin(buffer, type);
+    for (int value : values) {
+      buffer.putInt(value);
+    }
+    buffer.flip();
+    raw.write(buffer);
+  }
+
+  /**
+   * Let the server handle its packets until it has a given input mask for player 0 or until a
+   * second has passed.
+   * 
+   * @param mask
+   *          The mask to wait for.
+   * 
+   * @throws IOException
+   *           When a channel fails.
+   */
+  private void awaitMask(int mask) throws IOException {
+    long deadline = System.currentTimeMillis() + 1000;
+    while (server.getMask(0) != mask && System.currentTimeMillis() < deadline) {
+      server.poll(5);
+    }
+  }
+
+  /**
+   * Find a player in a game.
+   * 
+   * @param game
+   *          The game.
+   * 
+   * @param number
+   *          The player number.
+   * 
+   * @return The player.
+   */
+  private PlayerElement player(Game game, int number) {
+    for (PlayerElement player : game.getCurrentLevel().getPlayers()) {
+      if (player.getPlayerNumber() == number) {
+        return player;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Clients should be given the free players of the level, until there are none left.
+   * 
+   * @throws IOException
+   *           When a channel fails.
+   */
+  @Test
+  public void testJoin() throws IOException {
+    GameClient first = GameClient.attach(new MultiPlayerGameFactory().makeGame(), address);
+    pump(first, -1);
+    GameClient second = GameClient.attach(new MultiPlayerGameFactory().makeGame(), address);
+    pump(second, -1);
+    GameClient third = GameClient.attach(new MultiPlayerGameFactory().makeGame(), address);
+    pump(third, -1);
+
+    assertEquals(0, first.getPlayerNumber());
+    assertEquals(1, second.getPlayerNumber());
+    assertEquals(-1, third.getPlayerNumber());
+    assertTrue(third.isWelcomed());
+    assertEquals(2, server.getClients());
+
+    first.close();
+    second.close();
+    third.close();
+  }
+
+  /**
+   * A client should mirror the state of the game on the server.
+   * 
+   * @throws IOException
+   *           When a channel fails.
+   */
+  @Test
+  public void testMirrorState() throws IOException {
+    Game local = new MultiPlayerGameFactory().makeGame();
+    GameClient client = GameClient.attach(local, address);
+    pump(client, -1);
+
+    for (int i = 0; i < 20; i++) {
+      server.tick();
+    }
+    pump(client, server.getGame().getFullSteps());
+
+    assertTrue(client.apply());
+    assertFalse(client.apply());
+    WorldState expected = new WorldState();
+    expected.capture(server.getGame());
+    WorldState actual = new WorldState();
+    actual.capture(local);
+    assertEquals(expected, actual);
+    assertEquals(server.getGame().getSteps(), local.getSteps(), 0);
+    client.close();
+  }
+
+  /**
+   * The actions of the local player should be sent to the server and applied to the player there.
+   * 
+   * @throws IOException
+   *           When a channel fails.
+   */
+  @Test
+  public void testInput() throws IOException {
+    Game local = new MultiPlayerGameFactory().makeGame();
+    GameClient client = GameClient.attach(local, address);
+    pump(client, -1);
+
+    player(local, 0).addAction(LevelElementAction.MoveRight);
+    local.step(1);
+    long deadline = System.currentTimeMillis() + 1000;
+    while (server.getMask(0) == 0 && System.currentTimeMillis() < deadline) {
+      server.poll(5);
+    }
+    server.tick();
+    pump(client, server.getGame().getFullSteps());
+
+    int mask = 1 << LevelElementAction.MoveRight.ordinal();
+    assertEquals(mask, server.getMask(0));
+    assertTrue(player(server.getGame(), 0).hSpeed() > 0);
+
+    local.step(1);
+    assertEquals(1, client.getStates());
+    assertEquals(mask, InputRecording.toMask(player(local, 0)));
+    client.close();
+  }
+
+  /**
+   * Once a client has acknowledged a state, the following states should be encoded against it.
+   * 
+   * @throws IOException
+   *           When a channel fails.
+   */
+  @Test
+  public void testDeltaAgainstAck() throws IOException {
+    Game local = new MultiPlayerGameFactory().makeGame();
+    GameClient client = GameClient.attach(local, address);
+    pump(client, -1);
+    server.tick();
+    pump(client, server.getGame().getFullSteps());
+    local.step(1);
+
+    long deadline = System.currentTimeMillis() + 1000;
+    while (server.getAck(0) < 0 && System.currentTimeMillis() < deadline) {
+      server.poll(5);
+    }
+    assertEquals(client.getTick(), server.getAck(0));
+
+    for (int i = 0; i < 5; i++) {
+      server.tick();
+    }
+    pump(client, server.getGame().getFullSteps());
+    assertEquals(server.getAck(0), client.getBaseline());
+    assertTrue(client.apply());
+    WorldState expected = new WorldState();
+    expected.capture(server.getGame());
+    WorldState actual = new WorldState();
+    actual.capture(local);
+    assertEquals(expected, actual);
+    client.close();
+  }
+
+  /**
+   * Over a link with latency, a state should only arrive once the latency has passed.
+   * 
+   * @throws Exception
+   *           When a channel fails.
+   */
+  @Test
+  public void testLatency() throws Exception {
+    server.close();
+    server = new GameServer(new MultiPlayerGameFactory().makeGame(), 0,
+        new LinkConditioner(100, 0, 0, 16));
+    address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    GameClient client = GameClient.attach(new MultiPlayerGameFactory().makeGame(), address);
+    pump(client, -1);
+    assertEquals(0, client.getPlayerNumber());
+
+    long sent = System.nanoTime();
+    server.tick();
+    pump(client, server.getGame().getFullSteps());
+
+    assertEquals(server.getGame().getFullSteps(), client.getTick());
+    assertTrue(System.nanoTime() - sent >= 100000000L);
+    client.close();
+  }
+
+  /**
+   * A client saying hello again should start over with a clean input state, so that its new
+   * sequence numbers are accepted.
+   * 
+   * @throws IOException
+   *           When a channel fails.
+   */
+  @Test
+  public void testHelloAgainResets() throws IOException {
+    DatagramChannel raw = DatagramChannel.open();
+    raw.connect(address);
+    send(raw, NetProtocol.HELLO);
+    send(raw, NetProtocol.INPUT, 10, 3, 5);
+    awaitMask(3);
+    assertEquals(5, server.getAck(0));
+
+    send(raw, NetProtocol.HELLO);
+    awaitMask(0);
+    assertEquals(-1, server.getAck(0));
+
+    send(raw, NetProtocol.INPUT, 1, 6, 0);
+    awaitMask(6);
+    assertEquals(6, server.getMask(0));
+    assertEquals(1, server.getClients());
+    raw.close();
+  }
+
+  /**
+   * A client that has gone silent should be dropped after the timeout.
+   * 
+   * @throws IOException
+   *           When a channel fails.
+   */
+  @Test
+  public void testSilentClientExpires() throws IOException {
+    GameClient client = GameClient.attach(new MultiPlayerGameFactory().makeGame(), address);
+    pump(client, -1);
+    assertEquals(1, server.getClients());
+
+    for (int i = 0; i < Constants.NET_TIMEOUT; i++) {
+      server.tick();
+    }
+    assertEquals(1, server.getClients());
+    server.tick();
+    server.tick();
+    assertEquals(0, server.getClients());
+    client.close();
+  }
+
+  /**
+   * The NPCs of a served game should decide without a time budget.
+   */
+  @Test
+  public void testNoAIBudget() {
+    for (LevelModifier modifier : server.getGame().getModifiers()) {
+      if (modifier instanceof NPCLevelModifier) {
+        assertEquals(0, ((NPCLevelModifier) modifier).getScheduler().getBudgetMicros());
+      }
+    }
+  }
+
+}
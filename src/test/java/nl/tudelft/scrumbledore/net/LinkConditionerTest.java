@@ -0,0 +1,149 @@
+package nl.tudelft.scrumbledore.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the LinkConditioner class.
+ * 
+ * @author Jesse Tilro
+ */
+public class LinkConditionerTest {
+  private DatagramChannel channel;
+  private SocketAddress self;
+  private ByteBuffer packet;
+
+  /**
+   * Open a channel on loopback sending to itself.
+   * 
+   * @throws IOException
+   *           When the channel can not be opened.
+   */
+  @Before
+  public void setUp() throws IOException {
+    channel = DatagramChannel.open();
+    channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    channel.configureBlocking(false);
+    self = channel.getLocalAddress();
+    packet = ByteBuffer.allocate(16);
+    packet.putInt(42);
+    packet.flip();
+  }
+
+  /**
+   * Close the channel.
+   * 
+   * @throws IOException
+   *           When the channel can not be closed.
+   */
+  @After
+  public void tearDown() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Receive a packet sent to the channel, waiting a while for it to arrive.
+   * 
+   * @return The first int in the packet, or -1 if none arrived.
+   * 
+   * @throws IOException
+   *           When the channel can not be read.
+   * 
+   * @throws InterruptedException
+   *           When the test is interrupted.
+   */
+  private int receive() throws IOException, InterruptedException {
+    ByteBuffer in = ByteBuffer.allocate(16);
+    for (int i = 0; i < 100; i++) {
+      if (channel.receive(in) != null) {
+        in.flip();
+        return in.getInt();
+      }
+      Thread.sleep(5);
+    }
+    return -1;
+  }
+
+  /**
+   * A perfect link should send the packet right away and leave its buffer untouched.
+   * 
+   * @throws Exception
+   *           When the channel fails.
+   */
+  @Test
+  public void testPerfect() throws Exception {
+    LinkConditioner link = new LinkConditioner();
+    link.send(channel, packet, self, 0);
+
+    assertEquals(0, packet.position());
+    assertEquals(1, link.getSent());
+    assertEquals(42, receive());
+  }
+
+  /**
+   * A delayed packet should only be sent once its latency has passed.
+   * 
+   * @throws Exception
+   *           When the channel fails.
+   */
+  @Test
+  public void testLatency() throws Exception {
+    LinkConditioner link = new LinkConditioner(20, 0, 0, 4);
+    link.send(channel, packet, self, 0);
+
+    assertEquals(1, link.getPending());
+    assertEquals(0, link.flush(channel, 19999999));
+    assertEquals(1, link.flush(channel, 20000000));
+    assertEquals(0, link.getPending());
+    assertEquals(42, receive());
+  }
+
+  /**
+   * Packets beyond the capacity of a delayed link should be lost.
+   * 
+   * @throws Exception
+   *           When the channel fails.
+   */
+  @Test
+  public void testCapacity() throws Exception {
+    LinkConditioner link = new LinkConditioner(20, 0, 0, 2);
+    for (int i = 0; i < 3; i++) {
+      link.send(channel, packet, self, 0);
+    }
+
+    assertEquals(2, link.getPending());
+    assertEquals(1, link.getDropped());
+  }
+
+  /**
+   * About the configured share of packets should be lost, the same ones for the same seed.
+   * 
+   * @throws Exception
+   *           When the channel fails.
+   */
+  @Test
+  public void testLoss() throws Exception {
+    LinkConditioner first = new LinkConditioner(1000, .5, 7, 1000);
+    LinkConditioner second = new LinkConditioner(1000, .5, 7, 1000);
+    for (int i = 0; i < 1000; i++) {
+      first.send(channel, packet, self, 0);
+      second.send(channel, packet, self, 0);
+    }
+
+    assertTrue(first.getDropped() > 400 && first.getDropped() < 600);
+    assertEquals(first.getDropped(), second.getDropped());
+    assertEquals(1000 - first.getDropped(), first.getPending());
+  }
+
+}
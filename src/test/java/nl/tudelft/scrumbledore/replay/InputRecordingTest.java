@@ -0,0 +1,104 @@
+package nl.tudelft.scrumbledore.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.Player;
+
+/**
+ * Test suite for the InputRecording class.
+ * 
+ * @author Jesse Tilro
+ */
+public class InputRecordingTest {
+
+  /**
+   * Actions should survive being encoded into a mask and decoded again.
+   */
+  @Test
+  public void testMasks() {
+    Player player = new Player(new Vector(0, 0), new Vector(32, 32));
+    player.addAction(LevelElementAction.MoveLeft);
+    player.addAction(LevelElementAction.Shoot);
+    int mask = InputRecording.toMask(player);
+
+    Player other = new Player(new Vector(0, 0), new Vector(32, 32));
+    other.addAction(LevelElementAction.Jump);
+    InputRecording.applyMask(other, mask);
+    assertTrue(other.hasAction(LevelElementAction.MoveLeft));
+    assertTrue(other.hasAction(LevelElementAction.Shoot));
+    assertFalse(other.hasAction(LevelElementAction.Jump));
+  }
+
+  /**
+   * A recording should be read back from disk exactly as it was written.
+   * 
+   * @throws IOException
+   *           When the recording can not be written or read.
+   */
+  @Test
+  public void testWriteRead() throws IOException {
+    InputRecording recording = new InputRecording(2, 1, 0x1234567890L);
+    recording.addFrame(1, new int[] { 3, 0 });
+    recording.addFrame(2, 1.25, new int[] { 0, 48 });
+
+    File file = File.createTempFile("scrumbledore", ".replay");
+    try {
+      recording.write(file);
+      InputRecording read = InputRecording.read(file);
+      assertEquals(2, read.getPlayers());
+      assertEquals(1, read.getLevelIndex());
+      assertEquals(0x1234567890L, read.getInitialChecksum());
+      assertEquals(2, read.size());
+      assertEquals(1, read.getLevel(0));
+      assertEquals(3, read.getMask(0, 0));
+      assertEquals(2, read.getLevel(1));
+      assertEquals(48, read.getMask(1, 1));
+      assertEquals(InputReplayer.FIXED_DELTA, read.getDelta(0), 0);
+      assertEquals(1.25, read.getDelta(1), 0);
+    } finally {
+      assertTrue(file.delete());
+    }
+  }
+
+  /**
+   * Recordings of the first version, without deltas, should be read with the fixed delta.
+   * 
+   * @throws IOException
+   *           When the recording can not be written or read.
+   */
+  @Test
+  public void testReadFixedDelta() throws IOException {
+    File file = File.createTempFile("scrumbledore", ".replay");
+    try {
+      DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+      out.writeInt(0x53435250);
+      out.writeShort(1);
+      out.writeByte(1);
+      out.writeShort(0);
+      out.writeLong(42L);
+      out.writeInt(1);
+      out.writeShort(0);
+      out.writeByte(5);
+      out.close();
+
+      InputRecording read = InputRecording.read(file);
+      assertEquals(1, read.size());
+      assertEquals(5, read.getMask(0, 0));
+      assertEquals(InputReplayer.FIXED_DELTA, read.getDelta(0), 0);
+    } finally {
+      assertTrue(file.delete());
+    }
+  }
+
+}
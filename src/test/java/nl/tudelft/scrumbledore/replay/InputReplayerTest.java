@@ -0,0 +1,166 @@
+package nl.tudelft.scrumbledore.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.game.SinglePlayerGameFactory;
+import nl.tudelft.scrumbledore.level.element.LevelElementAction;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.NPCLevelModifier;
+
+/**
+ * Regression test suite replaying recorded sessions and checking the final state of the game.
+ * 
+ * @author Jesse Tilro
+ */
+public class InputReplayerTest {
+  private static final int STEPS = 1500;
+
+  /**
+   * Replaying a recorded single player session on a new game should end in exactly the state the
+   * recorded game ended in.
+   */
+  @Test
+  public void testReplaySinglePlayer() {
+    Game recorded = new SinglePlayerGameFactory().makeGame();
+    InputRecording recording = ScriptedSession.record(recorded, STEPS);
+    assertEquals(STEPS, recording.size());
+    assertEquals(1, recording.getPlayers());
+
+    long expected = StateChecksum.of(recorded);
+    InputReplayer replayer = new InputReplayer(recording);
+    assertEquals(expected, replayer.replay(new SinglePlayerGameFactory().makeGame()));
+    assertEquals(expected, replayer.replay(new SinglePlayerGameFactory().makeGame()));
+  }
+
+  /**
+   * Replaying a recorded multiplayer session read back from disk should end in exactly the state
+   * the recorded game ended in.
+   * 
+   * @throws IOException
+   *           When the recording can not be written or read.
+   */
+  @Test
+  public void testReplayMultiPlayerFromFile() throws IOException {
+    Game recorded = new MultiPlayerGameFactory().makeGame();
+    InputRecording recording = ScriptedSession.record(recorded, STEPS);
+    assertEquals(2, recording.getPlayers());
+
+    File file = File.createTempFile("scrumbledore", ".replay");
+    try {
+      recording.write(file);
+      InputReplayer replayer = new InputReplayer(InputRecording.read(file));
+      assertEquals(StateChecksum.of(recorded),
+          replayer.replay(new MultiPlayerGameFactory().makeGame()));
+    } finally {
+      assertTrue(file.delete());
+    }
+  }
+
+  /**
+   * The recorded input should actually influence the state of the game.
+   */
+  @Test
+  public void testInputChangesState() {
+    Game idle = new SinglePlayerGameFactory().makeGame();
+    InputRecorder recorder = InputRecorder.attach(idle);
+    for (int i = 0; i < STEPS; i++) {
+      idle.step(InputReplayer.FIXED_DELTA);
+    }
+
+    Game scripted = new SinglePlayerGameFactory().makeGame();
+    ScriptedSession.record(scripted, STEPS);
+
+    assertEquals(STEPS, recorder.getRecording().size());
+    assertNotEquals(StateChecksum.of(idle), StateChecksum.of(scripted));
+  }
+
+  /**
+   * Replaying a recording on a game in a different state should be refused.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testReplayDifferentInitialState() {
+    InputRecording recording = ScriptedSession.record(new SinglePlayerGameFactory().makeGame(),
+        10);
+    Game game = new SinglePlayerGameFactory().makeGame();
+    game.getCurrentLevel().getPlayers().get(0).getPosition().setX(-1);
+    new InputReplayer(recording).replay(game);
+  }
+
+  /**
+   * A session played with a varying delta, like one driven by the step timer, should replay to
+   * the same state, which a replay with the fixed delta does not.
+   */
+  @Test
+  public void testReplayVaryingDelta() {
+    Game recorded = new SinglePlayerGameFactory().makeGame();
+    InputRecorder recorder = InputRecorder.attach(recorded);
+    PlayerElement player = recorded.getCurrentLevel().getPlayers().get(0);
+    for (int i = 0; i < STEPS; i++) {
+      if (i % 100 == 0) {
+        player.addAction(LevelElementAction.Jump);
+      } else if (i % 100 == 50) {
+        player.removeAction(LevelElementAction.Jump);
+      }
+      if (i % 200 == 0) {
+        player.addAction(LevelElementAction.MoveRight);
+      } else if (i % 200 == 100) {
+        player.removeAction(LevelElementAction.MoveRight);
+        player.addAction(LevelElementAction.MoveStop);
+      }
+      recorded.step(0.6 + (i % 7) * 0.15);
+    }
+    recorder.detach();
+
+    InputReplayer replayer = new InputReplayer(recorder.getRecording());
+    long expected = StateChecksum.of(recorded);
+    assertEquals(expected, replayer.replay(new SinglePlayerGameFactory().makeGame()));
+    assertNotEquals(expected, replayer.replay(new SinglePlayerGameFactory().makeGame(),
+        InputReplayer.FIXED_DELTA));
+  }
+
+  /**
+   * A time budget for the NPCs set on the game should be lifted while recording and replaying, so
+   * the decisions do not depend on the load of the machine.
+   */
+  @Test
+  public void testReplayWithoutBudget() {
+    Game recorded = new SinglePlayerGameFactory().makeGame();
+    recorded.setAIBudget(1);
+    InputRecording recording = ScriptedSession.record(recorded, STEPS);
+    assertEquals(0, getNPCModifier(recorded).getScheduler().getBudgetMicros());
+
+    Game replayed = new SinglePlayerGameFactory().makeGame();
+    replayed.setAIBudget(1);
+    assertEquals(StateChecksum.of(recorded), new InputReplayer(recording).replay(replayed));
+    assertEquals(0, getNPCModifier(replayed).getScheduler().getBudgetMicros());
+    assertEquals(0, getNPCModifier(replayed).getScheduler().getDeferred());
+  }
+
+  /**
+   * Get the NPCLevelModifier of a Game.
+   * 
+   * @param game
+   *          The game.
+   * 
+   * @return The modifier.
+   */
+  private NPCLevelModifier getNPCModifier(Game game) {
+    for (LevelModifier modifier : game.getModifiers()) {
+      if (modifier instanceof NPCLevelModifier) {
+        return (NPCLevelModifier) modifier;
+      }
+    }
+    return null;
+  }
+
+}
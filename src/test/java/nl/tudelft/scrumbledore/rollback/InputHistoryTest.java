@@ -0,0 +1,85 @@
+package nl.tudelft.scrumbledore.rollback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the InputHistory class.
+ * 
+ * @author Jesse Tilro
+ */
+public class InputHistoryTest {
+
+  /**
+   * The capacity should be rounded up to a power of two.
+   */
+  @Test
+  public void testCapacity() {
+    assertEquals(32, new InputHistory(25).getCapacity());
+    assertEquals(16, new InputHistory(16).getCapacity());
+  }
+
+  /**
+   * Ticks without confirmed input should repeat the last input confirmed without gaps.
+   */
+  @Test
+  public void testPrediction() {
+    InputHistory history = new InputHistory(16);
+    assertEquals(0, history.get(0));
+
+    history.confirm(0, 1);
+    history.confirm(1, 2);
+    history.confirm(3, 8);
+    assertEquals(1, history.getConfirmedTick());
+    assertEquals(2, history.get(2));
+    assertEquals(8, history.get(3));
+    assertEquals(2, history.get(4));
+
+    history.confirm(2, 4);
+    assertEquals(3, history.getConfirmedTick());
+    assertEquals(8, history.get(4));
+  }
+
+  /**
+   * Confirming a tick twice should keep the first input.
+   */
+  @Test
+  public void testConfirmTwice() {
+    InputHistory history = new InputHistory(16);
+    assertTrue(history.confirm(0, 1));
+    assertFalse(history.confirm(0, 2));
+    assertEquals(1, history.get(0));
+  }
+
+  /**
+   * Only ticks applied with a different input should be mispredicted.
+   */
+  @Test
+  public void testMispredicted() {
+    InputHistory history = new InputHistory(16);
+    history.apply(0, 1);
+    assertFalse(history.isMispredicted(0, 1));
+    assertTrue(history.isMispredicted(0, 2));
+    assertFalse(history.isMispredicted(1, 2));
+    assertFalse(history.isMispredicted(16, 2));
+  }
+
+  /**
+   * The ring should keep working after wrapping around.
+   */
+  @Test
+  public void testWrap() {
+    InputHistory history = new InputHistory(4);
+    for (int tick = 0; tick < 10; tick++) {
+      history.confirm(tick, tick);
+    }
+    assertEquals(9, history.getConfirmedTick());
+    assertTrue(history.isConfirmed(9));
+    assertFalse(history.isConfirmed(5));
+    assertEquals(9, history.get(11));
+  }
+
+}
@@ -0,0 +1,220 @@
+package nl.tudelft.scrumbledore.rollback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.game.Game;
+import nl.tudelft.scrumbledore.game.MultiPlayerGameFactory;
+import nl.tudelft.scrumbledore.level.Level;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.NPC;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+import nl.tudelft.scrumbledore.level.modifier.AIScheduler;
+import nl.tudelft.scrumbledore.level.modifier.LevelModifier;
+import nl.tudelft.scrumbledore.level.modifier.NPCLevelModifier;
+import nl.tudelft.scrumbledore.replay.InputRecording;
+import nl.tudelft.scrumbledore.replay.InputReplayer;
+import nl.tudelft.scrumbledore.replay.ScriptedSession;
+import nl.tudelft.scrumbledore.replay.StateChecksum;
+
+/**
+ * Test suite for the RollbackSession class, playing a scripted two player session with the input
+ * of the second player arriving late.
+ * 
+ * @author Jesse Tilro
+ */
+public class RollbackSessionTest {
+  private static final int STEPS = 400;
+  private static final int WINDOW = 10;
+  private static final int CROWD = 30;
+
+  private InputRecording recording;
+  private long[] expected;
+
+  /**
+   * Record a scripted session and the checksum of the state after every one of its steps.
+   */
+  @Before
+  public void setUp() {
+    recording = ScriptedSession.record(new MultiPlayerGameFactory().makeGame(), STEPS);
+    expected = checksums(new MultiPlayerGameFactory().makeGame());
+  }
+
+  /**
+   * Replay the recorded session in a game and compute the checksum of the state after every step.
+   * 
+   * @param game
+   *          The game.
+   * 
+   * @return The checksums.
+   */
+  private long[] checksums(Game game) {
+    long[] checksums = new long[STEPS];
+    for (int tick = 0; tick < STEPS; tick++) {
+      for (PlayerElement player : game.getCurrentLevel().getPlayers()) {
+        InputRecording.applyMask(player,
+            recording.getMask(tick, player.getPlayerNumber()));
+      }
+      game.step(InputReplayer.FIXED_DELTA);
+      checksums[tick] = StateChecksum.of(game);
+    }
+    return checksums;
+  }
+
+  /**
+   * Make a new multiplayer game crowded with NPCs, which all decide every step within a given
+   * budget.
+   * 
+   * @param budgetMicros
+   *          The budget of the decisions per step in microseconds.
+   * 
+   * @return The game.
+   */
+  private static Game makeGame(long budgetMicros) {
+    Game game = new MultiPlayerGameFactory().makeGame();
+    for (int i = 0; i < game.getModifiers().size(); i++) {
+      LevelModifier modifier = game.getModifiers().get(i);
+      if (modifier instanceof NPCLevelModifier) {
+        game.getModifiers().set(i, new NPCLevelModifier(new AIScheduler(1, budgetMicros)));
+      }
+    }
+    Level level = game.getCurrentLevel();
+    NPC first = level.getNPCs().get(0);
+    for (int i = 0; i < CROWD; i++) {
+      level.addElement(new NPC(new Vector(first.posX() + i % 5, first.posY()),
+          new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE)));
+    }
+    return game;
+  }
+
+  /**
+   * Play the recorded session, with the input of the second player arriving a number of ticks
+   * late, and report the expected checksum of every tick.
+   * 
+   * @param session
+   *          The session.
+   * 
+   * @param delay
+   *          The number of ticks the input of the second player is late.
+   */
+  private void play(RollbackSession session, int delay) {
+    for (int tick = 0; tick < STEPS + delay; tick++) {
+      if (tick < STEPS) {
+        session.addInput(0, tick, recording.getMask(tick, 0));
+      }
+      if (tick >= delay) {
+        session.addInput(1, tick - delay, recording.getMask(tick - delay, 1));
+        session.addChecksum(tick - delay, expected[tick - delay]);
+      }
+      session.advance();
+    }
+  }
+
+  /**
+   * Without late input the session should follow the recorded session without rolling back.
+   */
+  @Test
+  public void testWithoutDelay() {
+    RollbackSession session = new RollbackSession(new MultiPlayerGameFactory().makeGame(), 2,
+        WINDOW);
+    play(session, 0);
+
+    assertEquals(STEPS, session.getTick());
+    assertEquals(0, session.getRollbacks());
+    assertEquals(0, session.getDesyncs());
+    assertEquals(expected[STEPS - 1], session.getChecksum(STEPS - 1));
+  }
+
+  /**
+   * With late input the session should roll back whenever a prediction was wrong, and end up in
+   * exactly the state of the recorded session in every confirmed tick.
+   */
+  @Test
+  public void testRollbackConverges() {
+    RollbackSession session = new RollbackSession(new MultiPlayerGameFactory().makeGame(), 2,
+        WINDOW);
+    play(session, 8);
+
+    assertTrue(session.getRollbacks() > 0);
+    assertTrue(session.getMaxRollback() <= 8);
+    assertEquals(0, session.getDesyncs());
+    assertEquals(-1, session.getDesyncTick());
+    assertEquals(STEPS - 1, session.getConfirmedTick());
+    assertEquals(expected[STEPS - 1], session.getChecksum(STEPS - 1));
+  }
+
+  /**
+   * Even with a budget too tight for all NPCs to decide in time, re-simulated ticks should make the
+   * same decisions as a simulation without a budget.
+   */
+  @Test
+  public void testTinyBudgetConverges() {
+    expected = checksums(makeGame(0));
+    Game game = makeGame(1);
+    RollbackSession session = new RollbackSession(game, 2, WINDOW);
+    play(session, 8);
+
+    for (LevelModifier modifier : game.getModifiers()) {
+      if (modifier instanceof NPCLevelModifier) {
+        assertEquals(0, ((NPCLevelModifier) modifier).getScheduler().getDeferred());
+      }
+    }
+    assertTrue(session.getRollbacks() > 0);
+    assertEquals(0, session.getDesyncs());
+    assertEquals(expected[STEPS - 1], session.getChecksum(STEPS - 1));
+  }
+
+  /**
+   * A checksum differing from the local one should be detected as a desync once the tick is
+   * confirmed.
+   */
+  @Test
+  public void testDesync() {
+    RollbackSession session = new RollbackSession(new MultiPlayerGameFactory().makeGame(), 2,
+        WINDOW);
+    for (int tick = 0; tick < 5; tick++) {
+      session.addInput(0, tick, 0);
+      session.advance();
+    }
+    session.addChecksum(2, session.getChecksum(2) + 1);
+    session.advance();
+    assertEquals(0, session.getDesyncs());
+
+    session.addInput(1, 0, 0);
+    session.addInput(1, 1, 0);
+    session.addInput(1, 2, 0);
+    session.advance();
+    assertEquals(1, session.getDesyncs());
+    assertEquals(2, session.getDesyncTick());
+  }
+
+  /**
+   * Input outside the window should be refused and counted.
+   */
+  @Test
+  public void testLateInput() {
+    RollbackSession session = new RollbackSession(new MultiPlayerGameFactory().makeGame(), 2,
+        WINDOW);
+    for (int tick = 0; tick < WINDOW + 5; tick++) {
+      session.advance();
+    }
+    assertFalse(session.addInput(1, 2, 1));
+    assertFalse(session.addInput(1, session.getTick() + WINDOW, 1));
+    assertTrue(session.addInput(1, 5, 1));
+    assertEquals(2, session.getLate());
+  }
+
+  /**
+   * Input for an unknown player should be rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownPlayer() {
+    new RollbackSession(new MultiPlayerGameFactory().makeGame(), 2, WINDOW).addInput(2, 0, 0);
+  }
+
+}
@@ -0,0 +1,148 @@
+package nl.tudelft.scrumbledore.score;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the Leaderboard class.
+ * 
+ * @author Jesse Tilro
+ */
+public class LeaderboardTest {
+
+  /**
+   * Entries should be ranked by score, with ties in the order they were submitted.
+   */
+  @Test
+  public void testAdd() {
+    Leaderboard board = new Leaderboard(10);
+    assertEquals(1, board.add(new ScoreEntry("a", 100, 0, 0)));
+    assertEquals(1, board.add(new ScoreEntry("b", 300, 1, 0)));
+    assertEquals(3, board.add(new ScoreEntry("c", 100, 2, 0)));
+    assertEquals(2, board.add(new ScoreEntry("d", 200, 3, 0)));
+
+    assertEquals(4, board.size());
+    assertEquals("b", board.get(1).getName());
+    assertEquals("d", board.get(2).getName());
+    assertEquals("a", board.get(3).getName());
+    assertEquals("c", board.get(4).getName());
+    assertNull(board.get(0));
+    assertNull(board.get(5));
+    assertEquals(300, board.getHighScore());
+  }
+
+  /**
+   * The rank of a score should be one more than the number of entries with a higher score.
+   */
+  @Test
+  public void testRankOf() {
+    Leaderboard board = new Leaderboard(10);
+    assertEquals(1, board.rankOf(100));
+
+    board.add(new ScoreEntry("a", 300, 0, 0));
+    board.add(new ScoreEntry("b", 200, 1, 0));
+    board.add(new ScoreEntry("c", 200, 2, 0));
+
+    assertEquals(1, board.rankOf(400));
+    assertEquals(1, board.rankOf(300));
+    assertEquals(2, board.rankOf(250));
+    assertEquals(2, board.rankOf(200));
+    assertEquals(4, board.rankOf(0));
+  }
+
+  /**
+   * The top entries should be returned best first, no more than there are.
+   */
+  @Test
+  public void testTop() {
+    Leaderboard board = new Leaderboard(10);
+    for (int i = 0; i < 5; i++) {
+      board.add(new ScoreEntry("p" + i, i * 10, i, 0));
+    }
+
+    List<ScoreEntry> top = board.top(3);
+    assertEquals(3, top.size());
+    assertEquals(40, top.get(0).getScore());
+    assertEquals(30, top.get(1).getScore());
+    assertEquals(20, top.get(2).getScore());
+    assertEquals(5, board.top(8).size());
+  }
+
+  /**
+   * The lowest entry should be dropped when the capacity is exceeded.
+   */
+  @Test
+  public void testCapacity() {
+    Leaderboard board = new Leaderboard(2);
+    board.add(new ScoreEntry("a", 100, 0, 0));
+    board.add(new ScoreEntry("b", 200, 1, 0));
+
+    assertEquals(0, board.add(new ScoreEntry("c", 50, 2, 0)));
+    assertEquals(1, board.add(new ScoreEntry("d", 300, 3, 0)));
+    assertEquals(2, board.size());
+    assertEquals(2, board.getCapacity());
+    assertEquals("d", board.get(1).getName());
+    assertEquals("b", board.get(2).getName());
+  }
+
+  /**
+   * Ranks and lookups should agree with a sorted list for many random entries.
+   */
+  @Test
+  public void testRandom() {
+    Random random = new Random(42);
+    Leaderboard board = new Leaderboard(500);
+    ArrayList<ScoreEntry> reference = new ArrayList<ScoreEntry>();
+    for (int i = 0; i < 2000; i++) {
+      ScoreEntry entry = new ScoreEntry("p", random.nextInt(1000), i, 0);
+      board.add(entry);
+      reference.add(entry);
+    }
+    Collections.sort(reference);
+
+    assertEquals(500, board.size());
+    assertEquals(reference.subList(0, 500), board.top(500));
+    for (int rank = 1; rank <= 500; rank += 7) {
+      assertEquals(reference.get(rank - 1), board.get(rank));
+    }
+  }
+
+  /**
+   * Entries added from several threads at once should all be ranked.
+   * 
+   * @throws InterruptedException
+   *           When the test is interrupted.
+   */
+  @Test
+  public void testConcurrentAdd() throws InterruptedException {
+    final Leaderboard board = new Leaderboard(10000);
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      final int offset = t * 1000;
+      threads[t] = new Thread() {
+        public void run() {
+          for (int i = 0; i < 1000; i++) {
+            board.add(new ScoreEntry("p", offset + i, offset + i, 0));
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(4000, board.size());
+    assertEquals(3999, board.getHighScore());
+    assertEquals(0, board.get(4000).getScore());
+    assertEquals(1001, board.rankOf(2999));
+  }
+
+}
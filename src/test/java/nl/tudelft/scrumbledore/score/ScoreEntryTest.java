@@ -0,0 +1,45 @@
+package nl.tudelft.scrumbledore.score;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the ScoreEntry class.
+ * 
+ * @author Jesse Tilro
+ */
+public class ScoreEntryTest {
+
+  /**
+   * Higher scores should come first, and equal scores in the order they were submitted.
+   */
+  @Test
+  public void testCompareTo() {
+    ScoreEntry high = new ScoreEntry("a", 200, 5, 0);
+    ScoreEntry early = new ScoreEntry("b", 100, 1, 0);
+    ScoreEntry late = new ScoreEntry("c", 100, 2, 0);
+
+    assertTrue(high.compareTo(early) < 0);
+    assertTrue(early.compareTo(late) < 0);
+    assertTrue(late.compareTo(high) > 0);
+    assertEquals(0, early.compareTo(new ScoreEntry("b", 100, 1, 0)));
+  }
+
+  /**
+   * Entries with the same fields should be equal and have the same hash code.
+   */
+  @Test
+  public void testEquals() {
+    ScoreEntry entry = new ScoreEntry("jesse", 100, 1, 42);
+
+    assertEquals(entry, new ScoreEntry("jesse", 100, 1, 42));
+    assertEquals(entry.hashCode(), new ScoreEntry("jesse", 100, 1, 42).hashCode());
+    assertNotEquals(entry, new ScoreEntry("jesse", 100, 2, 42));
+    assertNotEquals(entry, new ScoreEntry("niels", 100, 1, 42));
+    assertNotEquals(entry, null);
+  }
+
+}
@@ -0,0 +1,203 @@
+package nl.tudelft.scrumbledore.score;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the ScoreJournal class.
+ * 
+ * @author Jesse Tilro
+ */
+public class ScoreJournalTest {
+  private File file;
+  private ScoreJournal journal;
+
+  /**
+   * Create a journal in a temporary file.
+   * 
+   * @throws IOException
+   *           When the temporary file can not be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("scrumbledore", ".journal");
+    journal = new ScoreJournal(file, 4);
+  }
+
+  /**
+   * Remove the temporary file.
+   * 
+   * @throws IOException
+   *           When the journal can not be closed.
+   */
+  @After
+  public void tearDown() throws IOException {
+    journal.close();
+    assertTrue(file.delete());
+  }
+
+  /**
+   * Entries should be read back as they were appended, also after reopening the journal.
+   * 
+   * @throws IOException
+   *           When the journal can not be written.
+   */
+  @Test
+  public void testReadBack() throws IOException {
+    journal.append(new ScoreEntry("jesse", 1200, 0, 1000L));
+    journal.append(new ScoreEntry("niels", 800, 1, 2000L));
+    journal.close();
+
+    journal = new ScoreJournal(file, 4);
+    List<ScoreEntry> entries = journal.read();
+    assertEquals(2, entries.size());
+    assertEquals(new ScoreEntry("jesse", 1200, 0, 1000L), entries.get(0));
+    assertEquals(new ScoreEntry("niels", 800, 1, 2000L), entries.get(1));
+    assertEquals(0, journal.getCorrupt());
+  }
+
+  /**
+   * Names should be cut off at the number of bytes a record has room for.
+   * 
+   * @throws IOException
+   *           When the journal can not be written.
+   */
+  @Test
+  public void testLongName() throws IOException {
+    journal.append(new ScoreEntry("a very long player name", 1, 0, 0));
+
+    assertEquals("a very long pla", journal.read().get(0).getName());
+  }
+
+  /**
+   * Records should be forced to disk per full batch only.
+   * 
+   * @throws IOException
+   *           When the journal can not be written.
+   */
+  @Test
+  public void testBatch() throws IOException {
+    long empty = file.length();
+    for (int i = 0; i < 3; i++) {
+      journal.append(new ScoreEntry("p", i, i, 0));
+    }
+    assertEquals(3, journal.getPending());
+    assertEquals(0, journal.getSyncs());
+    assertEquals(empty, file.length());
+
+    journal.append(new ScoreEntry("p", 3, 3, 0));
+    assertEquals(0, journal.getPending());
+    assertEquals(1, journal.getSyncs());
+    assertEquals(empty + 4 * ScoreJournal.RECORD_SIZE, file.length());
+    assertEquals(4, journal.getRecords());
+  }
+
+  /**
+   * A record torn off by a crash should be cut off, and new records appended after the intact
+   * ones.
+   * 
+   * @throws IOException
+   *           When the journal can not be written.
+   */
+  @Test
+  public void testTornRecord() throws IOException {
+    journal.append(new ScoreEntry("p", 1, 0, 0));
+    journal.append(new ScoreEntry("p", 2, 1, 0));
+    journal.close();
+    RandomAccessFile raw = new RandomAccessFile(file, "rw");
+    raw.setLength(raw.length() - 10);
+    raw.close();
+
+    journal = new ScoreJournal(file, 4);
+    assertEquals(1, journal.read().size());
+    journal.append(new ScoreEntry("p", 3, 2, 0));
+    journal.sync();
+
+    List<ScoreEntry> entries = journal.read();
+    assertEquals(2, entries.size());
+    assertEquals(3, entries.get(1).getScore());
+    assertEquals(1, journal.getCorrupt());
+  }
+
+  /**
+   * A record with a wrong checksum should be cut off together with everything after it.
+   * 
+   * @throws IOException
+   *           When the journal can not be written.
+   */
+  @Test
+  public void testChecksum() throws IOException {
+    for (int i = 0; i < 3; i++) {
+      journal.append(new ScoreEntry("p", i, i, 0));
+    }
+    journal.close();
+    RandomAccessFile raw = new RandomAccessFile(file, "rw");
+    raw.seek(ScoreJournal.HEADER_SIZE + ScoreJournal.RECORD_SIZE + 17);
+    raw.write(0x7F);
+    raw.close();
+
+    journal = new ScoreJournal(file, 4);
+    assertEquals(1, journal.read().size());
+    assertEquals(2, journal.getCorrupt());
+    assertEquals(ScoreJournal.HEADER_SIZE + ScoreJournal.RECORD_SIZE, file.length());
+  }
+
+  /**
+   * A file that is not a score journal should be refused.
+   * 
+   * @throws IOException
+   *           When the file can not be written.
+   */
+  @Test(expected = IOException.class)
+  public void testHeader() throws IOException {
+    File other = File.createTempFile("scrumbledore", ".journal");
+    try {
+      RandomAccessFile raw = new RandomAccessFile(other, "rw");
+      raw.writeLong(42L);
+      raw.close();
+      new ScoreJournal(other, 4);
+    } finally {
+      assertTrue(other.delete());
+    }
+  }
+
+  /**
+   * Compacting should replace the journal by the given entries and keep appending after them.
+   * 
+   * @throws IOException
+   *           When the journal can not be written.
+   */
+  @Test
+  public void testCompact() throws IOException {
+    ArrayList<ScoreEntry> kept = new ArrayList<ScoreEntry>();
+    for (int i = 0; i < 10; i++) {
+      ScoreEntry entry = new ScoreEntry("p", i, i, 0);
+      journal.append(entry);
+      if (i >= 7) {
+        kept.add(entry);
+      }
+    }
+    journal.compact(kept);
+    journal.append(new ScoreEntry("p", 10, 10, 0));
+    journal.close();
+
+    journal = new ScoreJournal(file, 4);
+    List<ScoreEntry> entries = journal.read();
+    assertEquals(4, entries.size());
+    assertEquals(kept, entries.subList(0, 3));
+    assertEquals(10, entries.get(3).getScore());
+    assertEquals(0, journal.getCorrupt());
+    assertTrue(!new File(file.getPath() + ".tmp").exists());
+  }
+
+}
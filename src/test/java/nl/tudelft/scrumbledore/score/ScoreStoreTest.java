@@ -0,0 +1,191 @@
+package nl.tudelft.scrumbledore.score;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the ScoreStore class.
+ * 
+ * @author Jesse Tilro
+ */
+public class ScoreStoreTest {
+  private File file;
+  private ScoreStore store;
+
+  /**
+   * Create a store in a temporary file.
+   * 
+   * @throws IOException
+   *           When the temporary file can not be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("scrumbledore", ".journal");
+    store = new ScoreStore(file, 5, 4, 10L);
+  }
+
+  /**
+   * Remove the temporary file.
+   */
+  @After
+  public void tearDown() {
+    store.close();
+    assertTrue(file.delete());
+  }
+
+  /**
+   * Submitted scores should be ranked right away, without touching the journal.
+   */
+  @Test
+  public void testSubmit() {
+    store.submit("jesse", 100);
+    ScoreEntry entry = store.submit("niels", 300);
+
+    assertEquals(300, store.getHighScore());
+    assertEquals(entry, store.getLeaderboard().get(1));
+    assertEquals(0, store.getJournal().getRecords());
+  }
+
+  /**
+   * Scores should survive closing and opening the store, and new scores continue the sequence.
+   * 
+   * @throws IOException
+   *           When the journal can not be opened.
+   */
+  @Test
+  public void testReopen() throws IOException {
+    store.submit("jesse", 100);
+    store.submit("niels", 300);
+    store.close();
+
+    store = new ScoreStore(file, 5, 4, 10L);
+    assertEquals(2, store.getLeaderboard().size());
+    assertEquals(300, store.getHighScore());
+    assertEquals(2, store.submit("david", 50).getSequence());
+  }
+
+  /**
+   * The journal should be compacted to the leaderboard once it holds twice as many records.
+   * 
+   * @throws IOException
+   *           When the journal can not be written.
+   */
+  @Test
+  public void testCompaction() throws IOException {
+    for (int i = 0; i < 11; i++) {
+      store.submit("p", i);
+    }
+    store.flush();
+    assertEquals(1, store.getJournal().getCompactions());
+    assertEquals(5, store.getJournal().getRecords());
+    store.close();
+
+    store = new ScoreStore(file, 5, 4, 10L);
+    assertEquals(5, store.getLeaderboard().size());
+    assertEquals(10, store.getHighScore());
+    assertEquals(6, store.getLeaderboard().get(5).getScore());
+  }
+
+  /**
+   * The background thread should write submitted scores to the journal.
+   * 
+   * @throws InterruptedException
+   *           When the test is interrupted.
+   */
+  @Test
+  public void testBackground() throws InterruptedException {
+    store.start();
+    assertTrue(store.isRunning());
+    store.submit("jesse", 100);
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (store.getJournal().getRecords() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(1, store.getJournal().getRecords());
+    assertEquals(0, store.getJournal().getPending());
+
+    store.close();
+    assertFalse(store.isRunning());
+  }
+
+  /**
+   * Scores submitted from several threads while flushing should all be written exactly once.
+   * 
+   * @throws Exception
+   *           When the test is interrupted or the journal can not be opened.
+   */
+  @Test
+  public void testConcurrentSubmit() throws Exception {
+    store.close();
+    store = new ScoreStore(file, 1000, 4, 1L);
+    store.start();
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread() {
+        public void run() {
+          for (int i = 0; i < 200; i++) {
+            store.submit("p", i);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    store.close();
+
+    store = new ScoreStore(file, 1000, 4, 1L);
+    assertEquals(800, store.getLeaderboard().size());
+    assertEquals(800, store.getJournal().getRecords());
+  }
+
+  /**
+   * Closing the store while the background thread is flushing should let the flush finish, so no
+   * score is lost.
+   * 
+   * @throws Exception
+   *           When the test is interrupted or the journal can not be opened.
+   */
+  @Test
+  public void testCloseDuringFlush() throws Exception {
+    store.close();
+    final Thread closing = Thread.currentThread();
+    final CountDownLatch flushing = new CountDownLatch(1);
+    store = new ScoreStore(file, 5, 4, 1L) {
+      public void flush() throws IOException {
+        if (Thread.currentThread() != closing && flushing.getCount() > 0) {
+          flushing.countDown();
+          while (isRunning()) {
+            Thread.yield();
+          }
+          long until = System.nanoTime() + 50000000L;
+          while (System.nanoTime() < until) {
+            Thread.yield();
+          }
+        }
+        super.flush();
+      }
+    };
+    store.submit("jesse", 100);
+    store.submit("niels", 300);
+    store.start();
+    flushing.await();
+    store.close();
+
+    store = new ScoreStore(file, 5, 4, 10L);
+    assertEquals(2, store.getLeaderboard().size());
+    assertEquals(300, store.getHighScore());
+  }
+
+}
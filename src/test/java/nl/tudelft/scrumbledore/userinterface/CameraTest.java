@@ -0,0 +1,99 @@
+package nl.tudelft.scrumbledore.userinterface;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import nl.tudelft.scrumbledore.Constants;
+import nl.tudelft.scrumbledore.level.Vector;
+import nl.tudelft.scrumbledore.level.element.Platform;
+import nl.tudelft.scrumbledore.level.element.Player;
+import nl.tudelft.scrumbledore.level.element.PlayerElement;
+
+/**
+ * Test suite for the Camera class.
+ * 
+ * @author Jesse Tilro
+ */
+public class CameraTest {
+  private static final Vector SIZE = new Vector(Constants.BLOCKSIZE, Constants.BLOCKSIZE);
+
+  private Camera camera;
+  private ArrayList<PlayerElement> players;
+
+  /**
+   * Create a camera with the size of the screen and a single player.
+   */
+  @Before
+  public void setUp() {
+    camera = new Camera(Constants.LEVELX, Constants.LEVELY);
+    players = new ArrayList<PlayerElement>();
+    players.add(new Player(new Vector(2000, 1000), SIZE));
+  }
+
+  /**
+   * The camera should center on the player in a large level.
+   */
+  @Test
+  public void testFollow() {
+    assertTrue(camera.follow(players, 10000, 10000));
+    assertEquals(2000 - Constants.LEVELX / 2, camera.getLeft(), Constants.DOUBLE_PRECISION);
+    assertEquals(1000 - Constants.LEVELY / 2, camera.getTop(), Constants.DOUBLE_PRECISION);
+    assertFalse(camera.follow(players, 10000, 10000));
+  }
+
+  /**
+   * The camera should center between multiple players.
+   */
+  @Test
+  public void testFollowMultiple() {
+    players.add(new Player(new Vector(3000, 1000), SIZE));
+    camera.follow(players, 10000, 10000);
+    assertEquals(2500 - Constants.LEVELX / 2, camera.getLeft(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * The camera should not look beyond the boundaries of the level.
+   */
+  @Test
+  public void testFollowClamped() {
+    camera.follow(players, 2100, 1100);
+    assertEquals(2100, camera.getRight(), Constants.DOUBLE_PRECISION);
+    assertEquals(1100, camera.getBottom(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * In a level no larger than the screen, the camera should not move.
+   */
+  @Test
+  public void testFollowSmallLevel() {
+    assertFalse(camera.follow(players, Constants.LEVELX, Constants.LEVELY));
+    assertEquals(0, camera.getLeft(), Constants.DOUBLE_PRECISION);
+    assertEquals(0, camera.getTop(), Constants.DOUBLE_PRECISION);
+  }
+
+  /**
+   * Without anyone to follow, the camera should stay where it is.
+   */
+  @Test
+  public void testFollowNobody() {
+    assertFalse(camera.follow(new ArrayList<PlayerElement>(), 10000, 10000));
+  }
+
+  /**
+   * Only elements within the viewport (and margin) should be visible.
+   */
+  @Test
+  public void testIsVisible() {
+    camera.moveTo(1000, 1000);
+    assertTrue(camera.isVisible(new Platform(new Vector(1100, 1100), SIZE), 0));
+    assertFalse(camera.isVisible(new Platform(new Vector(900, 1100), SIZE), 0));
+    assertTrue(camera.isVisible(new Platform(new Vector(960, 1100), SIZE), Constants.BLOCKSIZE));
+  }
+
+}